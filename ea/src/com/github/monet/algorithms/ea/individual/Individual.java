@@ -11,6 +11,7 @@ import com.github.monet.algorithms.ea.util.Functions;
 
 import com.github.monet.common.ObjectivePoint;
 import com.github.monet.common.ParetoPoint;
+import com.github.monet.graph.weighted.DominanceKernel;
 
 
 /**
@@ -362,14 +363,15 @@ public class Individual implements Comparable<Individual>, ObjectivePoint {
 	 * @param population
 	 */
 	public static void calculateStrength(List<Individual> population) {
-		for (Individual i1 : population) {
-			int strength = 0;
-			for (Individual i2 : population) {
-				if (i1.dominates(i2)) {
-					strength++;
-				}
-			}
-			i1.setStrength(strength);
+		if (population.isEmpty()) return;
+		int n = population.size();
+		int k = population.get(0).getObjectiveValues().length;
+		double[] block = Individual.getObjectiveBlock(population, k);
+		double[] candidate = new double[k];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(block, i * k, candidate, 0, k);
+			population.get(i).setStrength(
+					DominanceKernel.countDominated(candidate, block, n));
 		}
 	}
 
@@ -381,15 +383,41 @@ public class Individual implements Comparable<Individual>, ObjectivePoint {
 	 * @param population
 	 */
 	public static void calculateRank(List<Individual> population) {
-		for (Individual i1 : population) {
-			int rank = 0;
-			for (Individual i2 : population) {
-				if (i2.dominates(i1)) {
-					rank++;
-				}
+		if (population.isEmpty()) return;
+		int n = population.size();
+		int k = population.get(0).getObjectiveValues().length;
+		double[] block = Individual.getObjectiveBlock(population, k);
+		double[] candidate = new double[k];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(block, i * k, candidate, 0, k);
+			population.get(i).setRank(
+					DominanceKernel.countDominators(candidate, block, n));
+		}
+	}
+
+
+	/**
+	 * Copies the objective values of the given individuals into one block for
+	 * the DominanceKernel, which always minimizes. Values are negated if
+	 * objectives are maximized.
+	 *
+	 * @param population
+	 * @param k number of objectives
+	 *
+	 * @return objective values of all individuals, one after another
+	 */
+	private static double[] getObjectiveBlock(List<Individual> population, int k) {
+		double sign = (Individual.minimizationOfObjectives) ? 1 : -1;
+		double[] block = new double[population.size() * k];
+		int offset = 0;
+		for (Individual ind : population) {
+			double[] values = ind.getObjectiveValues();
+			for (int j = 0; j < k; j++) {
+				block[offset + j] = sign * values[j];
 			}
-			i1.setRank(rank);
+			offset += k;
 		}
+		return block;
 	}
 
 
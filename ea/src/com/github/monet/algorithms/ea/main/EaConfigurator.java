@@ -421,17 +421,19 @@ public class EaConfigurator {
 			return;
     	}
     	AnnotatedGraph<?, ?, ?> g = (AnnotatedGraph<?, ?, ?>) inputGraph;
-    	int numNodes = g.getGraph().getNumNodes();
-    	int numEdges = g.getGraph().getNumEdges();
-    	boolean isGraphComplete = Functions.isGraphComplete(g.getGraph());
-
     	// Disable safe mode
     	if (g.getGraph() instanceof SimpleAbstractGraph) {
     		SimpleAbstractGraph abstractGraph = (SimpleAbstractGraph)(g.getGraph());
     		abstractGraph.setSafeMode(false);
     		Functions.log("Disabling safe-mode for given graph.", Functions.LOG_DEBUG);
+    		abstractGraph.setAdjacencyIndexed(true);
+    		Functions.log("Enabling adjacency index for given graph.", Functions.LOG_DEBUG);
     	}
 
+    	int numNodes = g.getGraph().getNumNodes();
+    	int numEdges = g.getGraph().getNumEdges();
+    	boolean isGraphComplete = Functions.isGraphComplete(g.getGraph());
+
     	// Create a map for Node IDs -> Node objects
     	HashMap<Integer, Node> idNodeMap = new HashMap<Integer, Node>();
     	HashMap<Node, Integer> nodeIdMap = new HashMap<Node, Integer>();
@@ -0,0 +1,147 @@
+package com.github.monet.algorithms;
+
+import java.util.ArrayList;
+
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.UndirectedEdge;
+import com.github.monet.graph.interfaces.UniobjectiveAlgorithm;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+
+/**
+ * Implementation of Prim's algorithm for dense graphs.
+ *
+ * The cheapest edge between every pair of nodes is stored in an n x n
+ * matrix, the tree is grown by scanning an array of tentative distances
+ * instead of using a heap. This takes O(n^2 + m) time and O(n^2) memory and
+ * beats Kruskal and heap based Prim on (nearly) complete graphs. Ties are
+ * broken by the position of the edges in the edge collection of the graph,
+ * so the result equals the tree computed by Kruskal.
+ *
+ * The matrix takes 4 n^2 bytes, which is limited to MATRIX_BYTES, i.e. graphs
+ * with at most MAX_NODES = 4096 nodes. Larger graphs are handled by Kruskal,
+ * which yields the same tree in O(m log m) time and O(n + m) memory.
+ *
+ * @param <N> type of node
+ * @param <E> type of edge
+ * @param <G> type of graph
+ */
+public class DensePrim<N extends Node, E extends UndirectedEdge, G extends Graph<N, E, G>>
+	implements UniobjectiveAlgorithm<N, E, G, E> {
+
+	/**
+	 * Memory budget of the matrix in bytes, 64 MiB
+	 */
+	public static final long MATRIX_BYTES = 64L << 20;
+
+	/**
+	 * Graphs with more nodes exceed the memory budget and are handled by
+	 * Kruskal
+	 */
+	public static final int MAX_NODES = (int) Math.sqrt(MATRIX_BYTES / 4);
+
+	@Override
+	public Iterable<E> computeUniobjectiveOptimum(G graph,
+			GraphElementWeightAnnotator<E> annotator) {
+
+		if (!fitsMatrix(graph)) {
+			return new Kruskal<N, E, G>().computeUniobjectiveOptimum(graph,
+					annotator);
+		}
+
+		IndexedEdges<N, E> indexed = new IndexedEdges<>(graph, annotator);
+		int numNodes = indexed.getNumNodes();
+		int numEdges = indexed.getNumEdges();
+		ArrayList<E> minimumSpanningTree = new ArrayList<>(Math.max(
+				numNodes - 1, 0));
+		if (numNodes == 0) {
+			return minimumSpanningTree;
+		}
+
+		// Cheapest edge between every pair of nodes, -1 if not adjacent
+		int[] matrix = new int[numNodes * numNodes];
+		for (int i = 0; i < matrix.length; i++) {
+			matrix[i] = -1;
+		}
+		for (int e = 0; e < numEdges; e++) {
+			int u = indexed.first[e];
+			int v = indexed.second[e];
+			if (u == v) {
+				continue;
+			}
+			int uv = u * numNodes + v;
+			if (matrix[uv] == -1 || indexed.less(e, matrix[uv])) {
+				matrix[uv] = e;
+				matrix[v * numNodes + u] = e;
+			}
+		}
+
+		// Cheapest edge connecting every node to the tree, -1 if none
+		int[] cheapestEdge = new int[numNodes];
+		for (int v = 0; v < numNodes; v++) {
+			cheapestEdge[v] = -1;
+		}
+		boolean[] inTree = new boolean[numNodes];
+
+		// Root node of resulting minimum spanning tree
+		int next = 0;
+		for (int i = 1; i < numNodes; i++) {
+			inTree[next] = true;
+
+			int row = next * numNodes;
+			int minNode = -1;
+			for (int v = 0; v < numNodes; v++) {
+				if (inTree[v]) {
+					continue;
+				}
+				int e = matrix[row + v];
+				if (e != -1
+						&& (cheapestEdge[v] == -1 || indexed.less(e,
+								cheapestEdge[v]))) {
+					cheapestEdge[v] = e;
+				}
+				if (cheapestEdge[v] != -1
+						&& (minNode == -1 || indexed.less(cheapestEdge[v],
+								cheapestEdge[minNode]))) {
+					minNode = v;
+				}
+			}
+
+			if (minNode == -1) {
+				// Graph is not connected
+				break;
+			}
+			minimumSpanningTree.add(indexed.edges.get(cheapestEdge[minNode]));
+			next = minNode;
+		}
+
+		return minimumSpanningTree;
+	}
+
+	/**
+	 * @param graph
+	 *            graph
+	 * @return true, if the matrix of the graph fits into the memory budget,
+	 *         otherwise the algorithm falls back to Kruskal
+	 */
+	public static boolean fitsMatrix(Graph<?, ?, ?> graph) {
+		return graph.getNumNodes() <= MAX_NODES;
+	}
+
+	/**
+	 * Returns the edge density of a graph, i.e. the number of edges divided
+	 * by the number of edges of a complete simple graph with the same number
+	 * of nodes.
+	 *
+	 * @param graph
+	 *            graph
+	 * @return edge density, 0 for graphs with less than two nodes
+	 */
+	public static double density(Graph<?, ?, ?> graph) {
+		double n = graph.getNumNodes();
+		if (n < 2) {
+			return 0.0;
+		}
+		return graph.getNumEdges() / (n * (n - 1) / 2);
+	}
+}
@@ -5,9 +5,9 @@ import java.util.HashMap;
 
 import com.github.monet.graph.AnnotatedGraph;
 import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.IndexedDaryHeap;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
-import com.github.monet.graph.SimplePriorityQueue;
 import com.github.monet.graph.SimpleUndirectedGraph;
 import com.github.monet.graph.interfaces.Graph;
 import com.github.monet.graph.interfaces.Node;
@@ -65,10 +65,10 @@ public class Dijkstra<N extends Node, E extends UndirectedEdge, G extends Graph<
 		int numNodes = graph.getNumNodes();
 
 		/*
-		 * Build up simple priority queue (priority corresponds to
-		 * currently shortest path weight).
+		 * Build up indexed heap (priority corresponds to currently shortest
+		 * path weight), updates are decrease-key operations.
 		 */
-		SimplePriorityQueue<N> pq = new SimplePriorityQueue<N>(numNodes);
+		IndexedDaryHeap<N> pq = new IndexedDaryHeap<N>(numNodes);
 
 		/*
 		 * Helper map to check if elements are in queue.
@@ -21,8 +21,8 @@ public class EdgeComparator<E extends Edge> implements Comparator<E> {
 
 	@Override
 	public int compare(E e1, E e2) {
-		double weightGe1 = this.annotator.getAnnotation(e1).getFirstWeight();
-		double weightGe2 = this.annotator.getAnnotation(e2).getFirstWeight();
+		double weightGe1 = this.annotator.getWeight(e1, 0);
+		double weightGe2 = this.annotator.getWeight(e2, 0);
 
 		if (weightGe1 < weightGe2) {
 			return -1;
@@ -0,0 +1,146 @@
+package com.github.monet.algorithms;
+
+import java.util.ArrayList;
+
+import com.github.monet.datastructures.ArrayUnionFind;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.UndirectedEdge;
+import com.github.monet.graph.interfaces.UniobjectiveAlgorithm;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+
+/**
+ * Implementation of the Filter-Kruskal algorithm, suited for dense graphs.
+ *
+ * Edges are partitioned around a pivot like in quicksort. The light part is
+ * processed first; afterwards all heavy edges whose end nodes are already
+ * connected are filtered out before they are sorted. Ranges of at most
+ * max(n, 16) edges are handled by plain Kruskal. Ties are broken by the
+ * position of the edges in the edge collection of the graph, so the result
+ * equals the tree computed by Kruskal.
+ *
+ * Osipov, Sanders, Singler: The Filter-Kruskal Minimum Spanning Tree
+ * Algorithm
+ *
+ * @param <N> type of node
+ * @param <E> type of edge
+ * @param <G> type of graph
+ */
+public class FilterKruskal<N extends Node, E extends UndirectedEdge, G extends Graph<N, E, G>>
+	implements UniobjectiveAlgorithm<N, E, G, E> {
+
+	/**
+	 * Ranges of at most this many edges are always handled by Kruskal
+	 */
+	private static final int MIN_KRUSKAL_RANGE = 16;
+
+	@Override
+	public Iterable<E> computeUniobjectiveOptimum(G graph,
+			GraphElementWeightAnnotator<E> annotator) {
+
+		IndexedEdges<N, E> indexed = new IndexedEdges<>(graph, annotator);
+		Run<N, E> run = new Run<>(indexed);
+		run.filterKruskal(0, indexed.getNumEdges());
+		return run.minimumSpanningTree;
+	}
+
+	/**
+	 * State of one computation
+	 */
+	private static final class Run<N extends Node, E extends UndirectedEdge> {
+
+		private final IndexedEdges<N, E> indexed;
+		private final int[] order;
+		private final int[] buffer;
+		private final ArrayUnionFind<N> unionFind;
+		private final ArrayList<E> minimumSpanningTree;
+		private final int numTreeEdges;
+		private final int kruskalRange;
+
+		Run(IndexedEdges<N, E> indexed) {
+			int numEdges = indexed.getNumEdges();
+			this.indexed = indexed;
+			this.order = new int[numEdges];
+			for (int i = 0; i < numEdges; i++) {
+				this.order[i] = i;
+			}
+			this.buffer = new int[numEdges];
+			// Node ids of the union find equal the node ids of indexed
+			this.unionFind = new ArrayUnionFind<>(indexed.nodes);
+			this.numTreeEdges = Math.max(indexed.getNumNodes() - 1, 0);
+			this.minimumSpanningTree = new ArrayList<>(this.numTreeEdges);
+			this.kruskalRange = Math.max(indexed.getNumNodes(),
+					MIN_KRUSKAL_RANGE);
+		}
+
+		void filterKruskal(int lo, int hi) {
+			if (this.minimumSpanningTree.size() == this.numTreeEdges) {
+				return;
+			}
+			if (hi - lo <= this.kruskalRange) {
+				kruskal(lo, hi);
+				return;
+			}
+
+			// Light edges (including the pivot) to the front
+			int pivot = medianOfThree(this.order[lo],
+					this.order[(lo + hi) >>> 1], this.order[hi - 1]);
+			int split = lo;
+			for (int i = lo; i < hi; i++) {
+				int e = this.order[i];
+				if (!this.indexed.less(pivot, e)) {
+					this.order[i] = this.order[split];
+					this.order[split++] = e;
+				}
+			}
+
+			filterKruskal(lo, split);
+			filterKruskal(split, filter(split, hi));
+		}
+
+		private void kruskal(int lo, int hi) {
+			this.indexed.sort(this.order, lo, hi, this.buffer);
+			for (int i = lo; i < hi
+					&& this.minimumSpanningTree.size() < this.numTreeEdges; i++) {
+				int e = this.order[i];
+				int n1 = this.unionFind.findId(this.indexed.first[e]);
+				int n2 = this.unionFind.findId(this.indexed.second[e]);
+				if (n1 != n2) {
+					this.minimumSpanningTree.add(this.indexed.edges.get(e));
+					this.unionFind.unionIds(n1, n2);
+				}
+			}
+		}
+
+		/**
+		 * Removes all edges from order[lo, hi) whose end nodes are already
+		 * connected.
+		 *
+		 * @return end of the remaining edges
+		 */
+		private int filter(int lo, int hi) {
+			int end = lo;
+			for (int i = lo; i < hi; i++) {
+				int e = this.order[i];
+				if (this.unionFind.findId(this.indexed.first[e]) != this.unionFind
+						.findId(this.indexed.second[e])) {
+					this.order[end++] = e;
+				}
+			}
+			return end;
+		}
+
+		private int medianOfThree(int a, int b, int c) {
+			if (this.indexed.less(a, b)) {
+				if (this.indexed.less(b, c)) {
+					return b;
+				}
+				return this.indexed.less(a, c) ? c : a;
+			}
+			if (this.indexed.less(a, c)) {
+				return a;
+			}
+			return this.indexed.less(b, c) ? c : b;
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.github.monet.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+
+/**
+ * Edges of a graph together with their scalar weight and the dense ids of
+ * their end nodes, shared by the Kruskal variants.
+ *
+ * Edges are numbered in the iteration order of the graph. Edges are ordered
+ * by weight, ties are broken by number; this strict order equals the order
+ * of a stable sort of the edge list by weight. End nodes are read from the
+ * incidence lists, which takes O(n + m) time and does not depend on the safe
+ * mode of the graph.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ */
+final class IndexedEdges<N extends Node, E extends Edge> {
+
+	/**
+	 * Below this size ranges are sorted by insertion sort
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	final ArrayList<N> nodes;
+	final ArrayList<E> edges;
+
+	/**
+	 * Scalar weight of every edge
+	 */
+	final double[] keys;
+
+	/**
+	 * Node ids of the end nodes of every edge
+	 */
+	final int[] first, second;
+
+	IndexedEdges(Graph<N, E, ?> graph, GraphElementWeightAnnotator<E> annotator) {
+		this.nodes = new ArrayList<>(graph.getAllNodes());
+		this.edges = new ArrayList<>(graph.getAllEdges());
+		int m = this.edges.size();
+
+		this.keys = new double[m];
+		IdentityHashMap<E, Integer> position = new IdentityHashMap<>(m);
+		for (int i = 0; i < m; i++) {
+			E e = this.edges.get(i);
+			this.keys[i] = annotator.getWeight(e, 0);
+			position.put(e, i);
+		}
+
+		// Every edge shows up in the incident edges of both of its end nodes
+		this.first = new int[m];
+		this.second = new int[m];
+		for (int i = 0; i < m; i++) {
+			this.first[i] = -1;
+			this.second[i] = -1;
+		}
+		HashMap<E, ArrayList<Integer>> equalEdges = null;
+		for (int u = 0; u < this.nodes.size(); u++) {
+			for (E e : graph.getIncidentEdges(this.nodes.get(u))) {
+				Integer index = position.get(e);
+				if (index == null) {
+					// Graphs may hand out copies of their edges, which are
+					// looked up by value
+					if (equalEdges == null) {
+						equalEdges = equalEdges();
+					}
+					index = findOpen(equalEdges.get(e), u);
+					if (index == null) {
+						throw new IllegalArgumentException("Incident edge " + e
+								+ " is not an edge of the graph");
+					}
+				}
+				int i = index;
+				if (this.first[i] == -1) {
+					this.first[i] = u;
+				} else {
+					this.second[i] = u;
+				}
+			}
+		}
+		// Loops may show up only once
+		for (int i = 0; i < m; i++) {
+			if (this.second[i] == -1) {
+				this.second[i] = this.first[i];
+			}
+		}
+	}
+
+	/**
+	 * @return numbers of all edges equal to an edge
+	 */
+	private HashMap<E, ArrayList<Integer>> equalEdges() {
+		HashMap<E, ArrayList<Integer>> equalEdges = new HashMap<>();
+		for (int i = 0; i < this.edges.size(); i++) {
+			ArrayList<Integer> equal = equalEdges.get(this.edges.get(i));
+			if (equal == null) {
+				equal = new ArrayList<>(1);
+				equalEdges.put(this.edges.get(i), equal);
+			}
+			equal.add(i);
+		}
+		return equalEdges;
+	}
+
+	/**
+	 * @return first of the given edges which has not been seen at node u
+	 *         and still lacks an end node, null if there is none
+	 */
+	private Integer findOpen(ArrayList<Integer> equal, int u) {
+		if (equal != null) {
+			for (Integer i : equal) {
+				if (this.first[i] == -1
+						|| (this.second[i] == -1 && this.first[i] != u)) {
+					return i;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the scalar weights of all edges again, e.g. for another
+	 * scalarization.
+	 */
+	void rekey(GraphElementWeightAnnotator<E> annotator) {
+		for (int i = 0; i < this.keys.length; i++) {
+			this.keys[i] = annotator.getWeight(this.edges.get(i), 0);
+		}
+	}
+
+	int getNumNodes() {
+		return this.nodes.size();
+	}
+
+	int getNumEdges() {
+		return this.edges.size();
+	}
+
+	/**
+	 * @return true, if edge i precedes edge j
+	 */
+	boolean less(int i, int j) {
+		return this.keys[i] < this.keys[j]
+				|| (this.keys[i] == this.keys[j] && i < j);
+	}
+
+	/**
+	 * Sorts the edge numbers in order[lo, hi).
+	 *
+	 * @param buffer
+	 *            array of at least the length of order
+	 */
+	void sort(int[] order, int lo, int hi, int[] buffer) {
+		if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+			for (int i = lo + 1; i < hi; i++) {
+				int e = order[i];
+				int j = i - 1;
+				while (j >= lo && less(e, order[j])) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				order[j + 1] = e;
+			}
+			return;
+		}
+
+		int mid = (lo + hi) >>> 1;
+		sort(order, lo, mid, buffer);
+		sort(order, mid, hi, buffer);
+		if (!less(order[mid], order[mid - 1])) {
+			return;
+		}
+		System.arraycopy(order, lo, buffer, lo, hi - lo);
+		int i = lo;
+		int j = mid;
+		for (int k = lo; k < hi; k++) {
+			if (j >= hi || (i < mid && !less(buffer[j], buffer[i]))) {
+				order[k] = buffer[i++];
+			} else {
+				order[k] = buffer[j++];
+			}
+		}
+	}
+}
@@ -1,9 +1,8 @@
 package com.github.monet.algorithms;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
-import com.github.monet.datastructures.TreeUnionFind;
+import com.github.monet.datastructures.ArrayUnionFind;
 import com.github.monet.graph.interfaces.Graph;
 import com.github.monet.graph.interfaces.Node;
 import com.github.monet.graph.interfaces.UndirectedEdge;
@@ -25,41 +24,35 @@ public class Kruskal<N extends Node, E extends UndirectedEdge, G extends Graph<N
 	public  Iterable<E> computeUniobjectiveOptimum(G graph,
 			GraphElementWeightAnnotator<E> annotator) {
 
-		// Sort edges according to scalar weights (first weight if vector)
-		ArrayList<E> minimumSpanningTree = new ArrayList<>();
-		ArrayList<E> edges = new ArrayList<>(graph.getAllEdges());
-
-		EdgeComparator<E> edgeComparator = new EdgeComparator<>(annotator);
-
-		Collections.sort(edges, edgeComparator);
+		IndexedEdges<N, E> indexed = new IndexedEdges<>(graph, annotator);
+		int numNodes = indexed.getNumNodes();
+		int numEdges = indexed.getNumEdges();
 
-		TreeUnionFind<N> unionFind = new TreeUnionFind<>();
-
-		ArrayList<N> nodes = new ArrayList<>(graph.getAllNodes());
-		for (N n : nodes) {
-			unionFind.add(n);
+		// Sort edges according to scalar weights (first weight if vector)
+		int[] order = new int[numEdges];
+		for (int i = 0; i < numEdges; i++) {
+			order[i] = i;
 		}
+		indexed.sort(order, 0, numEdges, new int[numEdges]);
 
-		int numNodes = graph.getNumNodes();
-		int e = 0;
-
-		while (e != (numNodes - 1)) {
-			E minEdge = edges.get(0);
-			edges.remove(0);
+		// Node ids of the union find equal the node ids of indexed
+		ArrayUnionFind<N> unionFind = new ArrayUnionFind<>(indexed.nodes);
+		ArrayList<E> minimumSpanningTree = new ArrayList<>(Math.max(
+				numNodes - 1, 0));
 
-			// Get incident nodes of minEdge
-			ArrayList<N> minEdgeNodes = new ArrayList<>(graph.getIncidentNodes(
-					minEdge));
+		// Stop as soon as the tree is spanning
+		for (int i = 0; i < numEdges
+				&& minimumSpanningTree.size() < numNodes - 1; i++) {
+			int minEdge = order[i];
 
 			// Get root
-			N n1 = unionFind.find(minEdgeNodes.get(0));
-			N n2 = unionFind.find(minEdgeNodes.get(1));
+			int n1 = unionFind.findId(indexed.first[minEdge]);
+			int n2 = unionFind.findId(indexed.second[minEdge]);
 
 			// Check if the incident nodes of minEdge are NOT in the same partition (-> cycle free)
-			if (!n1.equals(n2)) {
-				minimumSpanningTree.add(minEdge);  // add minEdge to spanning tree
-				e++;
-				unionFind.union(n1, n2);  // union partitions
+			if (n1 != n2) {
+				minimumSpanningTree.add(indexed.edges.get(minEdge));  // add minEdge to spanning tree
+				unionFind.unionIds(n1, n2);  // union partitions
 			}
 		}
 
@@ -3,6 +3,7 @@ package com.github.monet.algorithms;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 
 import com.github.monet.datastructures.TreeUnionFind;
 import com.github.monet.graph.interfaces.Edge;
@@ -25,26 +26,21 @@ public class MSTBannedForcedEdges<N extends Node, E extends Edge, G extends Grap
 			GraphElementWeightAnnotator<E> annotator, Collection<E> forcedEdges,
 			Collection<E> bannedEdges) {
 
-		// Create copy of original graph
-		G graph = originalGraph.getSubgraphWithImpliedNodes(originalGraph.
-				getAllEdges());
-
-		// Delete banned edges
-		for (E e : bannedEdges) {
-			graph.deleteEdge(e);
-		}
+		// Skip banned and forced edges instead of copying the graph
+		HashSet<E> skippedEdges = new HashSet<>(bannedEdges);
+		skippedEdges.addAll(forcedEdges);
 
 		// Sort edges according to scalar weights (first weight if vector)
 		ArrayList<E> minimumSpanningTree = new ArrayList<>();
-		ArrayList<E> edges = new ArrayList<>(graph.getAllEdges());
+		ArrayList<E> edges = new ArrayList<>(originalGraph.getNumEdges());
+		for (E e : originalGraph.getAllEdges()) {
+			if (!skippedEdges.contains(e)) {
+				edges.add(e);
+			}
+		}
 
 		EdgeComparator<E> edgeComparator = new EdgeComparator<>(annotator);
 
-		// Remove forced edges
-		for (E e : forcedEdges) {
-			edges.remove(e);
-		}
-
 		// Insert forced edges at first position of sorted edge list
 		Collections.sort(edges, edgeComparator);
 		edges.addAll(0, forcedEdges);
@@ -52,21 +48,19 @@ public class MSTBannedForcedEdges<N extends Node, E extends Edge, G extends Grap
 		TreeUnionFind<N> unionFind = new TreeUnionFind<>();
 		unionFind.setSafeMode(false);
 
-		ArrayList<N> nodes = new ArrayList<>(graph.getAllNodes());
-		for (N n : nodes) {
+		for (N n : originalGraph.getAllNodes()) {
 			unionFind.add(n);
 		}
 
-		int numNodes = graph.getNumNodes();
+		int numNodes = originalGraph.getNumNodes();
 		int e = 0;
 
-		while (e != (numNodes - 1)) {
-			E minEdge = edges.get(0);
-			edges.remove(0);
+		for (int i = 0; e != (numNodes - 1) && i < edges.size(); i++) {
+			E minEdge = edges.get(i);
 
 			// Get incident nodes of minEdge
-			ArrayList<N> minEdgeNodes = new ArrayList<>(graph.getIncidentNodes(
-					minEdge));
+			ArrayList<N> minEdgeNodes = new ArrayList<>(
+					originalGraph.getIncidentNodes(minEdge));
 
 			// Get root
 			N n1 = unionFind.find(minEdgeNodes.get(0));
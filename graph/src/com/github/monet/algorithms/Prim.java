@@ -1,10 +1,9 @@
 package com.github.monet.algorithms;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 
-import com.github.monet.graph.SimplePriorityQueue;
+import com.github.monet.graph.IndexedDaryHeap;
 import com.github.monet.graph.interfaces.*;
 import com.github.monet.graph.weighted.*;
 
@@ -26,44 +25,42 @@ public class Prim<N extends Node, E extends UndirectedEdge, G extends Graph<N, E
 			nodeList.add(n);
 		}
 
-		int numEdges = graph.getNumEdges();
-		SimplePriorityQueue<E> pq = new SimplePriorityQueue<>(numEdges);
+		int numNodes = graph.getNumNodes();
+		IndexedDaryHeap<N> pq = new IndexedDaryHeap<>(numNodes);
+
+		// Cheapest known edge connecting a queued node to the tree
+		HashMap<N, E> cheapestEdge = new HashMap<>();
 
 		// Root node of resulting minimum spanning tree
 		N next = nodeList.get(0);
-		visited.put(next, true);
 
-		int numNodes = graph.getNumNodes();
-		for (int i = 1; i < numNodes;) {
+		for (int i = 1; ; i++) {
+			visited.put(next, true);
+			if (i == numNodes) {
+				break;
+			}
+
 			for (E e : graph.getIncidentEdges(next)) {
 				N adjacentNode = graph.getIncidentNode(next, e);
 
 				if (!visited.get(adjacentNode)) {
-					pq.add(e, annotator.getAnnotation(e).getFirstWeight());
-				}
-			}
-
-			E minEdge = pq.poll();
-
-			Collection<N> minEdgeNodes = graph.getIncidentNodes(minEdge);
-
-			int c = 0;
-			// Find unvisited node of minEdge, if exists
-			for (N n : minEdgeNodes) {
-				if (!visited.get(n)) {
-					next = n;
-					break;
+					double weight = annotator.getWeight(e, 0);
+					if (!pq.contains(adjacentNode)) {
+						pq.add(adjacentNode, weight);
+						cheapestEdge.put(adjacentNode, e);
+					} else if (weight < pq.getPriority(adjacentNode)) {
+						pq.update(adjacentNode, weight);
+						cheapestEdge.put(adjacentNode, e);
+					}
 				}
-				c++;
 			}
 
-			if (c == 2) { // MinEdge would lead to cyclic solutions
-				continue;
-			} else {
-				minimumSpanningTree.add(minEdge);
-				visited.put(next, true);
-				i++;
+			next = pq.poll();
+			if (next == null) {
+				// Graph is not connected
+				break;
 			}
+			minimumSpanningTree.add(cheapestEdge.get(next));
 		}
 
 		return minimumSpanningTree;
@@ -0,0 +1,161 @@
+package com.github.monet.algorithms;
+
+import java.util.ArrayList;
+
+import com.github.monet.datastructures.ArrayUnionFind;
+import com.github.monet.datastructures.RootedForest;
+import com.github.monet.graph.Fingerprints;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.UndirectedEdge;
+import com.github.monet.graph.interfaces.UniobjectiveAlgorithm;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+
+/**
+ * Kruskal's algorithm warm-started from the previous call, for sequences of
+ * similar weightings of one graph such as the scalarizations of a dichotomic
+ * search.
+ *
+ * The sorted edge order and the spanning forest of the previous call are
+ * kept. A call reads the weights again, repairs the order by insertion sort
+ * and follows every transposition of two adjacent edges: the forest only
+ * changes if a non-tree edge f moves in front of a tree edge e on the tree
+ * path between the end nodes of f, and then becomes T - e + f. A call thus
+ * takes O(m + s d) for s transpositions and forests of depth d instead of
+ * O(m log m). If there are more than m log m transpositions, the order is
+ * sorted and the forest computed from scratch instead.
+ *
+ * Ties are broken like in Kruskal, so the result equals the one of Kruskal,
+ * including the order of the edges. Instances keep state and must not be
+ * shared between threads. A call on another graph, or on a graph whose
+ * fingerprint has changed since the previous call, starts from scratch.
+ * The fingerprint sums keys derived from the end nodes of the edges, so
+ * replacing an edge by an equal one between the same nodes is not noticed.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ * @param <G>
+ *            type of graph
+ */
+public class WarmStartKruskal<N extends Node, E extends UndirectedEdge, G extends Graph<N, E, G>>
+		implements UniobjectiveAlgorithm<N, E, G, E> {
+
+	private G graph;
+
+	/**
+	 * Fingerprint of graph at the previous call
+	 */
+	private long fingerprint;
+
+	private IndexedEdges<N, E> indexed;
+
+	/**
+	 * Edge numbers sorted by the weights of the previous call
+	 */
+	private int[] order;
+
+	private boolean[] inTree;
+
+	/**
+	 * Edges in inTree, rooted
+	 */
+	private RootedForest forest;
+
+	@Override
+	public Iterable<E> computeUniobjectiveOptimum(G graph,
+			GraphElementWeightAnnotator<E> annotator) {
+
+		int m;
+		long fingerprint = Fingerprints.ofGraph(graph);
+		if (graph != this.graph || fingerprint != this.fingerprint
+				|| this.indexed.getNumNodes() != graph.getNumNodes()
+				|| this.indexed.getNumEdges() != graph.getNumEdges()) {
+			this.graph = graph;
+			this.fingerprint = fingerprint;
+			this.indexed = new IndexedEdges<>(graph, annotator);
+			m = this.indexed.getNumEdges();
+			this.order = new int[m];
+			for (int i = 0; i < m; i++) {
+				this.order[i] = i;
+			}
+			rebuild();
+		} else {
+			m = this.indexed.getNumEdges();
+			this.indexed.rekey(annotator);
+			if (!repair()) {
+				rebuild();
+			}
+		}
+
+		ArrayList<E> minimumSpanningTree = new ArrayList<>(Math.max(
+				this.indexed.getNumNodes() - 1, 0));
+		for (int i = 0; i < m; i++) {
+			if (this.inTree[this.order[i]]) {
+				minimumSpanningTree.add(this.indexed.edges.get(this.order[i]));
+			}
+		}
+		return minimumSpanningTree;
+	}
+
+	/**
+	 * Sorts the edges and computes the spanning forest from scratch.
+	 */
+	private void rebuild() {
+		int n = this.indexed.getNumNodes();
+		int m = this.indexed.getNumEdges();
+		this.indexed.sort(this.order, 0, m, new int[m]);
+
+		this.inTree = new boolean[m];
+		ArrayUnionFind<N> unionFind = new ArrayUnionFind<>(this.indexed.nodes);
+		for (int k = 0, size = 0; k < m && size < n - 1; k++) {
+			int e = this.order[k];
+			int n1 = unionFind.findId(this.indexed.first[e]);
+			int n2 = unionFind.findId(this.indexed.second[e]);
+			if (n1 != n2) {
+				unionFind.unionIds(n1, n2);
+				this.inTree[e] = true;
+				size++;
+			}
+		}
+		this.forest = new RootedForest(n, this.indexed.first,
+				this.indexed.second, this.inTree);
+	}
+
+	/**
+	 * Restores the order by insertion sort, updating the forest on every
+	 * transposition.
+	 *
+	 * @return false, if the order changed too much and was left unsorted
+	 */
+	private boolean repair() {
+		int m = this.order.length;
+		long budget = (long) m * (32 - Integer.numberOfLeadingZeros(m));
+		long transpositions = 0;
+		for (int i = 1; i < m; i++) {
+			int f = this.order[i];
+			int j = i - 1;
+			while (j >= 0 && this.indexed.less(f, this.order[j])) {
+				int e = this.order[j];
+				// f moves in front of e
+				if (this.inTree[e]
+						&& !this.inTree[f]
+						&& this.forest.isOnPath(e, this.indexed.first[f],
+								this.indexed.second[f])) {
+					this.forest.exchange(e, f);
+					this.inTree[e] = false;
+					this.inTree[f] = true;
+				}
+				this.order[j + 1] = e;
+				j--;
+				if (++transpositions > budget) {
+					this.order[j + 1] = f;
+					return false;
+				}
+			}
+			this.order[j + 1] = f;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,241 @@
+package com.github.monet.datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.github.monet.graph.interfaces.UnionFind;
+
+/**
+ * UnionFind data structure with union-by-rank and path compression, stored in
+ * flat int arrays.
+ *
+ * Elements are mapped to dense ids in the order they are added. Every set
+ * additionally stores the id of its representative, so makeRepresentative
+ * only relabels the root of a set and does not restructure the forest. reset
+ * turns every element back into a singleton in O(n) time without allocating,
+ * so one instance can be reused for many computations over the same
+ * elements.
+ *
+ * @param <T>
+ *            type of elements
+ */
+public class ArrayUnionFind<T> implements UnionFind<T> {
+
+	private final HashMap<T, Integer> ids;
+	private final ArrayList<T> elements;
+
+	/**
+	 * Parent id of every id, roots are their own parent
+	 */
+	private int[] parent;
+
+	/**
+	 * Rank of every root
+	 */
+	private byte[] rank;
+
+	/**
+	 * Id of the representative element of every root
+	 */
+	private int[] representative;
+
+	public ArrayUnionFind() {
+		this(16);
+	}
+
+	/**
+	 * @param initialNumElements
+	 *            expected number of elements
+	 */
+	public ArrayUnionFind(int initialNumElements) {
+		int capacity = Math.max(initialNumElements, 1);
+		this.ids = new HashMap<>((int) (capacity / 0.75f) + 1);
+		this.elements = new ArrayList<>(capacity);
+		this.parent = new int[capacity];
+		this.rank = new byte[capacity];
+		this.representative = new int[capacity];
+	}
+
+	/**
+	 * Creates a union find data structure containing all elements as
+	 * singletons.
+	 *
+	 * @param elements
+	 *            elements to be added
+	 */
+	public ArrayUnionFind(Iterable<T> elements) {
+		this();
+		for (T e : elements) {
+			add(e);
+		}
+	}
+
+	@Override
+	public void add(T e) {
+		if (this.ids.containsKey(e)) {
+			assert false : "Element exists already";
+			return;
+		}
+		int id = this.elements.size();
+		if (id == this.parent.length) {
+			int capacity = 2 * id;
+			this.parent = Arrays.copyOf(this.parent, capacity);
+			this.rank = Arrays.copyOf(this.rank, capacity);
+			this.representative = Arrays.copyOf(this.representative, capacity);
+		}
+		this.ids.put(e, id);
+		this.elements.add(e);
+		this.parent[id] = id;
+		this.rank[id] = 0;
+		this.representative[id] = id;
+	}
+
+	@Override
+	public T find(T e) {
+		int id = getId(e);
+		if (id == -1) {
+			assert false : "Element does not exist";
+			return null;
+		}
+		return this.elements.get(this.representative[findRoot(id)]);
+	}
+
+	@Override
+	public T union(T u, T v) {
+		int uId = getId(u);
+		int vId = getId(v);
+		if (uId == -1 || vId == -1) {
+			assert false : "Element does not exist";
+			return null;
+		}
+		return this.elements.get(this.representative[unionRoots(
+				findRoot(uId), findRoot(vId))]);
+	}
+
+	@Override
+	public boolean makeRepresentative(T e) {
+		int id = getId(e);
+		if (id == -1) {
+			assert false : "Element does not exist";
+			return false;
+		}
+		this.representative[findRoot(id)] = id;
+		return true;
+	}
+
+	/**
+	 * Turns every element back into a singleton, which is its own
+	 * representative.
+	 */
+	public void reset() {
+		int n = this.elements.size();
+		for (int i = 0; i < n; i++) {
+			this.parent[i] = i;
+			this.rank[i] = 0;
+			this.representative[i] = i;
+		}
+	}
+
+	/**
+	 * @return number of elements
+	 */
+	public int size() {
+		return this.elements.size();
+	}
+
+	/**
+	 * @param e
+	 *            element
+	 * @return dense id of element e, -1 if e does not exist
+	 */
+	public int getId(T e) {
+		Integer id = this.ids.get(e);
+		return (id == null) ? -1 : id;
+	}
+
+	/**
+	 * @param id
+	 *            dense id
+	 * @return element with the given id
+	 */
+	public T getElement(int id) {
+		return this.elements.get(id);
+	}
+
+	/**
+	 * Id based variant of find.
+	 *
+	 * @param id
+	 *            dense id
+	 * @return id of the representative of the set containing id
+	 */
+	public int findId(int id) {
+		return this.representative[findRoot(id)];
+	}
+
+	/**
+	 * Id based variant of union.
+	 *
+	 * @param u
+	 *            dense id
+	 * @param v
+	 *            dense id
+	 * @return id of the representative of the united set
+	 */
+	public int unionIds(int u, int v) {
+		return this.representative[unionRoots(findRoot(u), findRoot(v))];
+	}
+
+	/**
+	 * Id based variant of makeRepresentative.
+	 *
+	 * @param id
+	 *            dense id, becomes the representative of its set
+	 */
+	public void makeRepresentativeId(int id) {
+		this.representative[findRoot(id)] = id;
+	}
+
+	/**
+	 * Returns the root of the set containing id and compresses the path to
+	 * it. Roots are an implementation detail; use representative ids for
+	 * anything that must survive unions.
+	 *
+	 * @param id
+	 *            dense id
+	 * @return id of the root of the set
+	 */
+	private int findRoot(int id) {
+		int root = id;
+		while (this.parent[root] != root) {
+			root = this.parent[root];
+		}
+		while (this.parent[id] != root) {
+			int next = this.parent[id];
+			this.parent[id] = root;
+			id = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Links two roots by rank.
+	 *
+	 * @return the root of the united set
+	 */
+	private int unionRoots(int u, int v) {
+		if (u == v) {
+			return v;
+		}
+		if (this.rank[u] > this.rank[v]) {
+			this.parent[v] = u;
+			return u;
+		}
+		this.parent[u] = v;
+		if (this.rank[u] == this.rank[v]) {
+			this.rank[v]++;
+		}
+		return v;
+	}
+}
@@ -0,0 +1,357 @@
+package com.github.monet.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Link-cut tree over dense node and edge numbers whose edges have weights
+ * moving linearly in a parameter lambda, answering maximum weight queries on
+ * tree paths.
+ *
+ * Edge i has the weight (1 - lambda) c1[i] + lambda c2[i]. Ties at lambda are
+ * broken by the weight just after lambda, then by the larger edge number, so
+ * the maximum is the edge which is heaviest on an interval [lambda, x). The
+ * parameter may only grow.
+ *
+ * Every edge is a node of its own between its end nodes, so the splay trees
+ * store the maximum of their edges like a tournament: every splay node keeps
+ * the heaviest edge below it together with the lambda at which one of the
+ * comparisons leading to it changes. An aggregate is only recomputed once
+ * lambda has reached that point, so moving lambda costs nothing by itself.
+ * Linking, cutting and path queries take O(log n) amortized time, plus the
+ * time to recompute the aggregates which have expired since they were
+ * computed. Every such recomputation is caused by two weights crossing.
+ *
+ * The end nodes of the edges are not stored, they are passed to link and
+ * cut. Weights are compared exactly, which is reliable for integral weights.
+ */
+public class KineticLinkCutTree {
+
+	/**
+	 * Weights of every edge at lambda = 0 and lambda = 1
+	 */
+	private final double[] c1, c2;
+
+	private final int numNodes;
+
+	/**
+	 * Splay trees over nodes 0, ..., numNodes - 1 followed by one node for
+	 * every edge. The parent of a splay root is the path parent, -1 for the
+	 * root of a tree.
+	 */
+	private final int[] left, right, parent;
+	private final boolean[] reversed;
+
+	/**
+	 * Heaviest edge in every splay subtree, -1 if there is none, and the
+	 * lambda up to which it stays the heaviest
+	 */
+	private final int[] winner;
+	private final double[] expiry;
+
+	private double lambda;
+
+	/**
+	 * Buffers for splaying and recomputing expired aggregates
+	 */
+	private final int[] stack, order;
+
+	/**
+	 * Expiry of the last path query
+	 */
+	private double pathExpiry;
+
+	/**
+	 * Creates a forest without edges.
+	 *
+	 * @param numNodes
+	 *            number of nodes
+	 * @param c1
+	 *            weight of every edge at lambda = 0
+	 * @param c2
+	 *            weight of every edge at lambda = 1
+	 */
+	public KineticLinkCutTree(int numNodes, double[] c1, double[] c2) {
+		assert c1.length == c2.length : "c1 and c2 must have the same length";
+		this.c1 = c1;
+		this.c2 = c2;
+		this.numNodes = numNodes;
+		int size = numNodes + c1.length;
+		this.left = new int[size];
+		this.right = new int[size];
+		this.parent = new int[size];
+		this.reversed = new boolean[size];
+		this.winner = new int[size];
+		this.expiry = new double[size];
+		this.stack = new int[size];
+		this.order = new int[size];
+		Arrays.fill(this.left, -1);
+		Arrays.fill(this.right, -1);
+		Arrays.fill(this.parent, -1);
+		Arrays.fill(this.winner, 0, numNodes, -1);
+		for (int i = 0; i < c1.length; i++) {
+			this.winner[numNodes + i] = i;
+		}
+		Arrays.fill(this.expiry, Double.POSITIVE_INFINITY);
+	}
+
+	public double getLambda() {
+		return this.lambda;
+	}
+
+	/**
+	 * Moves the parameter forward.
+	 *
+	 * @param lambda
+	 *            new parameter, not smaller than the current one
+	 */
+	public void advance(double lambda) {
+		assert lambda >= this.lambda : "lambda may only grow";
+		this.lambda = lambda;
+	}
+
+	/**
+	 * Adds edge e between nodes u and v, which must be in different trees.
+	 */
+	public void link(int e, int u, int v) {
+		int x = this.numNodes + e;
+		makeRoot(x);
+		this.parent[x] = u;
+		makeRoot(v);
+		this.parent[v] = x;
+	}
+
+	/**
+	 * Removes edge e between nodes u and v, which must be in the forest.
+	 */
+	public void cut(int e, int u, int v) {
+		int x = this.numNodes + e;
+		cutAbove(u, x);
+		cutAbove(x, v);
+	}
+
+	/**
+	 * Heaviest edge on the path between two nodes of the same tree. The
+	 * result stays the heaviest edge on that path until lambda reaches
+	 * getPathExpiry(), as long as the path is not changed.
+	 *
+	 * @return heaviest edge, -1 if u = v
+	 */
+	public int pathMax(int u, int v) {
+		makeRoot(u);
+		access(v);
+		assert u == v || this.parent[u] != -1 : "u and v are in different trees";
+		refresh(v);
+		this.pathExpiry = this.expiry[v];
+		return this.winner[v];
+	}
+
+	/**
+	 * @return lambda up to which the result of the last call of pathMax is
+	 *         valid, positive infinity if it never changes
+	 */
+	public double getPathExpiry() {
+		return this.pathExpiry;
+	}
+
+	/**
+	 * Makes u the parent of v and removes the edge between them.
+	 */
+	private void cutAbove(int u, int v) {
+		makeRoot(u);
+		access(v);
+		assert this.left[v] == u && this.right[u] == -1 : "Edge is not in the forest";
+		this.left[v] = -1;
+		this.parent[u] = -1;
+		pull(v);
+	}
+
+	private boolean isRoot(int x) {
+		int p = this.parent[x];
+		return p == -1 || (this.left[p] != x && this.right[p] != x);
+	}
+
+	private void push(int x) {
+		if (this.reversed[x]) {
+			int swap = this.left[x];
+			this.left[x] = this.right[x];
+			this.right[x] = swap;
+			if (this.left[x] != -1) {
+				this.reversed[this.left[x]] ^= true;
+			}
+			if (this.right[x] != -1) {
+				this.reversed[this.right[x]] ^= true;
+			}
+			this.reversed[x] = false;
+		}
+	}
+
+	/**
+	 * @return true, if edge a is heavier than edge b on an interval
+	 *         [lambda, x)
+	 */
+	private boolean heavier(int a, int b) {
+		// w(a) - w(b) = num - lambda den
+		double num = this.c1[a] - this.c1[b];
+		double den = num + (this.c2[b] - this.c2[a]);
+		if (den == 0) {
+			return num > 0 || (num == 0 && a > b);
+		}
+		double crossing = num / den;
+		return (den < 0) ? this.lambda >= crossing : this.lambda < crossing;
+	}
+
+	/**
+	 * @return lambda at which edge b overtakes the heavier edge a, positive
+	 *         infinity if it never does
+	 */
+	private double overtaken(int a, int b) {
+		double num = this.c1[a] - this.c1[b];
+		double den = num + (this.c2[b] - this.c2[a]);
+		return (den > 0) ? num / den : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Recomputes the aggregate of x from its children, whose aggregates
+	 * must be valid.
+	 */
+	private void pull(int x) {
+		int best = (x >= this.numNodes) ? x - this.numNodes : -1;
+		double until = Double.POSITIVE_INFINITY;
+		int l = this.left[x];
+		int r = this.right[x];
+		if (l != -1) {
+			refresh(l);
+			until = Math.min(until, this.expiry[l]);
+		}
+		if (r != -1) {
+			refresh(r);
+			until = Math.min(until, this.expiry[r]);
+		}
+		int a = (l != -1) ? this.winner[l] : -1;
+		int b = (r != -1) ? this.winner[r] : -1;
+		if (a != -1 && (best == -1 || heavier(a, best))) {
+			int swap = best;
+			best = a;
+			a = swap;
+		}
+		if (b != -1 && (best == -1 || heavier(b, best))) {
+			int swap = best;
+			best = b;
+			b = swap;
+		}
+		if (a != -1) {
+			until = Math.min(until, overtaken(best, a));
+		}
+		if (b != -1) {
+			until = Math.min(until, overtaken(best, b));
+		}
+		this.winner[x] = best;
+		this.expiry[x] = until;
+	}
+
+	/**
+	 * Recomputes the expired aggregates in the splay subtree of x, children
+	 * before their parents.
+	 */
+	private void refresh(int x) {
+		if (this.expiry[x] > this.lambda) {
+			return;
+		}
+		int size = 0;
+		int count = 0;
+		this.stack[size++] = x;
+		while (size > 0) {
+			int y = this.stack[--size];
+			this.order[count++] = y;
+			// Aggregates do not depend on the order of the children, so
+			// pending reversals can be ignored
+			int l = this.left[y];
+			int r = this.right[y];
+			if (l != -1 && this.expiry[l] <= this.lambda) {
+				this.stack[size++] = l;
+			}
+			if (r != -1 && this.expiry[r] <= this.lambda) {
+				this.stack[size++] = r;
+			}
+		}
+		while (count > 0) {
+			pull(this.order[--count]);
+		}
+	}
+
+	private void rotate(int x) {
+		int y = this.parent[x];
+		int z = this.parent[y];
+		if (!isRoot(y)) {
+			if (this.left[z] == y) {
+				this.left[z] = x;
+			} else {
+				this.right[z] = x;
+			}
+		}
+		this.parent[x] = z;
+		if (this.left[y] == x) {
+			this.left[y] = this.right[x];
+			if (this.right[x] != -1) {
+				this.parent[this.right[x]] = y;
+			}
+			this.right[x] = y;
+		} else {
+			this.right[y] = this.left[x];
+			if (this.left[x] != -1) {
+				this.parent[this.left[x]] = y;
+			}
+			this.left[x] = y;
+		}
+		this.parent[y] = x;
+		pull(y);
+		pull(x);
+	}
+
+	private void splay(int x) {
+		// Push pending reversals from the splay root down to x
+		int size = 0;
+		int y = x;
+		this.stack[size++] = y;
+		while (!isRoot(y)) {
+			y = this.parent[y];
+			this.stack[size++] = y;
+		}
+		while (size > 0) {
+			push(this.stack[--size]);
+		}
+
+		while (!isRoot(x)) {
+			y = this.parent[x];
+			if (!isRoot(y)) {
+				int z = this.parent[y];
+				if ((this.left[y] == x) == (this.left[z] == y)) {
+					rotate(y);
+				} else {
+					rotate(x);
+				}
+			}
+			rotate(x);
+		}
+	}
+
+	/**
+	 * Makes the path from the root to x preferred, with x at the root of
+	 * its splay tree.
+	 */
+	private void access(int x) {
+		int last = -1;
+		for (int y = x; y != -1; y = this.parent[y]) {
+			splay(y);
+			this.right[y] = last;
+			pull(y);
+			last = y;
+		}
+		splay(x);
+	}
+
+	private void makeRoot(int x) {
+		access(x);
+		this.reversed[x] ^= true;
+	}
+}
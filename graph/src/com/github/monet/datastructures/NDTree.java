@@ -0,0 +1,485 @@
+package com.github.monet.datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ND-tree storing mutually non-dominated points for minimization, each
+ * together with a value.
+ *
+ * Every node keeps the ideal and the nadir point of the points below it. A
+ * dominance query or a removal of dominated points only descends into nodes
+ * whose bounds allow a hit, and whole subtrees are accepted or dropped as
+ * soon as their bounds decide the question. Leaves hold at most
+ * maxLeafSize points; a full leaf is split into numChildren leaves grouped
+ * around the points which are farthest apart. New points are routed to the
+ * child with the closest bounding box center. Bounds are never shrunk after
+ * removals, they stay valid but may become less tight.
+ *
+ * The tree does not check whether inserted points are non-dominated; callers
+ * are expected to query isDominated and removeDominated first. Points are
+ * stored by reference and must not be modified afterwards.
+ *
+ * Jaszkiewicz, Lust: ND-Tree-based update: a Fast Algorithm for the Dynamic
+ * Non-Dominance Problem
+ *
+ * @param <T>
+ *            type of values
+ */
+public class NDTree<T> {
+
+	/**
+	 * Default maximum number of points per leaf
+	 */
+	public static final int DEFAULT_MAX_LEAF_SIZE = 20;
+
+	private final int dimension;
+	private final int maxLeafSize;
+	private final int numChildren;
+
+	private Node<T> root;
+	private int size;
+
+	/**
+	 * @param dimension
+	 *            dimension of the points
+	 */
+	public NDTree(int dimension) {
+		this(dimension, DEFAULT_MAX_LEAF_SIZE, dimension + 1);
+	}
+
+	/**
+	 * @param dimension
+	 *            dimension of the points
+	 * @param maxLeafSize
+	 *            maximum number of points per leaf, at least numChildren
+	 * @param numChildren
+	 *            number of children of split leaves, at least 2
+	 */
+	public NDTree(int dimension, int maxLeafSize, int numChildren) {
+		if (numChildren < 2 || maxLeafSize < numChildren) {
+			throw new IllegalArgumentException(
+					"Illegal leaf size or number of children");
+		}
+		this.dimension = dimension;
+		this.maxLeafSize = maxLeafSize;
+		this.numChildren = numChildren;
+		this.root = null;
+		this.size = 0;
+	}
+
+	/**
+	 * Checks if a point is dominated by a point of the tree. Equal points do
+	 * not dominate each other.
+	 *
+	 * @param point
+	 *            point
+	 * @return true, if a point of the tree is pareto smaller than point
+	 */
+	public boolean isDominated(double[] point) {
+		assert point.length == this.dimension : "Dimensions do not match";
+		return this.root != null && isDominated(this.root, point);
+	}
+
+	private boolean isDominated(Node<T> node, double[] point) {
+		if (!weaklyDominates(node.ideal, point)) {
+			// No point below node can be smaller than point
+			return false;
+		}
+		if (weaklyDominates(node.nadir, point)
+				&& !Arrays.equals(node.nadir, point)) {
+			// Every point below node is smaller than point
+			return true;
+		}
+		if (node.isLeaf()) {
+			for (double[] p : node.points) {
+				if (dominates(p, point)) {
+					return true;
+				}
+			}
+		} else {
+			for (Node<T> child : node.children) {
+				if (isDominated(child, point)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all points which are dominated by a point.
+	 *
+	 * @param point
+	 *            point
+	 * @param removed
+	 *            the values of the removed points are added to this list, may
+	 *            be null
+	 * @return number of removed points
+	 */
+	public int removeDominated(double[] point, List<? super T> removed) {
+		assert point.length == this.dimension : "Dimensions do not match";
+		if (this.root == null) {
+			return 0;
+		}
+		int before = this.size;
+		removeDominated(this.root, point, removed);
+		if (this.root.isEmpty()) {
+			this.root = null;
+		}
+		return before - this.size;
+	}
+
+	private void removeDominated(Node<T> node, double[] point,
+			List<? super T> removed) {
+		if (!weaklyDominates(point, node.nadir)) {
+			// No point below node can be greater than point
+			return;
+		}
+		if (weaklyDominates(point, node.ideal)
+				&& !Arrays.equals(point, node.ideal)) {
+			// Every point below node is greater than point
+			drop(node, removed);
+			return;
+		}
+		if (node.isLeaf()) {
+			for (int i = node.points.size() - 1; i >= 0; i--) {
+				if (dominates(point, node.points.get(i))) {
+					T value = node.removeAt(i);
+					if (removed != null) {
+						removed.add(value);
+					}
+					this.size--;
+				}
+			}
+		} else {
+			for (int i = node.children.size() - 1; i >= 0; i--) {
+				Node<T> child = node.children.get(i);
+				removeDominated(child, point, removed);
+				if (child.isEmpty()) {
+					node.children.remove(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all points below a node.
+	 */
+	private void drop(Node<T> node, List<? super T> removed) {
+		if (node.isLeaf()) {
+			if (removed != null) {
+				removed.addAll(node.values);
+			}
+			this.size -= node.points.size();
+			node.points.clear();
+			node.values.clear();
+		} else {
+			for (Node<T> child : node.children) {
+				drop(child, removed);
+			}
+			node.children.clear();
+		}
+	}
+
+	/**
+	 * Inserts a point, which must not be dominated by a point of the tree.
+	 *
+	 * @param point
+	 *            point
+	 * @param value
+	 *            value of the point
+	 */
+	public void insert(double[] point, T value) {
+		assert point.length == this.dimension : "Dimensions do not match";
+		this.size++;
+		if (this.root == null) {
+			this.root = new Node<>(point);
+			this.root.add(point, value);
+			return;
+		}
+
+		Node<T> node = this.root;
+		while (true) {
+			node.extend(point);
+			if (node.isLeaf()) {
+				node.add(point, value);
+				if (node.points.size() > this.maxLeafSize) {
+					split(node);
+				}
+				return;
+			}
+			node = closestChild(node, point);
+		}
+	}
+
+	private Node<T> closestChild(Node<T> node, double[] point) {
+		Node<T> closest = null;
+		double minDistance = Double.POSITIVE_INFINITY;
+		for (Node<T> child : node.children) {
+			double distance = child.distanceToCenter(point);
+			if (distance < minDistance) {
+				minDistance = distance;
+				closest = child;
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Turns a full leaf into an inner node with numChildren leaves.
+	 */
+	private void split(Node<T> leaf) {
+		ArrayList<double[]> points = leaf.points;
+		ArrayList<T> values = leaf.values;
+		int n = points.size();
+
+		// The first child is seeded with the point farthest away from all
+		// other points, every further child with the point farthest away from
+		// the previous seeds
+		double[] distances = new double[n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double d = distance(points.get(i), points.get(j));
+				distances[i] += d;
+				distances[j] += d;
+			}
+		}
+		boolean[] assigned = new boolean[n];
+		leaf.children = new ArrayList<>(this.numChildren);
+		while (leaf.children.size() < this.numChildren) {
+			int farthest = -1;
+			for (int i = 0; i < n; i++) {
+				if (!assigned[i]
+						&& (farthest == -1 || distances[i] > distances[farthest])) {
+					farthest = i;
+				}
+			}
+			if (leaf.children.isEmpty()) {
+				Arrays.fill(distances, 0);
+			}
+			assigned[farthest] = true;
+			for (int i = 0; i < n; i++) {
+				if (!assigned[i]) {
+					distances[i] += distance(points.get(i),
+							points.get(farthest));
+				}
+			}
+			Node<T> child = new Node<>(points.get(farthest));
+			child.add(points.get(farthest), values.get(farthest));
+			leaf.children.add(child);
+		}
+
+		// Distribute the remaining points
+		for (int i = 0; i < n; i++) {
+			if (!assigned[i]) {
+				Node<T> child = closestChild(leaf, points.get(i));
+				child.extend(points.get(i));
+				child.add(points.get(i), values.get(i));
+			}
+		}
+		leaf.points = null;
+		leaf.values = null;
+	}
+
+	/**
+	 * Removes a point.
+	 *
+	 * @param point
+	 *            point
+	 * @param value
+	 *            value of the point
+	 * @return true, if the point was found
+	 */
+	public boolean remove(double[] point, T value) {
+		assert point.length == this.dimension : "Dimensions do not match";
+		if (this.root == null || !remove(this.root, point, value)) {
+			return false;
+		}
+		this.size--;
+		if (this.root.isEmpty()) {
+			this.root = null;
+		}
+		return true;
+	}
+
+	private boolean remove(Node<T> node, double[] point, T value) {
+		if (!weaklyDominates(node.ideal, point)
+				|| !weaklyDominates(point, node.nadir)) {
+			return false;
+		}
+		if (node.isLeaf()) {
+			for (int i = 0; i < node.points.size(); i++) {
+				if (Arrays.equals(node.points.get(i), point)
+						&& node.values.get(i).equals(value)) {
+					node.removeAt(i);
+					return true;
+				}
+			}
+			return false;
+		}
+		for (int i = 0; i < node.children.size(); i++) {
+			Node<T> child = node.children.get(i);
+			if (remove(child, point, value)) {
+				if (child.isEmpty()) {
+					node.children.remove(i);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return values of all points in no particular order
+	 */
+	public List<T> values() {
+		ArrayList<T> values = new ArrayList<>(this.size);
+		if (this.root != null) {
+			collect(this.root, values);
+		}
+		return values;
+	}
+
+	private void collect(Node<T> node, List<T> values) {
+		if (node.isLeaf()) {
+			values.addAll(node.values);
+		} else {
+			for (Node<T> child : node.children) {
+				collect(child, values);
+			}
+		}
+	}
+
+	public void clear() {
+		this.root = null;
+		this.size = 0;
+	}
+
+	/**
+	 * @return number of points
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int getDimension() {
+		return this.dimension;
+	}
+
+	/**
+	 * @return true, if a is smaller than or equal to b in every component
+	 */
+	private static boolean weaklyDominates(double[] a, double[] b) {
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true, if a is pareto smaller than b
+	 */
+	private static boolean dominates(double[] a, double[] b) {
+		boolean smaller = false;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			} else if (a[i] < b[i]) {
+				smaller = true;
+			}
+		}
+		return smaller;
+	}
+
+	private static double distance(double[] a, double[] b) {
+		double sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			double d = a[i] - b[i];
+			sum += d * d;
+		}
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * Node of the tree, either a leaf holding points or an inner node holding
+	 * children
+	 */
+	private static final class Node<T> {
+
+		final double[] ideal;
+		final double[] nadir;
+
+		ArrayList<Node<T>> children;
+		ArrayList<double[]> points;
+		ArrayList<T> values;
+
+		/**
+		 * Creates an empty leaf with the bounds of one point.
+		 */
+		Node(double[] point) {
+			this.ideal = point.clone();
+			this.nadir = point.clone();
+			this.points = new ArrayList<>();
+			this.values = new ArrayList<>();
+		}
+
+		boolean isLeaf() {
+			return this.children == null;
+		}
+
+		boolean isEmpty() {
+			return isLeaf() ? this.points.isEmpty() : this.children.isEmpty();
+		}
+
+		void add(double[] point, T value) {
+			this.points.add(point);
+			this.values.add(value);
+		}
+
+		/**
+		 * Removes the point at index i by moving the last point there.
+		 *
+		 * @return value of the removed point
+		 */
+		T removeAt(int i) {
+			int last = this.points.size() - 1;
+			T value = this.values.get(i);
+			this.points.set(i, this.points.get(last));
+			this.values.set(i, this.values.get(last));
+			this.points.remove(last);
+			this.values.remove(last);
+			return value;
+		}
+
+		/**
+		 * Extends the bounds to contain point.
+		 */
+		void extend(double[] point) {
+			for (int i = 0; i < point.length; i++) {
+				if (point[i] < this.ideal[i]) {
+					this.ideal[i] = point[i];
+				}
+				if (point[i] > this.nadir[i]) {
+					this.nadir[i] = point[i];
+				}
+			}
+		}
+
+		double distanceToCenter(double[] point) {
+			double sum = 0;
+			for (int i = 0; i < point.length; i++) {
+				double d = point[i] - (this.ideal[i] + this.nadir[i]) / 2;
+				sum += d * d;
+			}
+			return sum;
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package com.github.monet.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Spanning forest over dense node and edge numbers, stored as father
+ * pointers.
+ *
+ * Every tree of the forest is rooted at its smallest node number when it is
+ * built. Path queries walk up to the lowest common ancestor and take time
+ * linear in the length of the paths to the root. Exchanging a tree edge for a
+ * non-tree edge reverses the father pointers on one path only, so the forest
+ * never has to be rebuilt while its edges change.
+ *
+ * The end nodes of the edges are shared with the caller and must not be
+ * changed. Which edges are in the forest is not stored, it is up to the
+ * caller to keep track of it.
+ */
+public class RootedForest {
+
+	/**
+	 * End nodes of every edge
+	 */
+	private final int[] first, second;
+
+	/**
+	 * Father of every node, -1 for roots
+	 */
+	private final int[] father;
+
+	/**
+	 * Edge to the father of every node, -1 for roots
+	 */
+	private final int[] fatherEdge;
+
+	/**
+	 * Marks of the ancestors visited by the last path query, allocated by
+	 * the first query
+	 */
+	private int[] marks;
+	private int stamp;
+
+	/**
+	 * @param numNodes
+	 *            number of nodes
+	 * @param first
+	 *            first end node of every edge
+	 * @param second
+	 *            second end node of every edge
+	 * @param inForest
+	 *            whether an edge is in the forest, the edges must not
+	 *            contain a cycle
+	 */
+	public RootedForest(int numNodes, int[] first, int[] second,
+			boolean[] inForest) {
+		assert first.length == second.length : "first and second must have the same length";
+		assert inForest.length == first.length : "inForest needs an entry for every edge";
+		int m = first.length;
+		this.first = first;
+		this.second = second;
+		this.father = new int[numNodes];
+		this.fatherEdge = new int[numNodes];
+
+		// Forest edges as adjacency lists: edge i leaves both of its end nodes
+		int[] head = new int[numNodes];
+		int[] next = new int[2 * m];
+		Arrays.fill(head, -1);
+		for (int e = 0; e < m; e++) {
+			if (inForest[e]) {
+				next[2 * e] = head[first[e]];
+				head[first[e]] = 2 * e;
+				next[2 * e + 1] = head[second[e]];
+				head[second[e]] = 2 * e + 1;
+			}
+		}
+
+		boolean[] visited = new boolean[numNodes];
+		int[] queue = new int[numNodes];
+		for (int root = 0; root < numNodes; root++) {
+			if (visited[root]) {
+				continue;
+			}
+			visited[root] = true;
+			this.father[root] = -1;
+			this.fatherEdge[root] = -1;
+			int begin = 0;
+			int end = 0;
+			queue[end++] = root;
+			while (begin < end) {
+				int u = queue[begin++];
+				for (int slot = head[u]; slot != -1; slot = next[slot]) {
+					int e = slot / 2;
+					int v = (slot % 2 == 0) ? second[e] : first[e];
+					if (!visited[v]) {
+						visited[v] = true;
+						this.father[v] = u;
+						this.fatherEdge[v] = e;
+						queue[end++] = v;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies a forest. Both forests share the end nodes of the edges and can
+	 * be changed independently.
+	 *
+	 * @param other
+	 *            forest to be copied
+	 */
+	public RootedForest(RootedForest other) {
+		this.first = other.first;
+		this.second = other.second;
+		this.father = other.father.clone();
+		this.fatherEdge = other.fatherEdge.clone();
+	}
+
+	/**
+	 * @return number of nodes
+	 */
+	public int getNumNodes() {
+		return this.father.length;
+	}
+
+	/**
+	 * @return father of node u, -1 if u is a root
+	 */
+	public int getFather(int u) {
+		return this.father[u];
+	}
+
+	/**
+	 * @return edge between node u and its father, -1 if u is a root
+	 */
+	public int getFatherEdge(int u) {
+		return this.fatherEdge[u];
+	}
+
+	/**
+	 * @param e
+	 *            forest edge
+	 * @return end node of e further away from the root
+	 */
+	public int getChild(int e) {
+		return (this.fatherEdge[this.first[e]] == e) ? this.first[e]
+				: this.second[e];
+	}
+
+	/**
+	 * Marks the ancestors of u and returns the lowest common ancestor of u
+	 * and v.
+	 *
+	 * @return lowest common ancestor, -1 if u and v are in different trees
+	 */
+	private int lowestCommonAncestor(int u, int v) {
+		if (this.marks == null) {
+			this.marks = new int[this.father.length];
+		} else if (this.stamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.marks, 0);
+			this.stamp = 0;
+		}
+		this.stamp++;
+		for (; u != -1; u = this.father[u]) {
+			this.marks[u] = this.stamp;
+		}
+		for (; v != -1; v = this.father[v]) {
+			if (this.marks[v] == this.stamp) {
+				return v;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Writes the forest edges on the path between two nodes to path, from u
+	 * up to the lowest common ancestor and from there down to v.
+	 *
+	 * @param path
+	 *            buffer, needs space for the longest path
+	 * @return number of edges written, -1 if u and v are in different trees
+	 */
+	public int getPath(int u, int v, int[] path) {
+		int lca = lowestCommonAncestor(u, v);
+		if (lca == -1) {
+			return -1;
+		}
+		int size = 0;
+		for (; u != lca; u = this.father[u]) {
+			path[size++] = this.fatherEdge[u];
+		}
+		int down = size;
+		for (; v != lca; v = this.father[v]) {
+			path[size++] = this.fatherEdge[v];
+		}
+		// The part from v was written upwards
+		for (int i = down, j = size - 1; i < j; i++, j--) {
+			int swap = path[i];
+			path[i] = path[j];
+			path[j] = swap;
+		}
+		return size;
+	}
+
+	/**
+	 * @return true, if forest edge e is on the path between nodes u and v
+	 */
+	public boolean isOnPath(int e, int u, int v) {
+		int lca = lowestCommonAncestor(u, v);
+		if (lca == -1) {
+			return false;
+		}
+		for (; v != lca; v = this.father[v]) {
+			if (this.fatherEdge[v] == e) {
+				return true;
+			}
+		}
+		for (; u != lca; u = this.father[u]) {
+			if (this.fatherEdge[u] == e) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the depth of every node to depth, roots have depth 0. Takes
+	 * O(n) time.
+	 *
+	 * @param depth
+	 *            buffer with an entry for every node
+	 * @param stack
+	 *            buffer with an entry for every node
+	 */
+	public void computeDepths(int[] depth, int[] stack) {
+		int n = this.father.length;
+		Arrays.fill(depth, 0, n, -1);
+		for (int v = 0; v < n; v++) {
+			// Up to the first node with known depth, then down again
+			int size = 0;
+			int u = v;
+			while (u != -1 && depth[u] == -1) {
+				stack[size++] = u;
+				u = this.father[u];
+			}
+			int d = (u == -1) ? -1 : depth[u];
+			while (size > 0) {
+				depth[stack[--size]] = ++d;
+			}
+		}
+	}
+
+	/**
+	 * @return true, if u is in the subtree of v
+	 */
+	public boolean isBelow(int u, int v) {
+		for (; u != -1; u = this.father[u]) {
+			if (u == v) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Replaces forest edge e by non-forest edge f, where e is on the path
+	 * between the end nodes of f.
+	 */
+	public void exchange(int e, int f) {
+		// Below e, the tree is cut off and hung onto f
+		int child = getChild(e);
+		int x = this.first[f];
+		int y = this.second[f];
+		if (!isBelow(x, child)) {
+			x = this.second[f];
+			y = this.first[f];
+		}
+
+		// Reverse the path from x up to child
+		int previous = y;
+		int previousEdge = f;
+		int u = x;
+		while (true) {
+			int nextFather = this.father[u];
+			int nextEdge = this.fatherEdge[u];
+			this.father[u] = previous;
+			this.fatherEdge[u] = previousEdge;
+			if (u == child) {
+				break;
+			}
+			previous = u;
+			previousEdge = nextEdge;
+			u = nextFather;
+		}
+	}
+}
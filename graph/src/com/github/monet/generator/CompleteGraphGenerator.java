@@ -1,11 +1,12 @@
 package com.github.monet.generator;
 
 import com.github.monet.graph.AnnotatedGraph;
-import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.GraphBuilder;
 import com.github.monet.graph.GraphElementReverseHashAnnotator;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
 import com.github.monet.graph.weighted.Weight;
 
@@ -73,20 +74,22 @@ public class CompleteGraphGenerator {
 
 	public AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> generateCompleteGraph(int n, int maxWeight,
 			int dimension) {
-		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		GraphBuilder builder = new GraphBuilder(n, n * (n - 1) / 2);
 
 		SimpleNode[] nodes = new SimpleNode[n];
 		for (int i = 0; i < n; i++) {
-			nodes[i] = graph.addNode();
+			nodes[i] = builder.getNode(i);
 		}
 
 		for (int i = 0; i < n; i++) {
 			for (int j = i+1; j < n; j++) {
-				graph.addEdge(nodes[i], nodes[j]);
+				builder.addEdge(i, j);
 			}
 		}
+		SimpleUndirectedGraph graph = builder.buildUndirected();
 
-		GraphElementHashAnnotator<SimpleEdge, Weight> adapted = new GraphElementHashAnnotator<SimpleEdge, Weight>();
+		ColumnarWeightAnnotator<SimpleEdge> adapted = new ColumnarWeightAnnotator<SimpleEdge>(
+				dimension, n * (n - 1) / 2);
 		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<SimpleEdge>(
 				adapted);
 
@@ -105,20 +108,22 @@ public class CompleteGraphGenerator {
 
 	public static void generateCompleteGraph(int n, int maxWeight,
 			int dimension, String dir, String fileName) {
-		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		GraphBuilder builder = new GraphBuilder(n, n * (n - 1) / 2);
 
 		SimpleNode[] nodes = new SimpleNode[n];
 		for (int i = 0; i < n; i++) {
-			nodes[i] = graph.addNode();
+			nodes[i] = builder.getNode(i);
 		}
 
 		for (int i = 0; i < n; i++) {
 			for (int j = i+1; j < n; j++) {
-				graph.addEdge(nodes[i], nodes[j]);
+				builder.addEdge(i, j);
 			}
 		}
+		SimpleUndirectedGraph graph = builder.buildUndirected();
 
-		GraphElementHashAnnotator<SimpleEdge, Weight> adapted = new GraphElementHashAnnotator<SimpleEdge, Weight>();
+		ColumnarWeightAnnotator<SimpleEdge> adapted = new ColumnarWeightAnnotator<SimpleEdge>(
+				dimension, n * (n - 1) / 2);
 		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<SimpleEdge>(
 				adapted);
 
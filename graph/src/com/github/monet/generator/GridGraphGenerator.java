@@ -1,12 +1,13 @@
 package com.github.monet.generator;
 
 import com.github.monet.graph.AnnotatedGraph;
-import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.GraphBuilder;
 import com.github.monet.graph.GraphElementReverseHashAnnotator;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
 import com.github.monet.graph.interfaces.DirectedEdge;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
 import com.github.monet.graph.weighted.Weight;
 
@@ -107,23 +108,34 @@ public class GridGraphGenerator {
 
 	public static void generateGridGraph(int width, int maxWeight,
 			int dimension, String dir, String fileName) {
-		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		GraphBuilder builder = new GraphBuilder(width * width, 2 * width
+				* (width - 1));
 		SimpleNode[][] nodes = new SimpleNode[width][width];
 		for (int i = 0; i < width; i++) {
 			for (int j = 0; j < width; j++) {
-				nodes[i][j] = graph.addNode();
+				nodes[i][j] = builder.getNode(i * width + j);
 			}
 		}
+		int[][] hEdgeIds = new int[width][width - 1];
+		int[][] vEdgeIds = new int[width - 1][width];
+		for (int i = 0; i < width; i++) {
+			for (int j = 0; j < width - 1; j++) {
+				hEdgeIds[i][j] = builder.addEdge(i * width + j, i * width + j + 1);
+				vEdgeIds[j][i] = builder.addEdge(j * width + i, (j + 1) * width + i);
+			}
+		}
+		SimpleUndirectedGraph graph = builder.buildUndirected();
 		SimpleEdge[][] hEdges = new SimpleEdge[width][width - 1];
 		SimpleEdge[][] vEdges = new SimpleEdge[width - 1][width];
 		for (int i = 0; i < width; i++) {
 			for (int j = 0; j < width - 1; j++) {
-				hEdges[i][j] = graph.addEdge(nodes[i][j], nodes[i][j + 1]);
-				vEdges[j][i] = graph.addEdge(nodes[j][i], nodes[j + 1][i]);
+				hEdges[i][j] = builder.getEdge(hEdgeIds[i][j]);
+				vEdges[j][i] = builder.getEdge(vEdgeIds[j][i]);
 			}
 		}
 
-		GraphElementHashAnnotator<DirectedEdge, Weight> adapted = new GraphElementHashAnnotator<DirectedEdge, Weight>();
+		ColumnarWeightAnnotator<DirectedEdge> adapted = new ColumnarWeightAnnotator<DirectedEdge>(
+				dimension, 2 * width * (width - 1));
 		GraphElementWeightAnnotator<DirectedEdge> weights = new GraphElementWeightAnnotator<DirectedEdge>(
 				adapted);
 
@@ -153,23 +165,34 @@ public class GridGraphGenerator {
 	}
 
 	public AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> generateGridGraph(int width, int maxWeight, int dimension) {
-		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		GraphBuilder builder = new GraphBuilder(width * width, 2 * width
+				* (width - 1));
 		SimpleNode[][] nodes = new SimpleNode[width][width];
 		for (int i = 0; i < width; i++) {
 			for (int j = 0; j < width; j++) {
-				nodes[i][j] = graph.addNode();
+				nodes[i][j] = builder.getNode(i * width + j);
+			}
+		}
+		int[][] hEdgeIds = new int[width][width - 1];
+		int[][] vEdgeIds = new int[width - 1][width];
+		for (int i = 0; i < width; i++) {
+			for (int j = 0; j < width - 1; j++) {
+				hEdgeIds[i][j] = builder.addEdge(i * width + j, i * width + j + 1);
+				vEdgeIds[j][i] = builder.addEdge(j * width + i, (j + 1) * width + i);
 			}
 		}
+		SimpleUndirectedGraph graph = builder.buildUndirected();
 		SimpleEdge[][] hEdges = new SimpleEdge[width][width - 1];
 		SimpleEdge[][] vEdges = new SimpleEdge[width - 1][width];
 		for (int i = 0; i < width; i++) {
 			for (int j = 0; j < width - 1; j++) {
-				hEdges[i][j] = graph.addEdge(nodes[i][j], nodes[i][j + 1]);
-				vEdges[j][i] = graph.addEdge(nodes[j][i], nodes[j + 1][i]);
+				hEdges[i][j] = builder.getEdge(hEdgeIds[i][j]);
+				vEdges[j][i] = builder.getEdge(vEdgeIds[j][i]);
 			}
 		}
 
-		GraphElementHashAnnotator<DirectedEdge, Weight> adapted = new GraphElementHashAnnotator<DirectedEdge, Weight>();
+		ColumnarWeightAnnotator<DirectedEdge> adapted = new ColumnarWeightAnnotator<DirectedEdge>(
+				dimension, 2 * width * (width - 1));
 		GraphElementWeightAnnotator<DirectedEdge> weights = new GraphElementWeightAnnotator<DirectedEdge>(
 				adapted);
 
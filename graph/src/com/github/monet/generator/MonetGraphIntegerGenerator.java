@@ -8,12 +8,13 @@ import java.util.Random;
 
 import com.github.monet.algorithms.Prim;
 import com.github.monet.graph.AnnotatedGraph;
-import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.GraphBuilder;
+import com.github.monet.graph.SimpleAbstractGraph;
 import com.github.monet.graph.SimpleDirectedGraph;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
-import com.github.monet.graph.SimpleUndirectedGraph;
 import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
 import com.github.monet.graph.weighted.Weight;
 
@@ -159,21 +160,19 @@ implements NetworkGenerator<SimpleNode, SimpleEdge, G> {
 	@SuppressWarnings("unchecked")
 	@Override
 	public void generate() {
-		if (this.type.equals("directed")) {
-			this.fullGraph = (G) new SimpleDirectedGraph();
-		} else {
-			this. fullGraph = (G) new SimpleUndirectedGraph();
-		}
+		GraphBuilder builder = new GraphBuilder(this.numNodes, this.numNodes
+				* (this.numNodes - 1));
 
 		// init edge annotator
-		GraphElementHashAnnotator<SimpleEdge, Weight> fullGraphRawWeights =
-				new GraphElementHashAnnotator<>();
+		ColumnarWeightAnnotator<SimpleEdge> fullGraphRawWeights =
+				new ColumnarWeightAnnotator<>(1, this.numNodes
+						* (this.numNodes - 1));
 		this.fullGraphWeights =
 				new GraphElementWeightAnnotator<>(fullGraphRawWeights);
 
 		// initialize nodes
 		for (int i = 0; i < this.numNodes; i++) {
-			SimpleNode node = this.fullGraph.addNode();
+			SimpleNode node = builder.getNode(i);
 			this.nodes.add(node);
 			/*
 			 * create nodes by uniformly placing points in the 2D layer
@@ -187,16 +186,30 @@ implements NetworkGenerator<SimpleNode, SimpleEdge, G> {
 		 *  compute pairwise distances according to metric
 		 */
 		System.out.println("Generator: Create distances according to metric.");
-		for (SimpleNode nodeA:nodes) {
-			for (SimpleNode nodeB:nodes) {
-				if (nodeA.equals(nodeB)) {
+		double[] distances = new double[this.numNodes * (this.numNodes - 1)];
+		for (int a = 0; a < this.numNodes; a++) {
+			for (int b = 0; b < this.numNodes; b++) {
+				if (a == b) {
 					continue;
 				}
-				SimpleEdge edge = fullGraph.addEdge(nodeA, nodeB);
-				fullGraphWeights.setAnnotation(edge, new Weight(new double[] {
-						this.distanceStrategy.d(points.get(nodeA), points.get(nodeB))}));
+				int edge = builder.addEdge(a, b);
+				distances[edge] = this.distanceStrategy.d(
+						points.get(builder.getNode(a)),
+						points.get(builder.getNode(b)));
 			}
 		}
+		// getEdge is called for all pairs of nodes below, so index adjacencies
+		SimpleAbstractGraph<?> builtGraph;
+		if (this.type.equals("directed")) {
+			builtGraph = builder.buildDirected();
+		} else {
+			builtGraph = builder.buildUndirected();
+		}
+		builtGraph.setAdjacencyIndexed(true);
+		this.fullGraph = (G) builtGraph;
+		for (int edge = 0; edge < distances.length; edge++) {
+			fullGraphRawWeights.add(builder.getEdge(edge), distances[edge]);
+		}
 
 		//this.printGraph(fullGraph, fullGraphWeights);
 
@@ -213,13 +226,14 @@ implements NetworkGenerator<SimpleNode, SimpleEdge, G> {
 		 */
 		System.out.println("Generator: Create MST and copy weights into dedicated annotator.");
 		generatedGraph = fullGraph.getSubgraphWithImpliedNodes(spanningTree);
-		GraphElementHashAnnotator<SimpleEdge, Weight> generatedGraphRawWeights =
-				new GraphElementHashAnnotator<>();
+		ColumnarWeightAnnotator<SimpleEdge> generatedGraphRawWeights =
+				new ColumnarWeightAnnotator<>(this.numObjectives,
+						spanningTree.size());
 		this.generatedGraphWeights =
 				new GraphElementWeightAnnotator<>(generatedGraphRawWeights);
 
 		for (SimpleEdge edge:generatedGraph.getAllEdges()) {
-			Weight w = this.generateRandomWeights(fullGraphWeights.getAnnotation(edge).getFirstWeight());
+			Weight w = this.generateRandomWeights(fullGraphWeights.getWeight(edge, 0));
 			generatedGraphWeights.setAnnotation(edge, w);
 		}
 
@@ -251,10 +265,10 @@ implements NetworkGenerator<SimpleNode, SimpleEdge, G> {
 				 * Otherwise check if distance is lower than limit and
 				 * eventually include edge
 				 */
-				Weight firstWeight = fullGraphWeights.getAnnotation(fullGraph.getEdge(nodeA, nodeB));
-				if (firstWeight.getFirstWeight() <= this.distanceLimit) {
+				double firstWeight = fullGraphWeights.getWeight(fullGraph.getEdge(nodeA, nodeB), 0);
+				if (firstWeight <= this.distanceLimit) {
 					SimpleEdge includedEdge = generatedGraph.addEdge(nodeA, nodeB);
-					Weight w = this.generateRandomWeights(firstWeight.getFirstWeight());
+					Weight w = this.generateRandomWeights(firstWeight);
 					generatedGraphWeights.setAnnotation(includedEdge, w);
 					//System.out.println("ADDING!");
 					added++;
@@ -0,0 +1,657 @@
+package com.github.monet.graph;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+
+/**
+ * Subgraph of an indexed graph, represented by a node and an edge bitmask
+ * over the GraphIndex of that graph.
+ *
+ * Views never copy the indexed graph: a view of the whole graph is created in
+ * O(1), a view of k given edges in O(k) (plus clearing the bitmask words
+ * involved), and deleting or including a single edge takes O(1). The masks
+ * come in two flavours: a set bit either marks an element as present, or, for
+ * views created from the whole graph, as removed. Views of the same index can
+ * be compared by their masks.
+ *
+ * Views do not create new nodes or edges: addEdge(u, v) includes an edge
+ * (u,v) of the indexed graph which is not part of the view yet, addNode()
+ * throws an UnsupportedOperationException.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ * @param <V>
+ *            type of the view itself, returned by getSubgraph*
+ */
+public abstract class AbstractSubgraphView<N extends Node, E extends Edge, V extends AbstractSubgraphView<N, E, V>>
+		implements Graph<N, E, V> {
+
+	protected final GraphIndex<N, E> index;
+
+	private final BitSet nodeMask;
+	private final BitSet edgeMask;
+
+	/**
+	 * If true, set bits of the corresponding mask mark removed elements
+	 */
+	private final boolean nodesInverted, edgesInverted;
+
+	private int numNodes;
+	private int numEdges;
+
+	private final NodeCollection allNodes;
+	private final EdgeCollection allEdges;
+
+	/**
+	 * Sum of the fingerprint keys of all nodes and edges of the view, only
+	 * valid if fingerprinted is true
+	 */
+	private long fingerprint;
+	private boolean fingerprinted;
+
+	/**
+	 * Creates a view of all nodes and edges of the index.
+	 *
+	 * @param index
+	 *            index of the graph
+	 */
+	protected AbstractSubgraphView(GraphIndex<N, E> index) {
+		this(index, new BitSet(), true, index.getNumNodes(), new BitSet(),
+				true, index.getNumEdges());
+	}
+
+	/**
+	 * Creates a view from the given masks. The masks are not copied.
+	 */
+	protected AbstractSubgraphView(GraphIndex<N, E> index, BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		assert index != null : "index must not be null";
+		this.index = index;
+		this.nodeMask = nodeMask;
+		this.nodesInverted = nodesInverted;
+		this.numNodes = numNodes;
+		this.edgeMask = edgeMask;
+		this.edgesInverted = edgesInverted;
+		this.numEdges = numEdges;
+		this.allNodes = new NodeCollection();
+		this.allEdges = new EdgeCollection();
+		this.fingerprinted = false;
+	}
+
+	/**
+	 * Creates a view of the same type on the same index from the given masks.
+	 */
+	protected abstract V createView(BitSet nodeMask, boolean nodesInverted,
+			int numNodes, BitSet edgeMask, boolean edgesInverted, int numEdges);
+
+	/**
+	 * @return index of the graph this view is a subgraph of
+	 */
+	public GraphIndex<N, E> getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * @param node
+	 *            node index
+	 * @return true, if the node with the given index is part of the view
+	 */
+	public boolean containsNode(int node) {
+		return node >= 0 && this.nodeMask.get(node) != this.nodesInverted;
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @return true, if the edge with the given index is part of the view
+	 */
+	public boolean containsEdge(int edge) {
+		return edge >= 0 && this.edgeMask.get(edge) != this.edgesInverted;
+	}
+
+	public boolean containsNode(N u) {
+		return containsNode(this.index.getNodeIndex(u));
+	}
+
+	public boolean containsEdge(E e) {
+		return containsEdge(this.index.getEdgeIndex(e));
+	}
+
+	/**
+	 * Includes node u of the indexed graph in the view.
+	 *
+	 * @param u
+	 *            node of the indexed graph
+	 * @return true, if u was not part of the view before
+	 */
+	public boolean includeNode(N u) {
+		int i = this.index.getNodeIndex(u);
+		if (i < 0 || containsNode(i)) {
+			return false;
+		}
+		setNode(i, true);
+		return true;
+	}
+
+	/**
+	 * Includes edge e of the indexed graph and its incident nodes in the
+	 * view.
+	 *
+	 * @param e
+	 *            edge of the indexed graph
+	 * @return true, if e was not part of the view before
+	 */
+	public boolean includeEdge(E e) {
+		int i = this.index.getEdgeIndex(e);
+		if (i < 0 || containsEdge(i)) {
+			return false;
+		}
+		includeEdge(i);
+		return true;
+	}
+
+	private void includeEdge(int i) {
+		int u = this.index.getFirstIndex(i);
+		int v = this.index.getSecondIndex(i);
+		if (!containsNode(u)) {
+			setNode(u, true);
+		}
+		if (!containsNode(v)) {
+			setNode(v, true);
+		}
+		setEdge(i, true);
+	}
+
+	private void setNode(int i, boolean present) {
+		this.nodeMask.set(i, present != this.nodesInverted);
+		this.numNodes += present ? 1 : -1;
+		if (this.fingerprinted) {
+			long key = Fingerprints.of(this.index.getNode(i));
+			this.fingerprint += present ? key : -key;
+		}
+	}
+
+	private void setEdge(int i, boolean present) {
+		this.edgeMask.set(i, present != this.edgesInverted);
+		this.numEdges += present ? 1 : -1;
+		if (this.fingerprinted) {
+			long key = Fingerprints.of(this.index.getEdge(i));
+			this.fingerprint += present ? key : -key;
+		}
+	}
+
+	/**
+	 * Returns a 64 bit fingerprint of the nodes and edges of the view. It is
+	 * computed in O(n + m) on the first call and maintained in O(1) per
+	 * included or deleted element afterwards. Equal views have equal
+	 * fingerprints, also if they belong to different indices.
+	 *
+	 * @return fingerprint of the view
+	 */
+	public long getFingerprint() {
+		if (!this.fingerprinted) {
+			long sum = 0;
+			for (N u : this.allNodes) {
+				sum += Fingerprints.of(u);
+			}
+			for (E e : this.allEdges) {
+				sum += Fingerprints.of(e);
+			}
+			this.fingerprint = sum;
+			this.fingerprinted = true;
+		}
+		return this.fingerprint;
+	}
+
+	/**
+	 * @return index of the first node part of the view at or after from,
+	 *         index.getNumNodes() if there is none
+	 */
+	private int nextNode(int from) {
+		int next = this.nodesInverted ? this.nodeMask.nextClearBit(from)
+				: this.nodeMask.nextSetBit(from);
+		return (next < 0) ? this.index.getNumNodes() : Math.min(next,
+				this.index.getNumNodes());
+	}
+
+	/**
+	 * @return index of the first edge part of the view at or after from,
+	 *         index.getNumEdges() if there is none
+	 */
+	private int nextEdge(int from) {
+		int next = this.edgesInverted ? this.edgeMask.nextClearBit(from)
+				: this.edgeMask.nextSetBit(from);
+		return (next < 0) ? this.index.getNumEdges() : Math.min(next,
+				this.index.getNumEdges());
+	}
+
+	@Override
+	public int getNumNodes() {
+		return this.numNodes;
+	}
+
+	@Override
+	public int getNumEdges() {
+		return this.numEdges;
+	}
+
+	@Override
+	public E addEdge(N u, N v) {
+		int ui = this.index.getNodeIndex(u);
+		int vi = this.index.getNodeIndex(v);
+		if (!containsNode(ui) || !containsNode(vi)) {
+			return null;
+		}
+		int end = this.index.getOutgoingEnd(ui);
+		for (int slot = this.index.lowerBound(this.index.getRowBegin(ui), end,
+				vi); slot < end && this.index.getSlotNode(slot) == vi; slot++) {
+			int e = this.index.getSlotEdge(slot);
+			if (!containsEdge(e)) {
+				setEdge(e, true);
+				return this.index.getEdge(e);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean deleteEdge(E e) {
+		int i = this.index.getEdgeIndex(e);
+		if (!containsEdge(i)) {
+			return false;
+		}
+		setEdge(i, false);
+		return true;
+	}
+
+	@Override
+	public N addNode() {
+		throw new UnsupportedOperationException(
+				"Subgraph views cannot create new nodes");
+	}
+
+	@Override
+	public boolean deleteNode(N u) {
+		int ui = this.index.getNodeIndex(u);
+		if (!containsNode(ui)) {
+			return false;
+		}
+		for (int slot = this.index.getRowBegin(ui); slot < this.index
+				.getRowEnd(ui); slot++) {
+			int e = this.index.getSlotEdge(slot);
+			if (containsEdge(e)) {
+				setEdge(e, false);
+			}
+		}
+		setNode(ui, false);
+		return true;
+	}
+
+	@Override
+	public Collection<N> getAllNodes() {
+		return this.allNodes;
+	}
+
+	@Override
+	public Collection<E> getAllEdges() {
+		return this.allEdges;
+	}
+
+	@Override
+	public Collection<E> getIncidentEdges(N u) {
+		int ui = this.index.getNodeIndex(u);
+		if (!containsNode(ui)) {
+			return null;
+		}
+		return collectEdges(this.index.getRowBegin(ui), this.index.getRowEnd(ui));
+	}
+
+	/**
+	 * @return edges of the view in the slots [begin, end)
+	 */
+	protected ArrayList<E> collectEdges(int begin, int end) {
+		ArrayList<E> edges = new ArrayList<>(end - begin);
+		for (int slot = begin; slot < end; slot++) {
+			int e = this.index.getSlotEdge(slot);
+			if (containsEdge(e)) {
+				edges.add(this.index.getEdge(e));
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * @return adjacent nodes of the slots [begin, end) whose edge is part of
+	 *         the view, without duplicates
+	 */
+	protected LinkedHashSet<N> collectNodes(int begin, int end) {
+		LinkedHashSet<N> nodes = new LinkedHashSet<>();
+		for (int slot = begin; slot < end; slot++) {
+			if (containsEdge(this.index.getSlotEdge(slot))) {
+				nodes.add(this.index.getNode(this.index.getSlotNode(slot)));
+			}
+		}
+		return nodes;
+	}
+
+	@Override
+	public Collection<N> getIncidentNodes(E e) {
+		int i = this.index.getEdgeIndex(e);
+		if (!containsEdge(i)) {
+			return null;
+		}
+		ArrayList<N> nodes = new ArrayList<>(2);
+		nodes.add(this.index.getNode(this.index.getFirstIndex(i)));
+		nodes.add(this.index.getNode(this.index.getSecondIndex(i)));
+		return nodes;
+	}
+
+	@Override
+	public V getSubgraph(Iterable<N> nodes, Iterable<E> edges) {
+		BitSet subNodeMask;
+		boolean subNodesInverted;
+		int subNumNodes;
+		if (nodes == this.allNodes) {
+			subNodeMask = (BitSet) this.nodeMask.clone();
+			subNodesInverted = this.nodesInverted;
+			subNumNodes = this.numNodes;
+		} else {
+			subNodeMask = new BitSet();
+			subNodesInverted = false;
+			subNumNodes = 0;
+			for (N u : nodes) {
+				int i = this.index.getNodeIndex(u);
+				if (!containsNode(i)) {
+					assert false : "Node does not exist in original graph";
+					return null;
+				}
+				if (!subNodeMask.get(i)) {
+					subNodeMask.set(i);
+					subNumNodes++;
+				}
+			}
+		}
+
+		BitSet subEdgeMask;
+		boolean subEdgesInverted;
+		int subNumEdges;
+		if (edges == this.allEdges) {
+			subEdgeMask = (BitSet) this.edgeMask.clone();
+			subEdgesInverted = this.edgesInverted;
+			subNumEdges = this.numEdges;
+		} else {
+			subEdgeMask = new BitSet();
+			subEdgesInverted = false;
+			subNumEdges = 0;
+			for (E e : edges) {
+				int i = this.index.getEdgeIndex(e);
+				if (!containsEdge(i)) {
+					assert false : "Edge does not exist in original graph";
+					return null;
+				}
+				if (!subEdgeMask.get(i)) {
+					subEdgeMask.set(i);
+					subNumEdges++;
+				}
+			}
+		}
+
+		V subgraph = createView(subNodeMask, subNodesInverted, subNumNodes,
+				subEdgeMask, subEdgesInverted, subNumEdges);
+		if (edges != this.allEdges || nodes != this.allNodes) {
+			for (E e : subgraph.getAllEdges()) {
+				int i = this.index.getEdgeIndex(e);
+				if (!subgraph.containsNode(this.index.getFirstIndex(i))
+						|| !subgraph.containsNode(this.index.getSecondIndex(i))) {
+					assert false : "Incident nodes of edge are not part of subgraph";
+					return null;
+				}
+			}
+		}
+		return subgraph;
+	}
+
+	@Override
+	public V getSubgraphWithImpliedNodes(Iterable<E> edges) {
+		BitSet subNodeMask = new BitSet();
+		int subNumNodes = 0;
+		BitSet subEdgeMask = new BitSet();
+		int subNumEdges = 0;
+		for (E e : edges) {
+			int i = this.index.getEdgeIndex(e);
+			if (!containsEdge(i)) {
+				assert false : "Edge does not exist in original graph";
+				return null;
+			}
+			if (!subEdgeMask.get(i)) {
+				subEdgeMask.set(i);
+				subNumEdges++;
+				int u = this.index.getFirstIndex(i);
+				int v = this.index.getSecondIndex(i);
+				if (!subNodeMask.get(u)) {
+					subNodeMask.set(u);
+					subNumNodes++;
+				}
+				if (!subNodeMask.get(v)) {
+					subNodeMask.set(v);
+					subNumNodes++;
+				}
+			}
+		}
+		return createView(subNodeMask, false, subNumNodes, subEdgeMask, false,
+				subNumEdges);
+	}
+
+	@Override
+	public N getIncidentNode(N u, E e) {
+		int i = this.index.getEdgeIndex(e);
+		int ui = this.index.getNodeIndex(u);
+		if (!containsEdge(i) || !containsNode(ui)) {
+			return null;
+		}
+		if (this.index.getFirstIndex(i) == ui) {
+			return this.index.getNode(this.index.getSecondIndex(i));
+		} else if (this.index.getSecondIndex(i) == ui) {
+			return this.index.getNode(this.index.getFirstIndex(i));
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns an edge (u,v) of the view. Directed views only return edges
+	 * from u to v. Takes O(log(deg(u)) + k) time, k being the number of
+	 * parallel edges (u,v) of the indexed graph.
+	 */
+	@Override
+	public E getEdge(N u, N v) {
+		int ui = this.index.getNodeIndex(u);
+		int vi = this.index.getNodeIndex(v);
+		if (!containsNode(ui) || !containsNode(vi)) {
+			return null;
+		}
+		int end = this.index.getOutgoingEnd(ui);
+		for (int slot = this.index.lowerBound(this.index.getRowBegin(ui), end,
+				vi); slot < end && this.index.getSlotNode(slot) == vi; slot++) {
+			int e = this.index.getSlotEdge(slot);
+			if (containsEdge(e)) {
+				return this.index.getEdge(e);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Collection<N> getAdjacentNodes(N u) {
+		int ui = this.index.getNodeIndex(u);
+		if (!containsNode(ui)) {
+			return null;
+		}
+		if (this.index.isDirected()) {
+			return collectNodes(this.index.getRowBegin(ui),
+					this.index.getRowEnd(ui));
+		}
+		ArrayList<N> nodes = new ArrayList<>();
+		for (int slot = this.index.getRowBegin(ui); slot < this.index
+				.getRowEnd(ui); slot++) {
+			if (containsEdge(this.index.getSlotEdge(slot))) {
+				nodes.add(this.index.getNode(this.index.getSlotNode(slot)));
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Views are equal to every graph with the same nodes and edges, like the
+	 * other graphs of this package. Views of the same index are compared by
+	 * their masks.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o instanceof AbstractSubgraphView
+				&& ((AbstractSubgraphView<?, ?, ?>) o).index == this.index) {
+			AbstractSubgraphView<?, ?, ?> other = (AbstractSubgraphView<?, ?, ?>) o;
+			return this.numNodes == other.numNodes
+					&& this.numEdges == other.numEdges
+					&& sameMembers(this.nodeMask, this.nodesInverted,
+							other.nodeMask, other.nodesInverted,
+							this.index.getNumNodes())
+					&& sameMembers(this.edgeMask, this.edgesInverted,
+							other.edgeMask, other.edgesInverted,
+							this.index.getNumEdges());
+		}
+		return Fingerprints.equal(this, o);
+	}
+
+	/**
+	 * Compares two masks over [0, size), given equal member counts.
+	 */
+	private static boolean sameMembers(BitSet a, boolean aInverted, BitSet b,
+			boolean bInverted, int size) {
+		if (aInverted == bInverted) {
+			return a.equals(b);
+		}
+		// One mask marks present, the other removed elements: they have to
+		// be complementary
+		return !a.intersects(b) && a.cardinality() + b.cardinality() == size;
+	}
+
+	/**
+	 * Derived from the fingerprint, so equal graphs of all classes of this
+	 * package have equal hash codes.
+	 */
+	@Override
+	public int hashCode() {
+		return Fingerprints.hashCode(getFingerprint());
+	}
+
+	@Override
+	public String toString() {
+		return "(" + this.allNodes + ", " + this.allEdges + ")";
+	}
+
+	/**
+	 * Live collection of the nodes of the view.
+	 */
+	private class NodeCollection extends AbstractCollection<N> {
+
+		@Override
+		public Iterator<N> iterator() {
+			return new Iterator<N>() {
+				private int next = nextNode(0);
+
+				@Override
+				public boolean hasNext() {
+					return this.next < AbstractSubgraphView.this.index
+							.getNumNodes();
+				}
+
+				@Override
+				public N next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					N u = AbstractSubgraphView.this.index.getNode(this.next);
+					this.next = nextNode(this.next + 1);
+					return u;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return AbstractSubgraphView.this.numNodes;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean contains(Object o) {
+			return o instanceof Node && containsNode((N) o);
+		}
+	}
+
+	/**
+	 * Live collection of the edges of the view.
+	 */
+	private class EdgeCollection extends AbstractCollection<E> {
+
+		@Override
+		public Iterator<E> iterator() {
+			return new Iterator<E>() {
+				private int next = nextEdge(0);
+
+				@Override
+				public boolean hasNext() {
+					return this.next < AbstractSubgraphView.this.index
+							.getNumEdges();
+				}
+
+				@Override
+				public E next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					E e = AbstractSubgraphView.this.index.getEdge(this.next);
+					this.next = nextEdge(this.next + 1);
+					return e;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return AbstractSubgraphView.this.numEdges;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean contains(Object o) {
+			return o instanceof Edge && containsEdge((E) o);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.github.monet.graph;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.weighted.Weight;
+
+/**
+ * Pareto front with dominance management for two objectives.
+ *
+ * The non-dominated points form a staircase: sorted lexicographically, the
+ * first objective increases and the second objective decreases strictly. The
+ * point preceding a new point is therefore the only candidate for dominating
+ * it, and the points dominated by a new point directly follow it. Inserting
+ * a point takes O(log k + r) time for k stored and r removed points, instead
+ * of comparing it with every stored point.
+ *
+ * @param <N> type of node, upper bounded by type Node
+ * @param <E> type of edge, upper bounded by type Edge
+ * @param <G> type of graph, upper bounded by type Graph
+ */
+public class BiobjectiveParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G>>
+		extends ParetoFront<N, E, G> {
+
+	/**
+	 * @param costCalculator Cost function, computing weights of dimension 2
+	 */
+	public BiobjectiveParetoFront(CostCalculator<N, E, G, Weight> costCalculator) {
+		super(costCalculator, true);
+	}
+
+	@Override
+	public boolean add(G g, Weight cost) {
+		assert g != null : "g must not be null";
+		assert cost.getDimension() == 2 : "cost must have dimension 2";
+
+		if (isDominated(cost)) {
+			return false;
+		}
+
+		// Remove all dominated points, they directly follow cost
+		Iterator<Entry<Weight, G>> higher = solutions.tailMap(cost, false)
+				.entrySet().iterator();
+		while (higher.hasNext()) {
+			// Removal may move the successor into entry
+			Entry<Weight, G> entry = higher.next();
+			Weight dominated = entry.getKey();
+			if (dominated.getWeight(1) < cost.getWeight(1)) {
+				break;
+			}
+			G solution = entry.getValue();
+			higher.remove();
+			removed(dominated, solution);
+		}
+
+		put(cost, g);
+		return true;
+	}
+
+	/**
+	 * Checks if a point is dominated by a point of the front. Equal points do
+	 * not dominate each other.
+	 *
+	 * @param cost point of dimension 2
+	 * @return true, if a point of the front is pareto smaller than cost
+	 */
+	@Override
+	public boolean isDominated(Weight cost) {
+		Entry<Weight, G> lower = solutions.lowerEntry(cost);
+		return lower != null && lower.getKey().getWeight(1) <= cost.getWeight(1);
+	}
+}
@@ -0,0 +1,208 @@
+package com.github.monet.graph;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.weighted.Weight;
+
+/**
+ * Pareto front with dominance management holding at most a given number of
+ * solutions.
+ *
+ * Whenever an added solution exceeds the capacity, solutions contributing
+ * least to the front are evicted:
+ *
+ * - For two objectives the hypervolume contribution of every point, the area
+ * of the rectangle spanned with its two neighbours on the staircase, is kept
+ * in a heap. Adding or removing a point only changes the contributions of
+ * its neighbours, so evicting the point with the smallest contribution takes
+ * O(log k). The two extreme points have an infinite contribution and are
+ * never evicted.
+ *
+ * - For three or more objectives the front is truncated by crowding distance.
+ * Computing it takes O(d k log k), so the front is truncated to a tenth below
+ * the capacity at once, which keeps the amortized cost per added solution at
+ * O(d log k) for capacities of 10 and more.
+ *
+ * Unlike for ParetoFront, add may return true although the added solution
+ * has been evicted right away; contains tells whether it was kept.
+ *
+ * @param <N> type of node, upper bounded by type Node
+ * @param <E> type of edge, upper bounded by type Edge
+ * @param <G> type of graph, upper bounded by type Graph
+ */
+public class BoundedParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G>>
+		extends NDTreeParetoFront<N, E, G> {
+
+	private final int capacity;
+
+	/**
+	 * Dimension of the costs, 0 while the front has been empty so far
+	 */
+	private int dimension;
+
+	/**
+	 * Hypervolume contributions of all points, only for two objectives
+	 */
+	private IndexedDaryHeap<Weight> contributions;
+
+	/**
+	 * Number of points added to contributions since it was built. The heap
+	 * keeps every point it has ever seen, so it is rebuilt from time to time.
+	 */
+	private int numContributions;
+
+	/**
+	 * @param costCalculator Cost function
+	 * @param capacity maximum number of solutions, at least 2
+	 */
+	public BoundedParetoFront(CostCalculator<N, E, G, Weight> costCalculator,
+			int capacity) {
+		super(costCalculator);
+		if (capacity < 2) {
+			throw new IllegalArgumentException("capacity must be at least 2");
+		}
+		this.capacity = capacity;
+		this.dimension = 0;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	public boolean add(G g, Weight cost) {
+		if (dimension == 0) {
+			dimension = cost.getDimension();
+		}
+		if (!super.add(g, cost)) {
+			return false;
+		}
+
+		if (dimension == 2) {
+			// The stored key may be an older, equal weight
+			Weight key = solutions.floorKey(cost);
+			refresh(key);
+			refresh(solutions.lowerKey(key));
+			refresh(solutions.higherKey(key));
+			while (size() > capacity) {
+				removeKey(contributions.poll());
+			}
+		} else if (size() > capacity) {
+			truncate(capacity - capacity / 10);
+		}
+		return true;
+	}
+
+	@Override
+	protected void removed(Weight cost, G g) {
+		super.removed(cost, g);
+		if (dimension == 2 && contributions != null) {
+			contributions.remove(cost);
+			refresh(solutions.lowerKey(cost));
+			refresh(solutions.higherKey(cost));
+		}
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		contributions = null;
+		numContributions = 0;
+	}
+
+	/**
+	 * Recomputes the hypervolume contribution of a stored point.
+	 *
+	 * @param w stored point, nothing happens if null
+	 */
+	private void refresh(Weight w) {
+		if (w == null) {
+			return;
+		}
+		if (contributions == null || numContributions > 4 * capacity) {
+			rebuildContributions();
+		}
+		double contribution = contribution(w, solutions.lowerKey(w),
+				solutions.higherKey(w));
+		if (!contributions.update(w, contribution)) {
+			contributions.add(w, contribution);
+			numContributions++;
+		}
+	}
+
+	private void rebuildContributions() {
+		contributions = new IndexedDaryHeap<>(2 * capacity);
+		numContributions = 0;
+		Weight lower = null;
+		for (Weight w : solutions.keySet()) {
+			contributions.add(w, contribution(w, lower, solutions.higherKey(w)));
+			numContributions++;
+			lower = w;
+		}
+	}
+
+	/**
+	 * @return area dominated only by w, infinite for extreme points
+	 */
+	private static double contribution(Weight w, Weight lower, Weight higher) {
+		if (lower == null || higher == null) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return (higher.getWeight(0) - w.getWeight(0))
+				* (lower.getWeight(1) - w.getWeight(1));
+	}
+
+	/**
+	 * Removes the points with the smallest crowding distances until size
+	 * points are left.
+	 */
+	private void truncate(int size) {
+		final Weight[] points = solutions.keySet().toArray(
+				new Weight[solutions.size()]);
+		int n = points.length;
+		final double[] distances = new double[n];
+		Integer[] order = new Integer[n];
+		for (int k = 0; k < dimension; k++) {
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			final int objective = k;
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					return Double.compare(points[a].getWeight(objective),
+							points[b].getWeight(objective));
+				}
+			});
+			double range = points[order[n - 1]].getWeight(k)
+					- points[order[0]].getWeight(k);
+			distances[order[0]] = Double.POSITIVE_INFINITY;
+			distances[order[n - 1]] = Double.POSITIVE_INFINITY;
+			if (range <= 0) {
+				continue;
+			}
+			for (int i = 1; i < n - 1; i++) {
+				distances[order[i]] += (points[order[i + 1]].getWeight(k)
+						- points[order[i - 1]].getWeight(k)) / range;
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(distances[a], distances[b]);
+			}
+		});
+		for (int i = 0; i < n - size; i++) {
+			removeKey(points[order[i]]);
+		}
+	}
+}
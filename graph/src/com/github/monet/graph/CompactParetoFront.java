@@ -0,0 +1,250 @@
+package com.github.monet.graph;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.ParetoSet;
+import com.github.monet.graph.weighted.LexSortComparator;
+import com.github.monet.graph.weighted.Weight;
+
+/**
+ * Pareto front of subgraphs of one graph, which stores its solutions in a
+ * CompactSolutionStore instead of keeping graph objects.
+ *
+ * Every solution is stored by its costs like in ParetoFront. Solutions added
+ * with a base are stored as delta to it, if they are close, see
+ * CompactSolutionStore. Graph objects are materialized as subgraphs of the
+ * graph only when they are requested, e.g. by the iterator, and are not
+ * cached: modifying them does not change the front, and iterating twice
+ * yields different but equal objects.
+ *
+ * @param <N> type of node, upper bounded by type Node
+ * @param <E> type of edge, upper bounded by type Edge
+ * @param <G> type of graph, upper bounded by type Graph
+ */
+public class CompactParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G>>
+		extends AbstractSet<G> implements ParetoSet<N, E, G> {
+
+	private final G graph;
+	private final CompactSolutionStore<N, E> store;
+	private final CostCalculator<N, E, G, Weight> costCalculator;
+	private final boolean dominanceManagement;
+	private final TreeMap<Weight, CompactSolutionStore.Solution> solutions;
+
+	/**
+	 * @param graph graph all solutions are subgraphs of
+	 * @param costCalculator Cost function
+	 * @param dominanceManagement Automatic deletion and rejection of dominated
+	 * points
+	 */
+	public CompactParetoFront(G graph,
+			CostCalculator<N, E, G, Weight> costCalculator,
+			boolean dominanceManagement) {
+		assert graph != null : "graph must not be null";
+		assert costCalculator != null : "costCalculator must not be null";
+		this.graph = graph;
+		this.store = new CompactSolutionStore<>(new GraphIndex<>(graph));
+		this.costCalculator = costCalculator;
+		this.dominanceManagement = dominanceManagement;
+		this.solutions = new TreeMap<>(new LexSortComparator());
+	}
+
+	/**
+	 * @param graph graph all solutions are subgraphs of
+	 * @param costCalculator Cost function
+	 */
+	public CompactParetoFront(G graph,
+			CostCalculator<N, E, G, Weight> costCalculator) {
+		this(graph, costCalculator, false);
+	}
+
+	public CompactSolutionStore<N, E> getStore() {
+		return this.store;
+	}
+
+	@Override
+	public boolean add(G g) {
+		assert g != null : "g must not be null";
+
+		return add(g, this.costCalculator.calculateCosts(g));
+	}
+
+	/**
+	 * Adds a solution with known costs.
+	 *
+	 * @param g solution, subgraph of the graph
+	 * @param cost costs of g
+	 * @return true, if g was added
+	 */
+	public boolean add(G g, Weight cost) {
+		return add(g.getAllEdges(), cost, null);
+	}
+
+	/**
+	 * Adds a solution given by its edges with known costs, stored as delta to
+	 * base if that is cheaper.
+	 *
+	 * @param edges edges of the solution, edges of the graph
+	 * @param cost costs of the solution
+	 * @param base stored solution close to edges, may be null
+	 * @return true, if the solution was added
+	 */
+	public boolean add(Iterable<E> edges, Weight cost,
+			CompactSolutionStore.Solution base) {
+		assert edges != null : "edges must not be null";
+		assert cost != null : "cost must not be null";
+
+		if (this.dominanceManagement && !prune(cost)) {
+			return false;
+		}
+		this.solutions.put(cost, this.store.store(edges, base));
+		return true;
+	}
+
+	/**
+	 * Removes all points dominated by cost.
+	 *
+	 * @return false, if cost is dominated itself
+	 */
+	private boolean prune(Weight cost) {
+		ArrayList<Weight> toBeDeleted = new ArrayList<>();
+		for (Weight w : this.solutions.keySet()) {
+			switch (w.dominates(cost)) {
+				case PARETO_SMALLER:
+					return false;
+				case PARETO_GREATER:
+					toBeDeleted.add(w);
+					break;
+				default:
+			}
+		}
+		for (Weight w : toBeDeleted) {
+			this.solutions.remove(w);
+		}
+		return true;
+	}
+
+	/**
+	 * @return stored solution with the given costs, null if there is none
+	 */
+	public CompactSolutionStore.Solution getSolution(Weight cost) {
+		return this.solutions.get(cost);
+	}
+
+	/**
+	 * @return edges of the solution with the given costs, null if there is
+	 * none
+	 */
+	public List<E> getEdges(Weight cost) {
+		CompactSolutionStore.Solution s = this.solutions.get(cost);
+		return (s == null) ? null : this.store.getEdges(s);
+	}
+
+	/**
+	 * @return costs of all solutions in lexicographic order
+	 */
+	public Set<Weight> keySet() {
+		return this.solutions.keySet();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return locate(o) != null;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		assert o != null : "o must not be null";
+
+		Weight cost = locate(o);
+		return cost != null && this.solutions.remove(cost) != null;
+	}
+
+	/**
+	 * @return key of the solution equal to o, null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	private Weight locate(Object o) {
+		if (!(o instanceof Graph)) {
+			return null;
+		}
+		G g = (G) o;
+		int[] indices = this.store.toIndicesOrNull(g.getAllEdges());
+		if (indices == null) {
+			return null;
+		}
+		Weight cost = this.costCalculator.calculateCosts(g);
+		CompactSolutionStore.Solution s = this.solutions.get(cost);
+		if (s == null || !Arrays.equals(indices, this.store.getEdgeIndices(s))) {
+			return null;
+		}
+		// Like ParetoFront, subgraphs are only equal if their nodes are
+		return g.equals(this.store.materialize(this.graph, s)) ? cost : null;
+	}
+
+	@Override
+	public int size() {
+		return this.solutions.size();
+	}
+
+	@Override
+	public void clear() {
+		this.solutions.clear();
+	}
+
+	/**
+	 * @return iterator materializing the solutions in lexicographic order of
+	 * their costs
+	 */
+	@Override
+	public Iterator<G> iterator() {
+		final Iterator<Entry<Weight, CompactSolutionStore.Solution>> entries = this.solutions
+				.entrySet().iterator();
+		return new Iterator<G>() {
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public G next() {
+				return store.materialize(graph, entries.next().getValue());
+			}
+
+			@Override
+			public void remove() {
+				entries.remove();
+			}
+		};
+	}
+
+	/**
+	 * @return first element in pareto front according to a lexicographic
+	 * order, if exists, otherwise null
+	 */
+	@Override
+	public G first() {
+		return this.solutions.isEmpty() ? null : this.store.materialize(
+				this.graph, this.solutions.firstEntry().getValue());
+	}
+
+	/**
+	 * @return last element in pareto front according to a lexicographic
+	 * order, if exists, otherwise null
+	 */
+	@Override
+	public G last() {
+		return this.solutions.isEmpty() ? null : this.store.materialize(
+				this.graph, this.solutions.lastEntry().getValue());
+	}
+}
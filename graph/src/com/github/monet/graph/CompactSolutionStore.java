@@ -0,0 +1,285 @@
+package com.github.monet.graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+
+/**
+ * Compact storage of subgraphs given by their edges, such as spanning trees,
+ * over the GraphIndex of the graph they are subgraphs of.
+ *
+ * A stored solution is either the sorted array of its edge indices or a delta
+ * to another stored solution: the sorted indices of the edges removed from
+ * and added to the base. Solutions found by an edge exchange from a neighbour
+ * thus take a few ints instead of a graph object with lists of all its nodes
+ * and edges. Deltas are only chained up to MAX_DEPTH times, so resolving the
+ * edges of a solution takes O(MAX_DEPTH k) for k edges.
+ *
+ * Graph objects are only materialized on demand. A delta keeps its base
+ * alive, even if the base itself is no longer referenced elsewhere.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ */
+public class CompactSolutionStore<N extends Node, E extends Edge> {
+
+	/**
+	 * Maximum number of deltas between a solution and a full edge array
+	 */
+	static final int MAX_DEPTH = 8;
+
+	private final GraphIndex<N, E> index;
+
+	/**
+	 * @param index
+	 *            index of the graph all stored solutions are subgraphs of
+	 */
+	public CompactSolutionStore(GraphIndex<N, E> index) {
+		assert index != null : "index must not be null";
+		this.index = index;
+	}
+
+	public GraphIndex<N, E> getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Stores a solution as array of its edge indices.
+	 *
+	 * @param edges
+	 *            edges of the indexed graph
+	 * @return stored solution
+	 */
+	public Solution store(Iterable<E> edges) {
+		return new Solution(toIndices(edges));
+	}
+
+	/**
+	 * Stores a solution as delta to base, if that takes less space than an
+	 * array of all its edge indices.
+	 *
+	 * @param edges
+	 *            edges of the indexed graph
+	 * @param base
+	 *            stored solution, typically a neighbour of edges, may be null
+	 * @return stored solution
+	 */
+	public Solution store(Iterable<E> edges, Solution base) {
+		int[] indices = toIndices(edges);
+		if (base == null || base.depth >= MAX_DEPTH) {
+			return new Solution(indices);
+		}
+		int[] baseIndices = getEdgeIndices(base);
+		int[] removed = difference(baseIndices, indices);
+		int[] added = difference(indices, baseIndices);
+		if (2 * (removed.length + added.length) >= indices.length) {
+			return new Solution(indices);
+		}
+		return new Solution(base, removed, added);
+	}
+
+	/**
+	 * Stores the solution obtained from base by exchanging one edge.
+	 *
+	 * @param base
+	 *            stored solution
+	 * @param removed
+	 *            edge of base
+	 * @param added
+	 *            edge of the indexed graph not in base
+	 * @return stored solution
+	 */
+	public Solution storeExchange(Solution base, E removed, E added) {
+		assert base != null : "base must not be null";
+		int[] out = new int[] { indexOf(removed) };
+		int[] in = new int[] { indexOf(added) };
+		if (base.depth >= MAX_DEPTH) {
+			return new Solution(apply(getEdgeIndices(base), out, in));
+		}
+		return new Solution(base, out, in);
+	}
+
+	/**
+	 * @return sorted edge indices of a stored solution, which may be shared
+	 *         and must not be modified
+	 */
+	public int[] getEdgeIndices(Solution s) {
+		if (s.edges != null) {
+			return s.edges;
+		}
+		return apply(getEdgeIndices(s.base), s.removed, s.added);
+	}
+
+	/**
+	 * @return edges of a stored solution, ordered by their indices
+	 */
+	public List<E> getEdges(Solution s) {
+		final int[] indices = getEdgeIndices(s);
+		return new AbstractList<E>() {
+			@Override
+			public E get(int i) {
+				return index.getEdge(indices[i]);
+			}
+
+			@Override
+			public int size() {
+				return indices.length;
+			}
+		};
+	}
+
+	/**
+	 * Materializes a stored solution as subgraph of graph.
+	 *
+	 * @param graph
+	 *            indexed graph
+	 * @param s
+	 *            stored solution
+	 * @return subgraph of graph with the edges of s and their nodes
+	 */
+	public <G extends Graph<N, E, G>> G materialize(G graph, Solution s) {
+		return graph.getSubgraphWithImpliedNodes(getEdges(s));
+	}
+
+	/**
+	 * @param edges
+	 *            edges of the indexed graph or other edges
+	 * @return sorted edge indices, null if an edge is not part of the indexed
+	 *         graph
+	 */
+	int[] toIndicesOrNull(Iterable<? extends Object> edges) {
+		int n = 0;
+		int[] indices = new int[16];
+		for (Object e : edges) {
+			if (!(e instanceof Edge)) {
+				return null;
+			}
+			@SuppressWarnings("unchecked")
+			int i = this.index.getEdgeIndex((E) e);
+			if (i < 0) {
+				return null;
+			}
+			if (n == indices.length) {
+				indices = Arrays.copyOf(indices, 2 * n);
+			}
+			indices[n++] = i;
+		}
+		indices = Arrays.copyOf(indices, n);
+		Arrays.sort(indices);
+		return indices;
+	}
+
+	private int[] toIndices(Iterable<E> edges) {
+		int[] indices = toIndicesOrNull(edges);
+		assert indices != null : "edges must be edges of the indexed graph";
+		return indices;
+	}
+
+	private int indexOf(E e) {
+		int i = this.index.getEdgeIndex(e);
+		assert i >= 0 : "e must be an edge of the indexed graph";
+		return i;
+	}
+
+	/**
+	 * @return sorted elements of a not in b, both sorted
+	 */
+	private static int[] difference(int[] a, int[] b) {
+		int[] result = new int[a.length];
+		int n = 0;
+		int j = 0;
+		for (int x : a) {
+			while (j < b.length && b[j] < x) {
+				j++;
+			}
+			if (j == b.length || b[j] != x) {
+				result[n++] = x;
+			}
+		}
+		return Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * @return sorted (base \ removed) + added, all sorted
+	 */
+	private static int[] apply(int[] base, int[] removed, int[] added) {
+		int[] result = new int[base.length - removed.length + added.length];
+		int n = 0;
+		int r = 0;
+		int a = 0;
+		for (int x : base) {
+			if (r < removed.length && removed[r] == x) {
+				r++;
+				continue;
+			}
+			while (a < added.length && added[a] < x) {
+				result[n++] = added[a++];
+			}
+			result[n++] = x;
+		}
+		while (a < added.length) {
+			result[n++] = added[a++];
+		}
+		assert r == removed.length && n == result.length : "Delta does not match its base";
+		return result;
+	}
+
+	/**
+	 * Solution stored by a CompactSolutionStore, only to be resolved by the
+	 * store it was created by.
+	 */
+	public static final class Solution {
+		/**
+		 * Sorted edge indices, null for deltas
+		 */
+		private final int[] edges;
+		private final Solution base;
+		private final int[] removed;
+		private final int[] added;
+
+		/**
+		 * Number of deltas to the next full edge array
+		 */
+		private final int depth;
+
+		private final int size;
+
+		private Solution(int[] edges) {
+			this.edges = edges;
+			this.base = null;
+			this.removed = null;
+			this.added = null;
+			this.depth = 0;
+			this.size = edges.length;
+		}
+
+		private Solution(Solution base, int[] removed, int[] added) {
+			this.edges = null;
+			this.base = base;
+			this.removed = removed;
+			this.added = added;
+			this.depth = base.depth + 1;
+			this.size = base.size - removed.length + added.length;
+		}
+
+		/**
+		 * @return number of edges
+		 */
+		public int size() {
+			return this.size;
+		}
+
+		/**
+		 * @return true, if the solution is stored as delta to another one
+		 */
+		public boolean isDelta() {
+			return this.edges == null;
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package com.github.monet.graph;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.ParetoSet;
+import com.github.monet.graph.weighted.LexSortComparator;
+import com.github.monet.graph.weighted.Weight;
+
+/**
+ * Thread-safe pareto front with dominance management, for several threads
+ * offering candidates at the same time.
+ *
+ * The solutions are kept in a concurrent skip list in lexicographic order of
+ * their costs. Readers and iterators never block; like those of
+ * ConcurrentSkipListMap, they are weakly consistent and reflect changes made
+ * while they run or not. Offering a candidate computes its costs and checks
+ * them against the stored points without any lock; as stored points are
+ * only ever removed by points dominating them, a candidate which is
+ * dominated once stays dominated and is rejected right away. Only candidates
+ * passing this test take the writer lock, check again, remove the points
+ * they dominate and are inserted in place, so the front is never copied.
+ *
+ * For two objectives the points form a staircase like in
+ * BiobjectiveParetoFront, and an insert takes O(log k + r) time for k stored
+ * and r removed points. For more objectives every test compares with the
+ * stored points which can dominate or be dominated, O(k) in the worst case.
+ *
+ * As in ParetoFront, a candidate replaces a stored solution with equal costs.
+ * The cost calculator is called concurrently and therefore has to be
+ * thread-safe. Solutions and costs must not be modified once offered.
+ *
+ * @param <N> type of node, upper bounded by type Node
+ * @param <E> type of edge, upper bounded by type Edge
+ * @param <G> type of graph, upper bounded by type Graph
+ */
+public class ConcurrentParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G>>
+		extends AbstractSet<G> implements ParetoSet<N, E, G> {
+
+	private final CostCalculator<N, E, G, Weight> costCalculator;
+	private final ConcurrentSkipListMap<Weight, G> solutions;
+
+	/**
+	 * Serializes writers
+	 */
+	private final Object writeLock = new Object();
+
+	/**
+	 * @param costCalculator Cost function, has to be thread-safe
+	 */
+	public ConcurrentParetoFront(CostCalculator<N, E, G, Weight> costCalculator) {
+		assert costCalculator != null : "costCalculator must not be null";
+		this.costCalculator = costCalculator;
+		this.solutions = new ConcurrentSkipListMap<>(new LexSortComparator());
+	}
+
+	@Override
+	public boolean add(G g) {
+		assert g != null : "g must not be null";
+
+		return add(g, this.costCalculator.calculateCosts(g));
+	}
+
+	/**
+	 * Offers a solution with known costs.
+	 *
+	 * @param g solution
+	 * @param cost costs of g
+	 * @return true, if g was added
+	 */
+	public boolean add(G g, Weight cost) {
+		assert g != null : "g must not be null";
+		assert cost != null : "cost must not be null";
+
+		if (isDominated(cost)) {
+			return false;
+		}
+		synchronized (this.writeLock) {
+			if (isDominated(cost)) {
+				return false;
+			}
+			// Dominated points are lexicographically greater
+			Iterator<Weight> higher = this.solutions.tailMap(cost, false)
+					.keySet().iterator();
+			while (higher.hasNext()) {
+				Weight w = higher.next();
+				if (cost.dominates(w) == Weight.DominationRelation.PARETO_SMALLER) {
+					higher.remove();
+				} else if (cost.getDimension() == 2
+						&& w.getWeight(1) < cost.getWeight(1)) {
+					// All further points of the staircase are lower
+					break;
+				}
+			}
+			this.solutions.put(cost, g);
+			return true;
+		}
+	}
+
+	/**
+	 * @return true, if a stored point is pareto smaller than cost
+	 */
+	public boolean isDominated(Weight cost) {
+		if (cost.getDimension() == 2) {
+			// On the staircase, only the predecessor can dominate cost
+			Weight lower = this.solutions.lowerKey(cost);
+			return lower != null && lower.getWeight(1) <= cost.getWeight(1);
+		}
+		// Dominating points are lexicographically smaller
+		for (Weight w : this.solutions.headMap(cost, false).keySet()) {
+			if (w.dominates(cost) == Weight.DominationRelation.PARETO_SMALLER) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return solution with the given costs, null if there is none
+	 */
+	public G get(Weight cost) {
+		return this.solutions.get(cost);
+	}
+
+	/**
+	 * @return costs of all solutions in lexicographic order, read-only and
+	 * weakly consistent
+	 */
+	public Set<Weight> keySet() {
+		return Collections.unmodifiableSet(this.solutions.keySet());
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		assert o != null : "o must not be null";
+
+		synchronized (this.writeLock) {
+			for (Entry<Weight, G> entry : this.solutions.entrySet()) {
+				if (entry.getValue().equals(o)) {
+					return this.solutions.remove(entry.getKey(), entry
+							.getValue());
+				}
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.writeLock) {
+			this.solutions.clear();
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.solutions.containsValue(o);
+	}
+
+	/**
+	 * Counts the solutions, which takes O(k) time.
+	 */
+	@Override
+	public int size() {
+		return this.solutions.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.solutions.isEmpty();
+	}
+
+	/**
+	 * @return weakly consistent iterator in lexicographic order of the costs
+	 */
+	@Override
+	public Iterator<G> iterator() {
+		final Iterator<Entry<Weight, G>> entries = this.solutions.entrySet()
+				.iterator();
+		return new Iterator<G>() {
+			private Entry<Weight, G> last;
+
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public G next() {
+				this.last = entries.next();
+				return this.last.getValue();
+			}
+
+			@Override
+			public void remove() {
+				if (this.last == null) {
+					throw new IllegalStateException();
+				}
+				synchronized (writeLock) {
+					solutions.remove(this.last.getKey(), this.last.getValue());
+				}
+				this.last = null;
+			}
+		};
+	}
+
+	/**
+	 * @return first element in pareto front according to a lexicographic
+	 * order, if exists, otherwise null
+	 */
+	@Override
+	public G first() {
+		Entry<Weight, G> first = this.solutions.firstEntry();
+		return first == null ? null : first.getValue();
+	}
+
+	/**
+	 * @return last element in pareto front according to a lexicographic
+	 * order, if exists, otherwise null
+	 */
+	@Override
+	public G last() {
+		Entry<Weight, G> last = this.solutions.lastEntry();
+		return last == null ? null : last.getValue();
+	}
+}
@@ -0,0 +1,617 @@
+package com.github.monet.graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.github.monet.graph.interfaces.DirectedGraph;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.UndirectedGraph;
+
+/**
+ * Immutable graph in compressed sparse row (CSR) representation.
+ *
+ * Nodes and edges are numbered densely from 0 to getNumNodes() - 1 and
+ * getNumEdges() - 1 respectively. The incident edges of every node are stored
+ * in one contiguous row of a single array, outgoing edges first, incoming
+ * edges second, each part sorted by the index of the adjacent node. The index
+ * based methods (getIncidenceBegin(int), getIncidentEdgeIndex(int), ...)
+ * allow iterating over incident edges without any allocation.
+ *
+ * Like SimpleEdge the graph implements both the directed and the undirected
+ * interface; the flag given on construction only decides whether getEdge
+ * follows the direction of edges. Node and edge objects are shared with the
+ * graph the CSR graph is built from, so annotators of that graph can be used
+ * unchanged. All mutating methods throw an UnsupportedOperationException.
+ */
+public class CsrGraph implements
+		DirectedGraph<SimpleNode, SimpleEdge, CsrGraph>,
+		UndirectedGraph<SimpleNode, SimpleEdge, CsrGraph> {
+
+	/**
+	 * Whether getEdge respects the direction of edges
+	 */
+	private final boolean directed;
+
+	/**
+	 * Nodes by index
+	 */
+	private final SimpleNode[] nodes;
+
+	/**
+	 * Edges by index
+	 */
+	private final SimpleEdge[] edges;
+
+	/**
+	 * Maps node ids to node indices, -1 if a node is not part of the graph
+	 */
+	private final int[] nodeIndex;
+
+	/**
+	 * Index of the source node of every edge
+	 */
+	private final int[] source;
+
+	/**
+	 * Index of the target node of every edge
+	 */
+	private final int[] target;
+
+	/**
+	 * Incident edges of every node, the arrays below are its parts
+	 */
+	private final CsrRows rows;
+
+	/**
+	 * Row of node v is [adjOffset[v], adjOffset[v + 1])
+	 */
+	private final int[] adjOffset;
+
+	/**
+	 * Outgoing edges of node v are [adjOffset[v], adjSplit[v]), incoming
+	 * edges are [adjSplit[v], adjOffset[v + 1])
+	 */
+	private final int[] adjSplit;
+
+	/**
+	 * Incident edge index of every slot
+	 */
+	private final int[] adjEdge;
+
+	/**
+	 * Adjacent node index of every slot
+	 */
+	private final int[] adjNode;
+
+	private final List<SimpleNode> nodeList;
+	private final List<SimpleEdge> edgeList;
+
+	/**
+	 * Sum of the fingerprint keys of all nodes and edges
+	 */
+	private final long fingerprint;
+
+	/**
+	 * Creates a directed CSR graph with the nodes and edges of graph g.
+	 *
+	 * @param g
+	 *            graph to be copied
+	 */
+	public CsrGraph(SimpleDirectedGraph g) {
+		this(g, true);
+	}
+
+	/**
+	 * Creates an undirected CSR graph with the nodes and edges of graph g.
+	 *
+	 * @param g
+	 *            graph to be copied
+	 */
+	public CsrGraph(SimpleUndirectedGraph g) {
+		this(g, false);
+	}
+
+	/**
+	 * Creates a CSR graph with the nodes and edges of graph g.
+	 *
+	 * @param g
+	 *            graph to be copied
+	 * @param directed
+	 *            whether getEdge respects the direction of edges
+	 */
+	public CsrGraph(Graph<SimpleNode, SimpleEdge, ?> g, boolean directed) {
+		this(g.getAllNodes().toArray(new SimpleNode[g.getNumNodes()]), g
+				.getAllEdges().toArray(new SimpleEdge[g.getNumEdges()]),
+				directed);
+	}
+
+	private CsrGraph(SimpleNode[] nodes, SimpleEdge[] edges, boolean directed) {
+		this.directed = directed;
+		this.nodes = nodes;
+		this.edges = edges;
+		int n = nodes.length;
+		int m = edges.length;
+
+		int maxId = -1;
+		for (SimpleNode node : nodes) {
+			maxId = Math.max(maxId, node.getId());
+		}
+		this.nodeIndex = new int[maxId + 1];
+		Arrays.fill(this.nodeIndex, -1);
+		for (int i = 0; i < n; i++) {
+			assert this.nodeIndex[nodes[i].getId()] == -1 : "Nodes must be unique";
+			this.nodeIndex[nodes[i].getId()] = i;
+		}
+
+		this.source = new int[m];
+		this.target = new int[m];
+		for (int i = 0; i < m; i++) {
+			this.source[i] = getNodeIndex(edges[i].u);
+			this.target[i] = getNodeIndex(edges[i].v);
+			assert this.source[i] >= 0 && this.target[i] >= 0 : "Incident nodes of edges must be part of the graph";
+		}
+
+		// Row layout: outgoing part first, incoming part second
+		this.rows = new CsrRows(n, this.source, this.target, true);
+		this.adjOffset = this.rows.offset;
+		this.adjSplit = this.rows.split;
+		this.adjEdge = this.rows.slotEdge;
+		this.adjNode = this.rows.slotNode;
+
+		this.nodeList = Collections.unmodifiableList(Arrays.asList(nodes));
+		this.edgeList = Collections.unmodifiableList(Arrays.asList(edges));
+
+		long fingerprint = 0;
+		for (SimpleNode node : nodes) {
+			fingerprint += Fingerprints.of(node);
+		}
+		for (SimpleEdge edge : edges) {
+			fingerprint += Fingerprints.of(edge);
+		}
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * @return 64 bit fingerprint of the nodes and edges, equal to the
+	 *         fingerprint of the graph the CSR graph is built from
+	 */
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * @return incidence rows in directed layout
+	 */
+	CsrRows getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * @return true, if getEdge respects the direction of edges
+	 */
+	public boolean isDirected() {
+		return this.directed;
+	}
+
+	/**
+	 * Returns the index of node u.
+	 *
+	 * @param u
+	 *            node in the graph
+	 * @return index of u, -1 if u does not exist in the graph
+	 */
+	public int getNodeIndex(SimpleNode u) {
+		int id = u.getId();
+		if (id < 0 || id >= this.nodeIndex.length) {
+			return -1;
+		}
+		return this.nodeIndex[id];
+	}
+
+	/**
+	 * Returns the index of edge e.
+	 *
+	 * @param e
+	 *            edge in the graph
+	 * @return index of e, -1 if e does not exist in the graph
+	 */
+	public int getEdgeIndex(SimpleEdge e) {
+		int u = getNodeIndex(e.u);
+		int v = getNodeIndex(e.v);
+		if (u < 0 || v < 0) {
+			return -1;
+		}
+		int found = -1;
+		for (int slot = lowerBound(this.adjOffset[u], this.adjSplit[u], v); slot < this.adjSplit[u]
+				&& this.adjNode[slot] == v; slot++) {
+			int candidate = this.adjEdge[slot];
+			if (this.edges[candidate] == e) {
+				return candidate;
+			} else if (found < 0 && this.edges[candidate].equals(e)) {
+				found = candidate;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @param index
+	 *            index of a node
+	 * @return node with the given index
+	 */
+	public SimpleNode getNode(int index) {
+		return this.nodes[index];
+	}
+
+	/**
+	 * @param index
+	 *            index of an edge
+	 * @return edge with the given index
+	 */
+	public SimpleEdge getEdge(int index) {
+		return this.edges[index];
+	}
+
+	/**
+	 * @param edge
+	 *            index of an edge
+	 * @return index of the source node of the edge
+	 */
+	public int getSourceIndex(int edge) {
+		return this.source[edge];
+	}
+
+	/**
+	 * @param edge
+	 *            index of an edge
+	 * @return index of the target node of the edge
+	 */
+	public int getTargetIndex(int edge) {
+		return this.target[edge];
+	}
+
+	/**
+	 * Returns the first slot of the row of node u. Slots [getIncidenceBegin(u),
+	 * getOutgoingEnd(u)) hold the outgoing edges of u, slots
+	 * [getOutgoingEnd(u), getIncidenceEnd(u)) the incoming ones.
+	 *
+	 * @param u
+	 *            index of a node
+	 * @return first slot of the row of u
+	 */
+	public int getIncidenceBegin(int u) {
+		return this.adjOffset[u];
+	}
+
+	/**
+	 * @param u
+	 *            index of a node
+	 * @return first slot after the outgoing edges of u
+	 */
+	public int getOutgoingEnd(int u) {
+		return this.adjSplit[u];
+	}
+
+	/**
+	 * @param u
+	 *            index of a node
+	 * @return first slot after the row of u
+	 */
+	public int getIncidenceEnd(int u) {
+		return this.adjOffset[u + 1];
+	}
+
+	/**
+	 * @param slot
+	 *            slot in a row
+	 * @return index of the edge stored in the slot
+	 */
+	public int getIncidentEdgeIndex(int slot) {
+		return this.adjEdge[slot];
+	}
+
+	/**
+	 * @param slot
+	 *            slot in a row
+	 * @return index of the node adjacent via the edge stored in the slot
+	 */
+	public int getAdjacentNodeIndex(int slot) {
+		return this.adjNode[slot];
+	}
+
+	/**
+	 * @param u
+	 *            index of a node
+	 * @return number of edges incident to u, loops counted twice
+	 */
+	public int getDegree(int u) {
+		return this.adjOffset[u + 1] - this.adjOffset[u];
+	}
+
+	/**
+	 * Returns the first slot in [from, to) whose adjacent node is not smaller
+	 * than v.
+	 */
+	private int lowerBound(int from, int to, int v) {
+		return this.rows.lowerBound(from, to, v);
+	}
+
+	@Override
+	public int getNumNodes() {
+		return this.nodes.length;
+	}
+
+	@Override
+	public int getNumEdges() {
+		return this.edges.length;
+	}
+
+	@Override
+	public SimpleEdge addEdge(SimpleNode u, SimpleNode v) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public boolean deleteEdge(SimpleEdge e) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public SimpleNode addNode() {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public boolean deleteNode(SimpleNode u) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public Collection<SimpleNode> getAllNodes() {
+		return this.nodeList;
+	}
+
+	@Override
+	public Collection<SimpleEdge> getAllEdges() {
+		return this.edgeList;
+	}
+
+	@Override
+	public Collection<SimpleEdge> getIncidentEdges(SimpleNode u) {
+		int index = getNodeIndex(u);
+		if (index < 0) {
+			return null;
+		}
+		return new EdgeRow(this.adjOffset[index], this.adjOffset[index + 1]);
+	}
+
+	@Override
+	public Collection<SimpleEdge> getIncomingEdges(SimpleNode n) {
+		int index = getNodeIndex(n);
+		if (index < 0) {
+			return null;
+		}
+		return new EdgeRow(this.adjSplit[index], this.adjOffset[index + 1]);
+	}
+
+	@Override
+	public Collection<SimpleEdge> getOutgoingEdges(SimpleNode n) {
+		int index = getNodeIndex(n);
+		if (index < 0) {
+			return null;
+		}
+		return new EdgeRow(this.adjOffset[index], this.adjSplit[index]);
+	}
+
+	@Override
+	public Collection<SimpleNode> getIncidentNodes(SimpleEdge e) {
+		if (getEdgeIndex(e) < 0) {
+			return null;
+		}
+		ArrayList<SimpleNode> incident = new ArrayList<>(2);
+		incident.add(e.u);
+		incident.add(e.v);
+		return incident;
+	}
+
+	@Override
+	public SimpleNode getIncidentNode(SimpleNode u, SimpleEdge e) {
+		if (getNodeIndex(u) < 0 || getEdgeIndex(e) < 0) {
+			return null;
+		}
+		if (e.u == u) {
+			return e.v;
+		} else if (e.v == u) {
+			return e.u;
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public SimpleNode getSource(SimpleEdge e) {
+		return e.u;
+	}
+
+	@Override
+	public SimpleNode getTarget(SimpleEdge e) {
+		return e.v;
+	}
+
+	@Override
+	public SimpleEdge getEdge(SimpleNode u, SimpleNode v) {
+		int ui = getNodeIndex(u);
+		int vi = getNodeIndex(v);
+		if (ui < 0 || vi < 0) {
+			return null;
+		}
+		int slot = lowerBound(this.adjOffset[ui], this.adjSplit[ui], vi);
+		if (slot < this.adjSplit[ui] && this.adjNode[slot] == vi) {
+			return this.edges[this.adjEdge[slot]];
+		}
+		if (!this.directed) {
+			slot = lowerBound(this.adjSplit[ui], this.adjOffset[ui + 1], vi);
+			if (slot < this.adjOffset[ui + 1] && this.adjNode[slot] == vi) {
+				return this.edges[this.adjEdge[slot]];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Collection<SimpleNode> getAdjacentNodes(SimpleNode u) {
+		int index = getNodeIndex(u);
+		if (index < 0) {
+			return null;
+		}
+		if (!this.directed) {
+			return new NodeRow(this.adjOffset[index], this.adjOffset[index + 1]);
+		}
+		LinkedHashSet<SimpleNode> adjacent = new LinkedHashSet<>();
+		adjacent.addAll(getSucceedingNodes(u));
+		adjacent.addAll(getPrecedingNodes(u));
+		return adjacent;
+	}
+
+	@Override
+	public Collection<SimpleNode> getPrecedingNodes(SimpleNode n) {
+		int index = getNodeIndex(n);
+		if (index < 0) {
+			return null;
+		}
+		return distinctNodes(this.adjSplit[index], this.adjOffset[index + 1]);
+	}
+
+	@Override
+	public Collection<SimpleNode> getSucceedingNodes(SimpleNode n) {
+		int index = getNodeIndex(n);
+		if (index < 0) {
+			return null;
+		}
+		return distinctNodes(this.adjOffset[index], this.adjSplit[index]);
+	}
+
+	/**
+	 * Returns the adjacent nodes of slots [from, to) without duplicates,
+	 * exploiting that each part of a row is sorted by adjacent node.
+	 */
+	private List<SimpleNode> distinctNodes(int from, int to) {
+		ArrayList<SimpleNode> distinct = new ArrayList<>(to - from);
+		for (int slot = from; slot < to; slot++) {
+			if (slot == from || this.adjNode[slot] != this.adjNode[slot - 1]) {
+				distinct.add(this.nodes[this.adjNode[slot]]);
+			}
+		}
+		return distinct;
+	}
+
+	@Override
+	public CsrGraph getSubgraph(Iterable<SimpleNode> nodes,
+			Iterable<SimpleEdge> edges) {
+		ArrayList<SimpleNode> subNodes = new ArrayList<>();
+		for (SimpleNode node : nodes) {
+			if (getNodeIndex(node) < 0) {
+				assert false : "Node does not exist in original graph";
+				return null;
+			}
+			subNodes.add(node);
+		}
+		ArrayList<SimpleEdge> subEdges = new ArrayList<>();
+		for (SimpleEdge edge : edges) {
+			int index = getEdgeIndex(edge);
+			if (index < 0) {
+				assert false : "Edge does not exist in original graph";
+				return null;
+			}
+			subEdges.add(this.edges[index]);
+		}
+		return new CsrGraph(subNodes.toArray(new SimpleNode[subNodes.size()]),
+				subEdges.toArray(new SimpleEdge[subEdges.size()]),
+				this.directed);
+	}
+
+	@Override
+	public CsrGraph getSubgraphWithImpliedNodes(Iterable<SimpleEdge> edges) {
+		LinkedHashSet<SimpleNode> nodes = new LinkedHashSet<>();
+		for (SimpleEdge edge : edges) {
+			nodes.add(edge.u);
+			nodes.add(edge.v);
+		}
+		return getSubgraph(nodes, edges);
+	}
+
+	/**
+	 * CSR graphs are equal to every graph with the same nodes and edges, like
+	 * the other graphs of this package.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		return Fingerprints.equal(this, o);
+	}
+
+	/**
+	 * Derived from the fingerprint, so equal graphs of all classes of this
+	 * package have equal hash codes.
+	 */
+	@Override
+	public int hashCode() {
+		return Fingerprints.hashCode(this.fingerprint);
+	}
+
+	/**
+	 * Read-only view of the edges stored in slots [from, to).
+	 */
+	private class EdgeRow extends AbstractList<SimpleEdge> {
+		private final int from;
+		private final int size;
+
+		EdgeRow(int from, int to) {
+			this.from = from;
+			this.size = to - from;
+		}
+
+		@Override
+		public SimpleEdge get(int index) {
+			if (index < 0 || index >= this.size) {
+				throw new IndexOutOfBoundsException(String.valueOf(index));
+			}
+			return CsrGraph.this.edges[CsrGraph.this.adjEdge[this.from + index]];
+		}
+
+		@Override
+		public int size() {
+			return this.size;
+		}
+	}
+
+	/**
+	 * Read-only view of the adjacent nodes stored in slots [from, to).
+	 */
+	private class NodeRow extends AbstractList<SimpleNode> {
+		private final int from;
+		private final int size;
+
+		NodeRow(int from, int to) {
+			this.from = from;
+			this.size = to - from;
+		}
+
+		@Override
+		public SimpleNode get(int index) {
+			if (index < 0 || index >= this.size) {
+				throw new IndexOutOfBoundsException(String.valueOf(index));
+			}
+			return CsrGraph.this.nodes[CsrGraph.this.adjNode[this.from + index]];
+		}
+
+		@Override
+		public int size() {
+			return this.size;
+		}
+	}
+}
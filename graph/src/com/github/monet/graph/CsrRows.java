@@ -0,0 +1,117 @@
+package com.github.monet.graph;
+
+/**
+ * Incidence rows in compressed sparse row form over dense node and edge
+ * indices, built by GraphIndex and CsrGraph.
+ *
+ * The incident edges of every node are stored in one contiguous row, outgoing
+ * edges first, incoming edges second, each part sorted by the index of the
+ * adjacent node and then by edge index. Without directions all edges of a
+ * node are outgoing. Building the rows takes O(n + m) time.
+ */
+final class CsrRows {
+
+	/**
+	 * Row of node v is [offset[v], offset[v + 1]), outgoing edges are
+	 * [offset[v], split[v])
+	 */
+	final int[] offset, split;
+
+	/**
+	 * Incident edge index and adjacent node index of every slot
+	 */
+	final int[] slotEdge, slotNode;
+
+	/**
+	 * @param n
+	 *            number of nodes
+	 * @param first
+	 *            first (source) node index of every edge
+	 * @param second
+	 *            second (target) node index of every edge
+	 * @param directed
+	 *            whether incoming edges are stored apart from the outgoing
+	 *            ones
+	 */
+	CsrRows(int n, int[] first, int[] second, boolean directed) {
+		int m = first.length;
+
+		// Row sizes
+		int[] outDegree = new int[n];
+		int[] inDegree = new int[n];
+		for (int i = 0; i < m; i++) {
+			outDegree[first[i]]++;
+			if (directed) {
+				inDegree[second[i]]++;
+			} else {
+				outDegree[second[i]]++;
+			}
+		}
+		this.offset = new int[n + 1];
+		this.split = new int[n];
+		for (int v = 0; v < n; v++) {
+			this.split[v] = this.offset[v] + outDegree[v];
+			this.offset[v + 1] = this.split[v] + inDegree[v];
+		}
+
+		// Every edge occupies two slots. Counting sort of the slots by
+		// adjacent node, then a stable distribution into the rows keeps the
+		// rows sorted by adjacent node.
+		int slots = 2 * m;
+		int[] count = new int[n + 1];
+		for (int i = 0; i < m; i++) {
+			count[second[i] + 1]++;
+			count[first[i] + 1]++;
+		}
+		for (int v = 0; v < n; v++) {
+			count[v + 1] += count[v];
+		}
+		// Slot 2i is edge i seen from its first node, slot 2i + 1 from its
+		// second node
+		int[] order = new int[slots];
+		for (int i = 0; i < m; i++) {
+			order[count[second[i]]++] = 2 * i;
+			order[count[first[i]]++] = 2 * i + 1;
+		}
+		int[] outPos = new int[n];
+		int[] inPos = new int[n];
+		for (int v = 0; v < n; v++) {
+			outPos[v] = this.offset[v];
+			inPos[v] = this.split[v];
+		}
+		this.slotEdge = new int[slots];
+		this.slotNode = new int[slots];
+		for (int s : order) {
+			int i = s >> 1;
+			int slot;
+			int adjacent;
+			if ((s & 1) == 0) {
+				adjacent = second[i];
+				slot = outPos[first[i]]++;
+			} else {
+				adjacent = first[i];
+				slot = directed ? inPos[second[i]]++ : outPos[second[i]]++;
+			}
+			this.slotEdge[slot] = i;
+			this.slotNode[slot] = adjacent;
+		}
+	}
+
+	/**
+	 * Returns the first slot in [begin, end) whose adjacent node index is not
+	 * smaller than node. Slots in between must be sorted by adjacent node.
+	 */
+	int lowerBound(int begin, int end, int node) {
+		int lo = begin;
+		int hi = end;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (this.slotNode[mid] < node) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
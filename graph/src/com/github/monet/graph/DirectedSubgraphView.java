@@ -0,0 +1,111 @@
+package com.github.monet.graph;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+import com.github.monet.graph.interfaces.DirectedEdge;
+import com.github.monet.graph.interfaces.DirectedGraph;
+import com.github.monet.graph.interfaces.Node;
+
+/**
+ * Subgraph view of a directed graph.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ */
+public class DirectedSubgraphView<N extends Node, E extends DirectedEdge>
+		extends AbstractSubgraphView<N, E, DirectedSubgraphView<N, E>>
+		implements DirectedGraph<N, E, DirectedSubgraphView<N, E>> {
+
+	/**
+	 * Creates a view of the whole graph g. Indexes g in O(n + m).
+	 *
+	 * @param g
+	 *            graph to be viewed
+	 */
+	public DirectedSubgraphView(DirectedGraph<N, E, ?> g) {
+		this(new GraphIndex<N, E>(g));
+	}
+
+	/**
+	 * Creates a view of the whole indexed graph in O(1).
+	 *
+	 * @param index
+	 *            index of the graph to be viewed, must be directed
+	 */
+	public DirectedSubgraphView(GraphIndex<N, E> index) {
+		super(index);
+		assert index.isDirected() : "index must be directed";
+	}
+
+	protected DirectedSubgraphView(GraphIndex<N, E> index, BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		super(index, nodeMask, nodesInverted, numNodes, edgeMask,
+				edgesInverted, numEdges);
+	}
+
+	@Override
+	protected DirectedSubgraphView<N, E> createView(BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		return new DirectedSubgraphView<>(this.index, nodeMask, nodesInverted,
+				numNodes, edgeMask, edgesInverted, numEdges);
+	}
+
+	@Override
+	public N getSource(E e) {
+		int i = this.index.getEdgeIndex(e);
+		return containsEdge(i) ? this.index.getNode(this.index.getFirstIndex(i))
+				: null;
+	}
+
+	@Override
+	public N getTarget(E e) {
+		int i = this.index.getEdgeIndex(e);
+		return containsEdge(i) ? this.index
+				.getNode(this.index.getSecondIndex(i)) : null;
+	}
+
+	@Override
+	public Collection<E> getIncomingEdges(N n) {
+		int i = this.index.getNodeIndex(n);
+		if (!containsNode(i)) {
+			return null;
+		}
+		return collectEdges(this.index.getOutgoingEnd(i),
+				this.index.getRowEnd(i));
+	}
+
+	@Override
+	public Collection<E> getOutgoingEdges(N n) {
+		int i = this.index.getNodeIndex(n);
+		if (!containsNode(i)) {
+			return null;
+		}
+		return collectEdges(this.index.getRowBegin(i),
+				this.index.getOutgoingEnd(i));
+	}
+
+	@Override
+	public Collection<N> getPrecedingNodes(N n) {
+		int i = this.index.getNodeIndex(n);
+		if (!containsNode(i)) {
+			return null;
+		}
+		return collectNodes(this.index.getOutgoingEnd(i),
+				this.index.getRowEnd(i));
+	}
+
+	@Override
+	public Collection<N> getSucceedingNodes(N n) {
+		int i = this.index.getNodeIndex(n);
+		if (!containsNode(i)) {
+			return null;
+		}
+		return collectNodes(this.index.getRowBegin(i),
+				this.index.getOutgoingEnd(i));
+	}
+}
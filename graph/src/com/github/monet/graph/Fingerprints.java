@@ -0,0 +1,126 @@
+package com.github.monet.graph;
+
+import java.util.HashSet;
+
+import com.github.monet.graph.interfaces.Graph;
+
+/**
+ * Zobrist-style 64 bit fingerprints of graphs.
+ *
+ * Every node and edge is mapped to a pseudo random 64 bit key, and the
+ * fingerprint of a graph is the sum of the keys of its nodes and edges. The
+ * fingerprint can thus be updated in O(1) whenever a single element is added
+ * or removed, and it does not depend on the order of the elements. Keys are
+ * summed instead of xored, so parallel edges do not cancel out.
+ *
+ * Equal graphs have equal fingerprints; different graphs have equal
+ * fingerprints with a probability of about 2^-64, so equals only has to
+ * compare the elements on a fingerprint hit. Keys of nodes and edges are
+ * derived from node ids, keys of other elements from their hash code.
+ */
+public final class Fingerprints {
+
+	private static final long NODE_SEED = 0x9E3779B97F4A7C15L;
+	private static final long EDGE_SEED = 0xC2B2AE3D27D4EB4FL;
+	private static final long OBJECT_SEED = 0x165667B19E3779F9L;
+
+	private Fingerprints() {
+	}
+
+	/**
+	 * @return key of node u
+	 */
+	static long of(SimpleNode u) {
+		return mix(u.getId() + NODE_SEED);
+	}
+
+	/**
+	 * @return key of edge e, which depends on the order of its nodes like
+	 *         SimpleEdge.equals
+	 */
+	static long of(SimpleEdge e) {
+		return mix((((long) e.u.getId() << 32) | (e.v.getId() & 0xFFFFFFFFL))
+				^ EDGE_SEED);
+	}
+
+	/**
+	 * @return key of an arbitrary node or edge
+	 */
+	static long of(Object element) {
+		if (element instanceof SimpleEdge) {
+			return of((SimpleEdge) element);
+		} else if (element instanceof SimpleNode) {
+			return of((SimpleNode) element);
+		} else {
+			return mix(element.hashCode() + OBJECT_SEED);
+		}
+	}
+
+	/**
+	 * Returns the fingerprint of a graph, e.g. to tell whether a graph has
+	 * been changed. Takes O(1) for the graphs of this package, which maintain
+	 * their fingerprint, and O(n + m) for other graphs.
+	 *
+	 * @param g
+	 *            graph
+	 * @return fingerprint of graph g
+	 */
+	public static long ofGraph(Graph<?, ?, ?> g) {
+		if (g instanceof SimpleAbstractGraph) {
+			return ((SimpleAbstractGraph<?>) g).getFingerprint();
+		} else if (g instanceof AbstractSubgraphView) {
+			return ((AbstractSubgraphView<?, ?, ?>) g).getFingerprint();
+		} else if (g instanceof CsrGraph) {
+			return ((CsrGraph) g).getFingerprint();
+		}
+		long sum = 0;
+		for (Object u : g.getAllNodes()) {
+			sum += of(u);
+		}
+		for (Object e : g.getAllEdges()) {
+			sum += of(e);
+		}
+		return sum;
+	}
+
+	/**
+	 * Equality of all graphs of this package: o is a graph with the same
+	 * nodes and edges as g, regardless of its class. Graphs with different
+	 * fingerprints are told apart in O(1), the elements are only compared on
+	 * a fingerprint hit. Agrees with hashCode(ofGraph(g)).
+	 */
+	static boolean equal(Graph<?, ?, ?> g, Object o) {
+		if (g == o) {
+			return true;
+		}
+		if (!(o instanceof Graph)) {
+			return false;
+		}
+		Graph<?, ?, ?> other = (Graph<?, ?, ?>) o;
+		if (g.getNumNodes() != other.getNumNodes()
+				|| g.getNumEdges() != other.getNumEdges()
+				|| ofGraph(g) != ofGraph(other)) {
+			return false;
+		}
+		return new HashSet<Object>(g.getAllNodes()).equals(new HashSet<Object>(
+				other.getAllNodes()))
+				&& new HashSet<Object>(g.getAllEdges()).equals(new HashSet<Object>(
+						other.getAllEdges()));
+	}
+
+	/**
+	 * @return hash code of a fingerprint
+	 */
+	static int hashCode(long fingerprint) {
+		return (int) (fingerprint ^ (fingerprint >>> 32));
+	}
+
+	/**
+	 * Finalizer of the SplitMix64 generator.
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
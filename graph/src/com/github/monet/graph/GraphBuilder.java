@@ -0,0 +1,233 @@
+package com.github.monet.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Builds SimpleDirectedGraph and SimpleUndirectedGraph instances in bulk.
+ *
+ * The number of nodes is fixed on construction, nodes are addressed by their
+ * index 0..numNodes-1 which equals the id of the created SimpleNode. Edges are
+ * collected as pairs of node indices and validated in one linear pass when
+ * the graph is built, so building a graph takes O(n + m) time regardless of
+ * the safe mode of the resulting graph. Adjacency lists are allocated with
+ * their final size.
+ */
+public class GraphBuilder {
+
+	/**
+	 * Nodes of the graph to be built
+	 */
+	private final SimpleNode[] nodes;
+
+	/**
+	 * Node indices of the edges added so far
+	 */
+	private int[] sources, targets;
+
+	/**
+	 * Number of edges added so far
+	 */
+	private int numEdges;
+
+	/**
+	 * Edges of the last built graph, in order of insertion
+	 */
+	private SimpleEdge[] edges;
+
+	/**
+	 * @param numNodes
+	 *            number of nodes of the graph
+	 * @param expectedNumEdges
+	 *            expected number of edges, used to pre-size the edge arrays
+	 */
+	public GraphBuilder(int numNodes, int expectedNumEdges) {
+		if (numNodes < 0) {
+			throw new IllegalArgumentException("Number of nodes must not be negative");
+		}
+		this.nodes = new SimpleNode[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			this.nodes[i] = new SimpleNode(i);
+		}
+		this.sources = new int[Math.max(expectedNumEdges, 0)];
+		this.targets = new int[Math.max(expectedNumEdges, 0)];
+		this.numEdges = 0;
+	}
+
+	/**
+	 * Adds edge (u,v).
+	 *
+	 * @param u
+	 *            index of first (source) node
+	 * @param v
+	 *            index of second (target) node
+	 * @return index of the new edge
+	 */
+	public int addEdge(int u, int v) {
+		ensureCapacity(this.numEdges + 1);
+		this.sources[this.numEdges] = u;
+		this.targets[this.numEdges] = v;
+		return this.numEdges++;
+	}
+
+	/**
+	 * Adds the edges (sources[i], targets[i]) for all i.
+	 *
+	 * @param sources
+	 *            indices of first (source) nodes
+	 * @param targets
+	 *            indices of second (target) nodes
+	 */
+	public void addEdges(int[] sources, int[] targets) {
+		if (sources.length != targets.length) {
+			throw new IllegalArgumentException("Edge arrays must have equal length");
+		}
+		ensureCapacity(this.numEdges + sources.length);
+		System.arraycopy(sources, 0, this.sources, this.numEdges, sources.length);
+		System.arraycopy(targets, 0, this.targets, this.numEdges, targets.length);
+		this.numEdges += sources.length;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > this.sources.length) {
+			int newCapacity = Math.max(capacity, 2 * this.sources.length);
+			this.sources = Arrays.copyOf(this.sources, newCapacity);
+			this.targets = Arrays.copyOf(this.targets, newCapacity);
+		}
+	}
+
+	/**
+	 * @return number of nodes of the graph
+	 */
+	public int getNumNodes() {
+		return this.nodes.length;
+	}
+
+	/**
+	 * @return number of edges added so far
+	 */
+	public int getNumEdges() {
+		return this.numEdges;
+	}
+
+	/**
+	 * Returns the node with the given index. Nodes are shared by all graphs
+	 * built by this builder.
+	 *
+	 * @param index
+	 *            index of the node
+	 * @return node with the given index
+	 */
+	public SimpleNode getNode(int index) {
+		return this.nodes[index];
+	}
+
+	/**
+	 * Returns the edge with the given index in the graph built last.
+	 *
+	 * @param index
+	 *            index of the edge as returned by addEdge
+	 * @return edge with the given index
+	 */
+	public SimpleEdge getEdge(int index) {
+		assert this.edges != null : "Graph must be built first";
+		return this.edges[index];
+	}
+
+	/**
+	 * Builds a directed graph of all nodes and edges.
+	 *
+	 * @return the directed graph
+	 */
+	public SimpleDirectedGraph buildDirected() {
+		int[] outDegree = new int[this.nodes.length];
+		int[] inDegree = new int[this.nodes.length];
+		validate(outDegree, inDegree);
+
+		SimpleDirectedGraph graph = new SimpleDirectedGraph();
+		graph.outMap = new HashMap<>(capacity(this.nodes.length));
+		graph.inMap = new HashMap<>(capacity(this.nodes.length));
+		for (int i = 0; i < this.nodes.length; i++) {
+			graph.nodes.add(this.nodes[i]);
+			graph.fingerprint += Fingerprints.of(this.nodes[i]);
+			graph.outMap.put(this.nodes[i], new ArrayList<SimpleEdge>(outDegree[i]));
+			graph.inMap.put(this.nodes[i], new ArrayList<SimpleEdge>(inDegree[i]));
+		}
+		graph.maxNodeId = this.nodes.length;
+
+		this.edges = new SimpleEdge[this.numEdges];
+		for (int i = 0; i < this.numEdges; i++) {
+			SimpleEdge e = new SimpleEdge(this.nodes[this.sources[i]],
+					this.nodes[this.targets[i]]);
+			this.edges[i] = e;
+			graph.edges.add(e);
+			graph.fingerprint += Fingerprints.of(e);
+			graph.outMap.get(e.u).add(e);
+			graph.inMap.get(e.v).add(e);
+		}
+		return graph;
+	}
+
+	/**
+	 * Builds an undirected graph of all nodes and edges.
+	 *
+	 * @return the undirected graph
+	 */
+	public SimpleUndirectedGraph buildUndirected() {
+		int[] degree = new int[this.nodes.length];
+		validate(degree, degree);
+
+		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		graph.adjacencyMap = new HashMap<>(capacity(this.nodes.length));
+		ArrayList<List<SimpleEdge>> adjacency = new ArrayList<>(this.nodes.length);
+		for (int i = 0; i < this.nodes.length; i++) {
+			List<SimpleEdge> incident = new ArrayList<SimpleEdge>(degree[i]);
+			adjacency.add(incident);
+			graph.nodes.add(this.nodes[i]);
+			graph.fingerprint += Fingerprints.of(this.nodes[i]);
+			graph.adjacencyMap.put(this.nodes[i], incident);
+		}
+		graph.maxNodeId = this.nodes.length;
+
+		this.edges = new SimpleEdge[this.numEdges];
+		for (int i = 0; i < this.numEdges; i++) {
+			SimpleEdge e = new SimpleEdge(this.nodes[this.sources[i]],
+					this.nodes[this.targets[i]]);
+			this.edges[i] = e;
+			graph.edges.add(e);
+			graph.fingerprint += Fingerprints.of(e);
+			adjacency.get(this.sources[i]).add(e);
+			adjacency.get(this.targets[i]).add(e);
+		}
+		return graph;
+	}
+
+	/**
+	 * Checks all edges for valid node indices and counts node degrees in one
+	 * pass.
+	 */
+	private void validate(int[] outDegree, int[] inDegree) {
+		int n = this.nodes.length;
+		for (int i = 0; i < this.numEdges; i++) {
+			int u = this.sources[i];
+			int v = this.targets[i];
+			if (u < 0 || u >= n || v < 0 || v >= n) {
+				throw new IllegalArgumentException("Edge " + i + " (" + u
+						+ ", " + v + ") references a node outside of [0, " + n
+						+ ")");
+			}
+			outDegree[u]++;
+			inDegree[v]++;
+		}
+	}
+
+	/**
+	 * Initial HashMap capacity holding the given number of entries without
+	 * rehashing.
+	 */
+	private static int capacity(int entries) {
+		return (int) (entries / 0.75f) + 1;
+	}
+}
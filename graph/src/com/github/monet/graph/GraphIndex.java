@@ -0,0 +1,278 @@
+package com.github.monet.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import com.github.monet.graph.interfaces.DirectedEdge;
+import com.github.monet.graph.interfaces.DirectedGraph;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+
+/**
+ * Dense numbering and incidence structure of a graph, shared by all subgraph
+ * views of that graph.
+ *
+ * Nodes and edges are numbered from 0 to getNumNodes() - 1 and getNumEdges()
+ * - 1 respectively, in the iteration order of the indexed graph. The incident
+ * edges of every node are stored in one contiguous row, outgoing edges first,
+ * incoming edges second (undirected graphs only have outgoing edges in this
+ * sense), each part sorted by the index of the adjacent node. This is the
+ * layout of CsrGraph, whose rows are reused for a directed CsrGraph. Building
+ * the index takes O(n + m) expected time and does not depend on the safe mode
+ * of the indexed graph.
+ *
+ * The index is a snapshot: later modifications of the indexed graph are not
+ * reflected.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ */
+public class GraphIndex<N extends Node, E extends Edge> {
+
+	/**
+	 * Whether edges have a direction
+	 */
+	private final boolean directed;
+
+	/**
+	 * Nodes by index
+	 */
+	private final ArrayList<N> nodes;
+
+	/**
+	 * Edges by index
+	 */
+	private final ArrayList<E> edges;
+
+	private final HashMap<N, Integer> nodeIndex;
+
+	/**
+	 * Maps edge objects to their index, needed for parallel edges which are
+	 * equal but not identical
+	 */
+	private final IdentityHashMap<E, Integer> edgeIdentity;
+
+	/**
+	 * Maps edges to the index of the first equal edge
+	 */
+	private final HashMap<E, Integer> edgeIndex;
+
+	/**
+	 * First (source) and second (target) node index of every edge
+	 */
+	private final int[] first, second;
+
+	/**
+	 * Incident edges of every node
+	 */
+	private final CsrRows rows;
+
+	/**
+	 * Indexes graph g. Edges of graphs implementing DirectedGraph are treated
+	 * as directed, except for undirected CsrGraphs.
+	 *
+	 * @param g
+	 *            graph to be indexed
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public GraphIndex(Graph<N, E, ?> g) {
+		assert g != null : "graph must not be null";
+		this.directed = (g instanceof CsrGraph) ? ((CsrGraph) g).isDirected()
+				: g instanceof DirectedGraph;
+		this.nodes = new ArrayList<>(g.getAllNodes());
+		this.edges = new ArrayList<>(g.getAllEdges());
+		int n = this.nodes.size();
+		int m = this.edges.size();
+
+		this.nodeIndex = new HashMap<>(capacity(n));
+		for (int i = 0; i < n; i++) {
+			this.nodeIndex.put(this.nodes.get(i), i);
+		}
+		this.edgeIdentity = new IdentityHashMap<>(m);
+		this.edgeIndex = new HashMap<>(capacity(m));
+		for (int i = 0; i < m; i++) {
+			E e = this.edges.get(i);
+			this.edgeIdentity.put(e, i);
+			if (!this.edgeIndex.containsKey(e)) {
+				this.edgeIndex.put(e, i);
+			}
+		}
+
+		// Endpoints
+		this.first = new int[m];
+		this.second = new int[m];
+		if (this.directed) {
+			DirectedGraph dg = (DirectedGraph) g;
+			for (int i = 0; i < m; i++) {
+				E e = this.edges.get(i);
+				this.first[i] = this.nodeIndex.get((N) dg.getSource((DirectedEdge) e));
+				this.second[i] = this.nodeIndex.get((N) dg.getTarget((DirectedEdge) e));
+			}
+		} else {
+			// Every edge shows up in the incident edges of both of its
+			// endpoints (loops twice in the same list)
+			for (int i = 0; i < m; i++) {
+				this.first[i] = -1;
+			}
+			for (int u = 0; u < n; u++) {
+				for (E e : g.getIncidentEdges(this.nodes.get(u))) {
+					int i = this.edgeIdentity.get(e);
+					if (this.first[i] == -1) {
+						this.first[i] = u;
+					} else {
+						this.second[i] = u;
+					}
+				}
+			}
+		}
+
+		if (this.directed && g instanceof CsrGraph) {
+			// Same numbering and layout
+			this.rows = ((CsrGraph) g).getRows();
+		} else {
+			this.rows = new CsrRows(n, this.first, this.second, this.directed);
+		}
+	}
+
+	/**
+	 * @return true, if edges have a direction
+	 */
+	public boolean isDirected() {
+		return this.directed;
+	}
+
+	public int getNumNodes() {
+		return this.nodes.size();
+	}
+
+	public int getNumEdges() {
+		return this.edges.size();
+	}
+
+	public N getNode(int index) {
+		return this.nodes.get(index);
+	}
+
+	public E getEdge(int index) {
+		return this.edges.get(index);
+	}
+
+	/**
+	 * @param u
+	 *            node
+	 * @return index of node u, -1 if u is not indexed
+	 */
+	public int getNodeIndex(N u) {
+		Integer index = this.nodeIndex.get(u);
+		return (index == null) ? -1 : index;
+	}
+
+	/**
+	 * Returns the index of edge e. If e is not one of the indexed edge
+	 * objects, the index of the first indexed edge equal to e is returned.
+	 *
+	 * @param e
+	 *            edge
+	 * @return index of edge e, -1 if e is not indexed
+	 */
+	public int getEdgeIndex(E e) {
+		Integer index = this.edgeIdentity.get(e);
+		if (index == null) {
+			index = this.edgeIndex.get(e);
+		}
+		return (index == null) ? -1 : index;
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @return index of the first (source) node of the edge
+	 */
+	public int getFirstIndex(int edge) {
+		return this.first[edge];
+	}
+
+	/**
+	 * @param edge
+	 *            edge index
+	 * @return index of the second (target) node of the edge
+	 */
+	public int getSecondIndex(int edge) {
+		return this.second[edge];
+	}
+
+	/**
+	 * @param node
+	 *            node index
+	 * @return first slot of the row of the node
+	 */
+	public int getRowBegin(int node) {
+		return this.rows.offset[node];
+	}
+
+	/**
+	 * @param node
+	 *            node index
+	 * @return end of the outgoing part of the row of the node, equals
+	 *         getRowEnd(node) for undirected graphs
+	 */
+	public int getOutgoingEnd(int node) {
+		return this.rows.split[node];
+	}
+
+	/**
+	 * @param node
+	 *            node index
+	 * @return end of the row of the node (exclusive)
+	 */
+	public int getRowEnd(int node) {
+		return this.rows.offset[node + 1];
+	}
+
+	/**
+	 * @param slot
+	 *            slot of a row
+	 * @return index of the edge in the slot
+	 */
+	public int getSlotEdge(int slot) {
+		return this.rows.slotEdge[slot];
+	}
+
+	/**
+	 * @param slot
+	 *            slot of a row
+	 * @return index of the adjacent node in the slot
+	 */
+	public int getSlotNode(int slot) {
+		return this.rows.slotNode[slot];
+	}
+
+	/**
+	 * Returns the first slot in [begin, end) whose adjacent node index is not
+	 * smaller than node.
+	 *
+	 * @param begin
+	 *            first slot
+	 * @param end
+	 *            end of the slots (exclusive), slots in between must be
+	 *            sorted by adjacent node
+	 * @param node
+	 *            node index to search for
+	 * @return first slot with adjacent node index >= node, end if none
+	 */
+	public int lowerBound(int begin, int end, int node) {
+		return this.rows.lowerBound(begin, end, node);
+	}
+
+	/**
+	 * Initial HashMap capacity holding the given number of entries without
+	 * rehashing.
+	 */
+	private static int capacity(int entries) {
+		return (int) (entries / 0.75f) + 1;
+	}
+}
@@ -0,0 +1,248 @@
+package com.github.monet.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.github.monet.graph.interfaces.FancyPriorityQueue;
+
+/**
+ * Implements the interface FancyPriorityQueue as an indexed d-ary min-heap.
+ *
+ * Every element gets a fixed integer key when it is added for the first time.
+ * The heap itself only stores keys and primitive priorities; the position of
+ * every key in the heap is tracked, so update and remove take O(d log_d n)
+ * time instead of a linear search. Elements keep their key after being
+ * polled or removed, adding them again does not allocate.
+ *
+ * @param <T>
+ *            type of stored objects
+ */
+public class IndexedDaryHeap<T> implements FancyPriorityQueue<T> {
+
+	/**
+	 * Default number of children per heap node
+	 */
+	public static final int DEFAULT_ARITY = 4;
+
+	private final int arity;
+
+	/**
+	 * Keys in heap order
+	 */
+	private int[] heap;
+
+	/**
+	 * Priorities in heap order
+	 */
+	private double[] priorities;
+
+	/**
+	 * Heap position of every key, -1 if the key is not in the heap
+	 */
+	private int[] position;
+
+	private int size;
+
+	/**
+	 * Elements by key
+	 */
+	private final ArrayList<T> elements;
+
+	private final HashMap<T, Integer> keys;
+
+	public IndexedDaryHeap(int initialNumElements) {
+		this(initialNumElements, DEFAULT_ARITY);
+	}
+
+	/**
+	 * @param initialNumElements
+	 *            expected number of distinct elements
+	 * @param arity
+	 *            number of children per heap node, at least 2
+	 */
+	public IndexedDaryHeap(int initialNumElements, int arity) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("Arity must be at least 2");
+		}
+		int capacity = Math.max(initialNumElements, 1);
+		this.arity = arity;
+		this.heap = new int[capacity];
+		this.priorities = new double[capacity];
+		this.position = new int[capacity];
+		this.size = 0;
+		this.elements = new ArrayList<>(capacity);
+		this.keys = new HashMap<>((int) (capacity / 0.75f) + 1);
+	}
+
+	@Override
+	public boolean add(T e, double p) {
+		Integer key = this.keys.get(e);
+		if (key == null) {
+			key = this.elements.size();
+			if (key == this.position.length) {
+				grow(2 * key);
+			}
+			this.elements.add(e);
+			this.keys.put(e, key);
+		} else if (this.position[key] != -1) {
+			return false;
+		}
+
+		int i = this.size++;
+		this.heap[i] = key;
+		this.priorities[i] = p;
+		this.position[key] = i;
+		siftUp(i);
+		return true;
+	}
+
+	private void grow(int capacity) {
+		this.heap = Arrays.copyOf(this.heap, capacity);
+		this.priorities = Arrays.copyOf(this.priorities, capacity);
+		this.position = Arrays.copyOf(this.position, capacity);
+	}
+
+	@Override
+	public boolean update(T e, double p) {
+		int i = positionOf(e);
+		if (i == -1) {
+			return false;
+		}
+
+		double old = this.priorities[i];
+		this.priorities[i] = p;
+		if (p < old) {
+			siftUp(i);
+		} else if (p > old) {
+			siftDown(i);
+		}
+		return true;
+	}
+
+	@Override
+	public T poll() {
+		if (this.size == 0) {
+			return null;
+		}
+		T polled = this.elements.get(this.heap[0]);
+		removeAt(0);
+		return polled;
+	}
+
+	/**
+	 * Returns the minimal priority, but does not remove the element.
+	 *
+	 * @return the minimal priority, positive infinity if the queue is empty
+	 */
+	public double peekPriority() {
+		return (this.size == 0) ? Double.POSITIVE_INFINITY : this.priorities[0];
+	}
+
+	@Override
+	public boolean remove(T e) {
+		int i = positionOf(e);
+		if (i == -1) {
+			return false;
+		}
+		removeAt(i);
+		return true;
+	}
+
+	/**
+	 * @param e
+	 *            element
+	 * @return true, if element e is in the priority queue
+	 */
+	public boolean contains(T e) {
+		return positionOf(e) != -1;
+	}
+
+	/**
+	 * @param e
+	 *            element
+	 * @return priority of element e, positive infinity if e is not in the
+	 *         priority queue
+	 */
+	public double getPriority(T e) {
+		int i = positionOf(e);
+		return (i == -1) ? Double.POSITIVE_INFINITY : this.priorities[i];
+	}
+
+	@Override
+	public int getSize() {
+		return this.size;
+	}
+
+	private int positionOf(T e) {
+		Integer key = this.keys.get(e);
+		return (key == null) ? -1 : this.position[key];
+	}
+
+	private void removeAt(int i) {
+		this.position[this.heap[i]] = -1;
+		int last = --this.size;
+		if (i == last) {
+			return;
+		}
+
+		double old = this.priorities[i];
+		move(last, i);
+		if (this.priorities[i] < old) {
+			siftUp(i);
+		} else {
+			siftDown(i);
+		}
+	}
+
+	/**
+	 * Moves the entry at heap position from to position to.
+	 */
+	private void move(int from, int to) {
+		this.heap[to] = this.heap[from];
+		this.priorities[to] = this.priorities[from];
+		this.position[this.heap[to]] = to;
+	}
+
+	private void siftUp(int i) {
+		int key = this.heap[i];
+		double p = this.priorities[i];
+		while (i > 0) {
+			int parent = (i - 1) / this.arity;
+			if (this.priorities[parent] <= p) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+		this.heap[i] = key;
+		this.priorities[i] = p;
+		this.position[key] = i;
+	}
+
+	private void siftDown(int i) {
+		int key = this.heap[i];
+		double p = this.priorities[i];
+		while (true) {
+			int first = this.arity * i + 1;
+			if (first >= this.size) {
+				break;
+			}
+			int last = Math.min(first + this.arity, this.size);
+			int min = first;
+			for (int c = first + 1; c < last; c++) {
+				if (this.priorities[c] < this.priorities[min]) {
+					min = c;
+				}
+			}
+			if (this.priorities[min] >= p) {
+				break;
+			}
+			move(min, i);
+			i = min;
+		}
+		this.heap[i] = key;
+		this.priorities[i] = p;
+		this.position[key] = i;
+	}
+}
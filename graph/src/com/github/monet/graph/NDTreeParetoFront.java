@@ -0,0 +1,94 @@
+package com.github.monet.graph;
+
+import java.util.ArrayList;
+
+import com.github.monet.datastructures.NDTree;
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.weighted.Weight;
+
+/**
+ * Pareto front with dominance management for three or more objectives.
+ *
+ * The costs of all solutions are additionally stored in an ND-tree, so
+ * rejecting a dominated point and removing the points dominated by a new
+ * point do not compare it with every stored point. Like the reverse index of
+ * ParetoFront, the ND-tree is kept in sync by all methods of the front.
+ *
+ * @param <N> type of node, upper bounded by type Node
+ * @param <E> type of edge, upper bounded by type Edge
+ * @param <G> type of graph, upper bounded by type Graph
+ */
+public class NDTreeParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G>>
+		extends ParetoFront<N, E, G> {
+
+	/**
+	 * Costs of all solutions, created with the first solution
+	 */
+	private NDTree<Weight> index;
+
+	/**
+	 * True while removing points which have already been removed from the
+	 * index
+	 */
+	private boolean pruning;
+
+	/**
+	 * @param costCalculator Cost function
+	 */
+	public NDTreeParetoFront(CostCalculator<N, E, G, Weight> costCalculator) {
+		super(costCalculator, true);
+		this.index = null;
+	}
+
+	@Override
+	public boolean add(G g, Weight cost) {
+		assert g != null : "g must not be null";
+
+		if (index == null) {
+			index = new NDTree<>(cost.getDimension());
+		}
+		assert cost.getDimension() == index.getDimension() : "Dimensions do not match";
+
+		if (index.isDominated(cost.getWeights())) {
+			return false;
+		}
+		if (!solutions.containsKey(cost)) {
+			// An equal point would have removed all points dominated by cost
+			ArrayList<Weight> dominated = new ArrayList<>();
+			index.removeDominated(cost.getWeights(), dominated);
+			// Already removed from the index, only the map is left
+			pruning = true;
+			for (Weight w : dominated) {
+				removeKey(w);
+			}
+			pruning = false;
+			index.insert(cost.getWeights(), cost);
+		}
+
+		put(cost, g);
+		return true;
+	}
+
+	@Override
+	public boolean isDominated(Weight cost) {
+		return index != null && index.isDominated(cost.getWeights());
+	}
+
+	@Override
+	protected void removed(Weight cost, G g) {
+		super.removed(cost, g);
+		if (!pruning) {
+			boolean found = index.remove(cost.getWeights(), cost);
+			assert found : "Index out of sync";
+		}
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		index = null;
+	}
+}
@@ -3,6 +3,7 @@ package com.github.monet.graph;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
@@ -23,7 +24,12 @@ import com.github.monet.graph.weighted.Weight;
 /**
  * Implements the interface ParetoSet.
  *
- *
+ * Solutions are stored by their costs. A reverse index maps every solution to
+ * its costs, so removing, locating and re-adding a solution takes O(log k)
+ * for k solutions instead of a scan over all solutions. The index is kept in
+ * sync by all methods of the front; the map views must not be used to remove
+ * solutions. Solutions and the costs passed to or computed by add are
+ * stored by reference and must not be modified afterwards.
  *
  * @param <N> type of node, upper bounded by type Node
  * @param <E> type of edge, upper bounded by type Edge
@@ -33,8 +39,21 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 		implements ParetoSet<N, E, G> {
 
 	private boolean dominanceManagement;
-	private TreeMap<Weight, G> solutions;
-	private CostCalculator<N, E, G, Weight> costCalculator;
+	protected TreeMap<Weight, G> solutions;
+	protected CostCalculator<N, E, G, Weight> costCalculator;
+
+	/**
+	 * Maps every solution to the key it is stored under
+	 */
+	protected HashMap<G, Weight> keys;
+
+	/**
+	 * True if equal solutions are stored under different keys, which only
+	 * happens if the costs are not a function of the solutions. keys then
+	 * misses some solutions, and lookups fall back to scanning all solutions
+	 * until the front is empty again.
+	 */
+	private boolean ambiguousKeys;
 
 	/**
 	 * @param costCalculator Cost function
@@ -56,6 +75,8 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 		solutions = new TreeMap<>(sort);
 		this.costCalculator = costCalculator;
 		this.dominanceManagement = false;
+		this.keys = new HashMap<>();
+		this.ambiguousKeys = false;
 	}
 
 	/**
@@ -78,7 +99,19 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 	public boolean add(G g) {
 		assert g != null : "g must not be null";
 
-		Weight cost = costCalculator.calculateCosts(g);
+		return add(g, getCost(g));
+	}
+
+	/**
+	 * Adds a solution with known costs, which saves computing them again.
+	 *
+	 * @param g solution
+	 * @param cost costs of g, stored as key of g
+	 * @return true, if g was added
+	 */
+	public boolean add(G g, Weight cost) {
+		assert g != null : "g must not be null";
+		assert cost != null : "cost must not be null";
 
 		if (isDominanceManagement()) {
 			// Check if g is dominated by existing element and vice versa
@@ -93,33 +126,140 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 				}
 			}
 			// Remove all dominated elements
-			solutions.keySet().removeAll(toBeDeleted);
+			for (Weight w : toBeDeleted) {
+				removeKey(w);
+			}
 		}
 
-		solutions.put(cost, g);
+		put(cost, g);
 		return true;
 	}
 
+	/**
+	 * Checks if a point is dominated by a point of the front. Equal points do
+	 * not dominate each other.
+	 *
+	 * @param cost point
+	 * @return true, if a point of the front is pareto smaller than cost
+	 */
+	public boolean isDominated(Weight cost) {
+		for (Weight w : solutions.keySet()) {
+			if (w.dominates(cost) == Weight.DominationRelation.PARETO_SMALLER) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the costs of a solution. The costs of stored solutions are
+	 * looked up, those of other graphs are computed.
+	 *
+	 * @param g solution
+	 * @return costs of g
+	 */
+	public Weight getCost(G g) {
+		Weight cost = keys.get(g);
+		if (cost != null && solutions.get(cost) == g) {
+			return cost;
+		}
+		return costCalculator.calculateCosts(g);
+	}
+
+	/**
+	 * Stores a solution, replacing the solution with equal costs.
+	 *
+	 * @param cost costs of g
+	 * @param g solution
+	 */
+	protected void put(Weight cost, G g) {
+		G replaced = solutions.put(cost, g);
+		if (replaced != null) {
+			unindex(cost, replaced);
+		}
+		Weight previous = keys.put(g, cost);
+		if (previous != null && !previous.equals(cost)
+				&& solutions.containsKey(previous)) {
+			ambiguousKeys = true;
+		}
+	}
+
+	/**
+	 * Removes the solution stored under a key.
+	 *
+	 * @param cost key
+	 * @return removed solution, null if there is none
+	 */
+	protected G removeKey(Weight cost) {
+		G g = solutions.remove(cost);
+		if (g != null) {
+			removed(cost, g);
+		}
+		return g;
+	}
+
+	/**
+	 * Called after a solution has been removed from solutions, with the
+	 * exception of solutions replaced by put. Subclasses maintaining further
+	 * indices have to call this implementation.
+	 *
+	 * @param cost key of the removed solution
+	 * @param g removed solution
+	 */
+	protected void removed(Weight cost, G g) {
+		unindex(cost, g);
+	}
+
+	/**
+	 * Removes a solution from the reverse index.
+	 *
+	 * @param cost key of the solution
+	 * @param g solution
+	 */
+	protected void unindex(Weight cost, G g) {
+		Weight key = keys.get(g);
+		if (key != null && key.equals(cost)) {
+			keys.remove(g);
+		}
+		if (solutions.isEmpty()) {
+			keys.clear();
+			ambiguousKeys = false;
+		}
+	}
+
 	@Override
 	public boolean remove(Object o) {
 		assert o != null : "o must not be null";
 
-		int removed = 0;
-		while (solutions.values().remove(o)) {
-			removed++;
+		if (!ambiguousKeys) {
+			Weight cost = keys.get(o);
+			return cost != null && removeKey(cost) != null;
 		}
-		return removed > 0;
+		boolean removed = false;
+		Iterator<Entry<Weight, G>> entries = solutions.entrySet().iterator();
+		while (entries.hasNext()) {
+			Entry<Weight, G> entry = entries.next();
+			if (o.equals(entry.getValue())) {
+				// Removal may move the successor into entry
+				Weight cost = entry.getKey();
+				G g = entry.getValue();
+				entries.remove();
+				removed(cost, g);
+				removed = true;
+			}
+		}
+		return removed;
 	}
 
 	@Override
 	public boolean removeAll(Collection<?> c) {
 		assert !c.isEmpty() : "c must not be empty";
 
-		int removed = 0;
-		while (solutions.values().removeAll(c)) {
-			removed++;
+		boolean removed = false;
+		for (Object o : c) {
+			removed |= remove(o);
 		}
-		return removed > 0;
+		return removed;
 	}
 
 	/* Stupid wrappers */
@@ -135,7 +275,7 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 
 	@Override
 	public boolean contains(Object o) {
-		return solutions.containsValue((G) o);
+		return ambiguousKeys ? solutions.containsValue(o) : keys.containsKey(o);
 	}
 
 	@Override
@@ -155,7 +295,12 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 
 	@Override
 	public boolean containsAll(Collection<?> c) {
-		return solutions.values().containsAll(c);
+		for (Object o : c) {
+			if (!contains(o)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -165,12 +310,27 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 
 	@Override
 	public boolean retainAll(Collection<?> c) {
-		return solutions.values().retainAll(c);
+		boolean removed = false;
+		Iterator<Entry<Weight, G>> entries = solutions.entrySet().iterator();
+		while (entries.hasNext()) {
+			Entry<Weight, G> entry = entries.next();
+			if (!c.contains(entry.getValue())) {
+				// Removal may move the successor into entry
+				Weight cost = entry.getKey();
+				G g = entry.getValue();
+				entries.remove();
+				removed(cost, g);
+				removed = true;
+			}
+		}
+		return removed;
 	}
 
 	@Override
 	public void clear() {
 		solutions.clear();
+		keys.clear();
+		ambiguousKeys = false;
 	}
 
 	@Override
@@ -262,11 +422,19 @@ public class ParetoFront<N extends Node, E extends Edge, G extends Graph<N, E, G
 	}
 
 	public Entry<Weight, G> pollFirstEntry() {
-		return solutions.pollFirstEntry();
+		Entry<Weight, G> entry = solutions.pollFirstEntry();
+		if (entry != null) {
+			removed(entry.getKey(), entry.getValue());
+		}
+		return entry;
 	}
 
 	public Entry<Weight, G> pollLastEntry() {
-		return solutions.pollLastEntry();
+		Entry<Weight, G> entry = solutions.pollLastEntry();
+		if (entry != null) {
+			removed(entry.getKey(), entry.getValue());
+		}
+		return entry;
 	}
 
 	public NavigableMap<Weight, G> descendingMap() {
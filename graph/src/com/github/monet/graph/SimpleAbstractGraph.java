@@ -2,9 +2,9 @@ package com.github.monet.graph;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.Objects;
 
 import com.github.monet.graph.interfaces.Graph;
 
@@ -40,11 +40,25 @@ public abstract class SimpleAbstractGraph<G extends SimpleAbstractGraph<G>>
 	 */
 	protected boolean safeMode;
 
+	/**
+	 * Maps node u to a map from nodes v to the edge returned by getEdge(u, v),
+	 * null if the adjacency index is disabled
+	 */
+	protected HashMap<SimpleNode, HashMap<SimpleNode, SimpleEdge>> adjacencyIndex;
+
+	/**
+	 * Sum of the fingerprint keys of all nodes and edges, has to be updated
+	 * whenever nodes or edges are added or removed
+	 */
+	protected long fingerprint;
+
 	public SimpleAbstractGraph() {
 		this.nodes = new LinkedList<SimpleNode>();
 		this.edges = new LinkedList<SimpleEdge>();
 		this.maxNodeId = 0;
 		this.safeMode = true;
+		this.adjacencyIndex = null;
+		this.fingerprint = 0;
 	}
 
 	@Override
@@ -133,28 +147,125 @@ public abstract class SimpleAbstractGraph<G extends SimpleAbstractGraph<G>>
 		return s;
 	}
 
+	/**
+	 * Returns a 64 bit fingerprint of the nodes and edges, which is maintained
+	 * in O(1) per added or removed element. Equal graphs have equal
+	 * fingerprints.
+	 *
+	 * @return fingerprint of the graph
+	 */
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * Graphs are equal if they contain the same nodes and edges, which holds
+	 * across all graph classes of this package, e.g. for a subgraph view.
+	 * Graphs with different fingerprints are told apart in O(1), the elements
+	 * are only compared on a fingerprint hit.
+	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	public boolean equals(Object o) {
-		if (!(o instanceof SimpleAbstractGraph)) {
-			return false;
-		} else {
-			SimpleAbstractGraph<G> compareTo = (SimpleAbstractGraph<G>) o;
-			boolean isEqual = true;
-			isEqual &= this.nodes.containsAll(compareTo.nodes);
-			isEqual &= compareTo.nodes.containsAll(this.nodes);
-			isEqual &= this.edges.containsAll(compareTo.edges);
-			isEqual &= compareTo.edges.containsAll(this.edges);
-			return isEqual;
-		}
+		return Fingerprints.equal(this, o);
 	}
 
+	/**
+	 * Derived from the fingerprint, so equal graphs of all classes of this
+	 * package have equal hash codes.
+	 */
 	@Override
 	public int hashCode() {
-		int hash = 7;
-		hash = (47 * hash) + Objects.hashCode(this.nodes);
-		hash = (47 * hash) + Objects.hashCode(this.edges);
-		return hash;
+		return Fingerprints.hashCode(this.fingerprint);
+	}
+
+	/**
+	 * Returns true, if u and v are adjacent, i.e. v is contained in
+	 * getAdjacentNodes(u). Takes constant time if the adjacency index is
+	 * enabled.
+	 *
+	 * @param u
+	 *            node in the graph
+	 * @param v
+	 *            node in the graph
+	 * @return true, if u and v are adjacent
+	 */
+	public abstract boolean isAdjacent(SimpleNode u, SimpleNode v);
+
+	/**
+	 * Adds edge e to the adjacency index.
+	 *
+	 * @param e
+	 *            edge added to the graph
+	 */
+	protected abstract void indexEdge(SimpleEdge e);
+
+	/**
+	 * Removes edge e from the adjacency index.
+	 *
+	 * @param e
+	 *            edge deleted from the graph
+	 */
+	protected abstract void unindexEdge(SimpleEdge e);
+
+	/**
+	 * Maps (u,v) to edge e, unless (u,v) is already mapped to a parallel edge.
+	 * This way getEdge returns the first edge as scanning the incident edges
+	 * would.
+	 */
+	protected void indexEdge(SimpleNode u, SimpleNode v, SimpleEdge e) {
+		HashMap<SimpleNode, SimpleEdge> adjacent = this.adjacencyIndex.get(u);
+		if (!adjacent.containsKey(v)) {
+			adjacent.put(v, e);
+		}
+	}
+
+	/**
+	 * Maps (u,v) to the first edge in candidates leading from u to v, or
+	 * removes the mapping if there is none.
+	 */
+	protected void reindexEdge(SimpleNode u, SimpleNode v,
+			Collection<SimpleEdge> candidates) {
+		HashMap<SimpleNode, SimpleEdge> adjacent = this.adjacencyIndex.get(u);
+		adjacent.remove(v);
+		for (SimpleEdge candidate : candidates) {
+			SimpleNode w = (candidate.u == u) ? candidate.v : candidate.u;
+			if (w.equals(v)) {
+				adjacent.put(v, candidate);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return true, if the adjacency index is enabled
+	 */
+	public boolean isAdjacencyIndexed() {
+		return this.adjacencyIndex != null;
+	}
+
+	/**
+	 * Enables or disables the adjacency index. With the index getEdge and
+	 * isAdjacent take expected constant time at the expense of one hash map
+	 * entry per edge and direction. Enabling takes O(n + m) time; the index is
+	 * kept consistent by addEdge, deleteEdge, addNode and deleteNode and is
+	 * inherited by subgraphs.
+	 *
+	 * @param indexed
+	 *            whether the adjacency index is to be used
+	 */
+	public void setAdjacencyIndexed(boolean indexed) {
+		if (!indexed) {
+			this.adjacencyIndex = null;
+		} else if (this.adjacencyIndex == null) {
+			this.adjacencyIndex = new HashMap<>(
+					(int) (this.nodes.size() / 0.75f) + 1);
+			for (SimpleNode n : this.nodes) {
+				this.adjacencyIndex.put(n, new HashMap<SimpleNode, SimpleEdge>());
+			}
+			for (SimpleEdge e : this.edges) {
+				indexEdge(e);
+			}
+		}
 	}
 
 	/**
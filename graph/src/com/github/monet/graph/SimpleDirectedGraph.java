@@ -43,8 +43,12 @@ public class SimpleDirectedGraph extends
 			SimpleEdge e = new SimpleEdge(u, v);
 
 			this.edges.add(e);
+			this.fingerprint += Fingerprints.of(e);
 			this.outMap.get(u).add(e);
 			this.inMap.get(v).add(e);
+			if (this.adjacencyIndex != null) {
+				indexEdge(e);
+			}
 
 			return e;
 		} else {
@@ -55,7 +59,11 @@ public class SimpleDirectedGraph extends
 	@Override
 	public boolean deleteEdge(SimpleEdge e) {
 		if (edges.remove(e)) {
+			this.fingerprint -= Fingerprints.of(e);
 			if (this.outMap.get(e.u).remove(e) && this.inMap.get(e.v).remove(e)) {
+				if (this.adjacencyIndex != null) {
+					unindexEdge(e);
+				}
 				return true;
 			} else {
 				return false;
@@ -71,8 +79,12 @@ public class SimpleDirectedGraph extends
 		this.maxNodeId++;
 
 		this.nodes.add(n);
+		this.fingerprint += Fingerprints.of(n);
 		this.outMap.put(n, new ArrayList<SimpleEdge>());
 		this.inMap.put(n, new ArrayList<SimpleEdge>());
+		if (this.adjacencyIndex != null) {
+			this.adjacencyIndex.put(n, new HashMap<SimpleNode, SimpleEdge>());
+		}
 
 		return n;
 	}
@@ -98,7 +110,14 @@ public class SimpleDirectedGraph extends
 			this.inMap.remove(u);
 			successful &= this.outMap.containsKey(u);
 			this.outMap.remove(u);
-			successful &= this.nodes.remove(u);
+			if (this.adjacencyIndex != null) {
+				this.adjacencyIndex.remove(u);
+			}
+			if (this.nodes.remove(u)) {
+				this.fingerprint -= Fingerprints.of(u);
+			} else {
+				successful = false;
+			}
 
 			return successful;
 		} else {
@@ -135,6 +154,7 @@ public class SimpleDirectedGraph extends
 			// Check if node is in original graph
 			if (!this.safeMode || this.nodes.contains(node)) {
 				subgraph.nodes.add(node);
+				subgraph.fingerprint += Fingerprints.of(node);
 				subgraph.inMap.put(node, new ArrayList<SimpleEdge>());
 				subgraph.outMap.put(node, new ArrayList<SimpleEdge>());
 
@@ -152,6 +172,7 @@ public class SimpleDirectedGraph extends
 			// Check if edge is in original graph
 			if (!this.safeMode || this.edges.contains(edge)) {
 				subgraph.edges.add(edge);
+				subgraph.fingerprint += Fingerprints.of(edge);
 				subgraph.outMap.get(edge.u).add(edge);
 				subgraph.inMap.get(edge.v).add(edge);
 			} else {
@@ -159,11 +180,20 @@ public class SimpleDirectedGraph extends
 			}
 		}
 
+		if (this.adjacencyIndex != null) {
+			subgraph.setAdjacencyIndexed(true);
+		}
+
 		return subgraph;
 	}
 
 	@Override
 	public SimpleEdge getEdge(SimpleNode u, SimpleNode v) {
+		if (this.adjacencyIndex != null) {
+			HashMap<SimpleNode, SimpleEdge> successors = this.adjacencyIndex.get(u);
+			return (successors == null) ? null : successors.get(v);
+		}
+
 		List<SimpleEdge> incidentU = outMap.get(u);
 
 		for (SimpleEdge edge : incidentU) {
@@ -220,4 +250,19 @@ public class SimpleDirectedGraph extends
 		}
 		return adjacent_nodes;
 	}
+
+	@Override
+	public boolean isAdjacent(SimpleNode u, SimpleNode v) {
+		return getEdge(u, v) != null || getEdge(v, u) != null;
+	}
+
+	@Override
+	protected void indexEdge(SimpleEdge e) {
+		indexEdge(e.u, e.v, e);
+	}
+
+	@Override
+	protected void unindexEdge(SimpleEdge e) {
+		reindexEdge(e.u, e.v, this.outMap.get(e.u));
+	}
 }
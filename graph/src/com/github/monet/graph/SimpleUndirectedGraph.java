@@ -32,8 +32,12 @@ public class SimpleUndirectedGraph extends
 			SimpleEdge e = new SimpleEdge(u, v);
 
 			this.edges.add(e);
+			this.fingerprint += Fingerprints.of(e);
 			this.adjacencyMap.get(u).add(e);
 			this.adjacencyMap.get(v).add(e);
+			if (this.adjacencyIndex != null) {
+				indexEdge(e);
+			}
 
 			return e;
 		} else {
@@ -45,9 +49,16 @@ public class SimpleUndirectedGraph extends
 	public boolean deleteEdge(SimpleEdge e) {
 		if (!this.safeMode || this.edges.contains(e)) {
 			boolean successful = true;
-			successful &= edges.remove(e);
+			if (edges.remove(e)) {
+				this.fingerprint -= Fingerprints.of(e);
+			} else {
+				successful = false;
+			}
 			successful &= this.adjacencyMap.get(e.u).remove(e);
 			successful &= this.adjacencyMap.get(e.v).remove(e);
+			if (this.adjacencyIndex != null) {
+				unindexEdge(e);
+			}
 			return successful;
 		} else {
 			return false;
@@ -60,7 +71,11 @@ public class SimpleUndirectedGraph extends
 		this.maxNodeId++;
 
 		this.nodes.add(n);
+		this.fingerprint += Fingerprints.of(n);
 		this.adjacencyMap.put(n, new LinkedList<SimpleEdge>());
+		if (this.adjacencyIndex != null) {
+			this.adjacencyIndex.put(n, new HashMap<SimpleNode, SimpleEdge>());
+		}
 
 		return n;
 	}
@@ -77,7 +92,14 @@ public class SimpleUndirectedGraph extends
 
 			successful &= this.adjacencyMap.containsKey(u);
 			this.adjacencyMap.remove(u);
-			successful &= this.nodes.remove(u);
+			if (this.adjacencyIndex != null) {
+				this.adjacencyIndex.remove(u);
+			}
+			if (this.nodes.remove(u)) {
+				this.fingerprint -= Fingerprints.of(u);
+			} else {
+				successful = false;
+			}
 			return successful;
 		} else {
 			return false;
@@ -100,6 +122,7 @@ public class SimpleUndirectedGraph extends
 			// Check if node does exist in original graph
 			if (!this.safeMode || this.nodes.contains(node)) {
 				subgraph.nodes.add(node);
+				subgraph.fingerprint += Fingerprints.of(node);
 				subgraph.adjacencyMap.put(node, new LinkedList<SimpleEdge>());
 				if (subgraph.maxNodeId < node.getId()) {
 					subgraph.maxNodeId = node.getId();
@@ -113,6 +136,7 @@ public class SimpleUndirectedGraph extends
 			// Check if edge does exist in original graph
 			if (!this.safeMode || this.edges.contains(edge)) {
 				subgraph.edges.add(edge);
+				subgraph.fingerprint += Fingerprints.of(edge);
 				subgraph.adjacencyMap.get(edge.u).add(edge);
 				subgraph.adjacencyMap.get(edge.v).add(edge);
 			} else {
@@ -121,11 +145,20 @@ public class SimpleUndirectedGraph extends
 			}
 		}
 
+		if (this.adjacencyIndex != null) {
+			subgraph.setAdjacencyIndexed(true);
+		}
+
 		return subgraph;
 	}
 
 	@Override
 	public SimpleEdge getEdge(SimpleNode u, SimpleNode v) {
+		if (this.adjacencyIndex != null) {
+			HashMap<SimpleNode, SimpleEdge> adjacent = this.adjacencyIndex.get(u);
+			return (adjacent == null) ? null : adjacent.get(v);
+		}
+
 		List<SimpleEdge> incidentU = adjacencyMap.get(u);
 
 		for (SimpleEdge edge : incidentU) {
@@ -145,4 +178,21 @@ public class SimpleUndirectedGraph extends
 		}
 		return adjacent_nodes;
 	}
+
+	@Override
+	public boolean isAdjacent(SimpleNode u, SimpleNode v) {
+		return getEdge(u, v) != null;
+	}
+
+	@Override
+	protected void indexEdge(SimpleEdge e) {
+		indexEdge(e.u, e.v, e);
+		indexEdge(e.v, e.u, e);
+	}
+
+	@Override
+	protected void unindexEdge(SimpleEdge e) {
+		reindexEdge(e.u, e.v, this.adjacencyMap.get(e.u));
+		reindexEdge(e.v, e.u, this.adjacencyMap.get(e.v));
+	}
 }
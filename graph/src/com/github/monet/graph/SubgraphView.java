@@ -0,0 +1,55 @@
+package com.github.monet.graph;
+
+import java.util.BitSet;
+
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+
+/**
+ * Subgraph view of an arbitrary graph, for algorithms which only need the
+ * Graph interface.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ */
+public class SubgraphView<N extends Node, E extends Edge> extends
+		AbstractSubgraphView<N, E, SubgraphView<N, E>> {
+
+	/**
+	 * Creates a view of the whole graph g. Indexes g in O(n + m).
+	 *
+	 * @param g
+	 *            graph to be viewed
+	 */
+	public SubgraphView(Graph<N, E, ?> g) {
+		this(new GraphIndex<N, E>(g));
+	}
+
+	/**
+	 * Creates a view of the whole indexed graph in O(1).
+	 *
+	 * @param index
+	 *            index of the graph to be viewed
+	 */
+	public SubgraphView(GraphIndex<N, E> index) {
+		super(index);
+	}
+
+	protected SubgraphView(GraphIndex<N, E> index, BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		super(index, nodeMask, nodesInverted, numNodes, edgeMask,
+				edgesInverted, numEdges);
+	}
+
+	@Override
+	protected SubgraphView<N, E> createView(BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		return new SubgraphView<>(this.index, nodeMask, nodesInverted,
+				numNodes, edgeMask, edgesInverted, numEdges);
+	}
+}
@@ -0,0 +1,56 @@
+package com.github.monet.graph;
+
+import java.util.BitSet;
+
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.UndirectedEdge;
+import com.github.monet.graph.interfaces.UndirectedGraph;
+
+/**
+ * Subgraph view of an undirected graph.
+ *
+ * @param <N>
+ *            type of node
+ * @param <E>
+ *            type of edge
+ */
+public class UndirectedSubgraphView<N extends Node, E extends UndirectedEdge>
+		extends AbstractSubgraphView<N, E, UndirectedSubgraphView<N, E>>
+		implements UndirectedGraph<N, E, UndirectedSubgraphView<N, E>> {
+
+	/**
+	 * Creates a view of the whole graph g. Indexes g in O(n + m).
+	 *
+	 * @param g
+	 *            graph to be viewed
+	 */
+	public UndirectedSubgraphView(UndirectedGraph<N, E, ?> g) {
+		this(new GraphIndex<N, E>(g));
+	}
+
+	/**
+	 * Creates a view of the whole indexed graph in O(1).
+	 *
+	 * @param index
+	 *            index of the graph to be viewed, must be undirected
+	 */
+	public UndirectedSubgraphView(GraphIndex<N, E> index) {
+		super(index);
+		assert !index.isDirected() : "index must be undirected";
+	}
+
+	protected UndirectedSubgraphView(GraphIndex<N, E> index, BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		super(index, nodeMask, nodesInverted, numNodes, edgeMask,
+				edgesInverted, numEdges);
+	}
+
+	@Override
+	protected UndirectedSubgraphView<N, E> createView(BitSet nodeMask,
+			boolean nodesInverted, int numNodes, BitSet edgeMask,
+			boolean edgesInverted, int numEdges) {
+		return new UndirectedSubgraphView<>(this.index, nodeMask,
+				nodesInverted, numNodes, edgeMask, edgesInverted, numEdges);
+	}
+}
@@ -0,0 +1,189 @@
+package com.github.monet.graph.weighted;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+
+import com.github.monet.graph.interfaces.GraphElement;
+
+/**
+ * Weight annotator storing all weights in one primitive column per objective.
+ *
+ * Annotated elements are numbered in the order they are annotated first. The
+ * weight of the element with index i consists of column[k][i] for all
+ * objectives k. getAnnotation returns an immutable Weight, which is created
+ * on the first call for an element and kept until its weight is changed.
+ * Hot loops should use getIndex once per element and get(index, objective)
+ * or getColumn(objective) afterwards.
+ *
+ * @param <GE>
+ *            type of graph element, upper bounded by type graph element
+ */
+public class ColumnarWeightAnnotator<GE extends GraphElement> implements
+		IndexedWeightAnnotator<GE> {
+
+	private final int dimension;
+
+	/**
+	 * Weights by objective and element index
+	 */
+	private double[][] columns;
+
+	/**
+	 * Annotated elements by index
+	 */
+	private final ArrayList<GE> elements;
+
+	private final HashMap<GE, Integer> index;
+
+	/**
+	 * Weights returned by getAnnotation by element index, null until
+	 * requested or after a change
+	 */
+	private ImmutableWeight[] annotations;
+
+	/**
+	 * @param dimension
+	 *            number of objectives of all weights
+	 */
+	public ColumnarWeightAnnotator(int dimension) {
+		this(dimension, 16);
+	}
+
+	/**
+	 * @param dimension
+	 *            number of objectives of all weights
+	 * @param initialCapacity
+	 *            expected number of annotated elements
+	 */
+	public ColumnarWeightAnnotator(int dimension, int initialCapacity) {
+		assert dimension >= 0 : "dimension must not be negative";
+		initialCapacity = Math.max(initialCapacity, 1);
+		this.dimension = dimension;
+		this.columns = new double[dimension][initialCapacity];
+		this.elements = new ArrayList<>(initialCapacity);
+		this.index = new HashMap<>((int) (initialCapacity / 0.75f) + 1);
+		this.annotations = new ImmutableWeight[initialCapacity];
+	}
+
+	/**
+	 * Annotates graph element e with the given weight, overwriting an existing
+	 * annotation.
+	 *
+	 * @param e
+	 *            graph element
+	 * @param weights
+	 *            one value per objective, not referenced afterwards
+	 * @return index of e
+	 */
+	public int add(GE e, double... weights) {
+		assert e != null : "e must not be null";
+		assert weights.length == this.dimension : "dimension of weights does not match";
+
+		Integer i = this.index.get(e);
+		if (i == null) {
+			i = this.elements.size();
+			if (i == this.annotations.length) {
+				int newCapacity = 2 * i;
+				for (int k = 0; k < this.dimension; k++) {
+					this.columns[k] = Arrays.copyOf(this.columns[k], newCapacity);
+				}
+				this.annotations = Arrays.copyOf(this.annotations, newCapacity);
+			}
+			this.elements.add(e);
+			this.index.put(e, i);
+		}
+		for (int k = 0; k < this.dimension; k++) {
+			this.columns[k][i] = weights[k];
+		}
+		this.annotations[i] = null;
+		return i;
+	}
+
+	/**
+	 * Sets one objective of the weight of the element with the given index.
+	 *
+	 * @param index
+	 *            index of the graph element
+	 * @param objective
+	 *            objective to be set
+	 * @param value
+	 *            new value
+	 */
+	public void set(int index, int objective, double value) {
+		assert index < this.elements.size() : "index out of range";
+		this.columns[objective][index] = value;
+		this.annotations[index] = null;
+	}
+
+	@Override
+	public double get(int index, int objective) {
+		assert index < this.elements.size() : "index out of range";
+		return this.columns[objective][index];
+	}
+
+	/**
+	 * Returns the backing array of one objective. Entries beyond size() are
+	 * undefined; the array is replaced when the annotator grows. The array is
+	 * only to be read, weights are changed by add or set.
+	 *
+	 * @param objective
+	 *            objective
+	 * @return weights of all elements in this objective, by element index
+	 */
+	public double[] getColumn(int objective) {
+		return this.columns[objective];
+	}
+
+	@Override
+	public GE getElement(int index) {
+		return this.elements.get(index);
+	}
+
+	@Override
+	public int getIndex(GE e) {
+		Integer i = this.index.get(e);
+		return (i == null) ? -1 : i;
+	}
+
+	@Override
+	public int getDimension() {
+		return this.dimension;
+	}
+
+	@Override
+	public int size() {
+		return this.elements.size();
+	}
+
+	@Override
+	public Collection<GE> getAnnotatedElements() {
+		return Collections.unmodifiableList(this.elements);
+	}
+
+	@Override
+	public Weight getAnnotation(GE e) {
+		Integer i = this.index.get(e);
+		if (i == null) {
+			return null;
+		}
+		ImmutableWeight w = this.annotations[i];
+		if (w == null) {
+			double[] weights = new double[this.dimension];
+			for (int k = 0; k < this.dimension; k++) {
+				weights[k] = this.columns[k][i];
+			}
+			w = new ImmutableWeight(weights);
+			this.annotations[i] = w;
+		}
+		return w;
+	}
+
+	@Override
+	public void setAnnotation(GE e, Weight a) {
+		assert a != null : "a must not be null";
+		add(e, a.getWeights());
+	}
+}
@@ -0,0 +1,237 @@
+package com.github.monet.graph.weighted;
+
+import java.util.List;
+
+/**
+ * Dominance tests of one candidate against a block of points (minimization).
+ *
+ * A block stores count points of the same dimension one after another in a
+ * single double array, point i occupying the indices [i * dimension, (i + 1)
+ * * dimension). The dimension is taken from the length of the candidate.
+ * Points are compared component by component without early exits or
+ * allocations, so the inner loops stay free of branches and the JIT can
+ * unroll them; the enum based Weight.dominates is not used.
+ *
+ * Filter results are bitmasks in long arrays with one bit per point, see
+ * newMask and isSet.
+ */
+public final class DominanceKernel {
+
+	private DominanceKernel() {
+	}
+
+	/**
+	 * Copies points into a block.
+	 *
+	 * @param points
+	 *            points of equal dimension
+	 * @param dimension
+	 *            dimension of the points
+	 * @param buffer
+	 *            array to be reused if it is large enough, may be null
+	 * @return block containing the points in list order
+	 */
+	public static double[] flatten(List<Weight> points, int dimension,
+			double[] buffer) {
+		int length = points.size() * dimension;
+		double[] block = (buffer != null && buffer.length >= length) ? buffer
+				: new double[length];
+		int offset = 0;
+		for (Weight w : points) {
+			assert w.getDimension() == dimension : "Dimensions do not match";
+			System.arraycopy(w.getWeights(), 0, block, offset, dimension);
+			offset += dimension;
+		}
+		return block;
+	}
+
+	/**
+	 * @param points
+	 *            points of equal dimension
+	 * @param dimension
+	 *            dimension of the points
+	 * @return block containing the points in list order
+	 */
+	public static double[] flatten(List<Weight> points, int dimension) {
+		return flatten(points, dimension, null);
+	}
+
+	/**
+	 * @param count
+	 *            number of points
+	 * @return empty bitmask for count points
+	 */
+	public static long[] newMask(int count) {
+		return new long[(count + 63) >>> 6];
+	}
+
+	/**
+	 * @return true, if the bit of point i is set
+	 */
+	public static boolean isSet(long[] mask, int i) {
+		return (mask[i >>> 6] & (1L << i)) != 0;
+	}
+
+	/**
+	 * @param a
+	 *            point
+	 * @param b
+	 *            point of the same dimension
+	 * @return true, if a is pareto smaller than b
+	 */
+	public static boolean dominates(double[] a, double[] b) {
+		int notGreater = 0;
+		int smaller = 0;
+		for (int k = 0; k < a.length; k++) {
+			notGreater += (a[k] <= b[k]) ? 1 : 0;
+			smaller += (a[k] < b[k]) ? 1 : 0;
+		}
+		return notGreater == a.length && smaller > 0;
+	}
+
+	/**
+	 * Searches the first point of the block which is pareto smaller than
+	 * candidate.
+	 *
+	 * @param candidate
+	 *            point
+	 * @param block
+	 *            points of the dimension of candidate
+	 * @param count
+	 *            number of points in block
+	 * @return index of the first dominating point, -1 if there is none
+	 */
+	public static int firstDominator(double[] candidate, double[] block,
+			int count) {
+		return firstDominator(candidate, block, count, false);
+	}
+
+	/**
+	 * Searches the first point of the block which is pareto smaller than or
+	 * equal to candidate.
+	 *
+	 * @param candidate
+	 *            point
+	 * @param block
+	 *            points of the dimension of candidate
+	 * @param count
+	 *            number of points in block
+	 * @return index of the first dominating or equal point, -1 if there is
+	 *         none
+	 */
+	public static int firstWeakDominator(double[] candidate, double[] block,
+			int count) {
+		return firstDominator(candidate, block, count, true);
+	}
+
+	private static int firstDominator(double[] candidate, double[] block,
+			int count, boolean weak) {
+		int dimension = candidate.length;
+		assert block.length >= count * dimension : "block too short";
+		for (int i = 0, offset = 0; i < count; i++, offset += dimension) {
+			int notGreater = 0;
+			int smaller = 0;
+			for (int k = 0; k < dimension; k++) {
+				double p = block[offset + k];
+				notGreater += (p <= candidate[k]) ? 1 : 0;
+				smaller += (p < candidate[k]) ? 1 : 0;
+			}
+			if (notGreater == dimension && (weak || smaller > 0)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Sets the bits of all points of the block which are pareto greater than
+	 * candidate. Bits which are already set are kept, so one mask can collect
+	 * the points dominated by several candidates.
+	 *
+	 * @param candidate
+	 *            point
+	 * @param block
+	 *            points of the dimension of candidate
+	 * @param count
+	 *            number of points in block
+	 * @param mask
+	 *            bitmask for count points
+	 * @return number of points dominated by candidate
+	 */
+	public static int markDominated(double[] candidate, double[] block,
+			int count, long[] mask) {
+		int dimension = candidate.length;
+		assert block.length >= count * dimension : "block too short";
+		assert mask.length >= (count + 63) >>> 6 : "mask too short";
+		int dominated = 0;
+		for (int i = 0, offset = 0; i < count; i++, offset += dimension) {
+			int notSmaller = 0;
+			int greater = 0;
+			for (int k = 0; k < dimension; k++) {
+				double p = block[offset + k];
+				notSmaller += (p >= candidate[k]) ? 1 : 0;
+				greater += (p > candidate[k]) ? 1 : 0;
+			}
+			long bit = (notSmaller == dimension && greater > 0) ? 1L : 0L;
+			mask[i >>> 6] |= bit << i;
+			dominated += (int) bit;
+		}
+		return dominated;
+	}
+
+	/**
+	 * @param candidate
+	 *            point
+	 * @param block
+	 *            points of the dimension of candidate
+	 * @param count
+	 *            number of points in block
+	 * @return number of points of the block which are pareto greater than
+	 *         candidate
+	 */
+	public static int countDominated(double[] candidate, double[] block,
+			int count) {
+		int dimension = candidate.length;
+		assert block.length >= count * dimension : "block too short";
+		int dominated = 0;
+		for (int i = 0, offset = 0; i < count; i++, offset += dimension) {
+			int notSmaller = 0;
+			int greater = 0;
+			for (int k = 0; k < dimension; k++) {
+				double p = block[offset + k];
+				notSmaller += (p >= candidate[k]) ? 1 : 0;
+				greater += (p > candidate[k]) ? 1 : 0;
+			}
+			dominated += (notSmaller == dimension && greater > 0) ? 1 : 0;
+		}
+		return dominated;
+	}
+
+	/**
+	 * @param candidate
+	 *            point
+	 * @param block
+	 *            points of the dimension of candidate
+	 * @param count
+	 *            number of points in block
+	 * @return number of points of the block which are pareto smaller than
+	 *         candidate
+	 */
+	public static int countDominators(double[] candidate, double[] block,
+			int count) {
+		int dimension = candidate.length;
+		assert block.length >= count * dimension : "block too short";
+		int dominators = 0;
+		for (int i = 0, offset = 0; i < count; i++, offset += dimension) {
+			int notGreater = 0;
+			int smaller = 0;
+			for (int k = 0; k < dimension; k++) {
+				double p = block[offset + k];
+				notGreater += (p <= candidate[k]) ? 1 : 0;
+				smaller += (p < candidate[k]) ? 1 : 0;
+			}
+			dominators += (notGreater == dimension && smaller > 0) ? 1 : 0;
+		}
+		return dominators;
+	}
+}
@@ -1,8 +1,8 @@
 package com.github.monet.graph.weighted;
 
+import java.util.Arrays;
 import java.util.Collection;
 
-import com.github.monet.graph.GraphElementHashAnnotator;
 import com.github.monet.graph.interfaces.*;
 
 /**
@@ -18,10 +18,21 @@ public class GraphElementWeightAnnotator<GE extends GraphElement> implements
 
 	private GraphElementAnnotator<GE, Weight> adapted;
 
+	/**
+	 * The adapted annotator if it is indexed, otherwise null
+	 */
+	private IndexedWeightAnnotator<GE> indexed;
+
+	@SuppressWarnings("unchecked")
 	public GraphElementWeightAnnotator(GraphElementAnnotator<GE, Weight> adapted) {
 		assert adapted != null : "adapted must not be null";
 
 		this.adapted = adapted;
+		if (adapted instanceof IndexedWeightAnnotator) {
+			this.indexed = (IndexedWeightAnnotator<GE>) adapted;
+		} else if (adapted instanceof GraphElementWeightAnnotator) {
+			this.indexed = ((GraphElementWeightAnnotator<GE>) adapted).indexed;
+		}
 	}
 
 	@Override
@@ -43,6 +54,32 @@ public class GraphElementWeightAnnotator<GE extends GraphElement> implements
 		this.getAdapted().setAnnotation(e, a);
 	}
 
+	/**
+	 * Returns one objective of the weight of graph element e. Does not create
+	 * a Weight object if the adapted annotator is indexed.
+	 *
+	 * @param e
+	 *            annotated graph element
+	 * @param objective
+	 *            objective to be returned
+	 * @return the objective of the weight of e
+	 */
+	public double getWeight(GE e, int objective) {
+		if (this.indexed != null) {
+			int i = this.indexed.getIndex(e);
+			assert i >= 0 : "e is not annotated";
+			return this.indexed.get(i, objective);
+		}
+		return this.getAdapted().getAnnotation(e).getWeight(objective);
+	}
+
+	/**
+	 * @return the adapted annotator if it is indexed, otherwise null
+	 */
+	public IndexedWeightAnnotator<GE> getIndexed() {
+		return this.indexed;
+	}
+
 	/**
 	 * Returns the dimension of a random Weight in the annotation colletion.
 	 *
@@ -50,6 +87,9 @@ public class GraphElementWeightAnnotator<GE extends GraphElement> implements
 	 * 0 otherwise
 	 */
 	public int getDimension() {
+		if (this.indexed != null) {
+			return (this.indexed.size() == 0) ? 0 : this.indexed.getDimension();
+		}
 		if (adapted.getAnnotatedElements().isEmpty()) {
 			return 0;
 		} else {
@@ -61,19 +101,74 @@ public class GraphElementWeightAnnotator<GE extends GraphElement> implements
 	public Weight sum(Iterable<GE> elements) {
 		assert elements.iterator().hasNext() : "elements must not be empty";
 
-		int dim = adapted.getAnnotation(elements.iterator().next()).
+		int dim = (this.indexed != null) ? this.indexed.getDimension()
+				: adapted.getAnnotation(elements.iterator().next()).
 				getDimension();
 
-		Weight sum = new Weight(new double[dim]);
+		double[] sum = new double[dim];
+		sumInto(elements, sum);
+		return new Weight(sum);
+	}
+
+	/**
+	 * Sums the weights of elements without allocating.
+	 *
+	 * @param elements
+	 *            elements
+	 * @param result
+	 *            weight of the dimension of the annotations receiving the sum
+	 * @return result
+	 */
+	public Weight sum(Iterable<GE> elements, Weight result) {
+		result.checkMutable();
+		sumInto(elements, result.getWeights());
+		return result;
+	}
+
+	/**
+	 * Sums the weights of elements without allocating.
+	 *
+	 * @param elements
+	 *            elements
+	 * @param result
+	 *            accumulator of the dimension of the annotations receiving the
+	 *            sum
+	 * @return result
+	 */
+	public WeightAccumulator sum(Iterable<GE> elements, WeightAccumulator result) {
+		sumInto(elements, result.values);
+		return result;
+	}
+
+	private void sumInto(Iterable<GE> elements, double[] sum) {
+		Arrays.fill(sum, 0);
+		if (this.indexed != null) {
+			assert sum.length == this.indexed.getDimension() : "Dimensions do not match";
+			for (GE element : elements) {
+				int i = this.indexed.getIndex(element);
+				for (int k = 0; k < sum.length; k++) {
+					sum[k] += this.indexed.get(i, k);
+				}
+			}
+			return;
+		}
+
 		for (GE element : elements) {
-			sum.add(adapted.getAnnotation(element));
+			double[] w = adapted.getAnnotation(element).getWeights();
+			assert w.length == sum.length : "Dimensions do not match";
+			for (int k = 0; k < sum.length; k++) {
+				sum[k] += w[k];
+			}
 		}
-		return sum;
 	}
 
 	/**
 	 * Scalarizes all weight vector annotations to scalar values.
 	 *
+	 * Callers scalarizing in many directions should keep the returned
+	 * annotator and call rescalarize on its adapted
+	 * ScalarizedWeightAnnotator instead.
+	 *
 	 * @param weight coefficients
 	 *            coefficients
 	 * @return scalar product of weight vector and parameter coefficients
@@ -82,16 +177,33 @@ public class GraphElementWeightAnnotator<GE extends GraphElement> implements
 		assert coefficients.length == getDimension() :
 				"dimension of coefficients does not match dimension of weights";
 
-		GraphElementAnnotator<GE, Weight> newAnnotator =
-				new GraphElementHashAnnotator<>();
-		GraphElementWeightAnnotator<GE> scalarized =
-				new GraphElementWeightAnnotator<>(newAnnotator);
-		for (GE element : this.getAdapted().getAnnotatedElements()) {
-			Weight weight = this.getAdapted().getAnnotation(element);
-			Weight scalarWeight = weight.scalarize(coefficients);
-			scalarized.setAnnotation(element, scalarWeight);
+		return new GraphElementWeightAnnotator<>(
+				new ScalarizedWeightAnnotator<>(this, coefficients));
+	}
+
+	/**
+	 * Scalarizes all weight vector annotations in the direction of
+	 * coefficients, reusing the given scalarization if it was created by
+	 * scalarize.
+	 *
+	 * @param scalarization
+	 *            scalarization created by scalarize of this annotator or null
+	 * @param coefficients
+	 *            coefficients
+	 * @return the updated scalarization, or a new one if scalarization is not
+	 *         a reusable view
+	 */
+	public GraphElementWeightAnnotator<GE> rescalarize(
+			GraphElementWeightAnnotator<GE> scalarization, double[] coefficients) {
+		if (scalarization != null
+				&& scalarization.getAdapted() instanceof ScalarizedWeightAnnotator) {
+			assert coefficients.length == getDimension() :
+					"dimension of coefficients does not match dimension of weights";
+			((ScalarizedWeightAnnotator<GE>) scalarization.getAdapted())
+					.rescalarize(coefficients);
+			return scalarization;
 		}
-		return scalarized;
+		return scalarize(coefficients);
 	}
 
 	/**
@@ -0,0 +1,82 @@
+package com.github.monet.graph.weighted;
+
+/**
+ * Weight whose weights can not be altered.
+ *
+ * The weight vector is copied on construction and the hash code is computed
+ * once, so immutable weights are cheap keys for hash based collections.
+ * Immutable weights are equal to mutable weights with the same weights.
+ * Weights created by clone are mutable. The array returned by getWeights is
+ * the internal one and must not be modified.
+ */
+public final class ImmutableWeight extends Weight {
+
+	private final int hash;
+
+	/**
+	 * @param weight
+	 *            weights, which are copied
+	 */
+	public ImmutableWeight(double[] weight) {
+		super(weight.clone());
+		this.hash = super.hashCode();
+	}
+
+	/**
+	 * @param w
+	 *            weight
+	 * @return w if it is immutable, otherwise an immutable copy of w
+	 */
+	public static ImmutableWeight valueOf(Weight w) {
+		if (w instanceof ImmutableWeight) {
+			return (ImmutableWeight) w;
+		}
+		return new ImmutableWeight(w.getWeights());
+	}
+
+	@Override
+	public void setWeights(double[] weight) {
+		throw new UnsupportedOperationException("Weight is immutable");
+	}
+
+	@Override
+	public void setFirstWeight(double w) {
+		throw new UnsupportedOperationException("Weight is immutable");
+	}
+
+	@Override
+	public void setWeight(int i, double w) {
+		throw new UnsupportedOperationException("Weight is immutable");
+	}
+
+	@Override
+	public boolean add(Weight summand) {
+		throw new UnsupportedOperationException("Weight is immutable");
+	}
+
+	@Override
+	public void scalarProduct(double scalar) {
+		throw new UnsupportedOperationException("Weight is immutable");
+	}
+
+	@Override
+	void checkMutable() {
+		throw new UnsupportedOperationException("Weight is immutable");
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		if (o instanceof ImmutableWeight && ((ImmutableWeight) o).hash != this.hash) {
+			return false;
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+}
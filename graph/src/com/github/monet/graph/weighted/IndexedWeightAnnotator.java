@@ -0,0 +1,53 @@
+package com.github.monet.graph.weighted;
+
+import com.github.monet.graph.interfaces.GraphElement;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+
+/**
+ * Weight annotator, which numbers its annotated elements densely from 0 to
+ * size() - 1 and allows reading single objectives of a weight without
+ * creating Weight objects.
+ *
+ * @param <GE>
+ *            type of graph element, upper bounded by type graph element
+ */
+public interface IndexedWeightAnnotator<GE extends GraphElement> extends
+		GraphElementAnnotator<GE, Weight> {
+
+	/**
+	 * Returns the index of graph element e.
+	 *
+	 * @param e
+	 *            graph element
+	 * @return index of e, -1 if e is not annotated
+	 */
+	public int getIndex(GE e);
+
+	/**
+	 * @param index
+	 *            index of a graph element, 0 <= index < size()
+	 * @return the graph element with the given index
+	 */
+	public GE getElement(int index);
+
+	/**
+	 * Returns one objective of the weight of the element with the given index.
+	 *
+	 * @param index
+	 *            index of the graph element
+	 * @param objective
+	 *            objective, 0 <= objective < getDimension()
+	 * @return the objective of the weight
+	 */
+	public double get(int index, int objective);
+
+	/**
+	 * @return number of objectives of all weights
+	 */
+	public int getDimension();
+
+	/**
+	 * @return number of annotated elements
+	 */
+	public int size();
+}
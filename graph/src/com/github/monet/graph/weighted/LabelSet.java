@@ -43,6 +43,22 @@ public class LabelSet {
 		this.labels.add(label);
 	}
 
+	/**
+	 * Searches a label with the current weights of an accumulator.
+	 *
+	 * @param label
+	 *            weights to be found
+	 * @return the first equal label, null if there is none
+	 */
+	public Weight find(WeightAccumulator label) {
+		for (Weight l : this.labels) {
+			if (label.matches(l)) {
+				return l;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public LabelSet clone() {
 		LabelSet r = new LabelSet();
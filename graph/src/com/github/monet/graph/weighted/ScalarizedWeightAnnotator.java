@@ -0,0 +1,197 @@
+package com.github.monet.graph.weighted;
+
+import java.util.Collection;
+
+import com.github.monet.graph.interfaces.GraphElement;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+
+/**
+ * Read-only view annotating graph elements with the scalar product of their
+ * weight and a coefficient vector.
+ *
+ * The scalarized values of all elements are kept in one double[], which is
+ * overwritten by rescalarize. Scalarizing in many directions, e.g. during a
+ * dichotomic search, therefore creates neither new annotators nor Weight
+ * objects.
+ *
+ * For indexed sources, i.e. IndexedWeightAnnotators and
+ * GraphElementWeightAnnotators backed by one, the view reflects the weights
+ * at the time of the last call of rescalarize; annotations changed
+ * afterwards are only seen after the next call. Other sources are copied
+ * into a ColumnarWeightAnnotator once on construction, so the view reflects
+ * their weights at that time, and later changes of the source are never
+ * seen, not even by rescalarize.
+ *
+ * @param <GE>
+ *            type of graph element, upper bounded by type graph element
+ */
+public class ScalarizedWeightAnnotator<GE extends GraphElement> implements
+		IndexedWeightAnnotator<GE> {
+
+	private final IndexedWeightAnnotator<GE> source;
+
+	/**
+	 * Scalarized weight by element index
+	 */
+	private double[] values;
+
+	/**
+	 * Number of elements scalarized by the last call of rescalarize
+	 */
+	private int size;
+
+	private double[] coefficients;
+
+	/**
+	 * @param source
+	 *            annotator of the weight vectors
+	 * @param coefficients
+	 *            coefficients of the first scalarization
+	 */
+	public ScalarizedWeightAnnotator(GraphElementAnnotator<GE, Weight> source,
+			double[] coefficients) {
+		assert source != null : "source must not be null";
+
+		this.source = index(source);
+		this.values = new double[0];
+		rescalarize(coefficients);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <GE extends GraphElement> IndexedWeightAnnotator<GE> index(
+			GraphElementAnnotator<GE, Weight> source) {
+		if (source instanceof IndexedWeightAnnotator) {
+			return (IndexedWeightAnnotator<GE>) source;
+		}
+		if (source instanceof GraphElementWeightAnnotator
+				&& ((GraphElementWeightAnnotator<GE>) source).getIndexed() != null) {
+			return ((GraphElementWeightAnnotator<GE>) source).getIndexed();
+		}
+
+		Collection<GE> elements = source.getAnnotatedElements();
+		int dimension = elements.isEmpty() ? 0 : source.getAnnotation(
+				elements.iterator().next()).getDimension();
+		ColumnarWeightAnnotator<GE> copy = new ColumnarWeightAnnotator<>(
+				dimension, elements.size());
+		for (GE e : elements) {
+			copy.add(e, source.getAnnotation(e).getWeights());
+		}
+		return copy;
+	}
+
+	/**
+	 * Recomputes the scalarized weights of all elements for new coefficients.
+	 * Does not allocate memory unless elements were added to the source.
+	 *
+	 * @param coefficients
+	 *            one coefficient per objective, not referenced afterwards
+	 */
+	public void rescalarize(double[] coefficients) {
+		assert this.source.size() == 0
+				|| coefficients.length == this.source.getDimension() :
+				"dimension of coefficients does not match dimension of weights";
+
+		int n = this.source.size();
+		if (this.values.length < n) {
+			this.values = new double[n];
+		}
+		if (this.coefficients == null
+				|| this.coefficients.length != coefficients.length) {
+			this.coefficients = new double[coefficients.length];
+		}
+		System.arraycopy(coefficients, 0, this.coefficients, 0,
+				coefficients.length);
+		this.size = n;
+
+		if (n == 0) {
+			return;
+		}
+		if (this.source instanceof ColumnarWeightAnnotator) {
+			ColumnarWeightAnnotator<GE> columnar = (ColumnarWeightAnnotator<GE>) this.source;
+			double[] column = columnar.getColumn(0);
+			double c = coefficients[0];
+			for (int i = 0; i < n; i++) {
+				this.values[i] = c * column[i];
+			}
+			for (int k = 1; k < coefficients.length; k++) {
+				column = columnar.getColumn(k);
+				c = coefficients[k];
+				for (int i = 0; i < n; i++) {
+					this.values[i] += c * column[i];
+				}
+			}
+		} else {
+			for (int i = 0; i < n; i++) {
+				double scalar = 0;
+				for (int k = 0; k < coefficients.length; k++) {
+					scalar += coefficients[k] * this.source.get(i, k);
+				}
+				this.values[i] = scalar;
+			}
+		}
+	}
+
+	/**
+	 * @return copy of the coefficients of the current scalarization
+	 */
+	public double[] getCoefficients() {
+		return this.coefficients.clone();
+	}
+
+	/**
+	 * @param index
+	 *            index of a graph element
+	 * @return scalarized weight of the element
+	 */
+	public double get(int index) {
+		assert index < this.size : "index out of range";
+		return this.values[index];
+	}
+
+	@Override
+	public double get(int index, int objective) {
+		assert objective == 0 : "scalarized weights have one objective";
+		return get(index);
+	}
+
+	@Override
+	public int getIndex(GE e) {
+		int i = this.source.getIndex(e);
+		return (i < this.size) ? i : -1;
+	}
+
+	@Override
+	public GE getElement(int index) {
+		return this.source.getElement(index);
+	}
+
+	@Override
+	public int getDimension() {
+		return 1;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public Collection<GE> getAnnotatedElements() {
+		return this.source.getAnnotatedElements();
+	}
+
+	@Override
+	public Weight getAnnotation(GE e) {
+		int i = getIndex(e);
+		return (i == -1) ? null : new Weight(this.values[i]);
+	}
+
+	/**
+	 * Not supported, the view is read-only.
+	 */
+	@Override
+	public void setAnnotation(GE e, Weight a) {
+		throw new UnsupportedOperationException(
+				"Scalarized annotator is read-only");
+	}
+}
@@ -56,28 +56,56 @@ public class Weight {
 		return new Weight(scalar);
 	}
 
+	/**
+	 * Scalarizes this weight without allocating.
+	 *
+	 * @param coefficients coefficients
+	 * @param result weight receiving the scalar product as its first weight
+	 * @return result
+	 */
+	public Weight scalarize(double[] coefficients, Weight result) {
+		result.checkMutable();
+		if (this.weight.length != coefficients.length) {
+			assert false : "Dimensions do not match";
+			return null;
+		}
+
+		double scalar = 0;
+		for (int i = 0; i < coefficients.length; i++) {
+			scalar += coefficients[i] * this.weight[i];
+		}
+		result.weight[0] = scalar;
+		return result;
+	}
+
 	public int getDimension() {
 		return this.weight.length;
 	}
 
 	public DominationRelation dominates(Weight competitor) {
-		boolean thisIsSmallerAtLeastOnce = false;
-		boolean otherIsSmallerAtLeastOnce = false;
-		boolean equal = true;
-
 		if (this.weight.length != competitor.weight.length) {
 			assert false : "Dimensions do not match";
 			return null;
 		}
+		return dominates(this.weight, competitor.weight);
+	}
 
-		for (int i = 0; i < this.weight.length; i++) {
-			if (this.weight[i] < competitor.weight[i]) {
+	/**
+	 * Compares two weight vectors of equal dimension.
+	 */
+	static DominationRelation dominates(double[] weight, double[] competitor) {
+		boolean thisIsSmallerAtLeastOnce = false;
+		boolean otherIsSmallerAtLeastOnce = false;
+		boolean equal = true;
+
+		for (int i = 0; i < weight.length; i++) {
+			if (weight[i] < competitor[i]) {
 				thisIsSmallerAtLeastOnce = true;
 				equal = false;
 				if (otherIsSmallerAtLeastOnce) {
 					return DominationRelation.UNCOMPARABLE;
 				}
-			} else if (this.weight[i] > competitor.weight[i]) {
+			} else if (weight[i] > competitor[i]) {
 				otherIsSmallerAtLeastOnce = true;
 				equal = false;
 				if (thisIsSmallerAtLeastOnce) {
@@ -128,6 +156,31 @@ public class Weight {
 		return sum;
 	}
 
+	/**
+	 * Adds two weights without allocating.
+	 *
+	 * @param firstSummand first summand
+	 * @param secondSummand second summand
+	 * @param result weight of the same dimension receiving the sum, may be
+	 * one of the summands
+	 * @return result
+	 */
+	public static Weight add(Weight firstSummand, Weight secondSummand,
+			Weight result) {
+		result.checkMutable();
+		if (firstSummand.weight.length != secondSummand.weight.length
+				|| firstSummand.weight.length != result.weight.length) {
+			assert false : "Dimensions do not match";
+			return null;
+		}
+
+		for (int i = 0; i < firstSummand.weight.length; i++) {
+			result.weight[i] = firstSummand.weight[i]
+					+ secondSummand.weight[i];
+		}
+		return result;
+	}
+
 	public void scalarProduct(double scalar) {
 		/*
 		 * This method is an instance method to emphasize that it alters the
@@ -148,6 +201,36 @@ public class Weight {
 		return result;
 	}
 
+	/**
+	 * Multiplies a weight with a scalar without allocating.
+	 *
+	 * @param scalar scalar
+	 * @param weight weight
+	 * @param result weight of the same dimension receiving the product, may
+	 * be weight
+	 * @return result
+	 */
+	public static Weight scalarProduct(double scalar, Weight weight,
+			Weight result) {
+		result.checkMutable();
+		if (weight.weight.length != result.weight.length) {
+			assert false : "Dimensions do not match";
+			return null;
+		}
+
+		for (int i = 0; i < weight.weight.length; i++) {
+			result.weight[i] = weight.weight[i] * scalar;
+		}
+		return result;
+	}
+
+	/**
+	 * Throws an UnsupportedOperationException if this weight must not be
+	 * altered.
+	 */
+	void checkMutable() {
+	}
+
 	@Override
 	public Weight clone() {
 		double[] r = new double[this.weight.length];
@@ -167,6 +250,9 @@ public class Weight {
 
 	@Override
 	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
 		if (!(o instanceof Weight)) {
 			return false;
 		}
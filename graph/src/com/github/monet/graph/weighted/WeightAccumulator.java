@@ -0,0 +1,127 @@
+package com.github.monet.graph.weighted;
+
+import java.util.Arrays;
+
+import com.github.monet.graph.weighted.Weight.DominationRelation;
+
+/**
+ * Mutable weight vector for hot loops.
+ *
+ * All operations work in place on one array, so a single accumulator can be
+ * reused for any number of sums, differences or dominance tests. A Weight is
+ * only created by toWeight, e.g. once a result has to be stored.
+ */
+public class WeightAccumulator {
+
+	final double[] values;
+
+	/**
+	 * Creates the zero vector.
+	 *
+	 * @param dimension
+	 *            dimension
+	 */
+	public WeightAccumulator(int dimension) {
+		this.values = new double[dimension];
+	}
+
+	/**
+	 * @param initial
+	 *            initial value, which is copied
+	 */
+	public WeightAccumulator(Weight initial) {
+		this.values = initial.getWeights().clone();
+	}
+
+	public int getDimension() {
+		return this.values.length;
+	}
+
+	public double getWeight(int i) {
+		return this.values[i];
+	}
+
+	/**
+	 * Sets all weights to zero.
+	 */
+	public void reset() {
+		Arrays.fill(this.values, 0);
+	}
+
+	public void set(Weight w) {
+		assert w.getDimension() == this.values.length : "Dimensions do not match";
+		System.arraycopy(w.getWeights(), 0, this.values, 0, this.values.length);
+	}
+
+	public void add(Weight summand) {
+		double[] s = summand.getWeights();
+		assert s.length == this.values.length : "Dimensions do not match";
+		for (int i = 0; i < this.values.length; i++) {
+			this.values[i] += s[i];
+		}
+	}
+
+	public void subtract(Weight subtrahend) {
+		double[] s = subtrahend.getWeights();
+		assert s.length == this.values.length : "Dimensions do not match";
+		for (int i = 0; i < this.values.length; i++) {
+			this.values[i] -= s[i];
+		}
+	}
+
+	public void scalarProduct(double scalar) {
+		for (int i = 0; i < this.values.length; i++) {
+			this.values[i] *= scalar;
+		}
+	}
+
+	/**
+	 * @param coefficients
+	 *            coefficients
+	 * @return scalar product of the weights and coefficients
+	 */
+	public double scalarize(double[] coefficients) {
+		assert coefficients.length == this.values.length : "Dimensions do not match";
+		double scalar = 0;
+		for (int i = 0; i < coefficients.length; i++) {
+			scalar += coefficients[i] * this.values[i];
+		}
+		return scalar;
+	}
+
+	/**
+	 * Compares the current weights with a weight, like Weight.dominates.
+	 *
+	 * @param competitor
+	 *            weight of the same dimension
+	 * @return relation of the current weights to competitor
+	 */
+	public DominationRelation dominates(Weight competitor) {
+		if (this.values.length != competitor.getDimension()) {
+			assert false : "Dimensions do not match";
+			return null;
+		}
+		return Weight.dominates(this.values, competitor.getWeights());
+	}
+
+	/**
+	 * @param w
+	 *            weight
+	 * @return true, if the current weights equal w
+	 */
+	public boolean matches(Weight w) {
+		return Arrays.equals(this.values, w.getWeights());
+	}
+
+	/**
+	 * @return new weight holding a copy of the current weights
+	 */
+	public Weight toWeight() {
+		return new Weight(this.values.clone());
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(this.values);
+	}
+}
@@ -0,0 +1,55 @@
+package com.github.monet.graph.weighted;
+
+import java.util.HashMap;
+
+/**
+ * Interning pool for weights.
+ *
+ * intern returns one canonical immutable weight per weight vector, so labels
+ * with equal weights share one object during a search. Equal interned
+ * weights are identical, Weight.equals then returns after a reference
+ * comparison and duplicates can be detected with ==. The pool keeps all
+ * interned weights until it is cleared.
+ */
+public class WeightPool {
+
+	private final HashMap<Weight, ImmutableWeight> pool;
+
+	public WeightPool() {
+		this.pool = new HashMap<>();
+	}
+
+	/**
+	 * @param w
+	 *            weight
+	 * @return the canonical immutable weight equal to w
+	 */
+	public ImmutableWeight intern(Weight w) {
+		ImmutableWeight canonical = this.pool.get(w);
+		if (canonical == null) {
+			canonical = ImmutableWeight.valueOf(w);
+			this.pool.put(canonical, canonical);
+		}
+		return canonical;
+	}
+
+	/**
+	 * @param w
+	 *            weight
+	 * @return true, if a weight equal to w has been interned
+	 */
+	public boolean contains(Weight w) {
+		return this.pool.containsKey(w);
+	}
+
+	/**
+	 * @return number of distinct interned weights
+	 */
+	public int size() {
+		return this.pool.size();
+	}
+
+	public void clear() {
+		this.pool.clear();
+	}
+}
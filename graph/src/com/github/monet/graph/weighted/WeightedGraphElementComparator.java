@@ -16,6 +16,23 @@ public class WeightedGraphElementComparator<GE extends GraphElement> implements
 
 	public int compare(GE ge1, GE ge2) {
 
+		IndexedWeightAnnotator<GE> indexed = annotator.getIndexed();
+		if (indexed != null) {
+			// Lexicographic comparison without creating Weight objects
+			int i1 = indexed.getIndex(ge1);
+			int i2 = indexed.getIndex(ge2);
+			for (int k = 0; k < indexed.getDimension(); k++) {
+				double w1 = indexed.get(i1, k);
+				double w2 = indexed.get(i2, k);
+				if (w1 < w2) {
+					return -1;
+				} else if (w1 > w2) {
+					return 1;
+				}
+			}
+			return 0;
+		}
+
 		Weight w_ge1 = annotator.getAnnotation(ge1);
 		Weight w_ge2 = annotator.getAnnotation(ge2);
 
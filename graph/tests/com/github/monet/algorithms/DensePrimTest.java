@@ -0,0 +1,123 @@
+package com.github.monet.algorithms;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.SimpleEdge;
+import com.github.monet.graph.SimpleNode;
+import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+import com.github.monet.test.ExampleGraphs;
+
+public class DensePrimTest {
+
+	@Test
+	public void testDensePrim() {
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag = ExampleGraphs
+				.getTinyUndirectedSingleCriterionGraph();
+		GraphElementAnnotator<SimpleEdge, Weight> annotator = ag.getAnnotator(
+				"WEIGHTS", GraphElementAnnotator.class);
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				annotator);
+
+		Iterable<SimpleEdge> mst = new DensePrim<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(ag.getGraph(), weights);
+		int size = 0;
+		for (SimpleEdge e : mst) {
+			size++;
+		}
+		assertEquals(3, size);
+		assertEquals(12.0, weights.sum(mst).getFirstWeight(), 0.0);
+	}
+
+	@Test
+	public void testEqualsKruskal() {
+		Random random = new Random(3);
+		for (int run = 0; run < 50; run++) {
+			int n = 2 + random.nextInt(40);
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			ArrayList<SimpleNode> nodes = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				nodes.add(g.addNode());
+			}
+			// Few distinct weights, so many ties have to be broken
+			ColumnarWeightAnnotator<SimpleEdge> w = new ColumnarWeightAnnotator<>(
+					1);
+			for (int i = 1; i < n; i++) {
+				w.add(g.addEdge(nodes.get(i), nodes.get(random.nextInt(i))),
+						random.nextInt(5));
+			}
+			for (int i = 0; i < n * n; i++) {
+				w.add(g.addEdge(nodes.get(random.nextInt(n)),
+						nodes.get(random.nextInt(n))), random.nextInt(5));
+			}
+			GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+					w);
+
+			// Parallel edges are equal, compare identities
+			Set<SimpleEdge> kruskal = Collections
+					.newSetFromMap(new IdentityHashMap<SimpleEdge, Boolean>());
+			for (SimpleEdge e : new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+					.computeUniobjectiveOptimum(g, weights)) {
+				kruskal.add(e);
+			}
+			Set<SimpleEdge> densePrim = Collections
+					.newSetFromMap(new IdentityHashMap<SimpleEdge, Boolean>());
+			for (SimpleEdge e : new DensePrim<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+					.computeUniobjectiveOptimum(g, weights)) {
+				densePrim.add(e);
+			}
+			assertEquals(n - 1, kruskal.size());
+			assertEquals(kruskal, densePrim);
+		}
+	}
+
+	@Test
+	public void testDensity() {
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag = ExampleGraphs
+				.getTinyUndirectedSingleCriterionGraph();
+		SimpleUndirectedGraph g = ag.getGraph();
+		double n = g.getNumNodes();
+		assertEquals(g.getNumEdges() / (n * (n - 1) / 2), DensePrim.density(g),
+				1e-12);
+		assertEquals(0.0, DensePrim.density(new SimpleUndirectedGraph()), 0.0);
+	}
+
+	@Test
+	public void testMemoryBudget() {
+		assertEquals(4096, DensePrim.MAX_NODES);
+		// A path just above the limit is handled by Kruskal
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		ColumnarWeightAnnotator<SimpleEdge> w = new ColumnarWeightAnnotator<>(1);
+		SimpleNode last = g.addNode();
+		for (int i = 0; i < DensePrim.MAX_NODES; i++) {
+			SimpleNode next = g.addNode();
+			w.add(g.addEdge(last, next), i % 7);
+			last = next;
+		}
+		assertFalse(DensePrim.fitsMatrix(g));
+		g.deleteNode(last);
+		assertTrue(DensePrim.fitsMatrix(g));
+		g.addNode();
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				w);
+		int size = 0;
+		for (SimpleEdge e : new DensePrim<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(g, weights)) {
+			size++;
+		}
+		// The added node is isolated
+		assertEquals(DensePrim.MAX_NODES - 1, size);
+	}
+}
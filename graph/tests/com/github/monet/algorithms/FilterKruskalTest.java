@@ -0,0 +1,116 @@
+package com.github.monet.algorithms;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.SimpleEdge;
+import com.github.monet.graph.SimpleNode;
+import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+import com.github.monet.test.ExampleGraphs;
+
+public class FilterKruskalTest {
+
+	@Test
+	public void testFilterKruskal() {
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag = ExampleGraphs
+				.getTinyUndirectedSingleCriterionGraph();
+		GraphElementAnnotator<SimpleEdge, Weight> annotator = ag.getAnnotator(
+				"WEIGHTS", GraphElementAnnotator.class);
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				annotator);
+
+		Iterable<SimpleEdge> mst = new FilterKruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(ag.getGraph(), weights);
+		int size = 0;
+		for (SimpleEdge e : mst) {
+			size++;
+		}
+		assertEquals(3, size);
+		assertEquals(12.0, weights.sum(mst).getFirstWeight(), 0.0);
+	}
+
+	@Test
+	public void testEqualsKruskal() {
+		Random random = new Random(3);
+		for (int run = 0; run < 50; run++) {
+			int n = 2 + random.nextInt(40);
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			ArrayList<SimpleNode> nodes = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				nodes.add(g.addNode());
+			}
+			// Few distinct weights, so many ties have to be broken
+			ColumnarWeightAnnotator<SimpleEdge> w = new ColumnarWeightAnnotator<>(
+					1);
+			for (int i = 1; i < n; i++) {
+				w.add(g.addEdge(nodes.get(i), nodes.get(random.nextInt(i))),
+						random.nextInt(5));
+			}
+			for (int i = 0; i < 10 * n; i++) {
+				w.add(g.addEdge(nodes.get(random.nextInt(n)),
+						nodes.get(random.nextInt(n))), random.nextInt(5));
+			}
+			GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+					w);
+
+			// Parallel edges are equal, compare identities
+			Set<SimpleEdge> kruskal = Collections
+					.newSetFromMap(new IdentityHashMap<SimpleEdge, Boolean>());
+			for (SimpleEdge e : new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+					.computeUniobjectiveOptimum(g, weights)) {
+				kruskal.add(e);
+			}
+			Set<SimpleEdge> filterKruskal = Collections
+					.newSetFromMap(new IdentityHashMap<SimpleEdge, Boolean>());
+			for (SimpleEdge e : new FilterKruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+					.computeUniobjectiveOptimum(g, weights)) {
+				filterKruskal.add(e);
+			}
+			assertEquals(n - 1, kruskal.size());
+			assertEquals(kruskal, filterKruskal);
+		}
+	}
+
+	@Test
+	public void testCopiedIncidentEdges() {
+		// Hands out equal copies of the edges, including a parallel edge
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph() {
+			@Override
+			public Collection<SimpleEdge> getIncidentEdges(SimpleNode u) {
+				ArrayList<SimpleEdge> copies = new ArrayList<>();
+				for (SimpleEdge e : super.getIncidentEdges(u)) {
+					copies.add(new SimpleEdge(e.u, e.v));
+				}
+				return copies;
+			}
+		};
+		SimpleNode a = g.addNode();
+		SimpleNode b = g.addNode();
+		SimpleNode c = g.addNode();
+		ColumnarWeightAnnotator<SimpleEdge> w = new ColumnarWeightAnnotator<>(1);
+		w.add(g.addEdge(a, b), 3);
+		w.add(g.addEdge(a, b), 1);
+		w.add(g.addEdge(b, c), 2);
+		w.add(g.addEdge(a, c), 4);
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				w);
+
+		assertEquals(3.0, weights.sum(new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(g, weights)).getFirstWeight(), 0.0);
+		assertEquals(3.0, weights.sum(new FilterKruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(g, weights)).getFirstWeight(), 0.0);
+	}
+}
@@ -0,0 +1,101 @@
+package com.github.monet.algorithms;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.SimpleEdge;
+import com.github.monet.graph.SimpleNode;
+import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+
+public class WarmStartKruskalTest {
+
+	private static List<SimpleEdge> toList(Iterable<SimpleEdge> edges) {
+		ArrayList<SimpleEdge> list = new ArrayList<>();
+		for (SimpleEdge e : edges) {
+			list.add(e);
+		}
+		return list;
+	}
+
+	@Test
+	public void testEqualsKruskal() {
+		Random random = new Random(9);
+		Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kruskal =
+				new Kruskal<>();
+		for (int run = 0; run < 30; run++) {
+			int n = 2 + random.nextInt(40);
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			ArrayList<SimpleNode> nodes = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				nodes.add(g.addNode());
+			}
+			// Few distinct weights, so many ties have to be broken; some
+			// graphs are not connected
+			ColumnarWeightAnnotator<SimpleEdge> w = new ColumnarWeightAnnotator<>(
+					2);
+			for (int i = 0; i < 4 * n; i++) {
+				w.add(g.addEdge(nodes.get(random.nextInt(n)),
+						nodes.get(random.nextInt(n))), random.nextInt(8),
+						random.nextInt(8));
+			}
+			GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+					w);
+
+			WarmStartKruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> warmStart =
+					new WarmStartKruskal<>();
+			GraphElementWeightAnnotator<SimpleEdge> scalarization = null;
+			double lambda = 0.5;
+			for (int i = 0; i < 40; i++) {
+				// Mostly small steps between directions, some jumps
+				lambda = (i % 10 == 0) ? random.nextDouble() : Math.min(1,
+						Math.max(0, lambda + 0.05 * (random.nextDouble() - 0.5)));
+				scalarization = weights.rescalarize(scalarization,
+						new double[] { lambda, 1 - lambda });
+				assertEquals(
+						toList(kruskal.computeUniobjectiveOptimum(g,
+								scalarization)),
+						toList(warmStart.computeUniobjectiveOptimum(g,
+								scalarization)));
+			}
+		}
+	}
+
+	@Test
+	public void testGraphChanged() {
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode a = g.addNode();
+		SimpleNode b = g.addNode();
+		SimpleNode c = g.addNode();
+		SimpleNode d = g.addNode();
+		ColumnarWeightAnnotator<SimpleEdge> w = new ColumnarWeightAnnotator<>(1);
+		w.add(g.addEdge(a, b), 1);
+		SimpleEdge bc = g.addEdge(b, c);
+		w.add(bc, 2);
+		w.add(g.addEdge(c, d), 3);
+		w.add(g.addEdge(a, d), 4);
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				w);
+		Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kruskal =
+				new Kruskal<>();
+		WarmStartKruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> warmStart =
+				new WarmStartKruskal<>();
+		assertEquals(toList(kruskal.computeUniobjectiveOptimum(g, weights)),
+				toList(warmStart.computeUniobjectiveOptimum(g, weights)));
+
+		// Same numbers of nodes and edges, but another edge
+		g.deleteEdge(bc);
+		w.add(g.addEdge(b, d), 0);
+		List<SimpleEdge> expected = toList(kruskal.computeUniobjectiveOptimum(
+				g, weights));
+		assertEquals(expected, toList(warmStart.computeUniobjectiveOptimum(g,
+				weights)));
+		assertFalse(expected.contains(bc));
+	}
+}
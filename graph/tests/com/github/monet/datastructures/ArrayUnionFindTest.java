@@ -0,0 +1,87 @@
+package com.github.monet.datastructures;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ArrayUnionFindTest {
+
+	@Test
+	public void testUnionFind() {
+		ArrayUnionFind<Object> uf = new ArrayUnionFind<>(1);
+		Object o1 = new Object();
+		Object o2 = new Object();
+		Object o3 = new Object();
+		Object o4 = new Object();
+
+		uf.add(o1);
+		uf.add(o2);
+		uf.add(o3);
+		uf.add(o4);
+		assertEquals(4, uf.size());
+		assertEquals(o1, uf.find(o1));
+		assertEquals(o4, uf.find(o4));
+
+		uf.union(o1, o2);
+		assertEquals(uf.find(o1), uf.find(o2));
+		assertEquals(o2, uf.find(o2));
+		assertEquals(o3, uf.find(o3));
+
+		uf.makeRepresentative(o3);
+		assertEquals(o2, uf.find(o2));
+		assertEquals(o3, uf.find(o3));
+
+		uf.union(o2, o3);
+		uf.union(o3, o4);
+		assertEquals(uf.find(o1), uf.find(o4));
+
+		uf.makeRepresentative(o3);
+		assertEquals(o3, uf.find(o1));
+		assertEquals(o3, uf.find(o4));
+
+		uf.makeRepresentative(o1);
+		assertEquals(o1, uf.find(o2));
+		assertEquals(o1, uf.find(o3));
+
+		// Reset
+		uf.reset();
+		assertEquals(o1, uf.find(o1));
+		assertEquals(o2, uf.find(o2));
+		assertEquals(o3, uf.find(o3));
+		assertEquals(o4, uf.find(o4));
+	}
+
+	@Test
+	public void testAgainstTreeUnionFind() {
+		Random random = new Random(7);
+		Integer[] elements = new Integer[50];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = i;
+		}
+		ArrayUnionFind<Integer> uf = new ArrayUnionFind<>(
+				Arrays.asList(elements));
+		for (int run = 0; run < 3; run++) {
+			uf.reset();
+			TreeUnionFind<Integer> tuf = new TreeUnionFind<>();
+			for (Integer e : elements) {
+				tuf.add(e);
+			}
+			for (int step = 0; step < 200; step++) {
+				Integer u = elements[random.nextInt(elements.length)];
+				Integer v = elements[random.nextInt(elements.length)];
+				if (random.nextBoolean()) {
+					assertEquals(tuf.union(u, v), uf.union(u, v));
+				} else {
+					tuf.makeRepresentative(u);
+					uf.makeRepresentative(u);
+				}
+				assertEquals(tuf.find(v), uf.find(v));
+				assertEquals(uf.find(v),
+						uf.getElement(uf.findId(uf.getId(v))));
+			}
+		}
+	}
+}
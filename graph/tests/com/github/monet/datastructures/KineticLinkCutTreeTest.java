@@ -0,0 +1,138 @@
+package com.github.monet.datastructures;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KineticLinkCutTreeTest {
+
+	private static double weight(double[] c1, double[] c2, int e, double lambda) {
+		return (1 - lambda) * c1[e] + lambda * c2[e];
+	}
+
+	/**
+	 * @return edges on the path between u and v in the forest, null if there
+	 *         is none
+	 */
+	private static ArrayList<Integer> path(int n, int[] first, int[] second,
+			boolean[] inForest, int u, int v) {
+		int[] edgeTo = new int[n];
+		boolean[] visited = new boolean[n];
+		int[] queue = new int[n];
+		int begin = 0;
+		int end = 0;
+		queue[end++] = u;
+		visited[u] = true;
+		while (begin < end) {
+			int x = queue[begin++];
+			for (int e = 0; e < first.length; e++) {
+				if (inForest[e] && (first[e] == x || second[e] == x)) {
+					int y = (first[e] == x) ? second[e] : first[e];
+					if (!visited[y]) {
+						visited[y] = true;
+						edgeTo[y] = e;
+						queue[end++] = y;
+					}
+				}
+			}
+		}
+		if (!visited[v]) {
+			return null;
+		}
+		ArrayList<Integer> path = new ArrayList<>();
+		for (int x = v; x != u;) {
+			int e = edgeTo[x];
+			path.add(e);
+			x = (first[e] == x) ? second[e] : first[e];
+		}
+		return path;
+	}
+
+	@Test
+	public void testAgainstPathScan() {
+		Random random = new Random(5);
+		int n = 30;
+		int m = 120;
+		int[] first = new int[m];
+		int[] second = new int[m];
+		double[] c1 = new double[m];
+		double[] c2 = new double[m];
+		for (int e = 0; e < m; e++) {
+			first[e] = random.nextInt(n);
+			do {
+				second[e] = random.nextInt(n);
+			} while (second[e] == first[e]);
+			c1[e] = random.nextInt(50);
+			c2[e] = random.nextInt(50);
+		}
+		KineticLinkCutTree tree = new KineticLinkCutTree(n, c1, c2);
+		boolean[] inForest = new boolean[m];
+		int numQueries = 0;
+		double lambda = 0;
+		for (int step = 0; step < 3000; step++) {
+			lambda = Math.min(1.0, lambda + random.nextDouble() / 1000);
+			tree.advance(lambda);
+			int e = random.nextInt(m);
+			ArrayList<Integer> p = path(n, first, second, inForest, first[e],
+					second[e]);
+			if (inForest[e]) {
+				tree.cut(e, first[e], second[e]);
+				inForest[e] = false;
+			} else if (p == null) {
+				tree.link(e, first[e], second[e]);
+				inForest[e] = true;
+			} else {
+				int max = tree.pathMax(first[e], second[e]);
+				double expiry = tree.getPathExpiry();
+				assertTrue(p.contains(max));
+				assertTrue(expiry > lambda);
+				// The maximum holds at lambda and until its expiry
+				double later = Math.min(expiry, 1.0);
+				later = lambda + (later - lambda) / 2;
+				for (int x : p) {
+					assertTrue(weight(c1, c2, x, lambda) <= weight(c1, c2, max,
+							lambda) + 1e-9);
+					assertTrue(weight(c1, c2, x, later) <= weight(c1, c2, max,
+							later) + 1e-9);
+				}
+				numQueries++;
+			}
+		}
+		assertTrue(numQueries > 500);
+	}
+
+	@Test
+	public void testLongPath() {
+		// The weights are tangents of a parabola, so every edge is the
+		// maximum of the whole path on its own interval
+		int n = 2000;
+		double[] c1 = new double[n - 1];
+		double[] c2 = new double[n - 1];
+		for (int e = 0; e < n - 1; e++) {
+			c1[e] = -e * e;
+			c2[e] = 2 * e * (n - 1) - e * e;
+		}
+		KineticLinkCutTree tree = new KineticLinkCutTree(n, c1, c2);
+		for (int e = 0; e < n - 1; e++) {
+			tree.link(e, e, e + 1);
+		}
+		assertEquals(0, tree.pathMax(0, n - 1));
+		int changes = 0;
+		int max = 0;
+		while (tree.getPathExpiry() < 1.0) {
+			tree.advance(tree.getPathExpiry());
+			int next = tree.pathMax(0, n - 1);
+			assertEquals(max + 1, next);
+			max = next;
+			changes++;
+		}
+		assertEquals(n - 2, max);
+		assertEquals(n - 2, changes);
+		assertEquals(-1, tree.pathMax(5, 5));
+		tree.cut(n / 2, n / 2, n / 2 + 1);
+		assertEquals(n / 2 - 1, tree.pathMax(0, n / 2));
+	}
+}
@@ -0,0 +1,94 @@
+package com.github.monet.datastructures;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NDTreeTest {
+
+	@Test
+	public void testTree() {
+		NDTree<String> tree = new NDTree<>(3);
+		assertTrue(tree.isEmpty());
+		assertFalse(tree.isDominated(new double[] { 1, 1, 1 }));
+
+		tree.insert(new double[] { 1, 5, 5 }, "a");
+		tree.insert(new double[] { 5, 1, 5 }, "b");
+		tree.insert(new double[] { 5, 5, 1 }, "c");
+		assertEquals(3, tree.size());
+		assertTrue(tree.isDominated(new double[] { 5, 5, 5 }));
+		assertTrue(tree.isDominated(new double[] { 1, 6, 5 }));
+		assertFalse(tree.isDominated(new double[] { 1, 5, 5 }));
+		assertFalse(tree.isDominated(new double[] { 0, 9, 9 }));
+
+		ArrayList<String> removed = new ArrayList<>();
+		assertEquals(2, tree.removeDominated(new double[] { 4, 1, 1 }, removed));
+		assertEquals(new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(
+				removed));
+		assertEquals(1, tree.size());
+		assertTrue(tree.remove(new double[] { 1, 5, 5 }, "a"));
+		assertFalse(tree.remove(new double[] { 1, 5, 5 }, "a"));
+		assertTrue(tree.isEmpty());
+	}
+
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(42);
+		for (int dimension = 3; dimension <= 6; dimension++) {
+			NDTree<double[]> tree = new NDTree<>(dimension, 4, 3);
+			ArrayList<double[]> front = new ArrayList<>();
+			for (int i = 0; i < 3000; i++) {
+				double[] point = new double[dimension];
+				for (int j = 0; j < dimension; j++) {
+					point[j] = random.nextInt(20);
+				}
+
+				boolean dominated = false;
+				for (double[] p : front) {
+					dominated |= dominates(p, point);
+				}
+				assertEquals(dominated, tree.isDominated(point));
+				if (dominated) {
+					continue;
+				}
+
+				ArrayList<double[]> expected = new ArrayList<>();
+				for (double[] p : front) {
+					if (dominates(point, p)) {
+						expected.add(p);
+					}
+				}
+				ArrayList<double[]> removed = new ArrayList<>();
+				assertEquals(expected.size(), tree.removeDominated(point,
+						removed));
+				assertEquals(new HashSet<>(expected), new HashSet<>(removed));
+				front.removeAll(expected);
+
+				if (random.nextInt(10) == 0 && !front.isEmpty()) {
+					double[] p = front.remove(random.nextInt(front.size()));
+					assertTrue(tree.remove(p, p));
+				}
+				tree.insert(point, point);
+				front.add(point);
+				assertEquals(front.size(), tree.size());
+			}
+			assertEquals(new HashSet<>(front), new HashSet<>(tree.values()));
+		}
+	}
+
+	private static boolean dominates(double[] a, double[] b) {
+		boolean smaller = false;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			}
+			smaller |= a[i] < b[i];
+		}
+		return smaller;
+	}
+}
@@ -0,0 +1,89 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.weighted.Weight;
+
+public class BiobjectiveParetoFrontTest {
+
+	/**
+	 * Assigns preset costs to graphs
+	 */
+	private static class PresetCosts implements
+			CostCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph, Weight> {
+
+		private final IdentityHashMap<SimpleUndirectedGraph, Weight> costs =
+				new IdentityHashMap<>();
+
+		SimpleUndirectedGraph graph(double w0, double w1) {
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			this.costs.put(g, new Weight(new double[] { w0, w1 }));
+			return g;
+		}
+
+		@Override
+		public Weight calculateCosts(SimpleUndirectedGraph graph) {
+			return this.costs.get(graph);
+		}
+	}
+
+	@Test
+	public void testAdd() {
+		PresetCosts costs = new PresetCosts();
+		BiobjectiveParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> pf =
+				new BiobjectiveParetoFront<>(costs);
+
+		assertTrue(pf.add(costs.graph(1, 9)));
+		assertTrue(pf.add(costs.graph(5, 5)));
+		assertTrue(pf.add(costs.graph(9, 1)));
+		assertEquals(3, pf.size());
+
+		// Dominated points are rejected
+		assertFalse(pf.add(costs.graph(6, 6)));
+		assertFalse(pf.add(costs.graph(1, 10)));
+		assertFalse(pf.add(costs.graph(5, 7)));
+		assertEquals(3, pf.size());
+		assertTrue(pf.isDominated(new Weight(new double[] { 9, 2 })));
+		assertFalse(pf.isDominated(new Weight(new double[] { 5, 5 })));
+		assertFalse(pf.isDominated(new Weight(new double[] { 0, 20 })));
+
+		// Equal points replace each other
+		SimpleUndirectedGraph equal = costs.graph(5, 5);
+		assertTrue(pf.add(equal));
+		assertEquals(3, pf.size());
+		assertSame(equal, pf.get(new Weight(new double[] { 5, 5 })));
+
+		// Dominated points are removed
+		assertTrue(pf.add(costs.graph(4, 4)));
+		assertEquals(3, pf.size());
+		assertNull(pf.get(new Weight(new double[] { 5, 5 })));
+		assertTrue(pf.add(costs.graph(0, 0)));
+		assertEquals(1, pf.size());
+	}
+
+	@Test
+	public void testRandomEquivalence() {
+		Random random = new Random(42);
+		for (int run = 0; run < 50; run++) {
+			PresetCosts costs = new PresetCosts();
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> expected =
+					new ParetoFront<>(costs, true);
+			BiobjectiveParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> actual =
+					new BiobjectiveParetoFront<>(costs);
+			for (int i = 0; i < 200; i++) {
+				SimpleUndirectedGraph g = costs.graph(random.nextInt(30),
+						random.nextInt(30));
+				assertEquals(expected.add(g), actual.add(g));
+				assertEquals(new ArrayList<>(expected.keySet()),
+						new ArrayList<>(actual.keySet()));
+			}
+		}
+	}
+}
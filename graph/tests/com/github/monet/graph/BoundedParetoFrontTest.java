@@ -0,0 +1,107 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.weighted.Weight;
+
+public class BoundedParetoFrontTest {
+
+	/**
+	 * Assigns preset costs to graphs
+	 */
+	private static class PresetCosts implements
+			CostCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph, Weight> {
+
+		private final IdentityHashMap<SimpleUndirectedGraph, Weight> costs =
+				new IdentityHashMap<>();
+
+		SimpleUndirectedGraph graph(double... w) {
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			this.costs.put(g, new Weight(w));
+			return g;
+		}
+
+		@Override
+		public Weight calculateCosts(SimpleUndirectedGraph graph) {
+			return this.costs.get(graph);
+		}
+	}
+
+	@Test
+	public void testHypervolumeEviction() {
+		Random random = new Random(11);
+		PresetCosts costs = new PresetCosts();
+		BoundedParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> actual =
+				new BoundedParetoFront<>(costs, 8);
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> expected =
+				new ParetoFront<>(costs, true);
+		for (int i = 0; i < 2000; i++) {
+			double x = random.nextDouble() * 100;
+			SimpleUndirectedGraph g = costs.graph(x, 100 - x
+					+ random.nextDouble() * 20);
+			actual.add(g);
+			expected.add(g);
+			// Evict the smallest hypervolume contribution by brute force
+			while (expected.size() > 8) {
+				List<Weight> points = new ArrayList<>(expected.keySet());
+				int smallest = -1;
+				double minContribution = Double.POSITIVE_INFINITY;
+				for (int j = 1; j < points.size() - 1; j++) {
+					double contribution = (points.get(j + 1).getWeight(0) - points
+							.get(j).getWeight(0))
+							* (points.get(j - 1).getWeight(1) - points.get(j)
+									.getWeight(1));
+					if (contribution < minContribution) {
+						minContribution = contribution;
+						smallest = j;
+					}
+				}
+				expected.removeKey(points.get(smallest));
+			}
+			assertEquals(new ArrayList<>(expected.keySet()),
+					new ArrayList<>(actual.keySet()));
+		}
+
+		// Extreme points are kept
+		SimpleUndirectedGraph left = costs.graph(-1, 1000);
+		SimpleUndirectedGraph right = costs.graph(1000, -1);
+		assertTrue(actual.add(left));
+		assertTrue(actual.add(right));
+		assertEquals(8, actual.size());
+		assertSame(left, actual.first());
+		assertSame(right, actual.last());
+	}
+
+	@Test
+	public void testCrowdingTruncation() {
+		Random random = new Random(5);
+		PresetCosts costs = new PresetCosts();
+		BoundedParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> pf =
+				new BoundedParetoFront<>(costs, 50);
+		for (int i = 0; i < 5000; i++) {
+			double x = random.nextDouble();
+			double y = random.nextDouble() * (1 - x);
+			SimpleUndirectedGraph g = costs.graph(x, y, 1 - x - y
+					+ random.nextDouble() * 0.1);
+			pf.add(g);
+			assertTrue(pf.size() <= 50);
+		}
+		assertTrue(pf.size() >= 45);
+
+		// Only mutually non-dominated points remain
+		List<Weight> points = new ArrayList<>(pf.keySet());
+		for (Weight a : points) {
+			for (Weight b : points) {
+				assertTrue(a.dominates(b) != Weight.DominationRelation.PARETO_SMALLER);
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.weighted.Weight;
+
+public class CompactSolutionStoreTest {
+
+	private static SimpleUndirectedGraph createGraph(int n) {
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode[] nodes = new SimpleNode[n];
+		for (int i = 0; i < n; i++) {
+			nodes[i] = g.addNode();
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				g.addEdge(nodes[i], nodes[j]);
+			}
+		}
+		return g;
+	}
+
+	/**
+	 * Costs: sum of the ids of the first nodes of all edges, and the sum of
+	 * the second nodes counted down from 6
+	 */
+	private static final CostCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph, Weight> COSTS =
+			new CostCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph, Weight>() {
+				@Override
+				public Weight calculateCosts(SimpleUndirectedGraph graph) {
+					double first = 0;
+					double second = 0;
+					for (SimpleEdge e : graph.getAllEdges()) {
+						first += e.u.getId();
+						second += 6 - e.v.getId();
+					}
+					return new Weight(new double[] { first, second });
+				}
+			};
+
+	@Test
+	public void testDeltas() {
+		SimpleUndirectedGraph g = createGraph(12);
+		GraphIndex<SimpleNode, SimpleEdge> index = new GraphIndex<>(g);
+		CompactSolutionStore<SimpleNode, SimpleEdge> store =
+				new CompactSolutionStore<>(index);
+		Random random = new Random(17);
+
+		List<SimpleEdge> edges = new ArrayList<>(g.getAllEdges());
+		List<SimpleEdge> current = new ArrayList<>(edges.subList(0, 20));
+		CompactSolutionStore.Solution s = store.store(current);
+		assertFalse(s.isDelta());
+		for (int i = 0; i < 50; i++) {
+			// Exchange a random edge
+			SimpleEdge out = current.remove(random.nextInt(current.size()));
+			SimpleEdge in;
+			do {
+				in = edges.get(random.nextInt(edges.size()));
+			} while (in == out || current.contains(in));
+			current.add(in);
+			s = (i % 2 == 0) ? store.storeExchange(s, out, in) : store.store(
+					current, s);
+			assertEquals(20, s.size());
+			assertEquals(g.getSubgraphWithImpliedNodes(current),
+					store.materialize(g, s));
+		}
+
+		// Chains of deltas are bounded
+		CompactSolutionStore.Solution t = store.store(current);
+		for (int i = 0; i < CompactSolutionStore.MAX_DEPTH; i++) {
+			t = store.store(current, t);
+			assertTrue(t.isDelta());
+		}
+		assertFalse(store.store(current, t).isDelta());
+
+		// Distant solutions are stored in full
+		assertFalse(store.store(edges.subList(40, 60), s).isDelta());
+	}
+
+	@Test
+	public void testFront() {
+		SimpleUndirectedGraph g = createGraph(6);
+		List<SimpleEdge> edges = new ArrayList<>(g.getAllEdges());
+		CompactParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> pf =
+				new CompactParetoFront<>(g, COSTS, true);
+		assertNull(pf.first());
+
+		SimpleUndirectedGraph a = g.getSubgraphWithImpliedNodes(edges.subList(0, 3));
+		SimpleUndirectedGraph b = g.getSubgraphWithImpliedNodes(edges.subList(1, 3));
+		SimpleUndirectedGraph c = g.getSubgraphWithImpliedNodes(edges.subList(12, 15));
+		assertTrue(pf.add(a));
+		assertFalse(pf.add(g.getSubgraphWithImpliedNodes(edges.subList(0, 4))));
+		assertTrue(pf.add(c));
+		assertEquals(2, pf.size());
+		assertTrue(pf.contains(a));
+		assertTrue(pf.contains(g.getSubgraphWithImpliedNodes(edges.subList(0, 3))));
+		assertFalse(pf.contains(b));
+		assertEquals(a, pf.first());
+		assertEquals(c, pf.last());
+
+		// b dominates a
+		assertTrue(pf.add(b));
+		assertEquals(2, pf.size());
+		assertFalse(pf.contains(a));
+		assertEquals(b, pf.first());
+		assertEquals(edges.subList(1, 3), pf.getEdges(COSTS.calculateCosts(b)));
+
+		Iterator<SimpleUndirectedGraph> iterator = pf.iterator();
+		assertEquals(b, iterator.next());
+		iterator.remove();
+		assertEquals(c, iterator.next());
+		assertFalse(iterator.hasNext());
+		assertEquals(1, pf.size());
+		assertTrue(pf.remove(c));
+		assertTrue(pf.isEmpty());
+	}
+}
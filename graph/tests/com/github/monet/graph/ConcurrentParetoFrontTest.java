@@ -0,0 +1,139 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.weighted.Weight;
+
+public class ConcurrentParetoFrontTest {
+
+	/**
+	 * Assigns preset costs to graphs, read-only after setup
+	 */
+	private static class PresetCosts implements
+			CostCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph, Weight> {
+
+		private final IdentityHashMap<SimpleUndirectedGraph, Weight> costs =
+				new IdentityHashMap<>();
+
+		SimpleUndirectedGraph graph(double... w) {
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			this.costs.put(g, new Weight(w));
+			return g;
+		}
+
+		@Override
+		public Weight calculateCosts(SimpleUndirectedGraph graph) {
+			return this.costs.get(graph);
+		}
+	}
+
+	@Test
+	public void testRandomEquivalence() {
+		Random random = new Random(7);
+		for (int run = 0; run < 30; run++) {
+			PresetCosts costs = new PresetCosts();
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> expected =
+					new ParetoFront<>(costs, true);
+			ConcurrentParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> actual =
+					new ConcurrentParetoFront<>(costs);
+			// Two objectives take the staircase path
+			boolean biobjective = run % 2 == 0;
+			for (int i = 0; i < 200; i++) {
+				SimpleUndirectedGraph g = biobjective ? costs.graph(
+						random.nextInt(20), random.nextInt(20)) : costs.graph(
+						random.nextInt(20), random.nextInt(20),
+						random.nextInt(20));
+				assertEquals(expected.add(g), actual.add(g));
+				assertEquals(new ArrayList<>(expected.keySet()),
+						new ArrayList<>(actual.keySet()));
+			}
+			assertSame(expected.first(), actual.first());
+			assertSame(expected.last(), actual.last());
+		}
+	}
+
+	@Test
+	public void testOperations() {
+		PresetCosts costs = new PresetCosts();
+		ConcurrentParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> pf =
+				new ConcurrentParetoFront<>(costs);
+		assertNull(pf.first());
+		SimpleUndirectedGraph a = costs.graph(1, 9);
+		SimpleUndirectedGraph b = costs.graph(9, 1);
+		assertTrue(pf.add(a));
+		assertTrue(pf.add(b));
+		assertSame(a, pf.first());
+		assertSame(b, pf.last());
+		assertSame(b, pf.get(new Weight(new double[] { 9, 1 })));
+
+		// Iterators are weakly consistent and survive changes
+		Iterator<SimpleUndirectedGraph> iterator = pf.iterator();
+		assertSame(a, iterator.next());
+		assertTrue(pf.add(costs.graph(0, 0)));
+		assertEquals(1, pf.size());
+		while (iterator.hasNext()) {
+			iterator.next();
+		}
+
+		pf.clear();
+		assertTrue(pf.isEmpty());
+		assertTrue(pf.add(a));
+		assertTrue(pf.contains(a));
+		assertTrue(pf.remove(a));
+		assertFalse(pf.remove(a));
+		assertTrue(pf.isEmpty());
+		assertTrue(pf.add(b));
+		iterator = pf.iterator();
+		iterator.next();
+		iterator.remove();
+		assertTrue(pf.isEmpty());
+	}
+
+	@Test
+	public void testConcurrentOffers() throws InterruptedException {
+		final PresetCosts costs = new PresetCosts();
+		Random random = new Random(3);
+		final List<SimpleUndirectedGraph> candidates = new ArrayList<>();
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> expected =
+				new ParetoFront<>(costs, true);
+		for (int i = 0; i < 20000; i++) {
+			SimpleUndirectedGraph g = costs.graph(random.nextInt(1000),
+					random.nextInt(1000), random.nextInt(1000));
+			candidates.add(g);
+			expected.add(g);
+		}
+
+		final ConcurrentParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> actual =
+				new ConcurrentParetoFront<>(costs);
+		final int numThreads = 4;
+		Thread[] threads = new Thread[numThreads];
+		for (int t = 0; t < numThreads; t++) {
+			final int offset = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = offset; i < candidates.size(); i += numThreads) {
+						actual.add(candidates.get(i));
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Equal costs may be stored with a different solution
+		assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(
+				actual.keySet()));
+	}
+}
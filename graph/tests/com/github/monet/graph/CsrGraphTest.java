@@ -0,0 +1,136 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.github.monet.algorithms.Kruskal;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+import com.github.monet.test.ExampleGraphs;
+import com.github.monet.test.LabeledGraph;
+
+public class CsrGraphTest {
+
+	@Test
+	public void testStructure() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		SimpleUndirectedGraph g = lg.graph.getGraph();
+		CsrGraph csr = new CsrGraph(g);
+
+		assertEquals(g.getNumNodes(), csr.getNumNodes());
+		assertEquals(g.getNumEdges(), csr.getNumEdges());
+		for (SimpleNode n : g.getAllNodes()) {
+			assertEquals(g.getIncidentEdges(n).size(), csr.getIncidentEdges(n)
+					.size());
+			assertTrue(csr.getIncidentEdges(n).containsAll(
+					g.getIncidentEdges(n)));
+			assertEquals(n, csr.getNode(csr.getNodeIndex(n)));
+		}
+		for (SimpleEdge e : g.getAllEdges()) {
+			assertTrue(csr.getEdge(csr.getEdgeIndex(e)) == e);
+		}
+
+		SimpleNode n1 = lg.node_ids.get("1");
+		SimpleNode n2 = lg.node_ids.get("2");
+		SimpleNode n5 = lg.node_ids.get("5");
+		assertTrue(csr.getEdge(n1, n2) == lg.edge_ids.get("1,2"));
+		assertTrue(csr.getEdge(n2, n1) == lg.edge_ids.get("1,2"));
+		assertNull(csr.getEdge(n1, n5));
+		assertEquals(4, csr.getAdjacentNodes(lg.node_ids.get("4")).size());
+	}
+
+	@Test
+	public void testIndexIteration() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleDirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikDirectedExample();
+		SimpleDirectedGraph g = lg.graph.getGraph();
+		CsrGraph csr = new CsrGraph(g);
+
+		for (SimpleNode n : g.getAllNodes()) {
+			int u = csr.getNodeIndex(n);
+			int out = 0;
+			for (int slot = csr.getIncidenceBegin(u); slot < csr
+					.getOutgoingEnd(u); slot++) {
+				int e = csr.getIncidentEdgeIndex(slot);
+				assertEquals(u, csr.getSourceIndex(e));
+				assertEquals(csr.getAdjacentNodeIndex(slot),
+						csr.getTargetIndex(e));
+				out++;
+			}
+			assertEquals(g.getOutgoingEdges(n).size(), out);
+			assertEquals(g.getIncomingEdges(n).size(), csr.getIncidenceEnd(u)
+					- csr.getOutgoingEnd(u));
+		}
+
+		// The index of the CSR graph shares its rows, and equals the index of
+		// the original graph
+		GraphIndex<SimpleNode, SimpleEdge> index = new GraphIndex<>(csr);
+		GraphIndex<SimpleNode, SimpleEdge> expected = new GraphIndex<>(g);
+		for (int u = 0; u < index.getNumNodes(); u++) {
+			assertEquals(csr.getOutgoingEnd(u), index.getOutgoingEnd(u));
+			assertEquals(expected.getOutgoingEnd(u), index.getOutgoingEnd(u));
+			for (int slot = index.getRowBegin(u); slot < index.getRowEnd(u); slot++) {
+				assertEquals(expected.getSlotEdge(slot), index.getSlotEdge(slot));
+				assertEquals(expected.getSlotNode(slot), index.getSlotNode(slot));
+			}
+		}
+
+		SimpleEdge e12 = lg.edge_ids.get("1,2");
+		assertTrue(csr.getEdge(e12.u, e12.v) == e12);
+		assertNull(csr.getEdge(e12.v, e12.u));
+	}
+
+	@Test
+	public void testSubgraphAndEquals() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		CsrGraph csr = new CsrGraph(lg.graph.getGraph());
+		CsrGraph other = new CsrGraph(lg.graph.getGraph());
+		assertTrue(csr.equals(other));
+		assertEquals(csr.hashCode(), other.hashCode());
+
+		CsrGraph sub = csr.getSubgraphWithImpliedNodes(Arrays.asList(
+				lg.edge_ids.get("1,2"), lg.edge_ids.get("2,4")));
+		assertEquals(3, sub.getNumNodes());
+		assertEquals(2, sub.getNumEdges());
+		assertEquals(2, sub.getIncidentEdges(lg.node_ids.get("2")).size());
+		assertNull(sub.getIncidentEdges(lg.node_ids.get("5")));
+		SimpleEdge e24 = lg.edge_ids.get("2,4");
+		assertEquals(2, sub.getIncidentNodes(e24).size());
+		assertNull(sub.getIncidentNodes(lg.edge_ids.get("4,5")));
+		assertTrue(sub.getIncidentNode(lg.node_ids.get("2"), e24) == lg.node_ids
+				.get("4"));
+		assertNull(sub.getIncidentNode(lg.node_ids.get("1"), e24));
+		assertNull(sub.getIncidentNode(lg.node_ids.get("5"),
+				lg.edge_ids.get("4,5")));
+		assertTrue(!sub.equals(csr));
+	}
+
+	@Test
+	public void testKruskal() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				lg.graph.getAnnotator("WEIGHTS", GraphElementAnnotator.class));
+		CsrGraph csr = new CsrGraph(lg.graph.getGraph());
+
+		Iterable<SimpleEdge> simpleMst = new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(lg.graph.getGraph(), weights);
+		Iterable<SimpleEdge> csrMst = new Kruskal<SimpleNode, SimpleEdge, CsrGraph>()
+				.computeUniobjectiveOptimum(csr, weights);
+		Weight expected = weights.sum(simpleMst);
+		assertEquals(expected, weights.sum(csrMst));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() {
+		CsrGraph csr = new CsrGraph(ExampleGraphs.getSteinerRadzikExample().graph
+				.getGraph());
+		csr.addNode();
+	}
+}
@@ -0,0 +1,158 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FingerprintsTest {
+
+	private static SimpleUndirectedGraph createGraph() {
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode[] n = new SimpleNode[5];
+		for (int i = 0; i < n.length; i++) {
+			n[i] = g.addNode();
+		}
+		g.addEdge(n[0], n[1]);
+		g.addEdge(n[1], n[2]);
+		g.addEdge(n[2], n[3]);
+		g.addEdge(n[3], n[4]);
+		g.addEdge(n[4], n[0]);
+		g.addEdge(n[0], n[2]);
+		return g;
+	}
+
+	@Test
+	public void testIncrementalUpdates() {
+		SimpleUndirectedGraph g = createGraph();
+		long full = g.getFingerprint();
+		assertTrue(full != 0);
+
+		SimpleEdge e = g.getAllEdges().iterator().next();
+		g.deleteEdge(e);
+		assertTrue(full != g.getFingerprint());
+		g.addEdge(e.u, e.v);
+		assertEquals(full, g.getFingerprint());
+
+		SimpleDirectedGraph d = new SimpleDirectedGraph();
+		SimpleNode u = d.addNode();
+		SimpleNode v = d.addNode();
+		SimpleEdge uv = d.addEdge(u, v);
+		SimpleEdge vu = d.addEdge(v, u);
+		// Edges are ordered pairs, like in SimpleEdge.equals
+		assertTrue(Fingerprints.of(uv) != Fingerprints.of(vu));
+		d.deleteNode(u);
+		assertEquals(Fingerprints.of(v), d.getFingerprint());
+	}
+
+	@Test
+	public void testEquals() {
+		SimpleUndirectedGraph g = createGraph();
+		List<SimpleEdge> edges = new ArrayList<>(g.getAllEdges());
+		List<SimpleEdge> reversed = new ArrayList<>(edges);
+		Collections.reverse(reversed);
+
+		SimpleUndirectedGraph t1 = g.getSubgraphWithImpliedNodes(edges.subList(0, 4));
+		SimpleUndirectedGraph t2 = g.getSubgraphWithImpliedNodes(reversed
+				.subList(0, 4));
+		SimpleUndirectedGraph t3 = g.getSubgraphWithImpliedNodes(Arrays.asList(
+				edges.get(3), edges.get(1), edges.get(2), edges.get(0)));
+
+		// Insertion order does not matter
+		assertEquals(t1, t3);
+		assertEquals(t1.getFingerprint(), t3.getFingerprint());
+		assertEquals(t1.hashCode(), t3.hashCode());
+		assertFalse(t1.equals(t2));
+		assertTrue(t1.getFingerprint() != t2.getFingerprint());
+
+		// Graphs built by GraphBuilder and the CSR representation agree
+		GraphBuilder builder = new GraphBuilder(5, 6);
+		builder.addEdges(new int[] { 0, 1, 2, 3, 4, 0 }, new int[] { 1, 2, 3,
+				4, 0, 2 });
+		SimpleUndirectedGraph built = builder.buildUndirected();
+		assertEquals(g, built);
+		assertEquals(g.getFingerprint(), built.getFingerprint());
+		CsrGraph csr = new CsrGraph(g);
+		assertEquals(g.getFingerprint(), csr.getFingerprint());
+		assertEquals(csr, new CsrGraph(built));
+		assertEquals(csr.hashCode(), new CsrGraph(built).hashCode());
+	}
+
+	@Test
+	public void testViews() {
+		SimpleUndirectedGraph g = createGraph();
+		GraphIndex<SimpleNode, SimpleEdge> index = new GraphIndex<>(g);
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> all = new UndirectedSubgraphView<>(
+				index);
+		assertEquals(g.getFingerprint(), all.getFingerprint());
+
+		List<SimpleEdge> edges = new ArrayList<>(g.getAllEdges());
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> tree = all
+				.getSubgraphWithImpliedNodes(edges.subList(0, 4));
+		long before = tree.getFingerprint();
+		assertEquals(g.getSubgraphWithImpliedNodes(edges.subList(0, 4))
+				.getFingerprint(), before);
+
+		// Incremental updates match a recomputation
+		tree.deleteEdge(edges.get(0));
+		tree.includeEdge(edges.get(5));
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> expected = all
+				.getSubgraphWithImpliedNodes(edges.subList(1, 4));
+		expected.includeEdge(edges.get(5));
+		assertEquals(expected.getFingerprint(), tree.getFingerprint());
+		assertEquals(expected, tree);
+		assertEquals(expected.hashCode(), tree.hashCode());
+		tree.deleteEdge(edges.get(5));
+		tree.includeEdge(edges.get(0));
+		assertEquals(before, tree.getFingerprint());
+
+		// Views of different indices are compared by their fingerprints first
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> other = new UndirectedSubgraphView<>(
+				new GraphIndex<>(g));
+		assertEquals(all, other);
+		assertFalse(tree.equals(new UndirectedSubgraphView<>(
+				new GraphIndex<>(g)).getSubgraphWithImpliedNodes(edges
+				.subList(1, 5))));
+	}
+
+	@Test
+	public void testViewsAndGraphs() {
+		SimpleUndirectedGraph g = createGraph();
+		List<SimpleEdge> edges = new ArrayList<>(g.getAllEdges());
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> view = new UndirectedSubgraphView<SimpleNode, SimpleEdge>(
+				g).getSubgraphWithImpliedNodes(edges.subList(1, 4));
+		SimpleUndirectedGraph copy = g.getSubgraphWithImpliedNodes(edges
+				.subList(1, 4));
+
+		assertTrue(view.equals(copy));
+		assertTrue(copy.equals(view));
+		assertEquals(view.hashCode(), copy.hashCode());
+		CsrGraph csr = new CsrGraph(copy);
+		assertTrue(view.equals(csr));
+		assertTrue(csr.equals(view));
+		assertEquals(view.hashCode(), csr.hashCode());
+
+		// Same node and edge sets and counts, but different multiplicities of
+		// parallel edges
+		SimpleUndirectedGraph base = new SimpleUndirectedGraph();
+		SimpleNode u = base.addNode();
+		SimpleNode v = base.addNode();
+		SimpleNode w = base.addNode();
+		SimpleEdge uv = base.addEdge(u, v);
+		base.addEdge(u, v);
+		SimpleEdge vw = base.addEdge(v, w);
+		SimpleEdge vw2 = base.addEdge(v, w);
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> twiceUv = new UndirectedSubgraphView<>(
+				base);
+		twiceUv.deleteEdge(vw2);
+		SimpleUndirectedGraph twiceVw = base.getSubgraph(base.getAllNodes(),
+				Arrays.asList(uv, vw, vw2));
+		assertEquals(twiceUv.getNumEdges(), twiceVw.getNumEdges());
+		assertFalse(twiceUv.equals(twiceVw));
+		assertFalse(twiceVw.equals(twiceUv));
+	}
+}
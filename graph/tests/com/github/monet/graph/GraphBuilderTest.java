@@ -0,0 +1,51 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GraphBuilderTest {
+
+	@Test
+	public void testBuildUndirected() {
+		GraphBuilder builder = new GraphBuilder(4, 2);
+		builder.addEdge(0, 1);
+		builder.addEdges(new int[] { 1, 2 }, new int[] { 2, 3 });
+		int loop = builder.addEdge(3, 3);
+		SimpleUndirectedGraph g = builder.buildUndirected();
+
+		assertEquals(4, g.getNumNodes());
+		assertEquals(4, g.getNumEdges());
+		assertEquals(3, loop);
+		assertEquals(2, g.getIncidentEdges(builder.getNode(1)).size());
+		assertTrue(g.getEdge(builder.getNode(2), builder.getNode(1)) == builder
+				.getEdge(1));
+
+		// built graph must behave like one built by addNode/addEdge
+		SimpleNode n = g.addNode();
+		assertEquals(4, n.getId());
+		assertNotNull(g.addEdge(n, builder.getNode(0)));
+		assertTrue(g.deleteNode(builder.getNode(1)));
+		assertEquals(3, g.getNumEdges());
+	}
+
+	@Test
+	public void testBuildDirected() {
+		GraphBuilder builder = new GraphBuilder(3, 0);
+		builder.addEdges(new int[] { 0, 1, 0 }, new int[] { 1, 2, 2 });
+		SimpleDirectedGraph g = builder.buildDirected();
+
+		assertEquals(3, g.getNumEdges());
+		assertEquals(2, g.getOutgoingEdges(builder.getNode(0)).size());
+		assertEquals(2, g.getIncomingEdges(builder.getNode(2)).size());
+		assertNull(g.getEdge(builder.getNode(2), builder.getNode(0)));
+		assertEquals(builder.getNode(1), g.getSource(builder.getEdge(1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidEdge() {
+		GraphBuilder builder = new GraphBuilder(2, 1);
+		builder.addEdge(0, 2);
+		builder.buildUndirected();
+	}
+}
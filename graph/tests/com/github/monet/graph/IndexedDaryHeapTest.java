@@ -0,0 +1,107 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IndexedDaryHeapTest {
+
+	@Test
+	public void testQueue() {
+		IndexedDaryHeap<Object> queue = new IndexedDaryHeap<>(3);
+
+		Object n1 = new Object();
+		Object n2 = new Object();
+		Object n3 = new Object();
+		Object n4 = new Object();
+		Object n5 = new Object();
+
+		// Test state
+		assertTrue(queue.poll() == null);
+
+		// Modify priority queue
+		assertTrue(queue.add(n1, 2.0));
+		assertFalse(queue.add(n1, 2.0));
+		assertTrue(queue.add(n2, 2.0));
+		assertTrue(queue.add(n3, 4.0));
+
+		// Test state
+		Object polled1 = queue.poll();
+		assertTrue(polled1.equals(n1) || polled1.equals(n2));
+		assertFalse(queue.update(polled1, 0.0));
+		assertFalse(queue.contains(polled1));
+
+		// Modify priority queue
+		assertTrue(queue.update(n3, 1.0));
+		assertTrue(queue.add(n4, 10.0));
+		assertTrue(queue.add(n5, 3.0));
+		assertTrue(queue.update(n4, -1.0));
+		assertTrue(queue.update(n4, 10.0));
+		assertEquals(10.0, queue.getPriority(n4), 0.0);
+
+		// Test state
+		assertEquals(queue.poll(), n3);
+		Object polled2 = queue.poll();
+		assertTrue((polled2.equals(n1) || polled2.equals(n2)) && !polled2.
+				equals(polled1));
+
+		// Modify priority queue
+		assertTrue(queue.remove(n5));
+
+		// Test state
+		assertFalse(queue.remove(n5));
+		assertEquals(queue.poll(), n4);
+		assertTrue(queue.poll() == null);
+
+		// Polled elements can be added again
+		assertTrue(queue.add(n1, 5.0));
+		assertEquals(1, queue.getSize());
+		assertEquals(5.0, queue.peekPriority(), 0.0);
+	}
+
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(42);
+		for (int arity = 2; arity <= 5; arity++) {
+			IndexedDaryHeap<Integer> queue = new IndexedDaryHeap<>(1, arity);
+			double[] priority = new double[200];
+			boolean[] queued = new boolean[200];
+			for (int step = 0; step < 5000; step++) {
+				int e = random.nextInt(priority.length);
+				double p = random.nextInt(1000);
+				switch (random.nextInt(4)) {
+				case 0:
+					assertEquals(!queued[e], queue.add(e, p));
+					if (!queued[e]) {
+						priority[e] = p;
+						queued[e] = true;
+					}
+					break;
+				case 1:
+					assertEquals(queued[e], queue.update(e, p));
+					priority[e] = p;
+					break;
+				case 2:
+					assertEquals(queued[e], queue.remove(e));
+					queued[e] = false;
+					break;
+				default:
+					double min = Double.POSITIVE_INFINITY;
+					for (int i = 0; i < priority.length; i++) {
+						if (queued[i]) {
+							min = Math.min(min, priority[i]);
+						}
+					}
+					assertEquals(min, queue.peekPriority(), 0.0);
+					Integer polled = queue.poll();
+					if (polled != null) {
+						assertEquals(min, priority[polled], 0.0);
+						queued[polled] = false;
+					}
+				}
+			}
+		}
+	}
+}
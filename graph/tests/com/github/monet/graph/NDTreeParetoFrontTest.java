@@ -0,0 +1,65 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.interfaces.CostCalculator;
+import com.github.monet.graph.weighted.Weight;
+
+public class NDTreeParetoFrontTest {
+
+	/**
+	 * Assigns random costs to graphs
+	 */
+	private static class RandomCosts implements
+			CostCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph, Weight> {
+
+		private final IdentityHashMap<SimpleUndirectedGraph, Weight> costs =
+				new IdentityHashMap<>();
+
+		SimpleUndirectedGraph graph(Random random, int dimension) {
+			double[] weights = new double[dimension];
+			for (int i = 0; i < dimension; i++) {
+				weights[i] = random.nextInt(15);
+			}
+			SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+			this.costs.put(g, new Weight(weights));
+			return g;
+		}
+
+		@Override
+		public Weight calculateCosts(SimpleUndirectedGraph graph) {
+			return this.costs.get(graph);
+		}
+	}
+
+	@Test
+	public void testRandomEquivalence() {
+		Random random = new Random(42);
+		for (int dimension = 2; dimension <= 6; dimension++) {
+			RandomCosts costs = new RandomCosts();
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> expected =
+					new ParetoFront<>(costs, true);
+			NDTreeParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> actual =
+					new NDTreeParetoFront<>(costs);
+			for (int i = 0; i < 2000; i++) {
+				SimpleUndirectedGraph g = costs.graph(random, dimension);
+				assertEquals(expected.add(g), actual.add(g));
+				if (i % 100 == 99) {
+					expected.pollFirstEntry();
+					actual.pollFirstEntry();
+				}
+				assertEquals(new ArrayList<>(expected.keySet()),
+						new ArrayList<>(actual.keySet()));
+			}
+			actual.clear();
+			assertTrue(actual.isEmpty());
+			assertTrue(actual.add(costs.graph(random, dimension)));
+		}
+	}
+}
@@ -14,6 +14,7 @@ import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
 import com.github.monet.graph.interfaces.GraphElementAnnotator;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
 import com.github.monet.graph.weighted.WeightedEdgesCalculator;
 import com.github.monet.test.ExampleGraphs;
 import com.github.monet.test.LabeledGraph;
@@ -205,4 +206,66 @@ public class ParetoFrontTest {
 		assertTrue(pf.remove(sg5));
 		assertTrue(pf.isEmpty());
 	}
+
+	@Test
+	public void testReverseIndex() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg =
+				ExampleGraphs.getSteinerRadzikExample();
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+				lg.graph;
+		GraphElementWeightAnnotator<SimpleEdge> wa =
+				new GraphElementWeightAnnotator<>(
+				ag.getAnnotator("WEIGHTS", GraphElementAnnotator.class));
+		WeightedEdgesCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph> wec =
+				new WeightedEdgesCalculator<>(wa);
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> pf =
+				new ParetoFront<>(wec);
+
+		String[][] trees = {
+			{"1,2", "1,3", "2,4", "4,5"},
+			{"1,2", "2,3", "2,4", "4,5"},
+			{"1,2", "2,3", "1,4", "4,5"},
+			{"1,3", "1,4", "2,3", "4,5"}};
+		ArrayList<SimpleUndirectedGraph> graphs = new ArrayList<>();
+		for (String[] tree : trees) {
+			ArrayList<SimpleEdge> edges = new ArrayList<>();
+			for (String e : tree) {
+				edges.add(lg.edge_ids.get(e));
+			}
+			SimpleUndirectedGraph g = ag.getGraph().getSubgraph(
+					ag.getGraph().getAllNodes(), edges);
+			graphs.add(g);
+			assertTrue(pf.add(g, wec.calculateCosts(g)));
+		}
+		assertEquals(4, pf.size());
+
+		// Stored costs are looked up, equal copies are found
+		SimpleUndirectedGraph g0 = graphs.get(0);
+		Weight cost = pf.getCost(g0);
+		assertSame(cost, pf.getCost(g0));
+		assertEquals(cost, wec.calculateCosts(g0));
+		SimpleUndirectedGraph copy = ag.getGraph().getSubgraph(
+				ag.getGraph().getAllNodes(), g0.getAllEdges());
+		assertTrue(pf.contains(copy));
+		assertTrue(pf.containsAll(graphs));
+		assertTrue(pf.remove(copy));
+		assertFalse(pf.contains(g0));
+		assertFalse(pf.remove(g0));
+		assertEquals(3, pf.size());
+
+		// Replacing a solution with equal costs updates the index
+		assertTrue(pf.add(copy, cost));
+		assertTrue(pf.contains(g0));
+		assertSame(copy, pf.get(cost));
+
+		ArrayList<SimpleUndirectedGraph> kept = new ArrayList<>(graphs.subList(
+				0, 2));
+		assertTrue(pf.retainAll(kept));
+		assertEquals(2, pf.size());
+		assertFalse(pf.contains(graphs.get(2)));
+		assertEquals(graphs.get(0), pf.pollFirstEntry().getValue());
+		assertFalse(pf.contains(graphs.get(0)));
+		assertTrue(pf.removeAll(kept));
+		assertTrue(pf.isEmpty());
+	}
 }
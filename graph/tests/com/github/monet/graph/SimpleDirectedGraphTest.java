@@ -173,4 +173,29 @@ public class SimpleDirectedGraphTest {
 		assertTrue(g.getIncomingEdges(
 				g.getIncidentNode(lg.node_ids.get("1"), e)).size() == 1);
 	}
+
+	@Test
+	public void testAdjacencyIndex() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleDirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikDirectedExample();
+		SimpleDirectedGraph g = lg.graph.getGraph();
+		SimpleNode n1 = lg.node_ids.get("1");
+		SimpleNode n2 = lg.node_ids.get("2");
+
+		g.setAdjacencyIndexed(true);
+		assertTrue(g.getEdge(n1, n2) == lg.edge_ids.get("1,2"));
+		assertTrue(g.getEdge(n2, n1) == null);
+		assertTrue(g.isAdjacent(n2, n1));
+
+		SimpleEdge e21 = g.addEdge(n2, n1);
+		assertTrue(g.getEdge(n2, n1) == e21);
+		g.deleteEdge(lg.edge_ids.get("1,2"));
+		assertTrue(g.getEdge(n1, n2) == null);
+		assertTrue(g.isAdjacent(n1, n2));
+
+		g.deleteNode(n1);
+		assertTrue(!g.isAdjacent(n2, n1));
+		g.setAdjacencyIndexed(false);
+		assertTrue(!g.isAdjacencyIndexed());
+	}
 }
@@ -151,4 +151,40 @@ public class SimpleUndirectedGraphTest {
 		assertTrue(g.getNumNodes() == 5);
 		assertTrue(g.getNumNodes() == g.getAllNodes().size());
 	}
+
+	@Test
+	public void testAdjacencyIndex() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		SimpleUndirectedGraph g = lg.graph.getGraph();
+		SimpleNode n1 = lg.node_ids.get("1");
+		SimpleNode n2 = lg.node_ids.get("2");
+		SimpleNode n5 = lg.node_ids.get("5");
+
+		g.setAdjacencyIndexed(true);
+		assertTrue(g.isAdjacencyIndexed());
+		assertTrue(g.getEdge(n1, n2) == lg.edge_ids.get("1,2"));
+		assertTrue(g.getEdge(n2, n1) == lg.edge_ids.get("1,2"));
+		assertTrue(g.isAdjacent(n2, n1));
+		assertTrue(!g.isAdjacent(n1, n5));
+
+		// parallel edge takes over when the indexed edge is deleted
+		SimpleEdge parallel = g.addEdge(n2, n1);
+		assertTrue(g.getEdge(n1, n2) == lg.edge_ids.get("1,2"));
+		g.deleteEdge(lg.edge_ids.get("1,2"));
+		assertTrue(g.getEdge(n1, n2) == parallel);
+		g.deleteEdge(parallel);
+		assertTrue(g.getEdge(n1, n2) == null);
+
+		SimpleEdge e15 = g.addEdge(n1, n5);
+		assertTrue(g.getEdge(n5, n1) == e15);
+		SimpleUndirectedGraph sub = g.getSubgraphWithImpliedNodes(g
+				.getIncidentEdges(n1));
+		assertTrue(sub.isAdjacencyIndexed());
+		assertTrue(sub.getEdge(n5, n1) == e15);
+
+		g.deleteNode(n5);
+		assertTrue(g.getEdge(n1, n5) == null);
+		assertTrue(!g.isAdjacent(n1, n5));
+	}
 }
@@ -0,0 +1,166 @@
+package com.github.monet.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import com.github.monet.algorithms.Kruskal;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.test.ExampleGraphs;
+import com.github.monet.test.LabeledGraph;
+
+public class SubgraphViewTest {
+
+	@Test
+	public void testFullView() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		SimpleUndirectedGraph g = lg.graph.getGraph();
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> view = new UndirectedSubgraphView<>(
+				g);
+
+		assertEquals(g.getNumNodes(), view.getNumNodes());
+		assertEquals(g.getNumEdges(), view.getNumEdges());
+		assertEquals(new HashSet<>(g.getAllEdges()),
+				new HashSet<>(view.getAllEdges()));
+		for (SimpleNode n : g.getAllNodes()) {
+			assertEquals(new HashSet<>(g.getIncidentEdges(n)), new HashSet<>(
+					view.getIncidentEdges(n)));
+			assertEquals(g.getAdjacentNodes(n).size(), view.getAdjacentNodes(n)
+					.size());
+		}
+
+		SimpleNode n1 = lg.node_ids.get("1");
+		SimpleNode n2 = lg.node_ids.get("2");
+		SimpleNode n5 = lg.node_ids.get("5");
+		SimpleEdge e12 = lg.edge_ids.get("1,2");
+		assertTrue(view.getEdge(n1, n2) == e12);
+		assertTrue(view.getEdge(n2, n1) == e12);
+		assertNull(view.getEdge(n1, n5));
+		assertEquals(n2, view.getIncidentNode(n1, e12));
+	}
+
+	@Test
+	public void testDeleteAndInclude() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		SimpleUndirectedGraph g = lg.graph.getGraph();
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> view = new UndirectedSubgraphView<>(
+				g);
+		SimpleNode n1 = lg.node_ids.get("1");
+		SimpleNode n2 = lg.node_ids.get("2");
+		SimpleEdge e12 = lg.edge_ids.get("1,2");
+
+		assertTrue(view.deleteEdge(e12));
+		assertFalse(view.deleteEdge(e12));
+		assertEquals(g.getNumEdges() - 1, view.getNumEdges());
+		assertFalse(view.getAllEdges().contains(e12));
+		assertNull(view.getEdge(n1, n2));
+		assertNull(view.getIncidentNodes(e12));
+		assertEquals(g.getNumEdges(), g.getAllEdges().size());
+
+		assertTrue(view.addEdge(n1, n2) == e12);
+		assertNull(view.addEdge(n1, n2));
+		assertEquals(g.getNumEdges(), view.getNumEdges());
+
+		int degree = g.getIncidentEdges(n2).size();
+		assertTrue(view.deleteNode(n2));
+		assertEquals(g.getNumNodes() - 1, view.getNumNodes());
+		assertEquals(g.getNumEdges() - degree, view.getNumEdges());
+		assertNull(view.getIncidentEdges(n2));
+		assertFalse(view.getAllNodes().contains(n2));
+
+		assertTrue(view.includeEdge(e12));
+		assertEquals(g.getNumNodes(), view.getNumNodes());
+		assertEquals(g.getNumEdges() - degree + 1, view.getNumEdges());
+	}
+
+	@Test
+	public void testSubgraphAndEquals() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		SimpleUndirectedGraph g = lg.graph.getGraph();
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> view = new UndirectedSubgraphView<>(
+				g);
+		SimpleEdge e12 = lg.edge_ids.get("1,2");
+		SimpleEdge e24 = lg.edge_ids.get("2,4");
+
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> sub = view
+				.getSubgraphWithImpliedNodes(Arrays.asList(e12, e24));
+		assertEquals(3, sub.getNumNodes());
+		assertEquals(2, sub.getNumEdges());
+		assertEquals(2, sub.getIncidentEdges(lg.node_ids.get("2")).size());
+		assertNull(sub.getIncidentEdges(lg.node_ids.get("5")));
+		assertEquals(g.getNumEdges(), view.getNumEdges());
+		assertFalse(sub.equals(view));
+
+		// Equality does not depend on the side of the view
+		assertTrue(view.equals(g));
+		assertTrue(g.equals(view));
+		assertFalse(sub.equals(g));
+		assertFalse(g.equals(sub));
+
+		// Same subgraph, once as mask of present, once of removed edges
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> copy = view.getSubgraph(
+				view.getAllNodes(), view.getAllEdges());
+		for (SimpleEdge e : g.getAllEdges()) {
+			if (e != e12 && e != e24) {
+				copy.deleteEdge(e);
+			}
+		}
+		for (SimpleNode n : g.getAllNodes()) {
+			if (!sub.getAllNodes().contains(n)) {
+				copy.deleteNode(n);
+			}
+		}
+		assertTrue(sub.equals(copy));
+		assertTrue(copy.equals(sub));
+		assertEquals(sub.hashCode(), copy.hashCode());
+		assertTrue(sub.equals(new UndirectedSubgraphView<>(g)
+				.getSubgraphWithImpliedNodes(Arrays.asList(e24, e12))));
+	}
+
+	@Test
+	public void testDirected() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleDirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikDirectedExample();
+		SimpleDirectedGraph g = lg.graph.getGraph();
+		DirectedSubgraphView<SimpleNode, SimpleEdge> view = new DirectedSubgraphView<>(
+				g);
+
+		for (SimpleNode n : g.getAllNodes()) {
+			assertEquals(new HashSet<>(g.getOutgoingEdges(n)), new HashSet<>(
+					view.getOutgoingEdges(n)));
+			assertEquals(new HashSet<>(g.getIncomingEdges(n)), new HashSet<>(
+					view.getIncomingEdges(n)));
+			assertEquals(g.getSucceedingNodes(n), view.getSucceedingNodes(n));
+			assertEquals(g.getPrecedingNodes(n), view.getPrecedingNodes(n));
+		}
+
+		SimpleEdge e12 = lg.edge_ids.get("1,2");
+		assertTrue(view.getEdge(e12.u, e12.v) == e12);
+		assertNull(view.getEdge(e12.v, e12.u));
+		assertEquals(e12.u, view.getSource(e12));
+		assertEquals(e12.v, view.getTarget(e12));
+	}
+
+	@Test
+	public void testKruskal() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(
+				lg.graph.getAnnotator("WEIGHTS", GraphElementAnnotator.class));
+		UndirectedSubgraphView<SimpleNode, SimpleEdge> view = new UndirectedSubgraphView<>(
+				lg.graph.getGraph());
+
+		Iterable<SimpleEdge> simpleMst = new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(lg.graph.getGraph(), weights);
+		Iterable<SimpleEdge> viewMst = new Kruskal<SimpleNode, SimpleEdge, UndirectedSubgraphView<SimpleNode, SimpleEdge>>()
+				.computeUniobjectiveOptimum(view, weights);
+		assertEquals(weights.sum(simpleMst), weights.sum(viewMst));
+	}
+}
@@ -0,0 +1,87 @@
+package com.github.monet.graph.weighted;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.SimpleEdge;
+import com.github.monet.graph.SimpleNode;
+import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.test.ExampleGraphs;
+import com.github.monet.test.LabeledGraph;
+
+public class ColumnarWeightAnnotatorTest {
+
+	@Test
+	public void testAnnotator() {
+		SimpleNode a = new SimpleNode(0);
+		SimpleNode b = new SimpleNode(1);
+		ColumnarWeightAnnotator<SimpleNode> an = new ColumnarWeightAnnotator<>(
+				2, 1);
+
+		assertEquals(0, an.add(a, 1.0, 2.0));
+		assertEquals(1, an.add(b, 3.0, 4.0));
+		assertEquals(2, an.size());
+		assertEquals(-1, an.getIndex(new SimpleNode(2)));
+		assertEquals(3.0, an.get(1, 0), 0.0);
+		assertEquals(b, an.getElement(an.getIndex(b)));
+
+		// Overwriting keeps the index
+		an.setAnnotation(a, new Weight(new double[] { 5.0, 6.0 }));
+		assertEquals(0, an.getIndex(a));
+		assertEquals(new Weight(new double[] { 5.0, 6.0 }), an.getAnnotation(a));
+
+		// getAnnotation() returns one immutable weight until the weight
+		// changes
+		Weight w = an.getAnnotation(b);
+		assertSame(w, an.getAnnotation(b));
+		try {
+			w.setWeight(0, 99.0);
+			fail("Weight must be immutable");
+		} catch (UnsupportedOperationException e) {
+		}
+		assertEquals(3.0, an.get(1, 0), 0.0);
+		an.set(1, 0, 7.0);
+		assertEquals(new Weight(new double[] { 7.0, 4.0 }), an.getAnnotation(b));
+		assertNull(an.getAnnotation(new SimpleNode(2)));
+	}
+
+	@Test
+	public void testWeightAnnotatorEquivalence() {
+		LabeledGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> lg = ExampleGraphs
+				.getSteinerRadzikExample();
+		@SuppressWarnings("unchecked")
+		GraphElementAnnotator<SimpleEdge, Weight> hashed = lg.graph
+				.getAnnotator("WEIGHTS", GraphElementAnnotator.class);
+		ColumnarWeightAnnotator<SimpleEdge> columnar = new ColumnarWeightAnnotator<>(
+				2);
+		for (SimpleEdge e : lg.graph.getGraph().getAllEdges()) {
+			columnar.add(e, hashed.getAnnotation(e).getWeights());
+		}
+
+		GraphElementWeightAnnotator<SimpleEdge> hw = new GraphElementWeightAnnotator<>(
+				hashed);
+		GraphElementWeightAnnotator<SimpleEdge> cw = new GraphElementWeightAnnotator<>(
+				columnar);
+		assertTrue(cw.getIndexed() == columnar);
+		assertEquals(hw.getDimension(), cw.getDimension());
+
+		ArrayList<SimpleEdge> edges = new ArrayList<>(lg.graph.getGraph()
+				.getAllEdges());
+		assertEquals(hw.sum(edges), cw.sum(edges));
+
+		double[] lambda = new double[] { 2.0, 3.0 };
+		GraphElementWeightAnnotator<SimpleEdge> hs = hw.scalarize(lambda);
+		GraphElementWeightAnnotator<SimpleEdge> cs = cw.scalarize(lambda);
+		for (SimpleEdge e : edges) {
+			assertEquals(hw.getAnnotation(e), cw.getAnnotation(e));
+			assertEquals(hs.getAnnotation(e), cs.getAnnotation(e));
+			assertEquals(hw.getAnnotation(e).getWeight(1), cw.getWeight(e, 1),
+					0.0);
+		}
+	}
+}
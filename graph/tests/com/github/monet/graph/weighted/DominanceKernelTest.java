@@ -0,0 +1,105 @@
+package com.github.monet.graph.weighted;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.graph.weighted.Weight.DominationRelation;
+
+public class DominanceKernelTest {
+
+	@Test
+	public void testKernel() {
+		List<Weight> points = new ArrayList<>();
+		points.add(new Weight(new double[] { 1, 5, 5 }));
+		points.add(new Weight(new double[] { 5, 1, 5 }));
+		points.add(new Weight(new double[] { 5, 5, 1 }));
+		points.add(new Weight(new double[] { 4, 4, 4 }));
+		double[] block = DominanceKernel.flatten(points, 3);
+		assertArrayEquals(new double[] { 1, 5, 5, 5, 1, 5, 5, 5, 1, 4, 4, 4 },
+				block, 0);
+
+		assertEquals(0, DominanceKernel.firstDominator(new double[] { 5, 5, 5 },
+				block, 4));
+		assertEquals(-1, DominanceKernel.firstDominator(
+				new double[] { 5, 1, 5 }, block, 4));
+		assertEquals(1, DominanceKernel.firstWeakDominator(new double[] { 5,
+				1, 5 }, block, 4));
+		assertEquals(-1, DominanceKernel.firstDominator(new double[] { 5, 5, 5 },
+				block, 0));
+
+		long[] mask = DominanceKernel.newMask(4);
+		assertEquals(2, DominanceKernel.markDominated(new double[] { 4, 1, 4 },
+				block, 4, mask));
+		assertFalse(DominanceKernel.isSet(mask, 0));
+		assertTrue(DominanceKernel.isSet(mask, 1));
+		assertFalse(DominanceKernel.isSet(mask, 2));
+		assertTrue(DominanceKernel.isSet(mask, 3));
+		// Bits are accumulated
+		DominanceKernel.markDominated(new double[] { 5, 5, 0 }, block, 4, mask);
+		assertTrue(DominanceKernel.isSet(mask, 2));
+		assertTrue(DominanceKernel.isSet(mask, 1));
+	}
+
+	@Test
+	public void testWeightEquivalence() {
+		Random random = new Random(42);
+		for (int dimension = 2; dimension <= 5; dimension++) {
+			List<Weight> points = new ArrayList<>();
+			for (int i = 0; i < 150; i++) {
+				points.add(randomWeight(random, dimension));
+			}
+			double[] block = DominanceKernel.flatten(points, dimension,
+					new double[3]);
+			int count = points.size();
+
+			for (int t = 0; t < 100; t++) {
+				Weight candidate = randomWeight(random, dimension);
+				int firstDominator = -1;
+				int firstWeakDominator = -1;
+				int dominated = 0;
+				int dominators = 0;
+				long[] expectedMask = DominanceKernel.newMask(count);
+				for (int i = count - 1; i >= 0; i--) {
+					DominationRelation r = points.get(i).dominates(candidate);
+					if (r == DominationRelation.PARETO_SMALLER) {
+						firstDominator = i;
+						firstWeakDominator = i;
+						dominators++;
+					} else if (r == DominationRelation.EQUAL) {
+						firstWeakDominator = i;
+					} else if (r == DominationRelation.PARETO_GREATER) {
+						expectedMask[i >>> 6] |= 1L << i;
+						dominated++;
+					}
+				}
+				double[] c = candidate.getWeights();
+				assertEquals(firstDominator, DominanceKernel.firstDominator(c,
+						block, count));
+				assertEquals(firstWeakDominator, DominanceKernel
+						.firstWeakDominator(c, block, count));
+				assertEquals(dominated, DominanceKernel.countDominated(c, block,
+						count));
+				assertEquals(dominators, DominanceKernel.countDominators(c,
+						block, count));
+				long[] mask = DominanceKernel.newMask(count);
+				assertEquals(dominated, DominanceKernel.markDominated(c, block,
+						count, mask));
+				assertTrue(Arrays.equals(expectedMask, mask));
+			}
+		}
+	}
+
+	private static Weight randomWeight(Random random, int dimension) {
+		double[] w = new double[dimension];
+		for (int i = 0; i < dimension; i++) {
+			w[i] = random.nextInt(6);
+		}
+		return new Weight(w);
+	}
+}
@@ -61,5 +61,14 @@ public class GraphElementWeightAnnotatorTest {
 		someNodes.add(lg.node_ids.get("5"));
 		assertEquals(wan.sum(someNodes), new Weight(new double[] { 11.0, 19.0,
 				11.0 }));
+
+		// sum() into buffers
+		Weight buffer = new Weight(new double[] { 1.0, 1.0, 1.0 });
+		assertSame(buffer, wan.sum(someNodes, buffer));
+		assertEquals(new Weight(new double[] { 11.0, 19.0, 11.0 }), buffer);
+		WeightAccumulator accumulator = new WeightAccumulator(3);
+		accumulator.add(buffer);
+		wan.sum(someNodes, accumulator);
+		assertTrue(accumulator.matches(buffer));
 	}
 }
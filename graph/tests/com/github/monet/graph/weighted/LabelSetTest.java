@@ -75,4 +75,20 @@ public class LabelSetTest {
 		assertTrue(l1.equals(l2));
 	}
 
+	@Test
+	public void testFind() {
+		Weight weight1 = new Weight(new double[] { 2.0, 3.0 });
+		Weight weight2 = new Weight(new double[] { 3.0, 4.0 });
+
+		LabelSet l = new LabelSet();
+		l.insertLabel(weight1);
+		l.insertLabel(weight2);
+
+		WeightAccumulator label = new WeightAccumulator(new Weight(
+				new double[] { 4.0, 5.0 }));
+		assertNull(l.find(label));
+		label.subtract(new Weight(new double[] { 1.0, 1.0 }));
+		assertSame(weight2, l.find(label));
+	}
+
 }
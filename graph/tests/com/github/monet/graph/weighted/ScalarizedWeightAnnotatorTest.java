@@ -0,0 +1,61 @@
+package com.github.monet.graph.weighted;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.SimpleNode;
+
+public class ScalarizedWeightAnnotatorTest {
+
+	@Test
+	public void testRescalarize() {
+		SimpleNode a = new SimpleNode(0);
+		SimpleNode b = new SimpleNode(1);
+		GraphElementHashAnnotator<SimpleNode, Weight> an = new GraphElementHashAnnotator<>();
+		an.setAnnotation(a, new Weight(new double[] { 1.0, 2.0 }));
+		an.setAnnotation(b, new Weight(new double[] { 3.0, 5.0 }));
+		GraphElementWeightAnnotator<SimpleNode> wan = new GraphElementWeightAnnotator<>(
+				an);
+
+		GraphElementWeightAnnotator<SimpleNode> scal = wan
+				.scalarize(new double[] { 1.0, 0.0 });
+		assertEquals(1, scal.getDimension());
+		assertEquals(new Weight(3.0), scal.getAnnotation(b));
+
+		// The scalarization is updated in place
+		assertTrue(scal == wan.rescalarize(scal, new double[] { 2.0, 1.0 }));
+		assertEquals(new Weight(4.0), scal.getAnnotation(a));
+		assertEquals(11.0, scal.getWeight(b, 0), 0.0);
+		assertEquals(new Weight(15.0), scal.sum(an.getAnnotatedElements()));
+		assertNull(scal.getAnnotation(new SimpleNode(2)));
+	}
+
+	@Test
+	public void testColumnarSource() {
+		SimpleNode a = new SimpleNode(0);
+		SimpleNode b = new SimpleNode(1);
+		ColumnarWeightAnnotator<SimpleNode> an = new ColumnarWeightAnnotator<>(
+				3);
+		an.add(a, 1.0, 2.0, 3.0);
+		ScalarizedWeightAnnotator<SimpleNode> scal = new ScalarizedWeightAnnotator<>(
+				an, new double[] { 1.0, 1.0, 1.0 });
+		assertEquals(6.0, scal.get(an.getIndex(a)), 0.0);
+
+		// Elements added to the source show up after rescalarizing
+		an.add(b, 4.0, 5.0, 6.0);
+		assertEquals(-1, scal.getIndex(b));
+		scal.rescalarize(new double[] { 0.0, 0.0, 2.0 });
+		assertEquals(12.0, scal.get(scal.getIndex(b)), 0.0);
+		assertEquals(6.0, scal.get(scal.getIndex(a)), 0.0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadOnly() {
+		ColumnarWeightAnnotator<SimpleNode> an = new ColumnarWeightAnnotator<>(
+				1);
+		new ScalarizedWeightAnnotator<>(an, new double[] { 1.0 })
+				.setAnnotation(new SimpleNode(0), new Weight(1.0));
+	}
+}
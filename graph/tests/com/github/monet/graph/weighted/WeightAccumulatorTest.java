@@ -0,0 +1,47 @@
+package com.github.monet.graph.weighted;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.github.monet.graph.weighted.Weight.DominationRelation;
+
+public class WeightAccumulatorTest {
+
+	@Test
+	public void testAccumulator() {
+		WeightAccumulator acc = new WeightAccumulator(2);
+		assertEquals(2, acc.getDimension());
+		assertTrue(acc.matches(new Weight(new double[] { 0.0, 0.0 })));
+
+		acc.add(new Weight(new double[] { 2.0, 3.0 }));
+		acc.add(new Weight(new double[] { 1.0, 4.0 }));
+		assertTrue(acc.matches(new Weight(new double[] { 3.0, 7.0 })));
+		acc.subtract(new Weight(new double[] { 1.0, 1.0 }));
+		assertEquals(2.0, acc.getWeight(0), 0);
+		assertEquals(6.0, acc.getWeight(1), 0);
+		acc.scalarProduct(0.5);
+		assertTrue(acc.matches(new Weight(new double[] { 1.0, 3.0 })));
+		assertEquals(7.0, acc.scalarize(new double[] { 1.0, 2.0 }), 0);
+
+		// toWeight copies
+		Weight w = acc.toWeight();
+		acc.reset();
+		assertEquals(new Weight(new double[] { 1.0, 3.0 }), w);
+		assertTrue(acc.matches(new Weight(new double[] { 0.0, 0.0 })));
+
+		acc.set(w);
+		assertEquals(DominationRelation.EQUAL, acc.dominates(w));
+		assertEquals(DominationRelation.PARETO_SMALLER, acc.dominates(
+				new Weight(new double[] { 1.0, 4.0 })));
+		assertEquals(DominationRelation.PARETO_GREATER, acc.dominates(
+				new Weight(new double[] { 0.0, 3.0 })));
+		assertEquals(DominationRelation.UNCOMPARABLE, acc.dominates(
+				new Weight(new double[] { 0.0, 4.0 })));
+
+		// The initial weight is copied
+		WeightAccumulator copy = new WeightAccumulator(w);
+		copy.add(w);
+		assertEquals(new Weight(new double[] { 1.0, 3.0 }), w);
+	}
+}
@@ -0,0 +1,76 @@
+package com.github.monet.graph.weighted;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class WeightPoolTest {
+
+	@Test
+	public void testImmutableWeight() {
+		double[] values = new double[] { 1.0, 2.0 };
+		ImmutableWeight w = new ImmutableWeight(values);
+		Weight mutable = new Weight(new double[] { 1.0, 2.0 });
+
+		// The weights are copied
+		values[0] = 5.0;
+		assertEquals(1.0, w.getFirstWeight(), 0);
+
+		assertEquals(mutable, w);
+		assertEquals(w, mutable);
+		assertEquals(mutable.hashCode(), w.hashCode());
+		assertFalse(w.equals(new ImmutableWeight(new double[] { 2.0, 1.0 })));
+		assertSame(w, ImmutableWeight.valueOf(w));
+
+		try {
+			w.add(mutable);
+			fail("Immutable weight was altered");
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			w.setWeight(0, 3.0);
+			fail("Immutable weight was altered");
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			Weight.add(mutable, mutable, w);
+			fail("Immutable weight was altered");
+		} catch (UnsupportedOperationException e) {
+		}
+		assertEquals(mutable, w);
+
+		// Clones are mutable
+		Weight clone = w.clone();
+		clone.add(mutable);
+		assertEquals(new Weight(new double[] { 2.0, 4.0 }), clone);
+	}
+
+	@Test
+	public void testPool() {
+		WeightPool pool = new WeightPool();
+		Weight a = new Weight(new double[] { 1.0, 2.0 });
+		Weight b = new Weight(new double[] { 1.0, 2.0 });
+		Weight c = new Weight(new double[] { 2.0, 1.0 });
+
+		assertFalse(pool.contains(a));
+		ImmutableWeight ia = pool.intern(a);
+		assertSame(ia, pool.intern(b));
+		assertTrue(ia != pool.intern(c));
+		assertTrue(pool.contains(b));
+		assertEquals(2, pool.size());
+
+		// Interned weights do not change with the originals
+		a.add(c);
+		assertEquals(new Weight(new double[] { 1.0, 2.0 }), ia);
+
+		HashSet<Weight> set = new HashSet<>();
+		set.add(ia);
+		assertTrue(set.contains(b));
+
+		pool.clear();
+		assertEquals(0, pool.size());
+		assertTrue(ia != pool.intern(b));
+	}
+}
@@ -33,6 +33,24 @@ public class WeightTest extends TestCase {
 		assertEquals(Weight.add(weight1, weight2), weight3);
 	}
 
+	@Test
+	public void testBuffers() {
+		Weight weight1 = new Weight(new double[] { 2.0, 3.0 });
+		Weight weight2 = new Weight(new double[] { 1.0, 5.0 });
+		Weight result = new Weight(new double[2]);
+
+		assertSame(result, Weight.add(weight1, weight2, result));
+		assertEquals(new Weight(new double[] { 3.0, 8.0 }), result);
+		assertEquals(new Weight(new double[] { 2.0, 3.0 }), weight1);
+
+		Weight.scalarProduct(-2.0, result, result);
+		assertEquals(new Weight(new double[] { -6.0, -16.0 }), result);
+
+		Weight scalar = new Weight(0);
+		assertSame(scalar, weight1.scalarize(new double[] { 1.0, 2.0 }, scalar));
+		assertEquals(new Weight(8.0), scalar);
+	}
+
 	@Test
 	public void testScalarization() {
 		SimpleNode node1 = new SimpleNode(1);
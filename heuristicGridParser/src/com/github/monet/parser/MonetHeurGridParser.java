@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 
 import com.github.monet.graph.AnnotatedGraph;
@@ -15,6 +16,7 @@ import com.github.monet.graph.SimpleDirectedGraph;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
 import com.github.monet.graph.weighted.LabelSet;
 import com.github.monet.graph.weighted.Weight;
 import com.github.monet.interfaces.GraphParser;
@@ -56,8 +58,7 @@ public class MonetHeurGridParser implements GraphParser {
 			}
 		}
 		SimpleDirectedGraph g = new SimpleDirectedGraph();
-		GraphElementHashAnnotator<SimpleEdge, Weight> annotation;
-		annotation = new GraphElementHashAnnotator<>();
+		ColumnarWeightAnnotator<SimpleEdge> annotation = null;
 		GraphElementHashAnnotator<SimpleNode, LabelSet> heuristic = new GraphElementHashAnnotator<>();
 		int startNodeid = 0;
 		int endNodeid = 0;
@@ -125,10 +126,13 @@ public class MonetHeurGridParser implements GraphParser {
 			line = in.readLine();
 			int numObjectives = Integer.parseInt(line);
 
+			annotation = new ColumnarWeightAnnotator<>(numObjectives);
+
 			double min[] = new double[numObjectives];
 			for (int i = 0; i < numObjectives; i++)
 				min[i] = Integer.MAX_VALUE;
 
+			double w[] = new double[numObjectives];
 			while ((line = in.readLine()) != null) {
 
 				// split each line by single space
@@ -139,18 +143,23 @@ public class MonetHeurGridParser implements GraphParser {
 				SimpleNode source = nodes.get(Integer.parseInt(tokens[0]) - 1);
 				SimpleNode dest = nodes.get(Integer.parseInt(tokens[1]) - 1);
 
-				// the remainder represents all the edge weights
-				double w[] = new double[numObjectives];
+				// the remainder represents all the edge weights, missing
+				// ones are 0
+				if (n - 2 > numObjectives) {
+					throw new IllegalArgumentException("Line '" + line
+							+ "' has more than " + numObjectives
+							+ " edge weights");
+				}
+				Arrays.fill(w, 0.0);
 				for (int i = 2; i < n; i++) {
 					w[i - 2] = Double.parseDouble(tokens[i]);
 					if (w[i - 2] < min[i - 2])
 						min[i - 2] = w[i - 2];
 				}
 
-				// encapsulate edge weights and set annotation
-				Weight weight = new Weight(w);
+				// set annotation, the weights are copied
 				SimpleEdge edge = g.addEdge(source, dest);
-				annotation.setAnnotation(edge, weight);
+				annotation.add(edge, w);
 			}
 
 			// create heuristic
@@ -177,6 +186,10 @@ public class MonetHeurGridParser implements GraphParser {
 			}
 		}
 
+		if (annotation == null) {
+			annotation = new ColumnarWeightAnnotator<>(0);
+		}
+
 		// HeterogeneousHashAnnotatorContainer annotatorMap = new
 		// HeterogeneousHashAnnotatorContainer();
 		// annotatorMap.put("edges", annotation);
@@ -3,12 +3,16 @@ package com.github.monet.algorithms.mst;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.Map.Entry;
 import java.util.Random;
 import com.github.monet.algorithms.MSTBannedForcedEdges;
 
 import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.BiobjectiveParetoFront;
+import com.github.monet.graph.BoundedParetoFront;
 import com.github.monet.graph.GraphElementReverseHashAnnotator;
 import com.github.monet.graph.ParetoFront;
+import com.github.monet.graph.SubgraphView;
 import com.github.monet.graph.interfaces.Edge;
 import com.github.monet.graph.interfaces.Graph;
 import com.github.monet.graph.interfaces.GraphElementAnnotator;
@@ -32,10 +36,21 @@ import com.github.monet.graph.weighted.WeightedEdgesCalculator;
 public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G>>
 		implements SecondPhaseAlgorithm<N, E, G> {
 
-	private VariousGraphTests<N, E, G> graphTests;
+	private VariousGraphTests<N, E, SubgraphView<N, E>> graphTests;
 	private MSTBannedForcedEdges<N, E, G> mst;
 	private boolean doPreprocessing;
 
+	/**
+	 * Maximum number of solutions kept while searching, 0 keeps all
+	 */
+	private int archiveCapacity;
+
+	/**
+	 * Scalarization of scalarizedWeights, reused for every direction
+	 */
+	private GraphElementWeightAnnotator<E> scalarization;
+	private GraphElementWeightAnnotator<E> scalarizedWeights;
+
 	/**
 	 * @return the doPreprocessing
 	 */
@@ -50,6 +65,26 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 		this.doPreprocessing = doPreprocessing;
 	}
 
+	/**
+	 * @return the archiveCapacity
+	 */
+	public int getArchiveCapacity() {
+		return archiveCapacity;
+	}
+
+	/**
+	 * Bounds the upper bound set, which collects the solutions found.
+	 * Solutions contributing least hypervolume are evicted and no longer
+	 * prune the search.
+	 *
+	 * @param archiveCapacity maximum number of solutions, 0 keeps all,
+	 * otherwise at least 2
+	 */
+	public void setArchiveCapacity(int archiveCapacity) {
+		assert archiveCapacity == 0 || archiveCapacity >= 2 : "archiveCapacity must be 0 or at least 2";
+		this.archiveCapacity = archiveCapacity;
+	}
+
 	public enum BranchBoundColoring {
 
 		MANDATORY, FORBIDDEN, AVAILABLE
@@ -95,12 +130,26 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 			}
 		}
 
-		ParetoFront<N, E, G> paretoFront = new ParetoFront<>(calc, true);
+		ParetoFront<N, E, G> paretoFront = new BiobjectiveParetoFront<>(calc);
 		for (G solution : paretoSet) {
 			paretoFront.add(solution);
 		}
 
-		branchBound(g, weightAnnotator, calc, coloring, paretoFront, paretoFront);
+		if (archiveCapacity > 0) {
+			// Evicting supported solutions would make the lower bound cut
+			// off efficient solutions, so only the upper bound is bounded
+			ParetoFront<N, E, G> archive = new BoundedParetoFront<>(calc,
+					archiveCapacity);
+			for (G solution : paretoSet) {
+				archive.add(solution);
+			}
+			branchBound(g, weightAnnotator, calc, coloring, paretoFront,
+					archive);
+			paretoFront = archive;
+		} else {
+			branchBound(g, weightAnnotator, calc, coloring, paretoFront,
+					paretoFront);
+		}
 		for (G solution : paretoSet) {
 			paretoFront.remove(solution);
 		}
@@ -114,21 +163,33 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 			GraphElementReverseAnnotator<E, BranchBoundColoring> coloring,
 			ParetoFront<N, E, G> lowerBound, ParetoFront<N, E, G> upperBound) {
 
+		// View of all AVAILABLE and MANDATORY edges, updated in place while
+		// branching
+		SubgraphView<N, E> availableGraph = new SubgraphView<>(graph);
+		for (E e : coloring.getElements(BranchBoundColoring.FORBIDDEN)) {
+			availableGraph.deleteEdge(e);
+		}
+
+		branchBound(graph, availableGraph, weights, weightCalculator, coloring,
+				lowerBound, upperBound);
+	}
+
+	private void branchBound(G graph, SubgraphView<N, E> availableGraph,
+			GraphElementWeightAnnotator<E> weights,
+			WeightedEdgesCalculator<N, E, G> weightCalculator,
+			GraphElementReverseAnnotator<E, BranchBoundColoring> coloring,
+			ParetoFront<N, E, G> lowerBound, ParetoFront<N, E, G> upperBound) {
+
 		// All edges colored or only one graph with n-1 edges possible
 		//   -> try to construct spanning tree
 		if (coloring.getElements(BranchBoundColoring.AVAILABLE).isEmpty()
 				|| coloring.getElements(BranchBoundColoring.AVAILABLE).size()
 				+ coloring.getElements(BranchBoundColoring.MANDATORY).size()
 				== graph.getNumNodes() - 1) {
-			Collection<E> availableEdges = coloring.getElements(
-					BranchBoundColoring.AVAILABLE);
-			availableEdges.addAll(coloring.
-					getElements(BranchBoundColoring.MANDATORY));
-			G spanningTree = graph.getSubgraph(graph.getAllNodes(),
-					availableEdges);
-
-			if (graphTests.isSpanningTree(spanningTree)) {
-				upperBound.add(spanningTree);
+			// Copy only if the available edges form a spanning tree
+			if (graphTests.isSpanningTree(availableGraph)) {
+				upperBound.add(graph.getSubgraph(graph.getAllNodes(),
+						availableGraph.getAllEdges()));
 			}
 			return;
 		}
@@ -153,14 +214,6 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 		//// Branch left ////
 		coloring.setAnnotation(minCostEdge, BranchBoundColoring.MANDATORY);
 
-		// over AVAILABLE + MANDATORY
-		Collection<E> availableEdges = coloring.getElements(
-				BranchBoundColoring.AVAILABLE);
-		availableEdges.addAll(coloring.
-				getElements(BranchBoundColoring.MANDATORY));
-		G availableGraph = graph.
-				getSubgraph(graph.getAllNodes(), availableEdges);
-
 		// Check, if it's possible to construct spanning tree
 		if (graphTests.isConnected(availableGraph)) {
 			ParetoFront<N, E, G> leftLowerBound = computeLowerBound(graph,
@@ -169,19 +222,14 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 					BranchBoundColoring.MANDATORY);
 
 			if (!bound(graph, weights, coloring, leftLowerBound, upperBound)) {
-				branchBound(graph, weights, weightCalculator, coloring,
-						leftLowerBound, upperBound);
+				branchBound(graph, availableGraph, weights, weightCalculator,
+						coloring, leftLowerBound, upperBound);
 			}
 		}
 
 		//// Branch right ////
 		coloring.setAnnotation(minCostEdge, BranchBoundColoring.FORBIDDEN);
-
-		// over AVAILABLE + MANDATORY
-		availableEdges = coloring.getElements(BranchBoundColoring.AVAILABLE);
-		availableEdges.addAll(coloring.
-				getElements(BranchBoundColoring.MANDATORY));
-		availableGraph = graph.getSubgraph(graph.getAllNodes(), availableEdges);
+		availableGraph.deleteEdge(minCostEdge);
 
 		// Check if it's possible to construct spanning tree
 		if (graphTests.isConnected(availableGraph)) {
@@ -191,13 +239,14 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 					BranchBoundColoring.FORBIDDEN);
 
 			if (!bound(graph, weights, coloring, rightLowerBound, upperBound)) {
-				branchBound(graph, weights, weightCalculator, coloring,
-						rightLowerBound, upperBound);
+				branchBound(graph, availableGraph, weights, weightCalculator,
+						coloring, rightLowerBound, upperBound);
 			}
 		}
 
 		// Undo coloring
 		coloring.setAnnotation(minCostEdge, BranchBoundColoring.AVAILABLE);
+		availableGraph.includeEdge(minCostEdge);
 	}
 
 	private E findEdgeToBan(G graph, GraphElementWeightAnnotator<E> weights,
@@ -263,8 +312,8 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 			BranchBoundColoring newColor) {
 
 		// Create new pareto front to manage new lowerBound
-		ParetoFront<N, E, G> newLowerBound = new ParetoFront<>(
-				weightCalculator, true);
+		ParetoFront<N, E, G> newLowerBound = new BiobjectiveParetoFront<>(
+				weightCalculator);
 
 		// Compute extreme solution of lower bound
 		ArrayList<G> extreme_supported = new ArrayList<>(2);
@@ -275,8 +324,8 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 			double[] coefficients = new double[]{
 				i == 0 ? 1.0 : 0.0, i == 1 ? 1.0 : 0.0
 			};
-			GraphElementWeightAnnotator<E> scalarization = weights.
-					scalarize(coefficients);
+			GraphElementWeightAnnotator<E> scalarization = scalarize(weights,
+					coefficients);
 
 			Collection<E> forcedEdges = coloring.getElements(
 					BranchBoundColoring.MANDATORY);
@@ -294,7 +343,8 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 		newLowerBound.add(extreme_supported.get(1));
 
 		int index = 0;
-		for (G fatherGraph : fatherLowerBound) {
+		for (Entry<Weight, G> father : fatherLowerBound.entrySet()) {
+			G fatherGraph = father.getValue();
 			boolean contains = fatherGraph.getAllEdges().contains(newEdge);
 			// Check if fatherGraph is feasible
 			if (contains && newColor == BranchBoundColoring.FORBIDDEN
@@ -323,7 +373,7 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 							bannedEdges);
 					lastWasUnfeasible = false;
 				}
-				newLowerBound.add(fatherGraph);
+				newLowerBound.add(fatherGraph, father.getKey());
 				lastFeasibleBefore = fatherGraph;
 			}
 			index++;
@@ -332,16 +382,31 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 		return newLowerBound;
 	}
 
+	/**
+	 * Scalarizes weights in the direction of coefficients. The returned
+	 * annotator is overwritten by the next call.
+	 */
+	private GraphElementWeightAnnotator<E> scalarize(
+			GraphElementWeightAnnotator<E> weights, double[] coefficients) {
+		if (weights != this.scalarizedWeights) {
+			this.scalarizedWeights = weights;
+			this.scalarization = null;
+		}
+		this.scalarization = weights.rescalarize(this.scalarization,
+				coefficients);
+		return this.scalarization;
+	}
+
 	private void computeSupportedPoints(
 			G original, G leftNeighbor,
 			G rightNeighbor,
 			GraphElementWeightAnnotator<E> annotator,
-			ParetoSet<N, E, G> paretoFront, Collection<E> forcedEdges,
+			ParetoFront<N, E, G> paretoFront, Collection<E> forcedEdges,
 			Collection<E> bannedEdges) {
 
 		/* Compute the costs of the two neighbors */
-		Weight costsLeftNeighbor = annotator.sum(leftNeighbor.getAllEdges());
-		Weight costsRightNeighbor = annotator.sum(rightNeighbor.getAllEdges());
+		Weight costsLeftNeighbor = paretoFront.getCost(leftNeighbor);
+		Weight costsRightNeighbor = paretoFront.getCost(rightNeighbor);
 
 		/* Strange things happen if the "neighbors" are identical */
 		if (costsLeftNeighbor.dominates(costsRightNeighbor)
@@ -353,7 +418,7 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 		double[] coefficients = new double[]{costsLeftNeighbor.getWeight(1)
 			- costsRightNeighbor.getWeight(1), costsRightNeighbor.getWeight(0)
 			- costsLeftNeighbor.getWeight(0)};
-		GraphElementWeightAnnotator<E> scalarization = annotator.scalarize(
+		GraphElementWeightAnnotator<E> scalarization = scalarize(annotator,
 				coefficients);
 
 		/* Compute new extreme efficient solution */
@@ -369,7 +434,7 @@ public class BranchBound<N extends Node, E extends Edge, G extends Graph<N, E, G
 						costsRightNeighbor) == Weight.DominationRelation.EQUAL) {
 			return;
 		} else {
-                        if(!paretoFront.add(o_mst))
+                        if(!paretoFront.add(o_mst, costsOMst))
                             return;
 		}
 
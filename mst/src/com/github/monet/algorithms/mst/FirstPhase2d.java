@@ -22,9 +22,10 @@ public class FirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E,
 			String weightAnnotationName) {
 
 		G g = graph.getGraph();
+		@SuppressWarnings("unchecked")
 		GraphElementAnnotator<E, Weight> boxed_weights = graph.getAnnotator(
 				weightAnnotationName, GraphElementAnnotator.class);
-		GraphElementWeightAnnotator weights = new GraphElementWeightAnnotator(
+		GraphElementWeightAnnotator<E> weights = new GraphElementWeightAnnotator<>(
 				boxed_weights);
 		WeightedEdgesCalculator<N,E,G> wec = new WeightedEdgesCalculator<>(weights);
 		ParetoFront<N, E, G> paretoFront = new ParetoFront<>(wec);
@@ -32,13 +33,15 @@ public class FirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E,
 		/* Create an LinkedList for the first two extreme efficient solutions */
 		LinkedList<G> extreme_supported = new LinkedList<>();
 
+		/* One scalarization, updated in place for every direction */
+		GraphElementWeightAnnotator<E> scalarization = null;
+
 		/* Compute the first two extreme solutions with respect to only one dimension */
 		for (int i = 0; i < 2; i++) {
 			double[] coefficients = new double[]{
 				i == 0 ? 1.0 : 0.0, i == 1 ? 1.0 : 0.0
 			};
-			GraphElementWeightAnnotator<E> scalarization = weights.
-					scalarize(coefficients);
+			scalarization = weights.rescalarize(scalarization, coefficients);
 			Iterable<E> edges = firstPhaseAlgorithm.
 					computeUniobjectiveOptimum(g, scalarization);
 			extreme_supported.add(g.getSubgraph(g.getAllNodes(), edges));
@@ -63,8 +66,8 @@ public class FirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E,
 		 firstPhaseAlgorithm);
 		 } else*/ {
 			computeSupportedPoints(g, extreme_supported.get(0),
-					extreme_supported.get(1), weights, paretoFront,
-					firstPhaseAlgorithm);
+					extreme_supported.get(1), weights, scalarization,
+					paretoFront, firstPhaseAlgorithm);
 		}
 
 		/* Insert extreme supported solutions into paretoFront if not dominated */
@@ -84,13 +87,52 @@ public class FirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E,
 		return paretoFront;
 	}
 
-	private void computeSupportedPoints(
+	/**
+	 * Adds all supported solutions strictly between two neighbouring
+	 * supported solutions to paretoFront, in pre-order of the dichotomic
+	 * search.
+	 */
+	protected void computeSupportedPoints(
 			G original, G leftNeighbor,
 			G rightNeighbor,
 			GraphElementWeightAnnotator<E> annotator,
+			GraphElementWeightAnnotator<E> scalarization,
 			ParetoFront<N, E, G> paretoFront,
 			UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm) {
 
+		G o_mst = computeSupportedPoint(original, leftNeighbor, rightNeighbor,
+				annotator, scalarization, firstPhaseAlgorithm);
+
+		/* End of recursion? */
+		if (o_mst == null) {
+			return;
+		} else {
+			paretoFront.add(o_mst);
+		}
+
+		/* Recursive expansion */
+		computeSupportedPoints(original, leftNeighbor, o_mst, annotator,
+				scalarization, paretoFront, firstPhaseAlgorithm);
+		computeSupportedPoints(original, o_mst, rightNeighbor, annotator,
+				scalarization, paretoFront, firstPhaseAlgorithm);
+	}
+
+	/**
+	 * Computes the optimum in the direction of the normal of the line through
+	 * two neighbouring supported solutions.
+	 *
+	 * @param scalarization scalarization created by annotator, which is
+	 * rescalarized in place
+	 * @return new supported solution, null if there is none between the
+	 * neighbours
+	 */
+	protected G computeSupportedPoint(
+			G original, G leftNeighbor,
+			G rightNeighbor,
+			GraphElementWeightAnnotator<E> annotator,
+			GraphElementWeightAnnotator<E> scalarization,
+			UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm) {
+
 		/* Compute the costs of the two neighbors */
 		Weight costsLeftNeighbor = annotator.sum(leftNeighbor.getAllEdges());
 		Weight costsRightNeighbor = annotator.sum(rightNeighbor.getAllEdges());
@@ -99,8 +141,7 @@ public class FirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E,
 		double[] coefficients = new double[]{costsLeftNeighbor.getWeight(1)
 			- costsRightNeighbor.getWeight(1), costsRightNeighbor.getWeight(0)
 			- costsLeftNeighbor.getWeight(0)};
-		GraphElementWeightAnnotator<E> scalarization = annotator.scalarize(
-				coefficients);
+		scalarization = annotator.rescalarize(scalarization, coefficients);
 
 		/* Compute new extreme efficient solution */
 		Iterable<E> o_mst_edges = firstPhaseAlgorithm.
@@ -108,20 +149,10 @@ public class FirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E,
 		G o_mst = original.getSubgraph(original.getAllNodes(),
 				o_mst_edges);
 
-		/* End of recursion? */
 		if (o_mst.equals(leftNeighbor) || o_mst.equals(rightNeighbor)) {
-			return;
-		} else {
-			paretoFront.add(o_mst);
+			return null;
 		}
-
-		/* Recursive expansion */
-		computeSupportedPoints(original, leftNeighbor, o_mst, annotator,
-				paretoFront,
-				firstPhaseAlgorithm);
-		computeSupportedPoints(original, o_mst, rightNeighbor, annotator,
-				paretoFront,
-				firstPhaseAlgorithm);
+		return o_mst;
 	}
 //    private void computeSupportedPointsColinear(
 //            G original, G leftNeighbor,
@@ -1,29 +1,41 @@
 package com.github.monet.algorithms.mst;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.TreeSet;
 
 import com.github.monet.algorithms.Kruskal;
-import com.github.monet.datastructures.TreeUnionFind;
-import com.github.monet.graph.GraphElementHashAnnotator;
-import com.github.monet.graph.ParetoFront;
-import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.datastructures.ArrayUnionFind;
+import com.github.monet.datastructures.RootedForest;
+import com.github.monet.graph.GraphIndex;
 import com.github.monet.graph.interfaces.Node;
 import com.github.monet.graph.interfaces.UndirectedEdge;
 import com.github.monet.graph.interfaces.UndirectedGraph;
-import com.github.monet.graph.interfaces.UnionFind;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
-import com.github.monet.graph.weighted.WeightedEdgesCalculator;
-import com.github.monet.graph.weighted.WeightedGraphElementComparator;
 
 /**
  * Implementation of Gabow's k-best spanning tree algorithm.
  *
+ * Nodes and edges are numbered densely once. Trees are rooted forests over
+ * these numbers, the in and out constraints of a partition are bitsets over
+ * the edge numbers, and the non-tree edges are scanned in an edge order
+ * sorted once. The best exchange of a partition is found in a single pass
+ * over the non-tree edges which walks the tree paths up to their lowest
+ * common ancestor through a union find that skips tree edges already
+ * covered, so it takes O(m alpha(m, n)) time. On disconnected graphs the
+ * spanning forests are enumerated instead, edges between two trees are no
+ * exchange candidates.
+ *
+ * Partitions are stored persistently: every partition refers to the branch
+ * record it was created by, which only holds its parent record, the edge
+ * fixed to be in or out and, for out, the edge exchanged for it. Trees and
+ * constraints are restored from the chain of records when a partition is
+ * popped. Every n-th record along a chain is a full snapshot instead, so
+ * restoring takes O(n + m) time, like the exchange itself, and the open
+ * partitions take constant space each, plus the snapshots.
+ *
  * @author Christopher Morris
  *
  * @param <N>
@@ -34,23 +46,106 @@ import com.github.monet.graph.weighted.WeightedGraphElementComparator;
  *            type of graph
  */
 public class Gabow<N extends Node, E extends UndirectedEdge, G extends UndirectedGraph<N, E, G>> {
-	private LinkedList<E> orderedEdgeList;
 	private GraphElementWeightAnnotator<E> weights;
 	private G graph;
 
+	private GraphIndex<N, E> index;
+
+	/**
+	 * End nodes and weight of every edge
+	 */
+	private int[] first, second;
+	private double[] weight;
+
+	/**
+	 * Edge numbers in increasing order of weight
+	 */
+	private int[] orderedEdges;
+
+	/**
+	 * Node partition of exchange, reset on every call
+	 */
+	private ArrayUnionFind<N> nodePartition;
+
+	/**
+	 * Buffers of exchange, root is the root of the tree of every node
+	 */
+	private int[] depth, root, stack;
+
+	/**
+	 * State restored from the branch records of the popped partition
+	 */
+	private boolean[] inTree;
+	private BitSet in, out;
+	private ArrayList<Branch> chain;
+
+	private TreeSet<PartitionSet> treePartition;
+
+	/**
+	 * Maximal number of records between two snapshots along a chain, 0 if
+	 * every partition is a snapshot
+	 */
+	private final int maxChain;
 
-	public TreeSet<PartitionSet> treePartition;
+	/**
+	 * Number of snapshots taken
+	 */
+	int numSnapshots;
 
 	public Gabow(G graph, GraphElementWeightAnnotator<E> weights) {
+		this(graph, weights, Math.max(graph.getNumNodes(), 1));
+	}
+
+	/**
+	 * @param maxChain
+	 *            maximal number of records between two snapshots, 0 if every
+	 *            partition is stored as a snapshot
+	 */
+	Gabow(G graph, GraphElementWeightAnnotator<E> weights, int maxChain) {
+		assert maxChain >= 0 : "maxChain must not be negative";
+		this.maxChain = maxChain;
 		this.weights = weights;
 		this.graph = graph;
+		this.index = new GraphIndex<>(graph);
 
+		int n = this.index.getNumNodes();
+		int m = this.index.getNumEdges();
+		ArrayList<N> nodes = new ArrayList<>(n);
+		for (int u = 0; u < n; u++) {
+			nodes.add(this.index.getNode(u));
+		}
+		this.nodePartition = new ArrayUnionFind<>(nodes);
+		this.depth = new int[n];
+		this.root = new int[n];
+		this.stack = new int[n];
+		this.inTree = new boolean[m];
+		this.in = new BitSet(m);
+		this.out = new BitSet(m);
+		this.chain = new ArrayList<>();
+
+		this.first = new int[m];
+		this.second = new int[m];
+		this.weight = new double[m];
+		Integer[] order = new Integer[m];
+		for (int i = 0; i < m; i++) {
+			this.first[i] = this.index.getFirstIndex(i);
+			this.second[i] = this.index.getSecondIndex(i);
+			this.weight[i] = weights.getWeight(this.index.getEdge(i), 0);
+			order[i] = i;
+		}
 
-		orderedEdgeList = (LinkedList<E>) graph.getAllEdges();
-
-		// Sort edges in decreasing order according to annotated weights
-		Collections.sort(orderedEdgeList,
-				new WeightedGraphElementComparator<E>(weights));
+		// Sort edges in increasing order according to annotated weights, the
+		// sort is stable
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				return Double.compare(weight[i], weight[j]);
+			}
+		});
+		this.orderedEdges = new int[m];
+		for (int k = 0; k < m; k++) {
+			this.orderedEdges[k] = order[k];
+		}
 
 		// Manages partition of set of trees
 		treePartition = new TreeSet<>(new PartitionComparator());
@@ -69,59 +164,27 @@ public class Gabow<N extends Node, E extends UndirectedEdge, G extends Undirecte
 
 		// Compute minimal spanning of this.graph
 		Iterable<E> mstEdges = kruskal.computeUniobjectiveOptimum(graph, weights);
-		G mst = graph.getSubgraphWithImpliedNodes(mstEdges);
 
 		// Calculate weight of minimum spanning tree
 		double mstWeight = 0.0;
+		Arrays.fill(this.inTree, false);
 		for (E e : mstEdges) {
-			mstWeight += weights.getAnnotation(e).getFirstWeight();
+			int i = this.index.getEdgeIndex(e);
+			this.inTree[i] = true;
+			mstWeight += this.weight[i];
 		}
+		this.in.clear();
+		this.out.clear();
 
 		// Make MST directed
-		GraphElementHashAnnotator<N, N> father = this.directGraph(mst, mst.getAllNodes().iterator().next());
-		EdgeExchange ex = this.exchange(mst, father, new LinkedList<E>(), new LinkedList<E>());
+		RootedForest mst = new RootedForest(this.index.getNumNodes(),
+				this.first, this.second, this.inTree);
+		EdgeExchange ex = this.exchange(mst, this.in, this.out);
 
-		this.addPartition(mstWeight+ex.r, ex.e, ex.f, mst, father,
-				new LinkedList<E>(), new LinkedList<E>());
-	}
-
-	/**
-	 *  Directs the edges of the tree via BFS.
-	 *
-	 * @param tree graph, without cycles
-	 * @return father annotator
-	 */
-	private GraphElementHashAnnotator<N, N> directGraph(G tree, N root) {
-
-		HashMap<N, Boolean> marked = new HashMap<N, Boolean>();
-		GraphElementHashAnnotator<N, N> father = new GraphElementHashAnnotator<>();
-		LinkedList<N> queue = new LinkedList<>();
-
-		for (N n : tree.getAllNodes()) {
-			marked.put(n, false);
+		if (ex.e != -1) {
+			treePartition.add(new PartitionSet(mstWeight + ex.r, ex.e, ex.f,
+					snapshot()));
 		}
-		marked.put(root, true);
-		queue.add(root);
-		father.setAnnotation(root, null);
-
-		while (queue.size() != 0) {
-			N newRoot = queue.get(0);
-			queue.remove(0);
-
-			Collection<E> incidentEdges = tree.getIncidentEdges(newRoot);
-
-			for(E e : incidentEdges) {
-				N n = tree.getIncidentNode(newRoot, e);
-
-				if (!marked.get(n)) {
-					queue.add(n);
-					marked.put(n, true);
-					father.setAnnotation(n, newRoot);
-				}
-			}
-		}
-
-		return father;
 	}
 
 	/**
@@ -129,9 +192,7 @@ public class Gabow<N extends Node, E extends UndirectedEdge, G extends Undirecte
 	 * constraints "in" and "out"
 	 *
 	 * @param tree
-	 *            undirected graph, without cycle
-	 * @param tree
-	 *            annotates edge directions to "tree"
+	 *            rooted spanning tree
 	 * @param in
 	 *            edges, which have to remain in the tree
 	 * @param out
@@ -139,88 +200,87 @@ public class Gabow<N extends Node, E extends UndirectedEdge, G extends Undirecte
 	 *
 	 * @return minimum exchange edge, subject to "in" and "out"
 	 */
-	public EdgeExchange exchange(G tree, GraphElementAnnotator<N, N> father,
-			LinkedList<E> in, LinkedList<E> out) {
+	private EdgeExchange exchange(RootedForest tree, BitSet in, BitSet out) {
 
 		// Manages minimal exchange edge
 		EdgeExchange exEdge = new EdgeExchange();
-		// True <=> if no exchange edge has been found so far
-		exEdge.first = true;
-
-		TreeUnionFind<N> nodePartition = new TreeUnionFind<>();
-		//nodePartition.setPathCompression(false);
-
-		// Create partition of nodes, initially each node has it's own set
-		for (N n: graph.getAllNodes()) {
-			nodePartition.add(n);
-		}
-
-		Collection<E> treeEdgeList = tree.getAllEdges();
-		for (E e : orderedEdgeList) {	// iterate over possible exchange candidates (f)
-			if (!out.contains(e) && !treeEdgeList.contains(e)) { // edge is not in "out" and edge is not already in the tree
-
-				Iterator<N> incidentNodes = graph.getIncidentNodes(e)
-						.iterator();
 
-				N x = incidentNodes.next();
-				N y = incidentNodes.next();
-
-				N a = getFirstEligibleCommonAncestor(father, nodePartition, x,
-						y);
-
-				Collection<N> xy = graph.getIncidentNodes(e);
-
-				for (N v1 : xy) {
-					N v = nodePartition.find(v1);
-
-					// Iterate over candidates for exchange
-					while (!v.equals(a) && (father.getAnnotation(v) != null)) {
-
-						// Candidate for exchange with e = (x,y) (exists because father is not root node)
-						E ev = tree.getEdge(father.getAnnotation(v), v);
-
-						if (!in.contains(ev)) {		// Skip edge it's in list "in"
-
-							// Calculate exchange weight
-							double r1 = weights.getAnnotation(e)
-									.getFirstWeight()
-									- weights.getAnnotation(ev)
-									.getFirstWeight();
-
-							if (!exEdge.first) {
-								if (r1 <= exEdge.r) {
-									exEdge.e = ev;
-									exEdge.f = e;
-									exEdge.r = r1;
-								}
-							} else {	// first exchange pair (e,f) found, thus minimal
-								exEdge.e = ev;
-								exEdge.f = e;
-								exEdge.r = r1;
-
-								exEdge.first = false;
-							}
+		// Create partition of nodes, initially each node has it's own set.
+		// Every set is a subtree whose tree edges have been covered, its
+		// representative is its topmost node.
+		nodePartition.reset();
+		tree.computeDepths(this.depth, this.stack);
+		computeRoots(tree);
+
+		for (int f : this.orderedEdges) {	// iterate over possible exchange candidates (f)
+			int x = this.first[f];
+			int y = this.second[f];
+			if (out.get(f) || x == y || tree.getFatherEdge(x) == f
+					|| tree.getFatherEdge(y) == f
+					|| this.root[x] != this.root[y]) {
+				// edge is in "out", a loop, already in the tree or joins two
+				// trees of a spanning forest of a disconnected graph, which
+				// closes no cycle
+				continue;
+			}
 
-							N u = nodePartition.find(father
-									.getAnnotation(v));
+			// Walk up from both end nodes to the first eligible common
+			// ancestor, always from the deeper one
+			int u = nodePartition.findId(x);
+			int v = nodePartition.findId(y);
+			while (u != v) {
+				if (this.depth[u] < this.depth[v]) {
+					int swap = u;
+					u = v;
+					v = swap;
+				}
 
-							// Node v is now representative
-							nodePartition.union(v, u);
-							nodePartition.makeRepresentative(u);
-							v = u;
-						} else {
-							v = nodePartition.find(father.getAnnotation(v));
-						}
+				// Candidate for exchange with f (exists because u is below
+				// the common ancestor)
+				int e = tree.getFatherEdge(u);
+				if (!in.get(e)) {		// Skip edge if it's in list "in"
+					// Calculate exchange weight
+					double r = this.weight[f] - this.weight[e];
+					if (exEdge.e == -1 || r <= exEdge.r) {
+						exEdge.e = e;
+						exEdge.f = f;
+						exEdge.r = r;
 					}
 				}
+
+				// Edge e is covered by f, the first edge covering it
+				int w = nodePartition.findId(tree.getFather(u));
+				nodePartition.unionIds(u, w);
+				nodePartition.makeRepresentativeId(w);
+				u = w;
 			}
 		}
 
-		nodePartition.clear();
-
 		return exEdge;
 	}
 
+	/**
+	 * Computes the root of the tree of every node of "tree".
+	 */
+	private void computeRoots(RootedForest tree) {
+		int n = tree.getNumNodes();
+		Arrays.fill(this.root, 0, n, -1);
+		for (int v = 0; v < n; v++) {
+			// Up to the first node with known root, then down again
+			int size = 0;
+			int u = v;
+			while (this.root[u] == -1 && tree.getFather(u) != -1) {
+				this.stack[size++] = u;
+				u = tree.getFather(u);
+			}
+			int r = (this.root[u] == -1) ? u : this.root[u];
+			this.root[u] = r;
+			while (size > 0) {
+				this.root[this.stack[--size]] = r;
+			}
+		}
+	}
+
 
 
 /**
@@ -232,140 +292,46 @@ public class Gabow<N extends Node, E extends UndirectedEdge, G extends Undirecte
 
 		if (first != null) {
 
-			// Create new k-best tree, delete edge e
-			Collection<E> tmp = first.fatherTree.getAllEdges();
-			G newTree = this.graph.getSubgraphWithImpliedNodes(tmp);
-			newTree.deleteEdge(first.e);
-
-			// Create new father annotator
-			GraphElementHashAnnotator<N, N> father = new GraphElementHashAnnotator<>();
-
-			for (N n : first.fatherTree.getAllNodes()) {
-				father.setAnnotation(n, first.father.getAnnotation(n));
-			}
-
-			// Delete father annotation of node of edge e
-			Iterator<N> nodes = graph.getIncidentNodes(first.e).iterator();
-			N e1 = nodes.next();
-			N e2 = nodes.next();
-			N t = null;
-
-			N e1Father = first.father.getAnnotation(e1);
-			if ((e1Father != null) && (e1Father.equals(e2))) {
-				father.setAnnotation(e1, null);
-				t = e1;
-			} else if (first.father.getAnnotation(e2).equals(e1)) {
-				father.setAnnotation(e2, null);
-				t = e2;
-			}
-
-			nodes = graph.getIncidentNodes(first.f).iterator();
-
-			N s1 = nodes.next();
-			N s2 = nodes.next();
-			N s1Tmp = s1;
-			N s2Tmp = s2;
-
-			N s1Father;
-			N s2Father;
-
-			while (!s1Tmp.equals(t) && !s2Tmp.equals(t)) {
-				s1Father = father.getAnnotation(s1Tmp);
-				s2Father = father.getAnnotation(s2Tmp);
-
-				if (s1Father != null) {
-					s1Tmp = s1Father;
-				}
-
-				if (s2Father != null) {
-					s2Tmp = s2Father;
-				}
-			}
-
-			// Create new father annotator
-			GraphElementHashAnnotator<N, N> oldFather = new GraphElementHashAnnotator<>();
-
-			for (N n : first.fatherTree.getAllNodes()) {
-				oldFather.setAnnotation(n, father.getAnnotation(n));
-			}
-
-			if (s1Tmp.equals(t)) {
-				s1Tmp = s1;
-
-				// revert edges between t and s1
-				while (!s1Tmp.equals(t)) {
-					s1Father = oldFather.getAnnotation(s1Tmp);
-
-					father.setAnnotation(s1Father, s1Tmp);
-					//father.setAnnotation(s1Tmp, null);
-					s1Tmp = s1Father;
-				}
-
-				nodes = graph.getIncidentNodes(first.f).iterator();
-				newTree.addEdge(nodes.next(), nodes.next());
-				father.setAnnotation(s1, s2);
-			} else if (s2Tmp.equals(t)) {
-				s2Tmp = s2;
-
-				// revert edges between t and s1
-				while (!s2Tmp.equals(t)) {
-					s2Father = oldFather.getAnnotation(s2Tmp);
-
-					father.setAnnotation(s2Father, s2Tmp);
-					//father.setAnnotation(s2Tmp, null);
-					s2Tmp = s2Father;
-				}
-
-				nodes = graph.getIncidentNodes(first.f).iterator();
-				newTree.addEdge(nodes.next(), nodes.next());
-				father.setAnnotation(s2, s1);
-			}
-
-			// Calculate weight of to be returned tree
-			double oldWeight = first.smallestWeight
-					- weights.getAnnotation(first.f).getFirstWeight()
-					+ weights.getAnnotation(first.e).getFirstWeight();
-
-			// Branch partition into two partitions
-			LinkedList<E> inI = new LinkedList<>();
-			for (E e : first.in) {
-				inI.add(e);
-			}
-			inI.add(first.e);
-
-			LinkedList<E> outJ = new LinkedList<>();
-			for (E e : first.out) {
-				outJ.add(e);
-			}
-			outJ.add(first.e);
-
-			EdgeExchange smallestExchangeI = this.exchange(first.fatherTree,
-					first.father, inI, first.out);
-
-			EdgeExchange smallestExchangeJ = this.exchange(newTree, father,
-					first.in, outJ);
-
-			if (smallestExchangeI.e != null) {
+			// Restore the smallest tree of the partition and create the new
+			// k-best tree, exchange e for f
+			restore(first.branch);
+			RootedForest fatherTree = new RootedForest(
+					this.index.getNumNodes(), this.first, this.second,
+					this.inTree);
+			RootedForest newTree = new RootedForest(fatherTree);
+			newTree.exchange(first.e, first.f);
+
+			// Calculate weight of the tree of the partition
+			double oldWeight = first.smallestWeight - this.weight[first.f]
+					+ this.weight[first.e];
+
+			// Branch partition into two partitions: I keeps e in the tree,
+			// J keeps it out
+			this.in.set(first.e);
+			EdgeExchange smallestExchangeI = this.exchange(fatherTree,
+					this.in, this.out);
+			if (smallestExchangeI.e != -1) {
 					treePartition.add(new PartitionSet(oldWeight
 							+ smallestExchangeI.r, smallestExchangeI.e,
-							smallestExchangeI.f, first.fatherTree, first.father,
-							inI, first.out));
+							smallestExchangeI.f, branch(first.branch, first.e,
+									-1)));
 
 			}
-			if (smallestExchangeJ.e != null) {
+			this.in.clear(first.e);
+
+			this.out.set(first.e);
+			this.inTree[first.e] = false;
+			this.inTree[first.f] = true;
+			EdgeExchange smallestExchangeJ = this.exchange(newTree,
+					this.in, this.out);
+			if (smallestExchangeJ.e != -1) {
 				treePartition.add(new PartitionSet(first.smallestWeight
 						+ smallestExchangeJ.r, smallestExchangeJ.e,
-						smallestExchangeJ.f, newTree, father, first.in, outJ));
+						smallestExchangeJ.f, branch(first.branch, first.e,
+								first.f)));
 			}
 
-			//father.clear();
-			//father = null;
-			oldFather.clear();
-			oldFather = null;
-
-			first = null;
-
-			return newTree;
+			return toGraph(newTree);
 		} else {
 
 			treePartition.clear();
@@ -374,56 +340,97 @@ public class Gabow<N extends Node, E extends UndirectedEdge, G extends Undirecte
 		}
 	}
 
+	/**
+	 * Creates the record of a child partition. The current state has to be
+	 * the one of the child, it is stored as a snapshot if the chain of
+	 * records gets too long.
+	 *
+	 * @param parent
+	 *            record of the parent partition
+	 * @param e
+	 *            edge fixed in the tree, or out of the tree if f is not -1
+	 * @param f
+	 *            edge exchanged for e, -1 if e is fixed in the tree
+	 */
+	private Branch branch(Branch parent, int e, int f) {
+		if (parent.depth >= this.maxChain) {
+			return snapshot();
+		}
+		return new Branch(parent, e, f);
+	}
 
+	/**
+	 * @return snapshot of the current tree and constraints
+	 */
+	private Branch snapshot() {
+		this.numSnapshots++;
+		int[] treeEdges = new int[Math.max(this.index.getNumNodes() - 1, 0)];
+		int size = 0;
+		for (int i = 0; i < this.inTree.length; i++) {
+			if (this.inTree[i]) {
+				treeEdges[size++] = i;
+			}
+		}
+		return new Branch(Arrays.copyOf(treeEdges, size),
+				toArray(this.in), toArray(this.out));
+	}
 
-/**
- * Computes the first eligible ancestor of two nodes
- *
- * @param father annotates directions to edges
- * @param nodePartition
- * @param x node in the tree
- * @param y node in the tree
- * @return  first eligible ancestor of nodes x and y
- */
-	public N getFirstEligibleCommonAncestor(GraphElementAnnotator<N, N> father,
-			UnionFind<N> nodePartition, N x, N y) {
-
-		LinkedList<N> xs = new LinkedList<>();
-		LinkedList<N> ys = new LinkedList<>();
-
-		xs.add(x);
-		ys.add(y);
-
-		N x_current = x;
-		N y_current = y;
-
-		N x_father;
-		N y_father;
-
-		while (true) {
-
-			x_father = father.getAnnotation(x_current);
-			y_father = father.getAnnotation(y_current);
-
+	private static int[] toArray(BitSet set) {
+		int[] array = new int[set.cardinality()];
+		for (int i = set.nextSetBit(0), k = 0; i >= 0; i = set.nextSetBit(i + 1)) {
+			array[k++] = i;
+		}
+		return array;
+	}
 
-			if (x_father != null) {	// x_current is not root node
-				x_current = x_father;
-				xs.add(x_current);
-			}
+	/**
+	 * Restores tree and constraints of a partition by replaying the records
+	 * from the last snapshot on.
+	 */
+	private void restore(Branch branch) {
+		this.chain.clear();
+		for (; branch.parent != null; branch = branch.parent) {
+			this.chain.add(branch);
+		}
 
-			if (y_father != null) { // y_current is not root node
-				y_current = y_father;
-				ys.add(y_current);
-			}
+		Arrays.fill(this.inTree, false);
+		this.in.clear();
+		this.out.clear();
+		for (int i : branch.treeEdges) {
+			this.inTree[i] = true;
+		}
+		for (int i : branch.inEdges) {
+			this.in.set(i);
+		}
+		for (int i : branch.outEdges) {
+			this.out.set(i);
+		}
 
-			if (xs.contains(y_current)) {	// First common node found
-				return nodePartition.find(y_current);	// Return first eligible predecessor of first common node
+		for (int k = this.chain.size() - 1; k >= 0; k--) {
+			Branch b = this.chain.get(k);
+			if (b.f == -1) {
+				this.in.set(b.e);
+			} else {
+				this.out.set(b.e);
+				this.inTree[b.e] = false;
+				this.inTree[b.f] = true;
 			}
+		}
+		this.chain.clear();
+	}
 
-			if (ys.contains(x_current)) {	// First common node found
-				return nodePartition.find(x_current);	// Return first eligible predecessor of first common node
+	/**
+	 * @return subgraph of the edges of tree
+	 */
+	private G toGraph(RootedForest tree) {
+		int n = tree.getNumNodes();
+		ArrayList<E> edges = new ArrayList<>(Math.max(n - 1, 0));
+		for (int u = 0; u < n; u++) {
+			if (tree.getFatherEdge(u) != -1) {
+				edges.add(this.index.getEdge(tree.getFatherEdge(u)));
 			}
 		}
+		return this.graph.getSubgraphWithImpliedNodes(edges);
 	}
 
 
@@ -437,53 +444,88 @@ public class Gabow<N extends Node, E extends UndirectedEdge, G extends Undirecte
 	}
 
 /**
- * Simple field for managing exchange edges.
+ * Simple field for managing exchange edges: tree edge e, non-tree edge f
+ * and the weight difference r, e is -1 if there is no exchange.
  *
  * @author Christopher Morris
  */
-public class EdgeExchange {
-	public boolean first;
-	public E e;
-	public E f;
+private static class EdgeExchange {
+	int e = -1;
+	int f = -1;
 
-	public double r;
+	double r;
 }
 
 /**
- * Models an element of a partition of the set of trees.
+ * Models an element of a partition of the set of trees: all trees
+ * containing the edges in "in" and none of the edges in "out", as restored
+ * from branch. Exchanging e for f in the smallest tree of the partition
+ * gives the second smallest.
  *
  * @author Christopher Morris
  */
-public class PartitionSet {
-
-	private double smallestWeight;
-	public E e;
-	public E f;
-	public G fatherTree;
-	public GraphElementHashAnnotator<N, N> father;
+private static class PartitionSet {
 
-	public LinkedList<E> in;
-	public LinkedList<E> out;
+	private final double smallestWeight;
+	final int e;
+	final int f;
+	final Branch branch;
 
-	public PartitionSet(double smallestWeight, E e, E f, G fatherTree,
-			GraphElementHashAnnotator<N, N> father, LinkedList<E> in, LinkedList<E> out) {
+	PartitionSet(double smallestWeight, int e, int f, Branch branch) {
 		this.smallestWeight = smallestWeight;
 		this.e = e;
 		this.f = f;
-		this.fatherTree = fatherTree;
-		this.father = father;
-
-		this.in = in;
-		this.out = out;
+		this.branch = branch;
 	}
 }
 
-public void addPartition(double smallestWeight, E e, E f, G fatherTree,
-		GraphElementHashAnnotator<N, N> father, LinkedList<E> in, LinkedList<E> out) {
-	PartitionSet set = new PartitionSet(smallestWeight, e, f, fatherTree,
-			father, in, out);
+/**
+ * Persistent record of how a partition was split off its parent, or a
+ * snapshot of its smallest tree and its constraints.
+ */
+private static class Branch {
+
+	/**
+	 * Record of the parent partition, null for snapshots
+	 */
+	final Branch parent;
+
+	/**
+	 * Edge fixed in the tree if f is -1, otherwise fixed out of the tree
+	 * and exchanged for f
+	 */
+	final int e;
+	final int f;
+
+	/**
+	 * Number of records up to the last snapshot
+	 */
+	final int depth;
+
+	/**
+	 * Tree edges, in and out edges of snapshots
+	 */
+	final int[] treeEdges, inEdges, outEdges;
 
-	treePartition.add(set);
+	Branch(Branch parent, int e, int f) {
+		this.parent = parent;
+		this.e = e;
+		this.f = f;
+		this.depth = parent.depth + 1;
+		this.treeEdges = null;
+		this.inEdges = null;
+		this.outEdges = null;
+	}
+
+	Branch(int[] treeEdges, int[] inEdges, int[] outEdges) {
+		this.parent = null;
+		this.e = -1;
+		this.f = -1;
+		this.depth = 0;
+		this.treeEdges = treeEdges;
+		this.inEdges = inEdges;
+		this.outEdges = outEdges;
+	}
 }
 
 /**
@@ -492,7 +534,7 @@ public void addPartition(double smallestWeight, E e, E f, G fatherTree,
  * @author Christopher Morris
  *
  */
-private class PartitionComparator implements Comparator<PartitionSet> {
+private static class PartitionComparator implements Comparator<PartitionSet> {
 
 	@Override
 	public int compare(PartitionSet p1, PartitionSet p2) {
@@ -1,7 +1,14 @@
 package com.github.monet.algorithms.mst;
 
 import java.util.Iterator;
+import java.util.Map.Entry;
+
 import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.BiobjectiveParetoFront;
+import com.github.monet.graph.BoundedParetoFront;
+import com.github.monet.graph.CompactParetoFront;
+import com.github.monet.graph.CompactSolutionStore;
+import com.github.monet.graph.IndexedDaryHeap;
 import com.github.monet.graph.ParetoFront;
 import com.github.monet.graph.interfaces.GraphElementAnnotator;
 import com.github.monet.graph.interfaces.Node;
@@ -23,18 +30,44 @@ import com.github.monet.graph.weighted.WeightedEdgesCalculator;
 public class KBestSecondPhase<N extends Node, E extends UndirectedEdge, G extends UndirectedGraph<N, E, G>>
 		implements SecondPhaseAlgorithm<N, E, G> {
 
+	/**
+	 * Maximum number of solutions kept while searching, 0 keeps all
+	 */
+	private int archiveCapacity;
+
+	/**
+	 * @return the archiveCapacity
+	 */
+	public int getArchiveCapacity() {
+		return archiveCapacity;
+	}
+
+	/**
+	 * Bounds the solutions kept while searching. All solutions are then
+	 * stored in one bounded archive, solutions contributing least hypervolume
+	 * are evicted and no longer prune the search.
+	 *
+	 * @param archiveCapacity maximum number of solutions, 0 keeps all,
+	 * otherwise at least 2
+	 */
+	public void setArchiveCapacity(int archiveCapacity) {
+		assert archiveCapacity == 0 || archiveCapacity >= 2 : "archiveCapacity must be 0 or at least 2";
+		this.archiveCapacity = archiveCapacity;
+	}
+
 	@Override
-	public ParetoFront<N, E, G> secondPhase(
+	public ParetoSet<N, E, G> secondPhase(
 			AnnotatedGraph<N, E, G> annotatedGraph,
 			String weightAnnotationName, ParetoSet<N, E, G> extremeEfficient) {
 
 		int c = 0;
 		// Unbox annotated graph
 		G graph = annotatedGraph.getGraph();
-		GraphElementAnnotator annotator = annotatedGraph.getAnnotator(
+		@SuppressWarnings("unchecked")
+		GraphElementAnnotator<E, Weight> annotator = annotatedGraph.getAnnotator(
 				weightAnnotationName, GraphElementAnnotator.class);
-		GraphElementWeightAnnotator weightAnnotator
-				= new GraphElementWeightAnnotator(annotator);
+		GraphElementWeightAnnotator<E> weightAnnotator
+				= new GraphElementWeightAnnotator<>(annotator);
 
 		// Prepare to iterate over pareto front neighbours
 		Iterator<G> iterator = extremeEfficient.iterator();
@@ -43,8 +76,23 @@ public class KBestSecondPhase<N extends Node, E extends UndirectedEdge, G extend
 
 		WeightedEdgesCalculator<N, E, G> weightedEdgeCalculator
 				= new WeightedEdgesCalculator<>(weightAnnotator);
-		ParetoFront<N, E, G> allSolutions = new ParetoFront<>(
-				weightedEdgeCalculator);
+		// Neighbouring trees differ in few edges, so all found trees are
+		// stored as deltas to their left neighbour
+		CompactParetoFront<N, E, G> allSolutions = new CompactParetoFront<>(
+				graph, weightedEdgeCalculator);
+
+		// One scalarization, updated in place for every pair of neighbours
+		GraphElementWeightAnnotator<E> scalarization = null;
+
+		// The bounded archive is shared by all pairs of neighbours, the
+		// extreme efficient solutions count towards it from the start
+		Archive archive = null;
+		if (archiveCapacity > 0) {
+			archive = new Archive(weightedEdgeCalculator, archiveCapacity);
+			for (G g : extremeEfficient) {
+				archive.add(g);
+			}
+		}
 
 		// Iterator over pareto front neighbours
 		while (iterator.hasNext()) {
@@ -54,16 +102,30 @@ public class KBestSecondPhase<N extends Node, E extends UndirectedEdge, G extend
 			double[] coefficients = new double[]{costsFirst.getWeight(1)
 				- costsSecond.getWeight(1), costsSecond.getWeight(
 				0) - costsFirst.getWeight(0)};
-			GraphElementWeightAnnotator<E> scalarization = weightAnnotator.
-					scalarize(coefficients);
+			scalarization = weightAnnotator.rescalarize(scalarization,
+					coefficients);
 			double maximumCost = coefficients[0] * costsSecond.getWeight(0)
 					+ coefficients[1] * costsFirst.getWeight(1);
+			// Negated scalarized costs of the local nadir points, keyed by
+			// the costs of their left neighbour
+			IndexedDaryHeap<Weight> localNadirs = new IndexedDaryHeap<>(16);
+			localNadirs.add(costsFirst, -maximumCost);
 			// Iterate over k-best MSTs
-			ParetoFront<N, E, G> currentSolutions = new ParetoFront<>(
-					weightedEdgeCalculator);
-			currentSolutions.add(first);
-			currentSolutions.add(second);
+			ParetoFront<N, E, G> currentSolutions;
+			if (archive != null) {
+				archive.setWindow(costsFirst, costsSecond, coefficients,
+						localNadirs);
+				currentSolutions = archive;
+			} else {
+				currentSolutions = new BiobjectiveParetoFront<>(
+						weightedEdgeCalculator);
+				currentSolutions.add(first, costsFirst);
+				currentSolutions.add(second, costsSecond);
+			}
 			Gabow<N, E, G> kBest = new Gabow<>(graph, scalarization);
+			// Buffers for the costs of the generated trees
+			Weight costskMst = new Weight(new double[2]);
+			Weight scalarizedCostskMst = new Weight(0);
 			while (true) {
 				G kMst = kBest.generate();
 				c++;
@@ -73,66 +135,143 @@ public class KBestSecondPhase<N extends Node, E extends UndirectedEdge, G extend
 				} else if (kMst.equals(first) || kMst.equals(second)) {
 					continue;
 				} else {
-					Weight costskMst = weightAnnotator.sum(kMst.getAllEdges());
-					double scalarizedCostskMst = costskMst.scalarize(
-							coefficients).getFirstWeight();
+					weightAnnotator.sum(kMst.getAllEdges(), costskMst);
+					costskMst.scalarize(coefficients, scalarizedCostskMst);
 					// Determine if solution is within viable region
 					if (costskMst.getWeight(0) >= costsSecond.getWeight(0)
 							|| costskMst.getWeight(1) >= costsFirst.getWeight(1)) {
 						continue;
 					}
 					// Determine if costskMst is dominated by prevoiusly found solutions
-					boolean isDominated = false;
-					for (Weight key : currentSolutions.keySet()) {
-						isDominated |= key.dominates(costskMst)
-								== Weight.DominationRelation.PARETO_SMALLER;
-					}
-					if (scalarizedCostskMst >= maximumCost) {
+					boolean isDominated = currentSolutions.isDominated(
+							costskMst);
+					if (scalarizedCostskMst.getFirstWeight() >= maximumCost) {
 						// Beyond maximum cost line
 						break;
 					} else if (!isDominated) {
 						// New efficient solutions found
-						currentSolutions.add(kMst);
-						// Iterate over neighbours on current pareto front
-						Iterator<G> neighbours = currentSolutions.iterator();
-						G firstNeighbour = neighbours.next();
-						Weight costsFirstNeighbour = weightAnnotator.sum(
-								firstNeighbour.getAllEdges());
-						maximumCost = 0;
-						while (neighbours.hasNext()) {
-							// Get next pair of neighbours
-							G secondNeighbour = neighbours.next();
-							Weight costsSecondNeighbour = weightAnnotator.sum(
-									secondNeighbour.getAllEdges());
-							// Compute local nadir point
-							Weight localNadir = new Weight(new double[]{
-								costsSecondNeighbour.getWeight(0),
-								costsFirstNeighbour.getWeight(1)});
-							// Compute scalarized costs of points of intersection
-							double scalarizedCostsLocalNadir = localNadir.
-									scalarize(coefficients).getFirstWeight();
-							// Choose greater scalarized cost as new maximum cost
-							if (maximumCost < scalarizedCostsLocalNadir) {
-								maximumCost = scalarizedCostsLocalNadir;
-							}
-
-							firstNeighbour = secondNeighbour;
-							costsFirstNeighbour = costsSecondNeighbour;
+						// The buffer is reused, store a copy
+						Weight costs = new Weight(costskMst.getWeights().clone());
+						currentSolutions.add(kMst, costs);
+						// Solutions arrive by increasing scalarized costs and
+						// never dominate earlier ones, so only the local nadir
+						// points next to the new solution change. The archive
+						// may have evicted it right away.
+						if (currentSolutions.containsKey(costs)) {
+							Weight leftNeighbour = lowerNeighbour(
+									currentSolutions, costs, costsFirst);
+							Weight rightNeighbour = higherNeighbour(
+									currentSolutions, costs, costsSecond);
+							localNadirs.update(leftNeighbour, -scalarizeNadir(
+									leftNeighbour, costs, coefficients));
+							localNadirs.add(costs, -scalarizeNadir(costs,
+									rightNeighbour, coefficients));
 						}
+						// Choose greatest scalarized cost as new maximum cost
+						maximumCost = Math.max(0, -localNadirs.peekPriority());
 					}
 				}
 			}
 
 			// Add found solutions to output
-			for (G solution : currentSolutions) {
-				allSolutions.add(solution);
+			if (archive == null) {
+				addAll(allSolutions, currentSolutions);
 			}
 
 			first = second;
 			costsFirst = costsSecond;
 		}
+		if (archive != null) {
+			addAll(allSolutions, archive);
+		}
 
 		System.out.println("Number of generated spanning trees: " + c);
 		return allSolutions;
 	}
+
+	/**
+	 * Adds all solutions of a front to the output, each stored as delta to
+	 * its left neighbour.
+	 */
+	private static <N extends Node, E extends UndirectedEdge, G extends UndirectedGraph<N, E, G>> void addAll(
+			CompactParetoFront<N, E, G> allSolutions,
+			ParetoFront<N, E, G> solutions) {
+		CompactSolutionStore.Solution base = null;
+		for (Entry<Weight, G> solution : solutions.entrySet()) {
+			allSolutions.add(solution.getValue().getAllEdges(),
+					solution.getKey(), base);
+			base = allSolutions.getSolution(solution.getKey());
+		}
+	}
+
+	/**
+	 * @return left neighbour of w in front, but not left of bound
+	 */
+	private static Weight lowerNeighbour(ParetoFront<?, ?, ?> front, Weight w,
+			Weight bound) {
+		Weight neighbour = front.lowerKey(w);
+		return (neighbour == null || neighbour.getWeight(0) < bound.getWeight(0))
+				? bound : neighbour;
+	}
+
+	/**
+	 * @return right neighbour of w in front, but not right of bound
+	 */
+	private static Weight higherNeighbour(ParetoFront<?, ?, ?> front, Weight w,
+			Weight bound) {
+		Weight neighbour = front.higherKey(w);
+		return (neighbour == null || neighbour.getWeight(0) > bound.getWeight(0))
+				? bound : neighbour;
+	}
+
+	/**
+	 * Computes the scalarized costs of the local nadir point of two
+	 * neighbours on the pareto front.
+	 */
+	private static double scalarizeNadir(Weight left, Weight right,
+			double[] coefficients) {
+		return coefficients[0] * right.getWeight(0) + coefficients[1]
+				* left.getWeight(1);
+	}
+
+	/**
+	 * Bounded archive of all solutions. The search covers one pair of
+	 * neighbouring extreme solutions at a time, its window. Evicting a
+	 * solution inside the window merges the local nadir points on both of its
+	 * sides, so the search goes on in the gap left behind.
+	 */
+	private class Archive extends BoundedParetoFront<N, E, G> {
+
+		private Weight left, right;
+		private double[] coefficients;
+		private IndexedDaryHeap<Weight> localNadirs;
+
+		Archive(WeightedEdgesCalculator<N, E, G> costCalculator, int capacity) {
+			super(costCalculator, capacity);
+		}
+
+		void setWindow(Weight left, Weight right, double[] coefficients,
+				IndexedDaryHeap<Weight> localNadirs) {
+			this.left = left;
+			this.right = right;
+			this.coefficients = coefficients;
+			this.localNadirs = localNadirs;
+		}
+
+		@Override
+		protected void removed(Weight cost, G g) {
+			super.removed(cost, g);
+			if (this.localNadirs == null
+					|| cost.getWeight(0) <= this.left.getWeight(0)
+					|| cost.getWeight(0) >= this.right.getWeight(0)) {
+				// The corners of the window stay, evicted or not
+				return;
+			}
+			this.localNadirs.remove(cost);
+			Weight leftNeighbour = lowerNeighbour(this, cost, this.left);
+			Weight rightNeighbour = higherNeighbour(this, cost, this.right);
+			this.localNadirs.update(leftNeighbour, -scalarizeNadir(
+					leftNeighbour, rightNeighbour, this.coefficients));
+		}
+	}
 }
@@ -0,0 +1,171 @@
+package com.github.monet.algorithms.mst;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.github.monet.graph.ConcurrentParetoFront;
+import com.github.monet.graph.ParetoFront;
+import com.github.monet.graph.interfaces.Edge;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.UniobjectiveAlgorithm;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+import com.github.monet.graph.weighted.WeightedEdgesCalculator;
+
+/**
+ * Dichotomic first phase searching the triangles left and right of every new
+ * supported solution in parallel on a ForkJoinPool.
+ *
+ * Every task computes one supported solution, offers it to a
+ * ConcurrentParetoFront shared by all tasks and forks the search of its left
+ * triangle. The subsearches are independent, so the shared front receives
+ * exactly the solutions of FirstPhase2d, in any order; they are added to the
+ * pareto front in lexicographic order afterwards. Only if a triangle
+ * degenerates and yields another tree with the costs of a known solution,
+ * which of the two is kept may differ from FirstPhase2d.
+ *
+ * Each subproblem computes an optimum on the whole graph, so graphs with
+ * fewer edges than the threshold are searched serially. The uniobjective
+ * algorithm is called concurrently and has to be thread-safe, which holds
+ * for the stateless implementations Kruskal, FilterKruskal, Prim and
+ * DensePrim. The graph and the weights are only read.
+ *
+ * @param <N> type of node
+ * @param <E> type of edge
+ * @param <G> type of graph
+ */
+public class ParallelFirstPhase2d<N extends Node, E extends Edge, G extends Graph<N, E, G>>
+		extends FirstPhase2d<N, E, G> {
+
+	/**
+	 * Default minimum number of edges of graphs searched in parallel
+	 */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	private final int parallelism;
+	private final int threshold;
+
+	/**
+	 * Uses all available processors and the default threshold.
+	 */
+	public ParallelFirstPhase2d(
+			UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm) {
+		this(firstPhaseAlgorithm, Runtime.getRuntime().availableProcessors(),
+				DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * @param firstPhaseAlgorithm thread-safe uniobjective algorithm
+	 * @param parallelism number of threads, at least 1
+	 * @param threshold minimum number of edges of graphs searched in parallel
+	 */
+	public ParallelFirstPhase2d(
+			UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm,
+			int parallelism, int threshold) {
+		super(firstPhaseAlgorithm);
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(
+					"parallelism must be at least 1");
+		}
+		this.parallelism = parallelism;
+		this.threshold = threshold;
+	}
+
+	@Override
+	protected void computeSupportedPoints(
+			G original, G leftNeighbor,
+			G rightNeighbor,
+			GraphElementWeightAnnotator<E> annotator,
+			GraphElementWeightAnnotator<E> scalarization,
+			ParetoFront<N, E, G> paretoFront,
+			UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm) {
+
+		if (this.parallelism == 1 || original.getNumEdges() < this.threshold) {
+			super.computeSupportedPoints(original, leftNeighbor,
+					rightNeighbor, annotator, scalarization, paretoFront,
+					firstPhaseAlgorithm);
+			return;
+		}
+
+		// Subgraph views compute their fingerprint lazily on first use, so
+		// every graph shared by tasks computes it before it is shared
+		leftNeighbor.hashCode();
+		rightNeighbor.hashCode();
+		ConcurrentParetoFront<N, E, G> supported = new ConcurrentParetoFront<>(
+				new WeightedEdgesCalculator<N, E, G>(annotator));
+		ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+		try {
+			pool.invoke(new SupportedPointsTask(original, leftNeighbor,
+					rightNeighbor, annotator, scalarization,
+					firstPhaseAlgorithm, supported));
+		} finally {
+			pool.shutdown();
+		}
+		for (Weight cost : supported.keySet()) {
+			paretoFront.add(supported.get(cost), cost);
+		}
+	}
+
+	/**
+	 * Searches the triangle between two neighbours and offers the supported
+	 * solutions found to the shared front.
+	 */
+	private class SupportedPointsTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final G original;
+		private final G leftNeighbor;
+		private final G rightNeighbor;
+		private final GraphElementWeightAnnotator<E> annotator;
+
+		/**
+		 * Scalarization owned by this task, null if it has to create one
+		 */
+		private GraphElementWeightAnnotator<E> scalarization;
+
+		private final UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm;
+		private final ConcurrentParetoFront<N, E, G> supported;
+
+		SupportedPointsTask(G original, G leftNeighbor, G rightNeighbor,
+				GraphElementWeightAnnotator<E> annotator,
+				GraphElementWeightAnnotator<E> scalarization,
+				UniobjectiveAlgorithm<N, E, G, E> firstPhaseAlgorithm,
+				ConcurrentParetoFront<N, E, G> supported) {
+			this.original = original;
+			this.leftNeighbor = leftNeighbor;
+			this.rightNeighbor = rightNeighbor;
+			this.annotator = annotator;
+			this.scalarization = scalarization;
+			this.firstPhaseAlgorithm = firstPhaseAlgorithm;
+			this.supported = supported;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.scalarization == null) {
+				this.scalarization = this.annotator.scalarize(new double[] {
+						1.0, 0.0 });
+			}
+			G o_mst = computeSupportedPoint(this.original, this.leftNeighbor,
+					this.rightNeighbor, this.annotator, this.scalarization,
+					this.firstPhaseAlgorithm);
+			if (o_mst == null) {
+				return;
+			}
+			// o_mst is shared by both subtasks
+			o_mst.hashCode();
+			this.supported.add(o_mst);
+
+			SupportedPointsTask left = new SupportedPointsTask(this.original,
+					this.leftNeighbor, o_mst, this.annotator, null,
+					this.firstPhaseAlgorithm, this.supported);
+			left.fork();
+			new SupportedPointsTask(this.original, o_mst, this.rightNeighbor,
+					this.annotator, this.scalarization,
+					this.firstPhaseAlgorithm, this.supported).compute();
+			left.join();
+		}
+	}
+}
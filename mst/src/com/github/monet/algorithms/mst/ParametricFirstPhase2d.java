@@ -0,0 +1,371 @@
+package com.github.monet.algorithms.mst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.github.monet.datastructures.ArrayUnionFind;
+import com.github.monet.datastructures.KineticLinkCutTree;
+import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.GraphIndex;
+import com.github.monet.graph.IndexedDaryHeap;
+import com.github.monet.graph.ParetoFront;
+import com.github.monet.graph.interfaces.FirstPhaseAlgorithm;
+import com.github.monet.graph.interfaces.Graph;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.interfaces.UndirectedEdge;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+import com.github.monet.graph.weighted.WeightedEdgesCalculator;
+
+/**
+ * First phase computing all extreme supported spanning trees in one sweep of
+ * the weighting (1 - lambda) c1 + lambda c2 from lambda = 0 to 1.
+ *
+ * The sweep starts with the lexicographically minimal tree for (c1, c2).
+ * While lambda grows, the tree only changes at breakpoints where a non-tree
+ * edge f becomes cheaper than a tree edge e on the tree path between the end
+ * nodes of f; the tree then becomes T - e + f. The first such e is always the
+ * heaviest edge on the path of f, so the tree is kept in a link-cut tree
+ * answering path maxima. Every non-tree edge keeps the lambda at which it
+ * overtakes the heaviest edge on its path in a heap, or, if the heaviest
+ * edge changes before that, the lambda at which it has to be checked again.
+ * An exchange only changes the tree paths of the non-tree edges crossing the
+ * cut of e, so only their events are recomputed. The cut is found by
+ * searching both sides of T - e in lockstep until the smaller one is
+ * complete, which takes time linear in the edges at the nodes of the smaller
+ * side.
+ *
+ * Exchanging the edges and computing an event take O(log n) amortized time,
+ * so a breakpoint costs O(|C| (log n + log m)) on top of the cut search, for
+ * the set C of crossing edges, independent of the height of the tree. The
+ * link-cut tree additionally recomputes its path maxima when two weights on
+ * a path cross, which also causes the checks of non-tree edges without an
+ * exchange.
+ *
+ * A tree is reported if it is optimal on an open interval of lambda, so
+ * every extreme supported point is reported exactly once and trees in the
+ * interior of a face are skipped. Breakpoints are compared exactly, which
+ * is reliable for integral weights.
+ *
+ * @param <N> type of node
+ * @param <E> type of edge
+ * @param <G> type of graph
+ */
+public class ParametricFirstPhase2d<N extends Node, E extends UndirectedEdge, G extends Graph<N, E, G>>
+		implements FirstPhaseAlgorithm<N, E, G> {
+
+	@Override
+	public ParetoFront<N, E, G> firstPhase(AnnotatedGraph<N, E, G> graph,
+			String weightAnnotationName) {
+
+		G g = graph.getGraph();
+		@SuppressWarnings("unchecked")
+		GraphElementAnnotator<E, Weight> boxed_weights = graph.getAnnotator(
+				weightAnnotationName, GraphElementAnnotator.class);
+		GraphElementWeightAnnotator<E> weights = new GraphElementWeightAnnotator<>(
+				boxed_weights);
+		WeightedEdgesCalculator<N, E, G> wec = new WeightedEdgesCalculator<>(
+				weights);
+		ParetoFront<N, E, G> paretoFront = new ParetoFront<>(wec);
+
+		Sweep sweep = new Sweep(new GraphIndex<>(g), weights);
+		sweep.run();
+		sweep.collect(g, paretoFront);
+		return paretoFront;
+	}
+
+	/**
+	 * State of one sweep over a graph.
+	 */
+	private class Sweep {
+
+		private final GraphIndex<N, E> index;
+		private final int[] first, second;
+		private final double[] c1, c2;
+
+		/**
+		 * Tree of the sweep position, and its edges before the first
+		 * exchange
+		 */
+		private final boolean[] inTree, initialTree;
+		private KineticLinkCutTree tree;
+
+		/**
+		 * Non-tree edges by lambda of their next exchange, and the tree edge
+		 * they replace, -1 if they only have to be checked again
+		 */
+		private final IndexedDaryHeap<Integer> events;
+		private final int[] partner;
+
+		/**
+		 * Exchanges in sweep order: lambda, edge leaving and edge entering
+		 * the tree
+		 */
+		private double[] lambdas;
+		private int[] removed, inserted;
+		private int numExchanges;
+
+		/**
+		 * Side of every node visited by the last cut search
+		 */
+		private final int[] side;
+		private int stamp;
+		private final int[] queue, otherQueue;
+
+		/**
+		 * Non-tree edges crossing the last cut
+		 */
+		private final int[] cut;
+
+		Sweep(GraphIndex<N, E> index, GraphElementWeightAnnotator<E> weights) {
+			this.index = index;
+			int n = index.getNumNodes();
+			int m = index.getNumEdges();
+			this.first = new int[m];
+			this.second = new int[m];
+			this.c1 = new double[m];
+			this.c2 = new double[m];
+			for (int i = 0; i < m; i++) {
+				this.first[i] = index.getFirstIndex(i);
+				this.second[i] = index.getSecondIndex(i);
+				E e = index.getEdge(i);
+				this.c1[i] = weights.getWeight(e, 0);
+				this.c2[i] = weights.getWeight(e, 1);
+			}
+			this.inTree = new boolean[m];
+			this.initialTree = new boolean[m];
+			this.events = new IndexedDaryHeap<>(m);
+			this.partner = new int[m];
+			this.lambdas = new double[16];
+			this.removed = new int[16];
+			this.inserted = new int[16];
+			this.side = new int[n];
+			this.queue = new int[n];
+			this.otherQueue = new int[n];
+			this.cut = new int[m];
+		}
+
+		void run() {
+			int n = this.index.getNumNodes();
+			int m = this.index.getNumEdges();
+
+			// Kruskal on the lexicographic order (c1, c2, edge number)
+			Integer[] order = new Integer[m];
+			for (int i = 0; i < m; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer i, Integer j) {
+					int c = Double.compare(c1[i], c1[j]);
+					if (c == 0) {
+						c = Double.compare(c2[i], c2[j]);
+					}
+					return (c != 0) ? c : Integer.compare(i, j);
+				}
+			});
+			ArrayList<N> nodes = new ArrayList<>(n);
+			for (int u = 0; u < n; u++) {
+				nodes.add(this.index.getNode(u));
+			}
+			ArrayUnionFind<N> unionFind = new ArrayUnionFind<>(nodes);
+			for (int k = 0, size = 0; k < m && size < n - 1; k++) {
+				int e = order[k];
+				int n1 = unionFind.findId(this.first[e]);
+				int n2 = unionFind.findId(this.second[e]);
+				if (n1 != n2) {
+					unionFind.unionIds(n1, n2);
+					this.inTree[e] = true;
+					size++;
+				}
+			}
+			System.arraycopy(this.inTree, 0, this.initialTree, 0, m);
+			this.tree = new KineticLinkCutTree(n, this.c1, this.c2);
+			for (int e = 0; e < m; e++) {
+				if (this.inTree[e]) {
+					this.tree.link(e, this.first[e], this.second[e]);
+				}
+			}
+
+			for (int f = 0; f < m; f++) {
+				if (!this.inTree[f]) {
+					schedule(f, 0.0);
+				}
+			}
+
+			while (this.events.getSize() > 0) {
+				double lambda = this.events.peekPriority();
+				int f = this.events.poll();
+				int e = this.partner[f];
+				this.tree.advance(lambda);
+				if (e == -1) {
+					schedule(f, lambda);
+					continue;
+				}
+				int numCut = findCut(e);
+				this.tree.cut(e, this.first[e], this.second[e]);
+				this.tree.link(f, this.first[f], this.second[f]);
+				this.inTree[e] = false;
+				this.inTree[f] = true;
+				record(lambda, e, f);
+
+				// Only the paths of the edges crossing the cut have changed
+				schedule(e, lambda);
+				for (int i = 0; i < numCut; i++) {
+					if (this.cut[i] != f) {
+						schedule(this.cut[i], lambda);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Computes the next exchange of non-tree edge f at or after lambda,
+		 * the current lambda of the tree, and updates its event.
+		 */
+		private void schedule(int f, double lambda) {
+			int e = this.tree.pathMax(this.first[f], this.second[f]);
+			double expiry = this.tree.getPathExpiry();
+			double breakpoint = Double.POSITIVE_INFINITY;
+			if (e != -1) {
+				// w(f) - w(e) = d1 + lambda (d2 - d1) becomes negative
+				double d1 = this.c1[f] - this.c1[e];
+				double slope = (this.c2[f] - this.c2[e]) - d1;
+				if (slope < 0) {
+					breakpoint = Math.max(d1 / -slope, lambda);
+				}
+			}
+
+			// At lambda = 1, ties in c2 are broken by c1, so exchanges there
+			// would only make the tree worse
+			if (breakpoint < expiry && breakpoint < 1.0) {
+				this.partner[f] = e;
+				setEvent(f, breakpoint);
+			} else if (breakpoint >= expiry && expiry < 1.0) {
+				// e stops being the heaviest edge on the path before f
+				// overtakes it
+				this.partner[f] = -1;
+				setEvent(f, expiry);
+			} else {
+				this.events.remove(f);
+			}
+		}
+
+		private void setEvent(int f, double lambda) {
+			if (!this.events.update(f, lambda)) {
+				this.events.add(f, lambda);
+			}
+		}
+
+		/**
+		 * Finds the non-tree edges crossing the cut of tree edge e by
+		 * searching both sides of T - e until one of them is complete.
+		 *
+		 * @return number of crossing edges, which are stored at the front of
+		 *         cut
+		 */
+		private int findCut(int e) {
+			if (this.stamp >= Integer.MAX_VALUE - 2) {
+				Arrays.fill(this.side, 0);
+				this.stamp = 0;
+			}
+			int mine = ++this.stamp;
+			int theirs = ++this.stamp;
+			int[] a = this.queue;
+			int[] b = this.otherQueue;
+			a[0] = this.first[e];
+			b[0] = this.second[e];
+			this.side[a[0]] = mine;
+			this.side[b[0]] = theirs;
+			int beginA = 0;
+			int endA = 1;
+			int beginB = 0;
+			int endB = 1;
+			while (beginA < endA && beginB < endB) {
+				endA = expand(a[beginA++], e, a, endA, mine);
+				endB = expand(b[beginB++], e, b, endB, theirs);
+			}
+			if (beginA < endA) {
+				// Side b is complete
+				a = b;
+				endA = endB;
+				mine = theirs;
+			}
+
+			// Collect the crossing edges from the complete side
+			int numCut = 0;
+			for (int k = 0; k < endA; k++) {
+				int u = a[k];
+				for (int slot = this.index.getRowBegin(u); slot < this.index
+						.getRowEnd(u); slot++) {
+					int f = this.index.getSlotEdge(slot);
+					if (!this.inTree[f] && this.side[this.index.getSlotNode(slot)] != mine) {
+						this.cut[numCut++] = f;
+					}
+				}
+			}
+			return numCut;
+		}
+
+		/**
+		 * Appends the unvisited tree neighbours of u except over edge e to
+		 * the queue.
+		 *
+		 * @return new end of the queue
+		 */
+		private int expand(int u, int e, int[] queue, int end, int mark) {
+			for (int slot = this.index.getRowBegin(u); slot < this.index
+					.getRowEnd(u); slot++) {
+				int f = this.index.getSlotEdge(slot);
+				int v = this.index.getSlotNode(slot);
+				if (this.inTree[f] && f != e && this.side[v] != mark) {
+					this.side[v] = mark;
+					queue[end++] = v;
+				}
+			}
+			return end;
+		}
+
+		private void record(double lambda, int e, int f) {
+			if (this.numExchanges == this.lambdas.length) {
+				int capacity = 2 * this.numExchanges;
+				this.lambdas = Arrays.copyOf(this.lambdas, capacity);
+				this.removed = Arrays.copyOf(this.removed, capacity);
+				this.inserted = Arrays.copyOf(this.inserted, capacity);
+			}
+			this.lambdas[this.numExchanges] = lambda;
+			this.removed[this.numExchanges] = e;
+			this.inserted[this.numExchanges] = f;
+			this.numExchanges++;
+		}
+
+		/**
+		 * Replays the exchanges and adds every tree which is optimal on an
+		 * open interval of lambda to paretoFront.
+		 */
+		void collect(G g, ParetoFront<N, E, G> paretoFront) {
+			boolean[] tree = this.initialTree.clone();
+			for (int k = 0; k <= this.numExchanges; k++) {
+				if (k > 0) {
+					tree[this.removed[k - 1]] = false;
+					tree[this.inserted[k - 1]] = true;
+				}
+				// The tree after exchange k is optimal until the next
+				// exchange, the last one until lambda = 1
+				if (k < this.numExchanges
+						&& this.lambdas[k] == (k > 0 ? this.lambdas[k - 1] : 0.0)) {
+					continue;
+				}
+				ArrayList<E> edges = new ArrayList<>();
+				for (int i = 0; i < tree.length; i++) {
+					if (tree[i]) {
+						edges.add(this.index.getEdge(i));
+					}
+				}
+				paretoFront.add(g.getSubgraph(g.getAllNodes(), edges));
+			}
+		}
+	}
+}
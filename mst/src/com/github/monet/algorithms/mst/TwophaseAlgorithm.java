@@ -3,7 +3,13 @@ package com.github.monet.algorithms.mst;
 import java.util.ArrayList;
 import java.util.Map;
 
+import com.github.monet.algorithms.DensePrim;
+import com.github.monet.algorithms.FilterKruskal;
+import com.github.monet.algorithms.Kruskal;
+import com.github.monet.algorithms.WarmStartKruskal;
 import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.CompactParetoFront;
+import com.github.monet.graph.UndirectedSubgraphView;
 import com.github.monet.graph.interfaces.FirstPhaseAlgorithm;
 import com.github.monet.graph.interfaces.GraphElementAnnotator;
 import com.github.monet.graph.interfaces.Node;
@@ -26,10 +32,38 @@ public class TwophaseAlgorithm<N extends Node, E extends UndirectedEdge, G exten
 
 	protected AnnotatedGraph<N, E, G> annotatedGraph;
 	protected FirstPhaseAlgorithm<N, E, G> firstPhase;
+	protected UniobjectiveAlgorithm<N, E, G, E> uniobjectiveAlgorithm;
 
+	/**
+	 * True if the caller has chosen the uniobjective algorithm, which is then
+	 * never replaced by dense Prim, Filter-Kruskal or the warm-started Kruskal
+	 */
+	private final boolean algorithmChosen;
+
+	/**
+	 * Chooses the uniobjective algorithm by the parameters and the input:
+	 * Kruskal or Filter-Kruskal, dense Prim on dense graphs, or the
+	 * warm-started Kruskal.
+	 */
+	public TwophaseAlgorithm() {
+		this(new Kruskal<N, E, G>(), false);
+	}
+
+	/**
+	 * @param uniobjectiveAlgorithm algorithm computing the minimum spanning
+	 * trees of the first phase for every input
+	 */
 	public TwophaseAlgorithm(
 			UniobjectiveAlgorithm<N, E, G, E> uniobjectiveAlgorithm) {
+		this(uniobjectiveAlgorithm, true);
+	}
+
+	private TwophaseAlgorithm(
+			UniobjectiveAlgorithm<N, E, G, E> uniobjectiveAlgorithm,
+			boolean algorithmChosen) {
+		this.uniobjectiveAlgorithm = uniobjectiveAlgorithm;
 		this.firstPhase = new FirstPhase2d<>(uniobjectiveAlgorithm);
+		this.algorithmChosen = algorithmChosen;
 	}
 
 	@Override
@@ -61,7 +95,7 @@ public class TwophaseAlgorithm<N extends Node, E extends UndirectedEdge, G exten
 					+ "' (edge weights) not found.");
 			throw new Exception("Input validation failed");
 		}
-		GraphElementWeightAnnotator weights = new GraphElementWeightAnnotator(
+		GraphElementWeightAnnotator<E> weights = new GraphElementWeightAnnotator<>(
 				boxed_weights);
 		if (weights.getDimension() < 2) {
 			log.error("Input weight dimension " + String.valueOf(weights.
@@ -91,21 +125,233 @@ public class TwophaseAlgorithm<N extends Node, E extends UndirectedEdge, G exten
 					"Value of parameter secondPhase is invalid. Valid values are: 'kbest', 'branchbound'");
 			throw new Exception("Input validation failed");
 		}
-		SecondPhaseAlgorithm<N, E, G> secondPhase;
+
+		// Parameter: Subgraph views
+		boolean paraSubgraphViews = true;
+		if (parameters.containsKey("subgraphViews")) {
+			paraSubgraphViews = Boolean.parseBoolean(String.valueOf(parameters.
+					get("subgraphViews")));
+		} else {
+			log.info("Parameter 'subgraphViews' not set. Default value is '"
+					+ paraSubgraphViews + "'.");
+		}
+
+		// Parameter: Dense Prim threshold
+		double paraDensePrimThreshold = 0.25;
+		if (parameters.containsKey("densePrimThreshold")) {
+			try {
+				paraDensePrimThreshold = Double.parseDouble(String.valueOf(
+						parameters.get("densePrimThreshold")));
+			} catch (NumberFormatException e) {
+				paraDensePrimThreshold = Double.NaN;
+			}
+		} else {
+			log.info("Parameter 'densePrimThreshold' not set. Default value is '"
+					+ paraDensePrimThreshold + "'.");
+		}
+		if (Double.isNaN(paraDensePrimThreshold)) {
+			log.error(
+					"Value of parameter densePrimThreshold is invalid. Valid values are: numbers, negative ones disable dense Prim");
+			throw new Exception("Input validation failed");
+		}
+
+		// Parameter: Archive capacity
+		int paraArchiveCapacity = 0;
+		if (parameters.containsKey("archiveCapacity")) {
+			try {
+				paraArchiveCapacity = Integer.parseInt(String.valueOf(
+						parameters.get("archiveCapacity")));
+			} catch (NumberFormatException e) {
+				paraArchiveCapacity = -1;
+			}
+		} else {
+			log.info("Parameter 'archiveCapacity' not set. Default value is '"
+					+ paraArchiveCapacity + "'.");
+		}
+		if (paraArchiveCapacity != 0 && paraArchiveCapacity < 2) {
+			log.error(
+					"Value of parameter archiveCapacity is invalid. Valid values are: 0, or at least 2");
+			throw new Exception("Input validation failed");
+		}
+
+		// Parameter: First phase threads
+		int paraFirstPhaseThreads = 1;
+		if (parameters.containsKey("firstPhaseThreads")) {
+			try {
+				paraFirstPhaseThreads = Integer.parseInt(String.valueOf(
+						parameters.get("firstPhaseThreads")));
+			} catch (NumberFormatException e) {
+				paraFirstPhaseThreads = 0;
+			}
+		} else {
+			log.info("Parameter 'firstPhaseThreads' not set. Default value is '"
+					+ paraFirstPhaseThreads + "'.");
+		}
+		if (paraFirstPhaseThreads < 1) {
+			log.error(
+					"Value of parameter firstPhaseThreads is invalid. Valid values are: integers of at least 1");
+			throw new Exception("Input validation failed");
+		}
+
+		// Parameter: First phase
+		String paraFirstPhaseString = "dichotomic";
+		if (parameters.containsKey("firstPhase")) {
+			paraFirstPhaseString = String.valueOf(parameters.get("firstPhase"));
+		} else {
+			log.info("Parameter 'firstPhase' not set. Default value is '"
+					+ paraFirstPhaseString + "'.");
+		}
+		if (!paraFirstPhaseString.equals("dichotomic") && !paraFirstPhaseString.
+				equals("parametric")) {
+			log.error(
+					"Value of parameter firstPhase is invalid. Valid values are: 'dichotomic', 'parametric'");
+			throw new Exception("Input validation failed");
+		}
+		boolean paraParametric = paraFirstPhaseString.equals("parametric");
+
+		// Parameter: Warm start
+		boolean paraWarmStart = false;
+		if (parameters.containsKey("warmStart")) {
+			paraWarmStart = Boolean.parseBoolean(String.valueOf(parameters.
+					get("warmStart")));
+		} else {
+			log.info("Parameter 'warmStart' not set. Default value is '"
+					+ paraWarmStart + "'.");
+		}
+		// Parameter: Filter-Kruskal
+		boolean paraFilterKruskal = false;
+		if (parameters.containsKey("filterKruskal")) {
+			paraFilterKruskal = Boolean.parseBoolean(String.valueOf(parameters.
+					get("filterKruskal")));
+		} else {
+			log.info("Parameter 'filterKruskal' not set. Default value is '"
+					+ paraFilterKruskal + "'.");
+		}
+
+		if (paraParametric && (paraFirstPhaseThreads > 1 || paraWarmStart)) {
+			log.error(
+					"Parameters firstPhaseThreads and warmStart only apply to firstPhase 'dichotomic'");
+			throw new Exception("Input validation failed");
+		}
+
+		// Dense inputs are handled by the array scan Prim, which needs
+		// neither a heap nor an edge sort
+		UniobjectiveAlgorithm<N, E, G, E> algorithm = this.uniobjectiveAlgorithm;
+		if (paraParametric) {
+			log.info("The parametric first phase computes no minimum spanning "
+					+ "trees, densePrimThreshold and filterKruskal are not used.");
+		} else if (this.algorithmChosen) {
+			log.info("Uniobjective algorithm "
+					+ algorithm.getClass().getSimpleName()
+					+ " has been chosen by the caller, densePrimThreshold, "
+					+ "filterKruskal and warmStart are not used.");
+		} else if (paraWarmStart && paraFirstPhaseThreads <= 1) {
+			// Consecutive directions of the dichotomic search reorder few
+			// edges, but the warm-started Kruskal keeps state and runs
+			// serially only
+			log.info("Using warm-started Kruskal as uniobjective algorithm.");
+			if (paraFilterKruskal) {
+				log.info("filterKruskal is not used with warmStart.");
+			}
+			algorithm = new WarmStartKruskal<>();
+		} else {
+			if (paraWarmStart) {
+				log.info("warmStart is not used with more than one first phase thread.");
+			}
+			double density = DensePrim.density(this.annotatedGraph.getGraph());
+			boolean dense = paraDensePrimThreshold >= 0
+					&& density >= paraDensePrimThreshold;
+			if (dense && !DensePrim.fitsMatrix(this.annotatedGraph.getGraph())) {
+				// The n x n matrix would exceed the memory budget
+				log.info("Edge density " + density
+						+ " reaches densePrimThreshold, but dense Prim is not "
+						+ "used on graphs with more than " + DensePrim.MAX_NODES
+						+ " nodes.");
+				dense = false;
+			}
+			if (dense) {
+				log.info("Edge density " + density
+						+ " reaches densePrimThreshold, "
+						+ "using dense Prim as uniobjective algorithm.");
+				algorithm = new DensePrim<>();
+			} else if (paraFilterKruskal) {
+				// Filters the heavy edges instead of sorting all of them
+				log.info("Using Filter-Kruskal as uniobjective algorithm.");
+				algorithm = new FilterKruskal<>();
+			}
+		}
+
+		if (paraSubgraphViews) {
+			// Both phases create lots of subgraphs of the input graph, views
+			// avoid copying it every time
+			UndirectedSubgraphView<N, E> view = new UndirectedSubgraphView<>(
+					this.annotatedGraph.getGraph());
+			AnnotatedGraph<N, E, UndirectedSubgraphView<N, E>> viewGraph
+					= new AnnotatedGraph<>(view);
+			viewGraph.addAnnotator(paraWeightString, boxed_weights);
+			// The uniobjective algorithms do not depend on the graph type
+			@SuppressWarnings("unchecked")
+			UniobjectiveAlgorithm<N, E, UndirectedSubgraphView<N, E>, E> viewAlgorithm
+					= (UniobjectiveAlgorithm<N, E, UndirectedSubgraphView<N, E>, E>) (UniobjectiveAlgorithm<?, ?, ?, ?>) algorithm;
+			this.<UndirectedSubgraphView<N, E>>run(job, meter, viewGraph,
+					createFirstPhase(viewAlgorithm, paraFirstPhaseThreads,
+							paraParametric),
+					paraWeightString, paraSecondPhaseString, paraArchiveCapacity,
+					weights);
+		} else {
+			FirstPhaseAlgorithm<N, E, G> firstPhase = (algorithm == this.uniobjectiveAlgorithm
+					&& paraFirstPhaseThreads <= 1 && !paraParametric) ? this.firstPhase
+					: createFirstPhase(algorithm, paraFirstPhaseThreads,
+							paraParametric);
+			this.<G>run(job, meter, this.annotatedGraph, firstPhase,
+					paraWeightString, paraSecondPhaseString, paraArchiveCapacity,
+					weights);
+		}
+	}
+
+	/**
+	 * @return parametric sweep, or dichotomic first phase running on the given
+	 *         number of threads
+	 */
+	private <H extends UndirectedGraph<N, E, H>> FirstPhaseAlgorithm<N, E, H> createFirstPhase(
+			UniobjectiveAlgorithm<N, E, H, E> algorithm, int threads,
+			boolean parametric) {
+		if (parametric) {
+			return new ParametricFirstPhase2d<>();
+		}
+		if (threads > 1) {
+			return new ParallelFirstPhase2d<>(algorithm, threads,
+					ParallelFirstPhase2d.DEFAULT_THRESHOLD);
+		}
+		return new FirstPhase2d<>(algorithm);
+	}
+
+	private <H extends UndirectedGraph<N, E, H>> void run(Job job, Meter meter,
+			AnnotatedGraph<N, E, H> graph, FirstPhaseAlgorithm<N, E, H> firstPhase,
+			String paraWeightString, String paraSecondPhaseString,
+			int paraArchiveCapacity, GraphElementWeightAnnotator<E> weights) throws Exception {
+
+		Logger log = job.getLogger();
+
+		SecondPhaseAlgorithm<N, E, H> secondPhase;
 		switch (paraSecondPhaseString) {
 			case "branchbound":
-				secondPhase = new BranchBound<>();
+				BranchBound<N, E, H> branchBound = new BranchBound<>();
+				branchBound.setArchiveCapacity(paraArchiveCapacity);
+				secondPhase = branchBound;
 				break;
 			default:
 			case "kbest":
-				secondPhase = new KBestSecondPhase<>();
+				KBestSecondPhase<N, E, H> kBest = new KBestSecondPhase<>();
+				kBest.setArchiveCapacity(paraArchiveCapacity);
+				secondPhase = kBest;
 		}
 
 		// Execution of first phase
 		job.setState("executing: first phase");
 		meter.startTimer("firstPhase");
-		ParetoSet<N, E, G> firstPhaseResult = this.firstPhase.firstPhase(
-				this.annotatedGraph, paraWeightString);
+		ParetoSet<N, E, H> firstPhaseResult = firstPhase.firstPhase(
+				graph, paraWeightString);
 		meter.stopTimer("firstPhase");
 		log.info("Found " + firstPhaseResult.size()
 				+ " extreme efficient solutions in first phase.");
@@ -113,8 +359,8 @@ public class TwophaseAlgorithm<N extends Node, E extends UndirectedEdge, G exten
 		// Execution of second phase
 		job.setState("executing: second phase (" + paraSecondPhaseString + ")");
 		meter.startTimer("secondPhase");
-		ParetoSet<N, E, G> secondPhaseResult = secondPhase.secondPhase(
-				this.annotatedGraph, paraWeightString, firstPhaseResult);
+		ParetoSet<N, E, H> secondPhaseResult = secondPhase.secondPhase(
+				graph, paraWeightString, firstPhaseResult);
 		meter.stopTimer("secondPhase");
 		log.info("Found " + secondPhaseResult.size()
 				+ " non-extreme efficient solutions in second phase.");
@@ -122,30 +368,36 @@ public class TwophaseAlgorithm<N extends Node, E extends UndirectedEdge, G exten
 		job.setState("writing output");
 		{
 			log.info("measuring pareto");
-			ArrayList<G> allSolutions = new ArrayList<>(firstPhaseResult);
-			allSolutions.addAll(secondPhaseResult);
-			for (G g : allSolutions)
-			{
-				double[] objectiveArray = weights.sum(g.getAllEdges()).getWeights();
-				ArrayList<String> edgeList = new ArrayList<>();
-				for(E e : g.getAllEdges())
-				{
-					edgeList.add(e.toString());
+			// One solution at a time, so the whole front never exists as
+			// graph objects
+			for (H g : firstPhaseResult) {
+				measurePareto(meter, weights.sum(g.getAllEdges()),
+						g.getAllEdges());
+			}
+			if (secondPhaseResult instanceof CompactParetoFront) {
+				CompactParetoFront<N, E, H> compact =
+						(CompactParetoFront<N, E, H>) secondPhaseResult;
+				for (Weight cost : compact.keySet()) {
+					measurePareto(meter, cost, compact.getEdges(cost));
+				}
+			} else {
+				for (H g : secondPhaseResult) {
+					measurePareto(meter, weights.sum(g.getAllEdges()),
+							g.getAllEdges());
 				}
-				meter.measurePareto(objectiveArray, edgeList);
 			}
 		}
 		{
 			log.info("printing extreme efficient (legacy)");
 			int i = 0;
-			for (G g : firstPhaseResult) {
+			for (H g : firstPhaseResult) {
+				Weight cost = weights.sum(g.getAllEdges());
 				meter.measureString("/solutions/extreme_efficient/" + String.
 						valueOf(i) + "/graph", g.toString());
 				meter.measureDouble("/solutions/extreme_efficient/" + String.
-						valueOf(i) + "/objective_value", weights.sum(g.
-						getAllEdges()).getWeights());
-				String s = String.valueOf(weights.sum(g.getAllEdges()).getWeight(0))
-						+ "," + String.valueOf(weights.sum(g.getAllEdges()).getWeight(1));
+						valueOf(i) + "/objective_value", cost.getWeights());
+				String s = String.valueOf(cost.getWeight(0))
+						+ "," + String.valueOf(cost.getWeight(1));
 				log.info(s);
 				i++;
 			}
@@ -153,17 +405,25 @@ public class TwophaseAlgorithm<N extends Node, E extends UndirectedEdge, G exten
 		{
 			log.info("printing non-extreme efficient (legacy)");
 			int i = 0;
-			for (G g : secondPhaseResult) {
+			for (H g : secondPhaseResult) {
+				Weight cost = weights.sum(g.getAllEdges());
 				meter.measureString("/solutions/extreme_efficient/" + String.
 						valueOf(i) + "/graph", g.toString());
 				meter.measureDouble("/solutions/non_extreme_efficient/"
-						+ String.valueOf(i) + "/objective_value", weights.sum(g.
-						getAllEdges()).getWeights());
-				String s = String.valueOf(weights.sum(g.getAllEdges()).getWeight(0))
-						+ "," + String.valueOf(weights.sum(g.getAllEdges()).getWeight(1));
+						+ String.valueOf(i) + "/objective_value", cost.getWeights());
+				String s = String.valueOf(cost.getWeight(0))
+						+ "," + String.valueOf(cost.getWeight(1));
 				log.info(s);
 				i++;
 			}
 		}
 	}
+
+	private void measurePareto(Meter meter, Weight cost, Iterable<E> edges) {
+		ArrayList<String> edgeList = new ArrayList<>();
+		for (E e : edges) {
+			edgeList.add(e.toString());
+		}
+		meter.measurePareto(cost.getWeights(), edgeList);
+	}
 }
@@ -6,6 +6,7 @@ package com.github.monet.algorithms.mst;
 
 import java.util.ArrayList;
 
+import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 import com.github.monet.graph.AnnotatedGraph;
 import com.github.monet.graph.ParetoFront;
@@ -109,5 +110,58 @@ public class BranchBoundTest {
 		assertTrue(efficient.contains(e3));
 		assertTrue(efficient.contains(e5));
 		assertTrue(efficient.contains(e8));
+
+		// The archive holds the extreme efficient solutions as well, the two
+		// outermost ones are never evicted
+		bb.setArchiveCapacity(7);
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> bounded =
+				bb.secondPhase(ag, "WEIGHTS", extremeEfficient);
+		assertEquals(3, bounded.size());
+		assertTrue(bounded.contains(e3));
+		assertTrue(bounded.contains(e5));
+		assertTrue(bounded.contains(e8));
+		assertNonDominated(calc, bounded, extremeEfficient);
+
+		// Non-extreme solutions are kept by decreasing hypervolume
+		// contribution, e8 at (22, 36) contributes least, then e3 at (28, 28)
+		bb.setArchiveCapacity(6);
+		bounded = bb.secondPhase(ag, "WEIGHTS", extremeEfficient);
+		assertEquals(2, bounded.size());
+		assertTrue(bounded.contains(e3));
+		assertTrue(bounded.contains(e5));
+		assertNonDominated(calc, bounded, extremeEfficient);
+		bb.setArchiveCapacity(5);
+		bounded = bb.secondPhase(ag, "WEIGHTS", extremeEfficient);
+		assertEquals(1, bounded.size());
+		assertTrue(bounded.contains(e5));
+		assertNonDominated(calc, bounded, extremeEfficient);
+
+		// The four extreme solutions fill the archive, every other solution
+		// found is evicted again
+		bb.setArchiveCapacity(4);
+		assertTrue(bb.secondPhase(ag, "WEIGHTS", extremeEfficient).isEmpty());
+	}
+
+	/**
+	 * Asserts that the solutions of the archive, which are the returned
+	 * solutions together with the extreme ones, are mutually non-dominated.
+	 */
+	private static void assertNonDominated(
+			WeightedEdgesCalculator<SimpleNode, SimpleEdge, SimpleUndirectedGraph> calc,
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> found,
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> extreme) {
+		ArrayList<Weight> archive = new ArrayList<>();
+		for (SimpleUndirectedGraph s : found) {
+			archive.add(calc.calculateCosts(s));
+		}
+		for (SimpleUndirectedGraph s : extreme) {
+			archive.add(calc.calculateCosts(s));
+		}
+		for (Weight a : archive) {
+			for (Weight b : archive) {
+				assertTrue(a == b
+						|| a.dominates(b) != Weight.DominationRelation.PARETO_SMALLER);
+			}
+		}
 	}
 }
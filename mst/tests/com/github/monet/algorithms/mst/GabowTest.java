@@ -1,12 +1,21 @@
 package com.github.monet.algorithms.mst;
 
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import com.github.monet.algorithms.Kruskal;
+import com.github.monet.datastructures.ArrayUnionFind;
 import com.github.monet.generator.CompleteGraphGenerator;
 import com.github.monet.generator.GridGraphGenerator;
 import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.GraphElementHashAnnotator;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
@@ -69,6 +78,176 @@ public class GabowTest {
 
 	}
 
+	@Test
+	public void testEnumeratesAllTrees() {
+		Random random = new Random(41);
+		for (int run = 0; run < 20; run++) {
+			int n = 3 + random.nextInt(4);
+			SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+			List<SimpleNode> nodes = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				nodes.add(graph.addNode());
+			}
+			// A path through all nodes and some chords, few distinct weights
+			GraphElementHashAnnotator<SimpleEdge, Weight> an = new GraphElementHashAnnotator<>();
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					if (j == i + 1 || random.nextInt(3) > 0) {
+						an.setAnnotation(graph.addEdge(nodes.get(i), nodes.get(j)),
+								new Weight((double) random.nextInt(4)));
+					}
+				}
+			}
+			GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(an);
+
+			Set<Set<SimpleEdge>> expected = new HashSet<>();
+			enumerateSpanningTrees(graph, new ArrayList<>(graph.getAllEdges()),
+					0, new ArrayList<SimpleEdge>(), expected);
+			Set<SimpleEdge> minimum = new HashSet<>();
+			for (SimpleEdge e : new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+					.computeUniobjectiveOptimum(graph, weights)) {
+				minimum.add(e);
+			}
+			assertTrue(expected.remove(minimum));
+
+			// Every other spanning tree exactly once, by increasing weight
+			Gabow<SimpleNode, SimpleEdge, SimpleUndirectedGraph> gabow = new Gabow<>(graph, weights);
+			double previous = weights.sum(minimum).getFirstWeight();
+			SimpleUndirectedGraph tree;
+			while ((tree = gabow.generate()) != null) {
+				Set<SimpleEdge> edges = new HashSet<>(tree.getAllEdges());
+				assertEquals(n - 1, edges.size());
+				assertTrue(expected.remove(edges));
+				double weight = weights.sum(edges).getFirstWeight();
+				assertTrue(weight >= previous);
+				previous = weight;
+			}
+			assertTrue(expected.isEmpty());
+		}
+	}
+
+	@Test
+	public void testDisconnected() {
+		// A triangle and a 4-cycle have 3 * 4 spanning forests
+		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		List<SimpleNode> nodes = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			nodes.add(graph.addNode());
+		}
+		GraphElementHashAnnotator<SimpleEdge, Weight> an = new GraphElementHashAnnotator<>();
+		int[][] ends = { { 0, 1 }, { 1, 2 }, { 2, 0 }, { 3, 4 }, { 4, 5 },
+				{ 5, 6 }, { 6, 3 } };
+		for (int i = 0; i < ends.length; i++) {
+			an.setAnnotation(graph.addEdge(nodes.get(ends[i][0]),
+					nodes.get(ends[i][1])), new Weight((double) (i % 3)));
+		}
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(an);
+
+		// Every forest exactly once, by increasing weight
+		Set<Set<SimpleEdge>> forests = new HashSet<>();
+		Set<SimpleEdge> minimum = new HashSet<>();
+		for (SimpleEdge e : new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+				.computeUniobjectiveOptimum(graph, weights)) {
+			minimum.add(e);
+		}
+		forests.add(minimum);
+
+		Gabow<SimpleNode, SimpleEdge, SimpleUndirectedGraph> gabow = new Gabow<>(graph, weights);
+		double previous = weights.sum(minimum).getFirstWeight();
+		SimpleUndirectedGraph forest;
+		while ((forest = gabow.generate()) != null) {
+			Set<SimpleEdge> edges = new HashSet<>(forest.getAllEdges());
+			assertEquals(5, edges.size());
+			ArrayUnionFind<SimpleNode> components = new ArrayUnionFind<>(
+					graph.getAllNodes());
+			for (SimpleEdge e : edges) {
+				assertFalse(components.find(e.u).equals(components.find(e.v)));
+				components.union(e.u, e.v);
+			}
+			assertTrue(forests.add(edges));
+			double weight = weights.sum(edges).getFirstWeight();
+			assertTrue(weight >= previous);
+			previous = weight;
+		}
+		assertEquals(12, forests.size());
+	}
+
+	@Test
+	public void testSnapshots() {
+		// K_5 has 125 spanning trees, enough for chains of branch records
+		// longer than the number of nodes
+		Random random = new Random(7);
+		SimpleUndirectedGraph graph = new SimpleUndirectedGraph();
+		List<SimpleNode> nodes = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			nodes.add(graph.addNode());
+		}
+		GraphElementHashAnnotator<SimpleEdge, Weight> an = new GraphElementHashAnnotator<>();
+		for (int i = 0; i < 5; i++) {
+			for (int j = i + 1; j < 5; j++) {
+				an.setAnnotation(graph.addEdge(nodes.get(i), nodes.get(j)),
+						new Weight((double) random.nextInt(5)));
+			}
+		}
+		GraphElementWeightAnnotator<SimpleEdge> weights = new GraphElementWeightAnnotator<>(an);
+
+		// Every partition stored as a snapshot, i.e. without persistence
+		Gabow<SimpleNode, SimpleEdge, SimpleUndirectedGraph> plain = new Gabow<>(
+				graph, weights, 0);
+		List<Set<SimpleEdge>> expected = kBest(plain);
+		assertEquals(124, expected.size());
+
+		Gabow<SimpleNode, SimpleEdge, SimpleUndirectedGraph> persistent = new Gabow<>(
+				graph, weights);
+		assertEquals(expected, kBest(persistent));
+		// More snapshots than the one of the minimum spanning tree
+		assertTrue(persistent.numSnapshots > 1);
+		assertTrue(persistent.numSnapshots < plain.numSnapshots);
+		for (int maxChain = 1; maxChain < 5; maxChain++) {
+			assertEquals(expected, kBest(new Gabow<SimpleNode, SimpleEdge, SimpleUndirectedGraph>(
+					graph, weights, maxChain)));
+		}
+	}
+
+	/**
+	 * @return edges of all trees generated by gabow, in their order
+	 */
+	private static List<Set<SimpleEdge>> kBest(
+			Gabow<SimpleNode, SimpleEdge, SimpleUndirectedGraph> gabow) {
+		List<Set<SimpleEdge>> trees = new ArrayList<>();
+		SimpleUndirectedGraph tree;
+		while ((tree = gabow.generate()) != null) {
+			trees.add(new HashSet<>(tree.getAllEdges()));
+		}
+		return trees;
+	}
+
+	/**
+	 * Adds all spanning trees made of chosen and edges from index k on to
+	 * trees.
+	 */
+	private static void enumerateSpanningTrees(SimpleUndirectedGraph graph,
+			List<SimpleEdge> edges, int k, List<SimpleEdge> chosen,
+			Set<Set<SimpleEdge>> trees) {
+		if (chosen.size() == graph.getNumNodes() - 1) {
+			ArrayUnionFind<SimpleNode> components = new ArrayUnionFind<>(
+					graph.getAllNodes());
+			for (SimpleEdge e : chosen) {
+				if (components.find(e.u).equals(components.find(e.v))) {
+					return;
+				}
+				components.union(e.u, e.v);
+			}
+			trees.add(new HashSet<>(chosen));
+			return;
+		}
+		for (int i = k; i < edges.size(); i++) {
+			chosen.add(edges.get(i));
+			enumerateSpanningTrees(graph, edges, i + 1, chosen, trees);
+			chosen.remove(chosen.size() - 1);
+		}
+	}
+
 	/**
 	 * Creates a dummy job which only consists of algorithm parameters
 	 */
@@ -1,14 +1,20 @@
 package com.github.monet.algorithms.mst;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
 
+import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
+import com.github.monet.algorithms.Kruskal;
 import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.GraphElementHashAnnotator;
 import com.github.monet.graph.ParetoFront;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
 import com.github.monet.graph.interfaces.GraphElementAnnotator;
+import com.github.monet.graph.interfaces.ParetoSet;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
 import com.github.monet.graph.weighted.Weight;
 import com.github.monet.graph.weighted.WeightedEdgesCalculator;
@@ -76,7 +82,7 @@ public class KBestSecondPhaseTest {
 		// Execute k-best second phase
 		KBestSecondPhase<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kbest =
 				new KBestSecondPhase<>();
-		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> efficient =
+		ParetoSet<SimpleNode, SimpleEdge, SimpleUndirectedGraph> efficient =
 				kbest.secondPhase(ag, "WEIGHTS", extremeEfficient);
 
 		// Construct non-extreme efficient solutions
@@ -105,4 +111,49 @@ public class KBestSecondPhaseTest {
 		assertTrue(efficient.contains(e5));
 		assertTrue(efficient.contains(e8));
 	}
+
+	@Test
+	public void testArchiveCapacity() {
+		Random random = new Random(43);
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode[] nodes = new SimpleNode[7];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = g.addNode();
+		}
+		GraphElementHashAnnotator<SimpleEdge, Weight> annotator =
+				new GraphElementHashAnnotator<>();
+		for (int i = 0; i < nodes.length; i++) {
+			for (int j = i + 1; j < nodes.length; j++) {
+				annotator.setAnnotation(g.addEdge(nodes[i], nodes[j]),
+						new Weight(new double[] { 100 * random.nextDouble(),
+								100 * random.nextDouble() }));
+			}
+		}
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+				new AnnotatedGraph<>(g);
+		ag.addAnnotator("WEIGHTS", new GraphElementWeightAnnotator<>(annotator));
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> extremeEfficient =
+				new FirstPhase2d<SimpleNode, SimpleEdge, SimpleUndirectedGraph>(
+						new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>())
+						.firstPhase(ag, "WEIGHTS");
+
+		KBestSecondPhase<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kbest =
+				new KBestSecondPhase<>();
+		ParetoSet<SimpleNode, SimpleEdge, SimpleUndirectedGraph> all =
+				kbest.secondPhase(ag, "WEIGHTS", extremeEfficient);
+		assertTrue(all.size() > 10);
+
+		// Nothing is evicted, so the search is not changed
+		kbest.setArchiveCapacity(all.size());
+		assertEquals(new HashSet<>(all), new HashSet<>(kbest.secondPhase(ag,
+				"WEIGHTS", extremeEfficient)));
+
+		kbest.setArchiveCapacity(5);
+		ParetoSet<SimpleNode, SimpleEdge, SimpleUndirectedGraph> bounded =
+				kbest.secondPhase(ag, "WEIGHTS", extremeEfficient);
+		assertEquals(5, bounded.size());
+		// The extremes are never evicted
+		assertTrue(bounded.contains(extremeEfficient.first()));
+		assertTrue(bounded.contains(extremeEfficient.last()));
+	}
 }
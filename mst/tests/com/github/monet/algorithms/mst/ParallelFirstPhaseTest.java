@@ -0,0 +1,70 @@
+package com.github.monet.algorithms.mst;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.algorithms.Kruskal;
+import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.ParetoFront;
+import com.github.monet.graph.SimpleEdge;
+import com.github.monet.graph.SimpleNode;
+import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+
+public class ParallelFirstPhaseTest {
+
+	private static AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> createGraph(
+			int n, Random random) {
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode[] nodes = new SimpleNode[n];
+		for (int i = 0; i < n; i++) {
+			nodes[i] = g.addNode();
+		}
+		GraphElementHashAnnotator<SimpleEdge, Weight> raw_weights =
+				new GraphElementHashAnnotator<>();
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				SimpleEdge e = g.addEdge(nodes[i], nodes[j]);
+				raw_weights.setAnnotation(e, new Weight(new double[] {
+						random.nextInt(100), random.nextInt(100) }));
+			}
+		}
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+				new AnnotatedGraph<>(g);
+		ag.addAnnotator("WEIGHTS", new GraphElementWeightAnnotator<>(
+				raw_weights));
+		return ag;
+	}
+
+	@Test
+	public void testSameAsSerial() {
+		Random random = new Random(23);
+		Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kruskal =
+				new Kruskal<>();
+		for (int run = 0; run < 5; run++) {
+			AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+					createGraph(30, random);
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> serial =
+					new FirstPhase2d<>(kruskal).firstPhase(ag, "WEIGHTS");
+			// Fork down to single triangles
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> parallel =
+					new ParallelFirstPhase2d<>(kruskal, 4, 0).firstPhase(ag,
+							"WEIGHTS");
+
+			assertTrue(serial.size() > 2);
+			assertEquals(new ArrayList<>(serial.keySet()), new ArrayList<>(
+					parallel.keySet()));
+			Iterator<SimpleUndirectedGraph> expected = serial.iterator();
+			for (SimpleUndirectedGraph g : parallel) {
+				assertEquals(expected.next(), g);
+			}
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.github.monet.algorithms.mst;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.monet.algorithms.Kruskal;
+import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.GraphElementHashAnnotator;
+import com.github.monet.graph.ParetoFront;
+import com.github.monet.graph.SimpleEdge;
+import com.github.monet.graph.SimpleNode;
+import com.github.monet.graph.SimpleUndirectedGraph;
+import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
+import com.github.monet.graph.weighted.Weight;
+
+public class ParametricFirstPhaseTest {
+
+	private static AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> createGraph(
+			int n, double density, boolean integral, Random random) {
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode[] nodes = new SimpleNode[n];
+		for (int i = 0; i < n; i++) {
+			nodes[i] = g.addNode();
+		}
+		GraphElementHashAnnotator<SimpleEdge, Weight> raw_weights =
+				new GraphElementHashAnnotator<>();
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				// Keep the path through all nodes, so the graph is connected
+				if (j != i + 1 && random.nextDouble() >= density) {
+					continue;
+				}
+				SimpleEdge e = g.addEdge(nodes[i], nodes[j]);
+				raw_weights.setAnnotation(e, new Weight(integral ? new double[] {
+						random.nextInt(20), random.nextInt(20) } : new double[] {
+						100 * random.nextDouble(), 100 * random.nextDouble() }));
+			}
+		}
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+				new AnnotatedGraph<>(g);
+		ag.addAnnotator("WEIGHTS", new GraphElementWeightAnnotator<>(
+				raw_weights));
+		return ag;
+	}
+
+	@Test
+	public void testSameAsDichotomic() {
+		Random random = new Random(31);
+		Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kruskal =
+				new Kruskal<>();
+		int numPoints = 0;
+		for (int run = 0; run < 10; run++) {
+			AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+					createGraph(5 + 3 * run, 0.5, false, random);
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> dichotomic =
+					new FirstPhase2d<>(kruskal).firstPhase(ag, "WEIGHTS");
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> parametric =
+					new ParametricFirstPhase2d<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+							.firstPhase(ag, "WEIGHTS");
+
+			// The costs are summed up in different orders, the trees are the
+			// same
+			assertEquals(new ArrayList<>(dichotomic), new ArrayList<>(
+					parametric));
+			numPoints += parametric.size();
+		}
+		assertTrue(numPoints > 30);
+	}
+
+	@Test
+	public void testCaterpillar() {
+		// The tree for c1 is a spine with one leaf at every node, so its
+		// height is close to n, while the chords are cheap in c2
+		Random random = new Random(41);
+		int spine = 150;
+		SimpleUndirectedGraph g = new SimpleUndirectedGraph();
+		SimpleNode[] nodes = new SimpleNode[2 * spine];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = g.addNode();
+		}
+		GraphElementHashAnnotator<SimpleEdge, Weight> raw_weights =
+				new GraphElementHashAnnotator<>();
+		for (int i = 0; i < spine; i++) {
+			if (i + 1 < spine) {
+				raw_weights.setAnnotation(g.addEdge(nodes[i], nodes[i + 1]),
+						new Weight(new double[] { 10 * random.nextDouble(),
+								50 + 50 * random.nextDouble() }));
+			}
+			raw_weights.setAnnotation(g.addEdge(nodes[i], nodes[spine + i]),
+					new Weight(new double[] { 10 * random.nextDouble(),
+							50 + 50 * random.nextDouble() }));
+		}
+		for (int k = 0; k < 3 * spine; k++) {
+			int i = random.nextInt(nodes.length);
+			int j = random.nextInt(spine);
+			if (i == j || i == j + 1 || j == i + 1 || i == spine + j) {
+				continue;
+			}
+			raw_weights.setAnnotation(g.addEdge(nodes[i], nodes[j]),
+					new Weight(new double[] { 50 + 50 * random.nextDouble(),
+							50 * random.nextDouble() }));
+		}
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+				new AnnotatedGraph<>(g);
+		ag.addAnnotator("WEIGHTS", new GraphElementWeightAnnotator<>(
+				raw_weights));
+
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> dichotomic =
+				new FirstPhase2d<>(
+						new Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph>())
+						.firstPhase(ag, "WEIGHTS");
+		ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> parametric =
+				new ParametricFirstPhase2d<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+						.firstPhase(ag, "WEIGHTS");
+		assertEquals(new ArrayList<>(dichotomic), new ArrayList<>(parametric));
+		assertTrue(parametric.size() > 50);
+	}
+
+	@Test
+	public void testIntegralWeights() {
+		Random random = new Random(37);
+		Kruskal<SimpleNode, SimpleEdge, SimpleUndirectedGraph> kruskal =
+				new Kruskal<>();
+		for (int run = 0; run < 20; run++) {
+			AnnotatedGraph<SimpleNode, SimpleEdge, SimpleUndirectedGraph> ag =
+					createGraph(4 + run, 0.7, true, random);
+			ParetoFront<SimpleNode, SimpleEdge, SimpleUndirectedGraph> dichotomic =
+					new FirstPhase2d<>(kruskal).firstPhase(ag, "WEIGHTS");
+			List<Weight> parametric = new ArrayList<>(
+					new ParametricFirstPhase2d<SimpleNode, SimpleEdge, SimpleUndirectedGraph>()
+							.firstPhase(ag, "WEIGHTS").keySet());
+
+			// The dichotomic search may also find points in the interior of
+			// a face, all others are extreme points found by the sweep
+			assertTrue(dichotomic.keySet().containsAll(parametric));
+			assertEquals(dichotomic.firstKey(), parametric.get(0));
+			assertEquals(dichotomic.lastKey(),
+					parametric.get(parametric.size() - 1));
+			for (Weight w : dichotomic.keySet()) {
+				int i = 0;
+				while (parametric.get(i).getWeight(0) < w.getWeight(0)) {
+					i++;
+				}
+				if (parametric.get(i).equals(w)) {
+					continue;
+				}
+				Weight left = parametric.get(i - 1);
+				Weight right = parametric.get(i);
+				assertEquals(0.0, (w.getWeight(0) - left.getWeight(0))
+						* (right.getWeight(1) - left.getWeight(1))
+						- (w.getWeight(1) - left.getWeight(1))
+						* (right.getWeight(0) - left.getWeight(0)), 0.0);
+			}
+			// Extreme points are strictly convex
+			for (int i = 1; i + 1 < parametric.size(); i++) {
+				Weight left = parametric.get(i - 1);
+				Weight w = parametric.get(i);
+				Weight right = parametric.get(i + 1);
+				assertTrue((w.getWeight(0) - left.getWeight(0))
+						* (right.getWeight(1) - left.getWeight(1))
+						- (w.getWeight(1) - left.getWeight(1))
+						* (right.getWeight(0) - left.getWeight(0)) > 0);
+			}
+		}
+	}
+}
@@ -9,8 +9,7 @@ public class TwoPhaseActivator implements BundleActivator {
 
 	@Override
 	public void start(BundleContext bc) throws Exception {
-		ServiceDirectory.registerAlgorithm(bc, new TwophaseAlgorithm(
-				new com.github.monet.algorithms.Kruskal()));
+		ServiceDirectory.registerAlgorithm(bc, new TwophaseAlgorithm());
 	}
 
 	@Override
@@ -5,18 +5,18 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 
 import com.github.monet.graph.AnnotatedGraph;
-import com.github.monet.graph.GraphElementHashAnnotator;
 import com.github.monet.graph.GraphElementReverseHashAnnotator;
+import com.github.monet.graph.GraphBuilder;
 import com.github.monet.graph.SimpleAbstractGraph;
 import com.github.monet.graph.SimpleDirectedGraph;
 import com.github.monet.graph.SimpleEdge;
 import com.github.monet.graph.SimpleNode;
 import com.github.monet.graph.SimpleUndirectedGraph;
-import com.github.monet.graph.weighted.Weight;
+import com.github.monet.graph.weighted.ColumnarWeightAnnotator;
 import com.github.monet.interfaces.GraphParser;
 import com.github.monet.worker.Job;
 
@@ -38,7 +38,7 @@ public class MonetParser implements GraphParser {
 	 *
 	 * @return Object
 	 * @see SimpleUndirectedGraph
-	 * @see GraphElementHashAnnotator
+	 * @see ColumnarWeightAnnotator
 	 */
 
 	public MonetParser() {
@@ -68,15 +68,19 @@ public class MonetParser implements GraphParser {
 				directed = Boolean.parseBoolean((String)(params.get("directed")));
 			}
 		}
-		SimpleAbstractGraph g;
-		if (directed) {
-			g = new SimpleDirectedGraph();
-		} else {
-			g = new SimpleUndirectedGraph();
+
+		// Optionally index adjacencies for constant time getEdge
+		Boolean adjacencyIndexed = false;
+		if ((params != null) && (params.get("adjacencyIndex") != null)) {
+			if(params.get("adjacencyIndex") instanceof Boolean) {
+				adjacencyIndexed = (boolean)params.get("adjacencyIndex");
+			} else if(params.get("adjacencyIndex") instanceof String) {
+				adjacencyIndexed = Boolean.parseBoolean((String)(params.get("adjacencyIndex")));
+			}
 		}
 
-		GraphElementHashAnnotator<SimpleEdge, Weight> annotation;
-		annotation = new GraphElementHashAnnotator<>();
+		SimpleAbstractGraph g = null;
+		ColumnarWeightAnnotator<SimpleEdge> annotation = null;
 		int startNodeid = 0;
 		int endNodeid = 0;
 		SimpleNode startNode = null;
@@ -85,7 +89,6 @@ public class MonetParser implements GraphParser {
 			in = new BufferedReader(new FileReader(inputFile));
 
 			// read number of nodes
-			ArrayList<SimpleNode> nodes = new ArrayList<>();
 			String line = in.readLine();
 			int numNodes = Integer.parseInt(line);
 			endNodeid = numNodes - 1; // Default endNode: last in file
@@ -117,31 +120,37 @@ public class MonetParser implements GraphParser {
 				}
 			}
 
-			//create node objects
-			for (int i = 0; i < numNodes; i++) {
-				nodes.add(g.addNode());
+			// read number of edges (only used to pre-size the graph)
+			line = in.readLine();
+			int numEdges = 0;
+			try {
+				numEdges = Integer.parseInt(line.trim());
+			} catch (NumberFormatException e) {
+				// edges are counted while reading
+			}
 
-				// Check if the Node has to be added as startNode or endNode
-				if (params != null) {
-					if (i == startNodeid) {
-						params.put("startNode", nodes.get(i));
-						startNode = nodes.get(i);
-					}
-					if (i == endNodeid) {
-						params.put("endNode", nodes.get(i));
-						endNode = nodes.get(i);
-					}
-				}
+			// create node objects, edges are added in bulk
+			GraphBuilder builder = new GraphBuilder(numNodes, numEdges);
 
+			// Check if the Node has to be added as startNode or endNode
+			if (params != null) {
+				if ((startNodeid >= 0) && (startNodeid < numNodes)) {
+					startNode = builder.getNode(startNodeid);
+					params.put("startNode", startNode);
+				}
+				if ((endNodeid >= 0) && (endNodeid < numNodes)) {
+					endNode = builder.getNode(endNodeid);
+					params.put("endNode", endNode);
+				}
 			}
 
-			// read number of edges
-			line = in.readLine();
-
 			// read number of objectives
 			line = in.readLine();
 			int numObjectives = Integer.parseInt(line);
 
+			// edge weights, row by row
+			double[] weights = new double[Math.max(numEdges, 1) * numObjectives];
+			int parsedEdges = 0;
 			while ((line = in.readLine()) != null) {
 
 				// split each line by single space
@@ -149,19 +158,40 @@ public class MonetParser implements GraphParser {
 				int n = tokens.length;
 
 				// first two tokens represent nodes
-				SimpleNode source = nodes.get(Integer.parseInt(tokens[0]) - 1);
-				SimpleNode dest = nodes.get(Integer.parseInt(tokens[1]) - 1);
-
-				// the remainder represents all the edge weights
-				double w[] = new double[numObjectives];
+				builder.addEdge(Integer.parseInt(tokens[0]) - 1,
+						Integer.parseInt(tokens[1]) - 1);
+
+				// the remainder represents all the edge weights, further
+				// weights would overwrite those of the next edge
+				if (n - 2 > numObjectives) {
+					throw new IllegalArgumentException("Line '" + line
+							+ "' has more than " + numObjectives
+							+ " edge weights");
+				}
+				if ((parsedEdges + 1) * numObjectives > weights.length) {
+					weights = Arrays.copyOf(weights, Math.max(2 * weights.length,
+							(parsedEdges + 1) * numObjectives));
+				}
 				for (int i = 2; i < n; i++) {
-					w[i - 2] = Double.parseDouble(tokens[i]);
+					weights[parsedEdges * numObjectives + i - 2] = Double
+							.parseDouble(tokens[i]);
 				}
+				parsedEdges++;
+			}
 
-				// encapsulate edge weights and set annotation
-				Weight weight = new Weight(w);
-				SimpleEdge edge = g.addEdge(source, dest);
-				annotation.setAnnotation(edge, weight);
+			// build graph, encapsulate edge weights and set annotation
+			if (directed) {
+				g = builder.buildDirected();
+			} else {
+				g = builder.buildUndirected();
+			}
+			g.setAdjacencyIndexed(adjacencyIndexed);
+			annotation = new ColumnarWeightAnnotator<>(numObjectives,
+					parsedEdges);
+			double[] w = new double[numObjectives];
+			for (int i = 0; i < parsedEdges; i++) {
+				System.arraycopy(weights, i * numObjectives, w, 0, numObjectives);
+				annotation.add(builder.getEdge(i), w);
 			}
 		} catch (IOException e) {
 			System.err.println("ERROR OCCURED: " + e.getMessage());
@@ -175,6 +205,11 @@ public class MonetParser implements GraphParser {
 			}
 		}
 
+		if (g == null) {
+			g = directed ? new SimpleDirectedGraph() : new SimpleUndirectedGraph();
+			annotation = new ColumnarWeightAnnotator<>(0);
+		}
+
 		//HeterogeneousHashAnnotatorContainer annotatorMap = new HeterogeneousHashAnnotatorContainer();
 		//annotatorMap.put("edges", annotation);
 		AnnotatedGraph annotatedGraph;
@@ -2,6 +2,9 @@ package com.github.monet.parser;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 
@@ -87,4 +90,15 @@ public class MonetParserTest {
 		}
 
 	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyWeights() throws IOException {
+		File file = File.createTempFile("graph", ".txt");
+		file.deleteOnExit();
+		try (FileWriter out = new FileWriter(file)) {
+			// The first edge has a third weight
+			out.write("3\n2\n2\n1 2 1.0 2.0 3.0\n2 3 4.0 5.0\n");
+		}
+		new MonetParser().parse(file.getPath(), null);
+	}
 }
@@ -2,21 +2,27 @@ package com.github.monet.algorithms.sssp;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import com.github.monet.graph.AnnotatedGraph;
+import com.github.monet.graph.BoundedParetoFront;
 import com.github.monet.graph.GraphElementHashAnnotator;
 import com.github.monet.graph.GraphElementReverseHashAnnotator;
 import com.github.monet.graph.ParetoFront;
 import com.github.monet.graph.interfaces.DirectedEdge;
 import com.github.monet.graph.interfaces.DirectedGraph;
+import com.github.monet.graph.interfaces.GraphElementAnnotator;
 import com.github.monet.graph.interfaces.Node;
+import com.github.monet.graph.weighted.DominanceKernel;
 import com.github.monet.graph.weighted.GraphElementWeightAnnotator;
 import com.github.monet.graph.weighted.LabelSet;
 import com.github.monet.graph.weighted.Weight;
+import com.github.monet.graph.weighted.WeightAccumulator;
+import com.github.monet.graph.weighted.WeightPool;
 import com.github.monet.graph.weighted.WeightedEdgesCalculator;
 import com.github.monet.interfaces.Meter;
 import com.github.monet.worker.Job;
@@ -36,6 +42,16 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 	private Meter meter;
 	// private ServiceDirectory serviceDir;
 	private boolean intMerge;
+	/**
+	 * Pool for interning labels, null if labels are not interned
+	 */
+	private WeightPool pool;
+	/**
+	 * Maximum number of labels of the destination output, 0 if unbounded.
+	 * Only the output is bounded: the label sets and solutions keep all
+	 * labels and paths, since backtracking needs every label on a path.
+	 */
+	private int archiveCapacity;
 	private int dimension;
 	private ArrayList<LinkedList<E>> solutions;
 	private Job job;
@@ -48,7 +64,7 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		this.graph = (G) ((AnnotatedGraph<N, E, G>) input).getGraph();
 		this.weights = new GraphElementWeightAnnotator<E>(
 				((AnnotatedGraph<N, E, G>) input).getAnnotator("edges",
-						GraphElementHashAnnotator.class));
+						GraphElementAnnotator.class));
 		GraphElementReverseHashAnnotator<N, String> sdAnnotator = ((AnnotatedGraph<N, E, G>) input)
 				.getAnnotator("sdAnnotator",
 						GraphElementReverseHashAnnotator.class);
@@ -66,6 +82,11 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 			intMerge = false;
 		else if (parameters.get("MERGE_MODE").equals(true))
 			intMerge = true;
+		if (Boolean.TRUE.equals(parameters.get("INTERN_LABELS")))
+			pool = new WeightPool();
+		if (parameters.get("ARCHIVE_CAPACITY") != null)
+			archiveCapacity = Integer.parseInt(String.valueOf(parameters
+					.get("ARCHIVE_CAPACITY")));
 		dimension = weights.getAnnotation(
 				graph.getOutgoingEdges(source).iterator().next())
 				.getDimension();
@@ -89,7 +110,7 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		double[] nullVector = new double[dimension];
 		for (int i = 0; i < nullVector.length; i++)
 			nullVector[i] = 0.0;
-		Weight nullWeight = new Weight(nullVector);
+		Weight nullWeight = intern(new Weight(nullVector));
 		labels.getAnnotation(source).insertLabel(nullWeight);
 		labeled.add(source);
 		isLabeled.add(source);
@@ -128,24 +149,45 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		meter.startTimer("BACKTRACKING");
 		meter.measureInt("PARETO_SIZE", labels.getAnnotation(destination)
 				.getLabels().size());
+		WeightedEdgesCalculator<N, E, G> calc = new WeightedEdgesCalculator<N, E, G>(
+				weights);
+		// if the output is bounded, the archive selects the labels to be
+		// output once all labels have been backtracked, and all paths of a
+		// kept label are measured
+		BoundedParetoFront<N, E, G> archive = null;
+		Map<Weight, ArrayList<LinkedList<E>>> paths = null;
+		if (archiveCapacity > 0) {
+			archive = new BoundedParetoFront<N, E, G>(calc, archiveCapacity);
+			paths = new HashMap<Weight, ArrayList<LinkedList<E>>>();
+		}
 		// backtrack each label of the source node separately
 		for (Weight w : labels.getAnnotation(destination).getLabels()) {
 			ArrayList<LinkedList<E>> tempsol = recBacktrackLabel(destination,
 					w, new LinkedList<E>());
 			solutions.addAll(tempsol);
-			for (LinkedList<E> sol : tempsol) {
-				ArrayList<String> edgestring = new ArrayList<String>();
-				for (E e : sol) {
-					edgestring.add(e.toString());
+			if (archive != null) {
+				if (!tempsol.isEmpty()) {
+					paths.put(w, tempsol);
+					archive.add(graph.getSubgraphWithImpliedNodes(tempsol
+							.get(0)), w);
+				}
+			} else {
+				for (LinkedList<E> sol : tempsol) {
+					measurePath(w, sol);
 				}
-				meter.measurePareto(w.getWeights(), edgestring);
 			}
 
 		}
+		if (archive != null) {
+			meter.measureInt("ARCHIVE_SIZE", archive.size());
+			for (Weight w : archive.keySet()) {
+				for (LinkedList<E> sol : paths.get(w)) {
+					measurePath(w, sol);
+				}
+			}
+		}
 		meter.stopTimer("BACKTRACKING");
 
-		WeightedEdgesCalculator<N, E, G> calc = new WeightedEdgesCalculator<N, E, G>(
-				weights);
 		ParetoFront<N, E, G> front = new ParetoFront<N, E, G>(calc);
 		for (LinkedList<E> solution : solutions) {
 			front.add(graph.getSubgraphWithImpliedNodes(solution));
@@ -158,6 +200,44 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		// meter.endExperiment();
 	}
 
+	/**
+	 * Outputs a solution path with its label.
+	 */
+	private void measurePath(Weight w, List<E> path) {
+		ArrayList<String> edgestring = new ArrayList<String>();
+		for (E e : path) {
+			edgestring.add(e.toString());
+		}
+		meter.measurePareto(w.getWeights(), edgestring);
+	}
+
+	/**
+	 * @param w
+	 *            label
+	 * @return the canonical label equal to w if labels are interned,
+	 *         otherwise w
+	 */
+	private Weight intern(Weight w) {
+		return (pool == null) ? w : pool.intern(w);
+	}
+
+	/**
+	 * Replaces all labels of a list by their canonical labels if labels are
+	 * interned.
+	 *
+	 * @param z
+	 *            list of labels, which is altered
+	 * @return z
+	 */
+	private List<Weight> internAll(List<Weight> z) {
+		if (pool != null) {
+			for (int i = 0; i < z.size(); i++) {
+				z.set(i, pool.intern(z.get(i)));
+			}
+		}
+		return z;
+	}
+
 	/**
 	 * Merges two labelsets by comparing all labels in the sets
 	 *
@@ -175,37 +255,29 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		List<Weight> x = LabelSet.add(labels.getAnnotation(u),
 				weights.getAnnotation(e)).getLabels();
 		List<Weight> y = labels.getAnnotation(graph.getTarget(e)).getLabels();
-		HashSet<Weight> isDominated = new HashSet<Weight>();
-		for (Weight w : x) {
-			for (Weight v : y) {
-				switch (w.dominates(v)) {
-				case PARETO_SMALLER:
-					isDominated.add(v);
-					break;
-				case PARETO_GREATER:
-					isDominated.add(w);
-					break;
-				case EQUAL:
-					isDominated.add(w);
-					break;
-				case UNCOMPARABLE:
-					break;
-				}
-			}
+		if (x.isEmpty()) {
+			return false;
 		}
+		// Labels of x are dropped if a label of y is smaller or equal, labels
+		// of y are dropped if a label of x is smaller
+		int numY = y.size();
+		double[] block = DominanceKernel.flatten(y, x.get(0).getDimension());
+		long[] isDominated = DominanceKernel.newMask(numY);
 
 		LabelSet merged = new LabelSet();
 		boolean changed = false;
 		for (Weight w : x) {
-			if (!isDominated.contains(w)) {
-				merged.insertLabel(w);
+			DominanceKernel.markDominated(w.getWeights(), block, numY,
+					isDominated);
+			if (DominanceKernel.firstWeakDominator(w.getWeights(), block, numY) == -1) {
+				merged.insertLabel(intern(w));
 				changed = true;
 			}
 		}
 
-		for (Weight w : y) {
-			if (!isDominated.contains(w)) {
-				merged.insertLabel(w);
+		for (int i = 0; i < numY; i++) {
+			if (!DominanceKernel.isSet(isDominated, i)) {
+				merged.insertLabel(y.get(i));
 			}
 		}
 
@@ -274,7 +346,7 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 			if (xRemCount != 0)
 				changed = true;
 		}
-		labels.setAnnotation(graph.getTarget(e), new LabelSet(z));
+		labels.setAnnotation(graph.getTarget(e), new LabelSet(internAll(z)));
 
 		return changed;
 	}
@@ -310,7 +382,7 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		}
 		if (!z.equals(y)) {
 			changed = true;
-			labels.setAnnotation(graph.getTarget(e), new LabelSet(z));
+			labels.setAnnotation(graph.getTarget(e), new LabelSet(internAll(z)));
 		}
 		return changed;
 	}
@@ -763,13 +835,15 @@ public class LabelCorrecting<G extends DirectedGraph<N, E, G>, N extends Node, E
 		if (n.equals(source))
 			retval.add(subPath);
 		else {
+			// Label of the predecessor, reused for every incoming edge
+			WeightAccumulator predecessor = new WeightAccumulator(
+					w.getDimension());
 			for (E e : this.graph.getIncomingEdges(n)) {
-				Weight tempWeight = Weight
-						.add(w,
-								Weight.scalarProduct(-1,
-										this.weights.getAnnotation(e)));
-				if (labels.getAnnotation(this.graph.getSource(e)).getLabels()
-						.contains(tempWeight)) {
+				predecessor.set(w);
+				predecessor.subtract(this.weights.getAnnotation(e));
+				Weight tempWeight = labels.getAnnotation(
+						this.graph.getSource(e)).find(predecessor);
+				if (tempWeight != null) {
 
 					@SuppressWarnings("unchecked")
 					LinkedList<E> extSubPath = (LinkedList<E>) subPath.clone();
@@ -1,6 +1,7 @@
 package com.github.monet.algorithms.sssp;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -166,6 +167,16 @@ public class LabelCorrectingTest {
 		solutions.add(solution4);
 
 		assertTrue(solutions.containsAll((lc.getSolutions())));
+
+		// Interned labels yield the same result
+		paramMap.put("INTERN_LABELS", true);
+		LabelCorrecting<SimpleDirectedGraph, SimpleNode, SimpleEdge> lcInterned = new LabelCorrecting<SimpleDirectedGraph, SimpleNode, SimpleEdge>();
+		lcInterned.execute(aGraph, paramMap, new TestMeter(), serviceDirectory,
+				null);
+		assertEquals(lc.getLabels().getAnnotation(f), lcInterned.getLabels()
+				.getAnnotation(f));
+		assertEquals(lc.getSolutions().size(), lcInterned.getSolutions().size());
+		assertTrue(solutions.containsAll((lcInterned.getSolutions())));
 	}
 
 
@@ -468,6 +479,53 @@ public class LabelCorrectingTest {
 		assertTrue(correct == lc.findWeightInList(list, threshold, 0));
 	}
 
+	@Test
+	public void testArchiveCapacity() {
+		SimpleDirectedGraph graph = new SimpleDirectedGraph();
+		SimpleNode s = graph.addNode();
+		SimpleNode x = graph.addNode();
+		SimpleNode y = graph.addNode();
+		SimpleNode z = graph.addNode();
+		SimpleNode t = graph.addNode();
+		GraphElementHashAnnotator<DirectedEdge, Weight> adapted = new GraphElementHashAnnotator<DirectedEdge, Weight>();
+		// Two paths of costs (1, 4), one of (2, 2) and one of (4, 1)
+		adapted.setAnnotation(graph.addEdge(s, x), new Weight(new double[] { 1, 2 }));
+		adapted.setAnnotation(graph.addEdge(x, t), new Weight(new double[] { 0, 2 }));
+		adapted.setAnnotation(graph.addEdge(s, y), new Weight(new double[] { 1, 1 }));
+		adapted.setAnnotation(graph.addEdge(y, t), new Weight(new double[] { 0, 3 }));
+		adapted.setAnnotation(graph.addEdge(s, z), new Weight(new double[] { 1, 1 }));
+		adapted.setAnnotation(graph.addEdge(z, t), new Weight(new double[] { 1, 1 }));
+		adapted.setAnnotation(graph.addEdge(s, t), new Weight(new double[] { 4, 1 }));
+		AnnotatedGraph<SimpleNode, SimpleEdge, SimpleDirectedGraph> aGraph = new AnnotatedGraph<SimpleNode, SimpleEdge, SimpleDirectedGraph>(
+				graph);
+		aGraph.addAnnotator("edges", adapted);
+		GraphElementReverseHashAnnotator<SimpleNode, String> sdAnnotator = new GraphElementReverseHashAnnotator<>();
+		sdAnnotator.setAnnotation(s, "startNode");
+		sdAnnotator.setAnnotation(t, "endNode");
+		aGraph.addAnnotator("sdAnnotator", sdAnnotator);
+
+		HashMap<String, Object> paramMap = new HashMap<String, Object>();
+		paramMap.put("MERGE_MODE", false);
+		paramMap.put("ARCHIVE_CAPACITY", 2);
+		final List<double[]> measured = new ArrayList<double[]>();
+		Meter meter = new TestMeter() {
+			@Override
+			public void measurePareto(double[] objectives, List<String> path) {
+				measured.add(objectives);
+			}
+		};
+		LabelCorrecting<SimpleDirectedGraph, SimpleNode, SimpleEdge> lc = new LabelCorrecting<SimpleDirectedGraph, SimpleNode, SimpleEdge>();
+		lc.execute(aGraph, paramMap, meter, null, null);
+
+		// Only the output is bounded, both paths of the kept extreme label
+		// (1, 4) are output
+		assertEquals(4, lc.getSolutions().size());
+		assertEquals(3, measured.size());
+		for (double[] objectives : measured) {
+			assertTrue(objectives[0] != 2);
+		}
+	}
+
 	public boolean isSortedByDimension(List<Weight>list, int dimension) {
 		boolean isSorted = true;
 		int index = 0;
@@ -3,12 +3,13 @@ package com.github.monet.algorithms.sssp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import com.github.monet.graph.*;
 import com.github.monet.graph.interfaces.*;
 import com.github.monet.graph.weighted.*;
-import com.github.monet.graph.weighted.Weight.DominationRelation;
 import com.github.monet.interfaces.Meter;
 import com.github.monet.worker.Job;
 import com.github.monet.worker.ServiceDirectory;
@@ -27,6 +28,10 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 	private Meter meter;
 	private ArrayList<LinkedList<E>> solutions;
 	private int dimension;
+	/**
+	 * Pool for interning labels, null if labels are not interned
+	 */
+	private WeightPool pool;
 	private Job job;
 	private Logger logger;
 	private int pathsExtended;
@@ -38,7 +43,7 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 			Meter meter, ServiceDirectory serviceDir, Job job) {
 		this.graph = (G) ((AnnotatedGraph<N, E, G>) input).getGraph();
 		this.weights = new GraphElementWeightAnnotator<E>(((AnnotatedGraph<N, E, G>) input).getAnnotator("edges",
-				GraphElementHashAnnotator.class));
+				GraphElementAnnotator.class));
 		openLabels = new GraphElementHashAnnotator<N, LabelSet>();
 		closedLabels = new GraphElementHashAnnotator<N, LabelSet>();
 		solutions = new ArrayList<LinkedList<E>>();
@@ -76,6 +81,9 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 			h.getAnnotation(destination).insertLabel(nullWeight);
 
 		}
+		if (parameters != null
+				&& Boolean.TRUE.equals(parameters.get("INTERN_LABELS")))
+			pool = new WeightPool();
 		open = new LinkedList<OLE<N>>();
 		// this.source = (N) parameters.get("SOURCE");
 		// this.destination = (N) parameters.get("DESTINATION");
@@ -101,7 +109,7 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 		double[] nullVector = new double[dimension];
 		for (int i = 0; i < nullVector.length; i++)
 			nullVector[i] = 0.0;
-		Weight nullWeight = new Weight(nullVector);
+		Weight nullWeight = intern(new Weight(nullVector));
 		open.add(new OLE<N>(source, nullWeight, h.getAnnotation(source)));
 		openLabels.getAnnotation(source).getLabels().add(nullWeight);
 
@@ -120,10 +128,10 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 				// Remove all paths from open, that are dominated by actLabel
 				for (int i = 0; i < open.size(); i++) {
 					LabelSet o = open.get(i).getF();
-					for (int j = 0; j < o.getLabels().size(); j++) {
-						if (actLabel.dominates(o.getLabels().get(j)) == Weight.DominationRelation.PARETO_SMALLER) {
+					for (int j = o.getLabels().size() - 1; j >= 0; j--) {
+						if (DominanceKernel.dominates(actLabel.getWeights(), o
+								.getLabels().get(j).getWeights())) {
 							o.getLabels().remove(j);
-							j--;
 						}
 					}
 					if (o.getLabels().isEmpty()) {
@@ -137,7 +145,8 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 				for (E e : graph.getOutgoingEdges(act.getN())) {
 					// Add test if e creates a circle
 					N direction = graph.getTarget(e);
-					Weight g = Weight.add(actLabel, weights.getAnnotation(e));
+					Weight g = intern(Weight.add(actLabel,
+							weights.getAnnotation(e)));
 
 					// If direction has not been visited before
 					if (closedLabels.getAnnotation(direction).getLabels()
@@ -148,20 +157,7 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 								.add(h.getAnnotation(direction), g);
 						// Check if a label in f is dominated by a path to
 						// destination
-						for (int i = 0; i < f.getLabels().size(); i++) {
-							for (int j = 0; j < closedLabels
-									.getAnnotation(destination).getLabels()
-									.size(); j++) {
-								if (closedLabels.getAnnotation(destination)
-										.getLabels().get(j)
-										.dominates(f.getLabels().get(i)) == Weight.DominationRelation.PARETO_SMALLER) {
-									f.getLabels().remove(i);
-									i--;
-									break;
-								}
-
-							}
-						}
+						removeDominatedByDestination(f);
 						// If there are undominated function values in f, add
 						// the new path to open
 						if (!f.getLabels().isEmpty()) {
@@ -174,35 +170,18 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 					} else {
 						// Check if g is dominated by any label in open/closed
 						// of direction and remove labels dominated by g
-						boolean dominated = false;
-						for (int i = 0; i < closedLabels
-								.getAnnotation(direction).getLabels().size(); i++) {
-							Weight w = closedLabels.getAnnotation(direction)
-									.getLabels().get(i);
-							DominationRelation d = w.dominates(g);
-							if (d == Weight.DominationRelation.PARETO_SMALLER) {
-								dominated = true;
-							} else if (d == Weight.DominationRelation.PARETO_GREATER) {
-								closedLabels.getAnnotation(direction)
-										.getLabels().remove(i);
-							}
-						}
-
-						for (int i = 0; i < openLabels.getAnnotation(direction)
-								.getLabels().size(); i++) {
-							Weight w = openLabels.getAnnotation(direction)
-									.getLabels().get(i);
-							DominationRelation d = w.dominates(g);
-							if (d == Weight.DominationRelation.PARETO_SMALLER) {
-								dominated = true;
-							} else if (d == Weight.DominationRelation.PARETO_GREATER) {
-								openLabels.getAnnotation(direction).getLabels()
-										.remove(i);
-								// Remove OLE corresponding to w from open
-								for (int j = 0; j < open.size(); j++) {
-									if (open.get(j).getG().equals(w))
-										open.remove(j);
-								}
+						boolean dominated = filterLabels(closedLabels
+								.getAnnotation(direction).getLabels(), g, null);
+
+						ArrayList<Weight> removed = new ArrayList<Weight>();
+						dominated |= filterLabels(openLabels.getAnnotation(
+								direction).getLabels(), g, removed);
+						// Remove OLEs corresponding to removed labels from open
+						if (!removed.isEmpty()) {
+							Iterator<OLE<N>> it = open.iterator();
+							while (it.hasNext()) {
+								if (removed.contains(it.next().getG()))
+									it.remove();
 							}
 						}
 
@@ -213,21 +192,7 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 
 							// Check if a label in f is dominated by a path to
 							// destination
-
-							for (int i = 0; i < f.getLabels().size(); i++) {
-								for (int j = 0; j < closedLabels
-										.getAnnotation(destination).getLabels()
-										.size(); j++) {
-									if (closedLabels.getAnnotation(destination)
-											.getLabels().get(j)
-											.dominates(f.getLabels().get(i)) == Weight.DominationRelation.PARETO_SMALLER) {
-										f.getLabels().remove(i);
-										i--;
-										break;
-									}
-
-								}
-							}
+							removeDominatedByDestination(f);
 
 							// If there are undominated function values in f,
 							// add
@@ -284,6 +249,72 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 		// meter.endExperiment();
 	}
 
+	/**
+	 * @param w
+	 *            label
+	 * @return the canonical label equal to w if labels are interned,
+	 *         otherwise w
+	 */
+	private Weight intern(Weight w) {
+		return (pool == null) ? w : pool.intern(w);
+	}
+
+	/**
+	 * Removes all labels of f which are dominated by a path to the
+	 * destination.
+	 *
+	 * @param f
+	 *            labelset to be filtered
+	 */
+	void removeDominatedByDestination(LabelSet f) {
+		List<Weight> paths = closedLabels.getAnnotation(destination)
+				.getLabels();
+		if (paths.isEmpty()) {
+			return;
+		}
+		double[] block = DominanceKernel.flatten(paths, dimension);
+		List<Weight> labels = f.getLabels();
+		for (int i = labels.size() - 1; i >= 0; i--) {
+			if (DominanceKernel.firstDominator(labels.get(i).getWeights(),
+					block, paths.size()) != -1) {
+				labels.remove(i);
+			}
+		}
+	}
+
+	/**
+	 * Removes all labels which are dominated by g.
+	 *
+	 * @param labels
+	 *            labels to be filtered
+	 * @param g
+	 *            new label
+	 * @param removed
+	 *            the removed labels are added to this list, may be null
+	 * @return true, if g is dominated by one of the labels
+	 */
+	boolean filterLabels(List<Weight> labels, Weight g, List<Weight> removed) {
+		int count = labels.size();
+		if (count == 0) {
+			return false;
+		}
+		double[] block = DominanceKernel.flatten(labels, dimension);
+		boolean dominated = DominanceKernel.firstDominator(g.getWeights(),
+				block, count) != -1;
+		long[] mask = DominanceKernel.newMask(count);
+		if (DominanceKernel.markDominated(g.getWeights(), block, count, mask) > 0) {
+			for (int i = count - 1; i >= 0; i--) {
+				if (DominanceKernel.isSet(mask, i)) {
+					Weight w = labels.remove(i);
+					if (removed != null) {
+						removed.add(w);
+					}
+				}
+			}
+		}
+		return dominated;
+	}
+
 	/**
 	 * Recursive procedure to find the path that corresponds to a given label.
 	 *
@@ -302,13 +333,15 @@ public class Namoa<G extends DirectedGraph<N, E, G>, N extends Node, E extends D
 		if (n.equals(source))
 			retval.add(subPath);
 		else {
+			// Label of the predecessor, reused for every incoming edge
+			WeightAccumulator predecessor = new WeightAccumulator(
+					w.getDimension());
 			for (E e : this.graph.getIncomingEdges(n)) {
-				Weight tempWeight = Weight
-						.add(w,
-								Weight.scalarProduct(-1,
-										this.weights.getAnnotation(e)));
-				if (closedLabels.getAnnotation(this.graph.getSource(e))
-						.getLabels().contains(tempWeight)) {
+				predecessor.set(w);
+				predecessor.subtract(this.weights.getAnnotation(e));
+				Weight tempWeight = closedLabels.getAnnotation(
+						this.graph.getSource(e)).find(predecessor);
+				if (tempWeight != null) {
 
 					@SuppressWarnings("unchecked")
 					LinkedList<E> extSubPath = (LinkedList<E>) subPath.clone();